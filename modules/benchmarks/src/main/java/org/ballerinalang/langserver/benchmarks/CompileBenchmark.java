@@ -0,0 +1,95 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.langserver.benchmarks;
+
+import org.ballerinalang.langserver.BallerinaLanguageServer;
+import org.ballerinalang.langserver.BallerinaTextDocumentService;
+import org.eclipse.lsp4j.DidChangeTextDocumentParams;
+import org.eclipse.lsp4j.DidOpenTextDocumentParams;
+import org.eclipse.lsp4j.TextDocumentContentChangeEvent;
+import org.eclipse.lsp4j.TextDocumentItem;
+import org.eclipse.lsp4j.VersionedTextDocumentIdentifier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the compilation done on didChange, which recompiles the package of the changed document.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class CompileBenchmark {
+
+    @Param({"10", "100"})
+    public int functionsPerFile;
+
+    @Param({"1", "10"})
+    public int filesPerPackage;
+
+    private SyntheticWorkspace workspace;
+    private BallerinaTextDocumentService textDocumentService;
+    private String uri;
+    private String source;
+    private int version;
+
+    @Setup
+    public void setup() throws IOException {
+        workspace = SyntheticWorkspace.create(functionsPerFile, filesPerPackage);
+        textDocumentService = (BallerinaTextDocumentService) new BallerinaLanguageServer().getTextDocumentService();
+        uri = workspace.getMainFile().toUri().toString();
+        source = workspace.getMainSource(SyntheticWorkspace.CompletionContext.FUNCTION_BODY);
+        version = 1;
+        textDocumentService.didOpen(new DidOpenTextDocumentParams(
+                new TextDocumentItem(uri, "ballerina", version, source)));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        workspace.delete();
+    }
+
+    @Benchmark
+    public void didChange() {
+        version++;
+        VersionedTextDocumentIdentifier identifier = new VersionedTextDocumentIdentifier(version);
+        identifier.setUri(uri);
+        // Every change differs from the previous one, as it would while typing
+        TextDocumentContentChangeEvent change = new TextDocumentContentChangeEvent(source + "\n// " + version);
+        textDocumentService.didChange(new DidChangeTextDocumentParams(identifier,
+                Collections.singletonList(change)));
+        // Changes are applied on the mailbox of the document, hence wait until it has been compiled
+        textDocumentService.getDocumentMailboxes().execute(uri, () -> { }).join();
+    }
+}
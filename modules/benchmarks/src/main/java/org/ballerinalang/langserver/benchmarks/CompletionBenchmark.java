@@ -0,0 +1,94 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.langserver.benchmarks;
+
+import org.ballerinalang.langserver.BallerinaLanguageServer;
+import org.ballerinalang.langserver.BallerinaTextDocumentService;
+import org.ballerinalang.langserver.RequestDeadlines;
+import org.eclipse.lsp4j.CompletionItem;
+import org.eclipse.lsp4j.CompletionList;
+import org.eclipse.lsp4j.DidOpenTextDocumentParams;
+import org.eclipse.lsp4j.TextDocumentIdentifier;
+import org.eclipse.lsp4j.TextDocumentItem;
+import org.eclipse.lsp4j.TextDocumentPositionParams;
+import org.eclipse.lsp4j.jsonrpc.messages.Either;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the completion request end to end, for each completion item resolver context.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class CompletionBenchmark {
+
+    @Param({"10", "100"})
+    public int functionsPerFile;
+
+    @Param({"1", "10"})
+    public int filesPerPackage;
+
+    @Param({"TOP_LEVEL", "STRUCT_BODY", "FUNCTION_BODY", "PACKAGE_INVOCATION"})
+    public SyntheticWorkspace.CompletionContext context;
+
+    private SyntheticWorkspace workspace;
+    private BallerinaTextDocumentService textDocumentService;
+    private TextDocumentPositionParams position;
+
+    @Setup
+    public void setup() throws IOException {
+        workspace = SyntheticWorkspace.create(functionsPerFile, filesPerPackage);
+        // Measures the full completions, rather than the degraded ones answered once the latency budget is spent
+        System.setProperty(RequestDeadlines.DEADLINE_PROPERTY_PREFIX + "completion", "0");
+        textDocumentService = (BallerinaTextDocumentService) new BallerinaLanguageServer().getTextDocumentService();
+        String uri = workspace.getMainFile().toUri().toString();
+        textDocumentService.didOpen(new DidOpenTextDocumentParams(
+                new TextDocumentItem(uri, "ballerina", 1, workspace.getMainSource(context))));
+        position = new TextDocumentPositionParams(new TextDocumentIdentifier(uri), workspace.getCursor(context));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        workspace.delete();
+    }
+
+    @Benchmark
+    public Either<List<CompletionItem>, CompletionList> completion()
+            throws ExecutionException, InterruptedException {
+        return textDocumentService.completion(position).get();
+    }
+}
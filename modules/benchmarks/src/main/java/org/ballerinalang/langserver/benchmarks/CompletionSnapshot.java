@@ -0,0 +1,102 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.langserver.benchmarks;
+
+import org.antlr.v4.runtime.DefaultErrorStrategy;
+import org.ballerinalang.langserver.compiler.LSCompiler;
+import org.ballerinalang.langserver.compiler.PackageInfo;
+import org.ballerinalang.langserver.compiler.PooledCompilerContext;
+import org.ballerinalang.langserver.completions.BallerinaCustomErrorStrategy;
+import org.ballerinalang.langserver.completions.SuggestionsFilterDataModel;
+import org.ballerinalang.langserver.completions.TreeVisitor;
+import org.ballerinalang.langserver.workspace.WorkspaceDocumentManager;
+import org.ballerinalang.langserver.workspace.WorkspaceDocumentManagerImpl;
+import org.eclipse.lsp4j.TextDocumentIdentifier;
+import org.eclipse.lsp4j.TextDocumentPositionParams;
+import org.wso2.ballerinalang.compiler.Compiler;
+import org.wso2.ballerinalang.compiler.tree.BLangPackage;
+import org.wso2.ballerinalang.compiler.util.CompilerContext;
+
+import java.nio.file.Path;
+
+/**
+ * State of a completion request after the document is parsed and compiled with the completion error strategy, which
+ * is the input of the cursor position resolution and the symbol filters.
+ */
+public class CompletionSnapshot {
+
+    private final String fileName;
+    private final CompilerContext compilerContext;
+    private final BLangPackage bLangPackage;
+    private final TextDocumentPositionParams position;
+    private final SuggestionsFilterDataModel filterDataModel;
+
+    private CompletionSnapshot(String fileName, CompilerContext compilerContext, BLangPackage bLangPackage,
+                               TextDocumentPositionParams position, SuggestionsFilterDataModel filterDataModel) {
+        this.fileName = fileName;
+        this.compilerContext = compilerContext;
+        this.bLangPackage = bLangPackage;
+        this.position = position;
+        this.filterDataModel = filterDataModel;
+    }
+
+    /**
+     * Compile the main file of the workspace with the prefix of the given completion context typed at its cursor.
+     * The compiler context is not released to the pool, since the symbols of the snapshot are looked up from it.
+     *
+     * @param workspace generated workspace
+     * @param context   completion context
+     * @return completion snapshot
+     */
+    public static CompletionSnapshot create(SyntheticWorkspace workspace,
+                                            SyntheticWorkspace.CompletionContext context) {
+        WorkspaceDocumentManager documentManager = new WorkspaceDocumentManagerImpl();
+        Path mainFile = workspace.getMainFile();
+        documentManager.openFile(mainFile, workspace.getMainSource(context), 1);
+        LSCompiler lsCompiler = new LSCompiler(documentManager);
+        PackageInfo packageInfo = lsCompiler.getPackageInfo(mainFile);
+        PooledCompilerContext pooledContext = lsCompiler.acquireContext(packageInfo);
+        CompilerContext compilerContext = pooledContext.getCompilerContext();
+
+        TextDocumentPositionParams position = new TextDocumentPositionParams(
+                new TextDocumentIdentifier(mainFile.toUri().toString()), workspace.getCursor(context));
+        SuggestionsFilterDataModel filterDataModel = new SuggestionsFilterDataModel();
+        pooledContext.setDiagnosticListener(diagnostic -> { });
+        compilerContext.put(DefaultErrorStrategy.class,
+                new BallerinaCustomErrorStrategy(compilerContext, position, filterDataModel));
+        Compiler compiler = Compiler.getInstance(compilerContext);
+        compiler.compile(packageInfo.getPackageName());
+
+        return new CompletionSnapshot(mainFile.getFileName().toString(), compilerContext,
+                (BLangPackage) compiler.getAST(), position, filterDataModel);
+    }
+
+    /**
+     * Resolve the symbol environment of the cursor, which sets the visible symbols of the filter data model.
+     *
+     * @return filter data model of the snapshot
+     */
+    public SuggestionsFilterDataModel resolveCursor() {
+        bLangPackage.accept(new TreeVisitor(fileName, compilerContext, position, filterDataModel));
+        return filterDataModel;
+    }
+
+    public SuggestionsFilterDataModel getFilterDataModel() {
+        return filterDataModel;
+    }
+}
@@ -0,0 +1,76 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.langserver.benchmarks;
+
+import org.ballerinalang.langserver.completions.SuggestionsFilterDataModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the cursor position resolution of the TreeVisitor, which finds the symbol environment of the cursor and
+ * collects the visible symbols.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class CursorResolutionBenchmark {
+
+    @Param({"10", "100"})
+    public int functionsPerFile;
+
+    @Param({"1", "10"})
+    public int filesPerPackage;
+
+    @Param({"TOP_LEVEL", "STRUCT_BODY", "FUNCTION_BODY"})
+    public SyntheticWorkspace.CompletionContext context;
+
+    private SyntheticWorkspace workspace;
+    private CompletionSnapshot snapshot;
+
+    @Setup
+    public void setup() throws IOException {
+        workspace = SyntheticWorkspace.create(functionsPerFile, filesPerPackage);
+        snapshot = CompletionSnapshot.create(workspace, context);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        workspace.delete();
+    }
+
+    @Benchmark
+    public SuggestionsFilterDataModel resolveCursor() {
+        return snapshot.resolveCursor();
+    }
+}
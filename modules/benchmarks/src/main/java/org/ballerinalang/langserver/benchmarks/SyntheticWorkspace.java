@@ -0,0 +1,208 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.langserver.benchmarks;
+
+import org.eclipse.lsp4j.Position;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A generated workspace with an application package importing a utility package. The size of the files and the
+ * packages is configurable, so that the benchmarks can be parameterized by them.
+ */
+public class SyntheticWorkspace {
+
+    public static final String ORG_NAME = "bench";
+    public static final String APP_PACKAGE_NAME = "app";
+    public static final String UTIL_PACKAGE_NAME = "util";
+
+    private static final String MAIN_FILE_NAME = "main.bal";
+    private static final String INDENT = "    ";
+
+    private final Path sourceRoot;
+    private final int functionsPerFile;
+
+    private SyntheticWorkspace(Path sourceRoot, int functionsPerFile) {
+        this.sourceRoot = sourceRoot;
+        this.functionsPerFile = functionsPerFile;
+    }
+
+    /**
+     * Generate a workspace in a temporary directory.
+     *
+     * @param functionsPerFile number of functions in each source file
+     * @param filesPerPackage  number of source files in each package
+     * @return generated workspace
+     * @throws IOException if the sources cannot be written
+     */
+    public static SyntheticWorkspace create(int functionsPerFile, int filesPerPackage) throws IOException {
+        SyntheticWorkspace workspace = new SyntheticWorkspace(Files.createTempDirectory("ls-bench"),
+                functionsPerFile);
+        Path utilPath = Files.createDirectories(workspace.getPackagePath(UTIL_PACKAGE_NAME));
+        Path appPath = Files.createDirectories(workspace.getPackagePath(APP_PACKAGE_NAME));
+        for (int file = 0; file < filesPerPackage; file++) {
+            write(utilPath.resolve("util" + file + ".bal"), workspace.createSource(UTIL_PACKAGE_NAME, "util" + file));
+            if (file > 0) {
+                write(appPath.resolve("app" + file + ".bal"), workspace.createSource(APP_PACKAGE_NAME, "app" + file));
+            }
+        }
+        write(workspace.getMainFile(), workspace.getMainSource(CompletionContext.FUNCTION_BODY));
+        return workspace;
+    }
+
+    public Path getSourceRoot() {
+        return sourceRoot;
+    }
+
+    public Path getPackagePath(String packageName) {
+        return sourceRoot.resolve(ORG_NAME).resolve(packageName);
+    }
+
+    public Path getMainFile() {
+        return getPackagePath(APP_PACKAGE_NAME).resolve(MAIN_FILE_NAME);
+    }
+
+    /**
+     * Get the source of the main file of the application package, with the prefix of the given completion context
+     * typed at its cursor.
+     *
+     * @param context completion context
+     * @return source of the main file
+     */
+    public String getMainSource(CompletionContext context) {
+        return String.join("\n", createMainLines(context, new Position()));
+    }
+
+    /**
+     * Get the cursor position of the given completion context in the main file.
+     *
+     * @param context completion context
+     * @return cursor position
+     */
+    public Position getCursor(CompletionContext context) {
+        Position cursor = new Position();
+        createMainLines(context, cursor);
+        return cursor;
+    }
+
+    /**
+     * Delete the generated workspace.
+     *
+     * @throws IOException if the workspace cannot be deleted
+     */
+    public void delete() throws IOException {
+        try (Stream<Path> paths = Files.walk(sourceRoot)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    private List<String> createMainLines(CompletionContext context, Position cursor) {
+        List<String> lines = new ArrayList<>();
+        lines.add("package " + ORG_NAME + "." + APP_PACKAGE_NAME + ";");
+        lines.add("");
+        lines.add("import " + ORG_NAME + "." + UTIL_PACKAGE_NAME + ";");
+        lines.add("");
+        lines.add("struct Person {");
+        lines.add(INDENT + "string name;");
+        lines.add(INDENT + "int age;");
+        addCursorLine(lines, context, CompletionContext.STRUCT_BODY, INDENT, cursor);
+        lines.add("}");
+        lines.add("");
+        addCursorLine(lines, context, CompletionContext.TOP_LEVEL, "", cursor);
+        lines.add("");
+        lines.add("function main (string[] args) {");
+        lines.add(INDENT + "Person person = {name:\"John\", age:30};");
+        lines.add(INDENT + "int total = util:util0_0(person.age, person.name);");
+        addCursorLine(lines, context, CompletionContext.FUNCTION_BODY, INDENT, cursor);
+        addCursorLine(lines, context, CompletionContext.PACKAGE_INVOCATION, INDENT, cursor);
+        lines.add("}");
+        lines.add("");
+        lines.addAll(createFunctions("main"));
+        return lines;
+    }
+
+    private static void addCursorLine(List<String> lines, CompletionContext context, CompletionContext lineContext,
+                                      String indent, Position cursor) {
+        if (context != lineContext) {
+            return;
+        }
+        cursor.setLine(lines.size());
+        cursor.setCharacter(indent.length() + context.getPrefix().length());
+        lines.add(indent + context.getPrefix());
+    }
+
+    private String createSource(String packageName, String functionPrefix) {
+        List<String> lines = new ArrayList<>();
+        lines.add("package " + ORG_NAME + "." + packageName + ";");
+        lines.add("");
+        lines.addAll(createFunctions(functionPrefix));
+        return String.join("\n", lines);
+    }
+
+    private List<String> createFunctions(String functionPrefix) {
+        List<String> lines = new ArrayList<>();
+        for (int function = 0; function < functionsPerFile; function++) {
+            lines.add("public function " + functionPrefix + "_" + function + " (int a, string b) (int) {");
+            lines.add(INDENT + "int total = a;");
+            lines.add(INDENT + "while (total < 100) {");
+            lines.add(INDENT + INDENT + "total = total + " + (function + 1) + ";");
+            lines.add(INDENT + "}");
+            lines.add(INDENT + "if (b == \"\") {");
+            lines.add(INDENT + INDENT + "return total;");
+            lines.add(INDENT + "}");
+            lines.add(INDENT + "return total * 2;");
+            lines.add("}");
+            lines.add("");
+        }
+        return lines;
+    }
+
+    private static void write(Path filePath, String content) throws IOException {
+        Files.write(filePath, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Completion contexts of the main file, each resolved by a different completion item resolver.
+     */
+    public enum CompletionContext {
+        TOP_LEVEL(""),
+        STRUCT_BODY(""),
+        FUNCTION_BODY(""),
+        PACKAGE_INVOCATION(UTIL_PACKAGE_NAME + ":");
+
+        private final String prefix;
+
+        CompletionContext(String prefix) {
+            this.prefix = prefix;
+        }
+
+        public String getPrefix() {
+            return prefix;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.langserver.benchmarks;
+
+import org.ballerinalang.langserver.workspace.WorkspaceDocumentManager;
+import org.ballerinalang.langserver.workspace.WorkspaceDocumentManagerImpl;
+import org.ballerinalang.langserver.workspace.repository.WorkspacePackageRepository;
+import org.ballerinalang.model.elements.PackageID;
+import org.ballerinalang.repository.PackageSource;
+import org.ballerinalang.repository.PackageSourceEntry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.ballerinalang.compiler.util.Name;
+import org.wso2.ballerinalang.compiler.util.Names;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks loading the sources of a package through the WorkspacePackageRepository, with one of its files open in
+ * the document manager.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class WorkspacePackageRepositoryBenchmark {
+
+    @Param({"10", "100"})
+    public int functionsPerFile;
+
+    @Param({"1", "10"})
+    public int filesPerPackage;
+
+    private SyntheticWorkspace workspace;
+    private WorkspacePackageRepository packageRepository;
+    private PackageID packageID;
+
+    @Setup
+    public void setup() throws IOException {
+        workspace = SyntheticWorkspace.create(functionsPerFile, filesPerPackage);
+        WorkspaceDocumentManager documentManager = new WorkspaceDocumentManagerImpl();
+        Path mainFile = workspace.getMainFile();
+        documentManager.openFile(mainFile, workspace.getMainSource(SyntheticWorkspace.CompletionContext.TOP_LEVEL));
+        packageRepository = new WorkspacePackageRepository(workspace.getSourceRoot().toString(), documentManager);
+        packageID = new PackageID(Arrays.asList(new Name(SyntheticWorkspace.ORG_NAME),
+                new Name(SyntheticWorkspace.APP_PACKAGE_NAME)), Names.DEFAULT_VERSION);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        workspace.delete();
+    }
+
+    @Benchmark
+    public int loadPackage() {
+        PackageSource packageSource = (PackageSource) packageRepository.loadPackage(packageID);
+        int size = 0;
+        for (PackageSourceEntry entry : packageSource.getPackageSourceEntries()) {
+            size += entry.getCode().length;
+        }
+        return size;
+    }
+}
@@ -15,52 +15,155 @@
  */
 package org.ballerinalang.langserver;
 
+import org.ballerinalang.langserver.index.WorkspaceIndexer;
+import org.ballerinalang.langserver.semantictokens.SemanticTokens;
+import org.ballerinalang.langserver.semantictokens.SemanticTokensDelta;
+import org.ballerinalang.langserver.semantictokens.SemanticTokensParams;
+import org.ballerinalang.langserver.semantictokens.SemanticTokensProvider;
+import org.ballerinalang.langserver.semantictokens.SemanticTokensService;
+import org.ballerinalang.langserver.stats.ServerStats;
+import org.ballerinalang.langserver.stats.ServerStatsService;
+import org.ballerinalang.langserver.structure.DocumentStructureService;
+import org.ballerinalang.langserver.structure.FoldingRange;
+import org.ballerinalang.langserver.structure.FoldingRangeParams;
+import org.ballerinalang.langserver.structure.SelectionRange;
+import org.ballerinalang.langserver.structure.SelectionRangeParams;
+import org.ballerinalang.langserver.trace.RequestTracer;
+import org.ballerinalang.langserver.warmup.WarmUpService;
 import org.eclipse.lsp4j.CompletionOptions;
+import org.eclipse.lsp4j.DocumentOnTypeFormattingOptions;
+import org.eclipse.lsp4j.ExecuteCommandOptions;
 import org.eclipse.lsp4j.InitializeParams;
 import org.eclipse.lsp4j.InitializeResult;
+import org.eclipse.lsp4j.InitializedParams;
 import org.eclipse.lsp4j.ServerCapabilities;
+import org.eclipse.lsp4j.SignatureHelpOptions;
 import org.eclipse.lsp4j.TextDocumentSyncKind;
+import org.eclipse.lsp4j.jsonrpc.messages.Either;
 import org.eclipse.lsp4j.services.LanguageClient;
 import org.eclipse.lsp4j.services.LanguageClientAware;
 import org.eclipse.lsp4j.services.LanguageServer;
-import org.eclipse.lsp4j.services.TextDocumentService;
 import org.eclipse.lsp4j.services.WorkspaceService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.net.URI;
+import java.nio.file.FileSystemNotFoundException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
 /**
  * Language server implementation for Ballerina.
  */
-public class BallerinaLanguageServer implements LanguageServer, LanguageClientAware {
+public class BallerinaLanguageServer implements LanguageServer, LanguageClientAware, ServerStatsService,
+        SemanticTokensService, DocumentStructureService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(BallerinaLanguageServer.class);
+
     private LanguageClient client = null;
-    private TextDocumentService textService;
+    private BallerinaTextDocumentService textService;
     private WorkspaceService workspaceService;
+    private Path workspaceRoot = null;
+    private WorkspaceIndexer workspaceIndexer = null;
+    private final LSGlobalContext globalContext;
+    private final RequestTracer tracer = RequestTracer.fromSystemProperties();
 
     public BallerinaLanguageServer() {
+        this(new LSGlobalContext());
+    }
+
+    /**
+     * Create a language server session, sharing the given global context with the other sessions of the JVM.
+     *
+     * @param globalContext global context
+     */
+    public BallerinaLanguageServer(LSGlobalContext globalContext) {
+        this.globalContext = globalContext;
+        globalContext.getCompilationMemoryManager().monitorMemoryPressure();
         textService = new BallerinaTextDocumentService(this);
-        workspaceService = new BallerinaWorkspaceService();
+        workspaceService = new BallerinaWorkspaceService(this);
+        textService.getServerStats().registerMBean();
     }
 
     public LanguageClient getClient() {
         return this.client;
     }
 
+    public LSGlobalContext getGlobalContext() {
+        return this.globalContext;
+    }
+
+    public RequestTracer getTracer() {
+        return this.tracer;
+    }
+
     public CompletableFuture<InitializeResult> initialize(InitializeParams params) {
+        this.workspaceRoot = getWorkspaceRoot(params);
+        if (WarmUpService.isEnabled()) {
+            CompletableFuture.runAsync(() -> new WarmUpService(this.globalContext).warmUp());
+        }
         final InitializeResult res = new InitializeResult(new ServerCapabilities());
         res.getCapabilities().setCompletionProvider(new CompletionOptions());
         res.getCapabilities().setTextDocumentSync(TextDocumentSyncKind.Full);
+        res.getCapabilities().setHoverProvider(true);
+        res.getCapabilities().setDocumentHighlightProvider(true);
+        res.getCapabilities().setDocumentSymbolProvider(true);
+        res.getCapabilities().setWorkspaceSymbolProvider(true);
+        res.getCapabilities().setSignatureHelpProvider(new SignatureHelpOptions(Arrays.asList("(", ",")));
+        res.getCapabilities().setDocumentFormattingProvider(true);
+        res.getCapabilities().setDocumentRangeFormattingProvider(true);
+        res.getCapabilities().setRenameProvider(true);
+        // Semantic tokens, folding and selection ranges are not a part of the protocol version implemented by lsp4j,
+        // hence served as custom requests
+        Map<String, Object> experimentalCapabilities = new HashMap<>();
+        experimentalCapabilities.put("semanticTokensProvider", SemanticTokensProvider.getOptions());
+        experimentalCapabilities.put("foldingRangeProvider", true);
+        experimentalCapabilities.put("selectionRangeProvider", true);
+        res.getCapabilities().setExperimental(experimentalCapabilities);
+        res.getCapabilities().setDocumentOnTypeFormattingProvider(
+                new DocumentOnTypeFormattingOptions("}", Collections.singletonList(";")));
+        res.getCapabilities().setExecuteCommandProvider(
+                new ExecuteCommandOptions(BallerinaWorkspaceService.getSupportedCommands()));
 
         return CompletableFuture.supplyAsync(() -> res);
     }
 
+    @Override
+    public void initialized(InitializedParams params) {
+        if (this.workspaceRoot == null) {
+            return;
+        }
+        this.workspaceIndexer = new WorkspaceIndexer(this.textService.getLSCompiler(),
+                this.textService.getSymbolIndex(), this.textService.getReferenceIndex(), this.client,
+                this.globalContext.getIndexerPool());
+        this.workspaceIndexer.index(this.workspaceRoot);
+    }
+
     public CompletableFuture<Object> shutdown() {
+        this.dispose();
         return CompletableFuture.supplyAsync(() -> Boolean.TRUE);
     }
 
+    /**
+     * Release the state of the session. Called on shutdown, and by the launchers once the client is gone, since a
+     * dropped connection is never shut down.
+     */
+    public void dispose() {
+        if (this.workspaceIndexer != null) {
+            this.workspaceIndexer.cancel();
+        }
+        this.textService.dispose();
+    }
+
     public void exit() {
     }
     
-    public TextDocumentService getTextDocumentService() {
+    public BallerinaTextDocumentService getTextDocumentService() {
         return this.textService;
     }
 
@@ -68,9 +171,53 @@ public class BallerinaLanguageServer implements LanguageServer, LanguageClientAw
         return this.workspaceService;
     }
 
+    @Override
+    public CompletableFuture<ServerStats> serverStats() {
+        return CompletableFuture.completedFuture(ServerStats.of(textService.getServerStats()));
+    }
+
+    @Override
+    public CompletableFuture<SemanticTokens> semanticTokensFull(SemanticTokensParams params) {
+        return textService.semanticTokensFull(params);
+    }
+
+    @Override
+    public CompletableFuture<Either<SemanticTokens, SemanticTokensDelta>> semanticTokensFullDelta(
+            SemanticTokensParams params) {
+        return textService.semanticTokensFullDelta(params);
+    }
+
+    @Override
+    public CompletableFuture<SemanticTokens> semanticTokensRange(SemanticTokensParams params) {
+        return textService.semanticTokensRange(params);
+    }
+
+    @Override
+    public CompletableFuture<List<FoldingRange>> foldingRange(FoldingRangeParams params) {
+        return textService.foldingRange(params);
+    }
+
+    @Override
+    public CompletableFuture<List<SelectionRange>> selectionRange(SelectionRangeParams params) {
+        return textService.selectionRange(params);
+    }
+
     @Override
     public void connect(LanguageClient languageClient) {
         this.client = languageClient;
     }
+
+    private static Path getWorkspaceRoot(InitializeParams params) {
+        try {
+            if (params.getRootUri() != null) {
+                return Paths.get(URI.create(params.getRootUri()));
+            } else if (params.getRootPath() != null) {
+                return Paths.get(params.getRootPath());
+            }
+        } catch (IllegalArgumentException | FileSystemNotFoundException e) {
+            LOGGER.error(e.getMessage());
+        }
+        return null;
+    }
 }
 
@@ -16,26 +16,57 @@
 package org.ballerinalang.langserver;
 
 import org.antlr.v4.runtime.DefaultErrorStrategy;
-import org.ballerinalang.compiler.CompilerPhase;
+import org.ballerinalang.langserver.compiler.CompilationScheduler;
+import org.ballerinalang.langserver.compiler.EvictableCache;
+import org.ballerinalang.langserver.compiler.IncrementalParser;
+import org.ballerinalang.langserver.compiler.LSCompiler;
+import org.ballerinalang.langserver.compiler.PackageCompilation;
+import org.ballerinalang.langserver.compiler.PackageInfo;
+import org.ballerinalang.langserver.compiler.PooledCompilerContext;
+import org.ballerinalang.langserver.compiler.worker.CompilerWorkerPool;
+import org.ballerinalang.langserver.compiler.worker.DocumentSnapshot;
+import org.ballerinalang.langserver.compiler.worker.WorkerCompilation;
 import org.ballerinalang.langserver.completions.BallerinaCustomErrorStrategy;
+import org.ballerinalang.langserver.completions.CompletionCache;
+import org.ballerinalang.langserver.completions.DegradedCompletions;
+import org.ballerinalang.langserver.completions.StaleScopeCompletions;
 import org.ballerinalang.langserver.completions.SuggestionsFilterDataModel;
 import org.ballerinalang.langserver.completions.TreeVisitor;
 import org.ballerinalang.langserver.completions.consts.CompletionItemResolver;
 import org.ballerinalang.langserver.completions.resolvers.TopLevelResolver;
-import org.ballerinalang.langserver.completions.util.TextDocumentServiceUtil;
+import org.ballerinalang.langserver.diagnostics.DiagnosticsPublisher;
+import org.ballerinalang.langserver.formatting.BallerinaFormatter;
+import org.ballerinalang.langserver.highlight.DocumentHighlightProvider;
+import org.ballerinalang.langserver.hover.HoverProvider;
+import org.ballerinalang.langserver.index.CompilationUnitSummary;
+import org.ballerinalang.langserver.index.WorkspaceReferenceIndex;
+import org.ballerinalang.langserver.index.WorkspaceSymbolIndex;
+import org.ballerinalang.langserver.rename.RenameProvider;
+import org.ballerinalang.langserver.semantictokens.SemanticTokens;
+import org.ballerinalang.langserver.semantictokens.SemanticTokensDelta;
+import org.ballerinalang.langserver.semantictokens.SemanticTokensParams;
+import org.ballerinalang.langserver.semantictokens.SemanticTokensProvider;
+import org.ballerinalang.langserver.signature.SignatureHelpProvider;
+import org.ballerinalang.langserver.stats.ServerStatsCollector;
+import org.ballerinalang.langserver.structure.DocumentStructures;
+import org.ballerinalang.langserver.structure.FoldingRange;
+import org.ballerinalang.langserver.structure.FoldingRangeParams;
+import org.ballerinalang.langserver.structure.SelectionRange;
+import org.ballerinalang.langserver.structure.SelectionRangeParams;
+import org.ballerinalang.langserver.trace.RequestTracer;
+import org.ballerinalang.langserver.trace.TraceSpan;
+import org.ballerinalang.langserver.workspace.DocumentMailboxes;
+import org.ballerinalang.langserver.workspace.DocumentVersionTracker;
+import org.ballerinalang.langserver.workspace.WorkspaceDocument;
 import org.ballerinalang.langserver.workspace.WorkspaceDocumentManager;
 import org.ballerinalang.langserver.workspace.WorkspaceDocumentManagerImpl;
-import org.ballerinalang.langserver.workspace.repository.WorkspacePackageRepository;
 import org.ballerinalang.repository.PackageRepository;
-import org.ballerinalang.util.diagnostic.DiagnosticListener;
 import org.eclipse.lsp4j.CodeActionParams;
 import org.eclipse.lsp4j.CodeLens;
 import org.eclipse.lsp4j.CodeLensParams;
 import org.eclipse.lsp4j.Command;
 import org.eclipse.lsp4j.CompletionItem;
 import org.eclipse.lsp4j.CompletionList;
-import org.eclipse.lsp4j.Diagnostic;
-import org.eclipse.lsp4j.DiagnosticSeverity;
 import org.eclipse.lsp4j.DidChangeTextDocumentParams;
 import org.eclipse.lsp4j.DidCloseTextDocumentParams;
 import org.eclipse.lsp4j.DidOpenTextDocumentParams;
@@ -48,7 +79,6 @@ import org.eclipse.lsp4j.DocumentSymbolParams;
 import org.eclipse.lsp4j.Hover;
 import org.eclipse.lsp4j.Location;
 import org.eclipse.lsp4j.Position;
-import org.eclipse.lsp4j.PublishDiagnosticsParams;
 import org.eclipse.lsp4j.Range;
 import org.eclipse.lsp4j.ReferenceParams;
 import org.eclipse.lsp4j.RenameParams;
@@ -65,11 +95,9 @@ import org.wso2.ballerinalang.compiler.Compiler;
 import org.wso2.ballerinalang.compiler.tree.BLangNode;
 import org.wso2.ballerinalang.compiler.tree.BLangPackage;
 import org.wso2.ballerinalang.compiler.util.CompilerContext;
-import org.wso2.ballerinalang.compiler.util.CompilerOptions;
 
 import java.io.File;
 import java.net.MalformedURLException;
-import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.nio.file.Path;
@@ -78,11 +106,9 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 import java.util.stream.Collectors;
 
-import static org.ballerinalang.compiler.CompilerOptionName.COMPILER_PHASE;
-import static org.ballerinalang.compiler.CompilerOptionName.SOURCE_ROOT;
-
 /**
  * Text document service implementation for ballerina.
  */
@@ -90,61 +116,223 @@ public class BallerinaTextDocumentService implements TextDocumentService {
 
     private final BallerinaLanguageServer ballerinaLanguageServer;
     private final WorkspaceDocumentManager documentManager;
+    private final LSCompiler lsCompiler;
+    private final WorkspaceSymbolIndex symbolIndex = new WorkspaceSymbolIndex();
+    private final WorkspaceReferenceIndex referenceIndex = new WorkspaceReferenceIndex();
+    private final CompletionCache completionCache = new CompletionCache();
+    private final StaleScopeCompletions staleScopeCompletions = new StaleScopeCompletions();
+    private final IncrementalParser incrementalParser = new IncrementalParser();
+    private final SemanticTokensProvider semanticTokensProvider = new SemanticTokensProvider();
+    private final DocumentStructures documentStructures = new DocumentStructures();
+    private final RenameProvider renameProvider;
+    private final DocumentMailboxes documentMailboxes;
+    private final CompilationScheduler compilationScheduler;
+    private final RequestDeadlines requestDeadlines;
+    private final ServerStatsCollector serverStats;
+    private final DocumentVersionTracker versionTracker = new DocumentVersionTracker();
+    private final DiagnosticsPublisher diagnosticsPublisher;
+    private final RequestTracer tracer;
+    private final ExecutorService requestExecutor;
     private static final Logger LOGGER = LoggerFactory.getLogger(BallerinaTextDocumentService.class);
+    private static final String COMPLETION = "completion";
+    private static final String DID_CHANGE = "didChange";
+    private static final String SEMANTIC_TOKENS = "semanticTokens";
 
     public BallerinaTextDocumentService(BallerinaLanguageServer ballerinaLanguageServer) {
         this.ballerinaLanguageServer = ballerinaLanguageServer;
         this.documentManager = new WorkspaceDocumentManagerImpl();
+        this.tracer = ballerinaLanguageServer.getTracer();
+        this.requestExecutor = ballerinaLanguageServer.getGlobalContext().getRequestExecutor();
+        this.documentMailboxes = new DocumentMailboxes(this.requestExecutor);
+        this.compilationScheduler = new CompilationScheduler(this.requestExecutor);
+        this.requestDeadlines = ballerinaLanguageServer.getGlobalContext().getRequestDeadlines();
+        this.lsCompiler = new LSCompiler(this.documentManager, ballerinaLanguageServer.getGlobalContext(),
+                this.tracer);
+        this.serverStats = new ServerStatsCollector(this.lsCompiler, this.completionCache, this.documentMailboxes,
+                ballerinaLanguageServer.getGlobalContext());
+        this.diagnosticsPublisher = new DiagnosticsPublisher(ballerinaLanguageServer::getClient,
+                this.versionTracker);
+        this.renameProvider = new RenameProvider(this.lsCompiler, this.referenceIndex, this.documentManager);
+        for (EvictableCache cache : this.getEvictableCaches()) {
+            ballerinaLanguageServer.getGlobalContext().getCompilationMemoryManager().register(cache);
+        }
+    }
+
+    private List<EvictableCache> getEvictableCaches() {
+        return Arrays.asList(this.completionCache, this.staleScopeCompletions, this.incrementalParser,
+                this.semanticTokensProvider, this.documentStructures);
+    }
+
+    public LSCompiler getLSCompiler() {
+        return lsCompiler;
+    }
+
+    public WorkspaceSymbolIndex getSymbolIndex() {
+        return symbolIndex;
+    }
+
+    public WorkspaceReferenceIndex getReferenceIndex() {
+        return referenceIndex;
+    }
+
+    /**
+     * Release the state of the session, which is otherwise kept alive by the statistics MBean registered with the
+     * platform MBean server.
+     */
+    public void dispose() {
+        this.serverStats.unregisterMBean();
+        this.lsCompiler.dispose();
+        this.completionCache.clear();
+        for (EvictableCache cache : this.getEvictableCaches()) {
+            this.ballerinaLanguageServer.getGlobalContext().getCompilationMemoryManager().unregister(cache);
+        }
+    }
+
+    public ServerStatsCollector getServerStats() {
+        return serverStats;
+    }
+
+    /**
+     * Get the mailboxes the operations on the documents are run through, in the order they were received.
+     *
+     * @return document mailboxes
+     */
+    public DocumentMailboxes getDocumentMailboxes() {
+        return documentMailboxes;
     }
 
     @Override
     public CompletableFuture<Either<List<CompletionItem>, CompletionList>>
     completion(TextDocumentPositionParams position) {
-        return CompletableFuture.supplyAsync(() -> {
-            SuggestionsFilterDataModel filterDataModel = new SuggestionsFilterDataModel();
-            List<CompletionItem> completions;
-            String uri = position.getTextDocument().getUri();
-            String fileContent = this.documentManager.getFileContent(Paths.get(URI.create(uri)));
-            Path filePath = this.getPath(uri);
-            String[] pathComponents = position.getTextDocument().getUri().split("\\" + File.separator);
-            String fileName = pathComponents[pathComponents.length - 1];
+        String uri = position.getTextDocument().getUri();
+        CompletableFuture<Either<List<CompletionItem>, CompletionList>> computation =
+                this.documentMailboxes.submit(uri, () -> {
+                    try (TraceSpan span = this.tracer.startSpan(COMPLETION, COMPLETION, uri)) {
+                        return Either.<List<CompletionItem>, CompletionList>forLeft(this.getCompletions(position));
+                    } catch (Exception e) {
+                        LOGGER.error(e.getMessage());
+                        return Either.<List<CompletionItem>, CompletionList>forLeft(new ArrayList<>());
+                    }
+                });
+        // The compilation keeps running in the background, and caches its result for the next request, which is made
+        // at the same position or within the same identifier since the incomplete result makes the client ask again.
+        return this.serverStats.recordLatency(COMPLETION, this.requestDeadlines.withDeadline(COMPLETION, computation,
+                () -> this.getDegradedCompletions(position)));
+    }
 
-            String pkgName = TextDocumentServiceUtil.getPackageFromContent(fileContent);
-            String sourceRoot = TextDocumentServiceUtil.getSourceRoot(filePath, pkgName);
+    private Either<List<CompletionItem>, CompletionList> getDegradedCompletions(
+            TextDocumentPositionParams position) {
+        Path filePath = this.getPath(position.getTextDocument().getUri());
+        WorkspaceDocument document = filePath == null ? null : this.documentManager.getDocument(filePath);
+        if (document == null) {
+            return Either.forRight(new CompletionList(true, new ArrayList<>()));
+        }
+        // The result of an earlier request may have been computed in the background meanwhile, which is only valid
+        // once the changes received before the request have been applied
+        if (!this.versionTracker.isStale(filePath, document.getVersion())) {
+            List<CompletionItem> cachedCompletions = this.completionCache.get(filePath, document.getVersion(),
+                    document.getContent(), position.getPosition());
+            if (cachedCompletions != null) {
+                return Either.forLeft(cachedCompletions);
+            }
+        }
+        return Either.forRight(new CompletionList(true, DegradedCompletions.getCompletions(
+                this.staleScopeCompletions, filePath, document.getContent(), position.getPosition())));
+    }
 
-            PackageRepository packageRepository = new WorkspacePackageRepository(sourceRoot, documentManager);
-            CompilerContext compilerContext = prepareCompilerContext(packageRepository, sourceRoot);
+    private List<CompletionItem> getCompletions(TextDocumentPositionParams position) {
+        SuggestionsFilterDataModel filterDataModel = new SuggestionsFilterDataModel();
+        List<CompletionItem> completions;
+        String uri = position.getTextDocument().getUri();
+        Path filePath = this.getPath(uri);
+        String[] pathComponents = position.getTextDocument().getUri().split("\\" + File.separator);
+        String fileName = pathComponents[pathComponents.length - 1];
+
+        // Requests issued while an identifier is typed are answered from the result computed for its first characters
+        WorkspaceDocument document = this.documentManager.getDocument(filePath);
+        if (document == null) {
+            return new ArrayList<>();
+        }
+        String content = document.getContent();
+        int version = document.getVersion();
+        try (TraceSpan span = this.tracer.startSpan(COMPLETION, "prefixReuse")) {
+            List<CompletionItem> cachedCompletions = this.completionCache.get(filePath, version, content,
+                    position.getPosition());
+            if (cachedCompletions != null) {
+                return cachedCompletions;
+            }
+        }
+
+        PackageInfo packageInfo = this.lsCompiler.getPackageInfo(filePath);
+        if (this.lsCompiler.getGlobalContext().getCompilerWorkerPool().hasFailed(packageInfo.getKey())) {
+            // The package killed a compiler worker, hence it is not compiled in process
+            return DegradedCompletions.getCompletions(this.staleScopeCompletions, filePath, content,
+                    position.getPosition());
+        }
+        PooledCompilerContext pooledContext;
+        try (TraceSpan span = this.tracer.startSpan(COMPLETION, "acquireContext")) {
+            pooledContext = this.lsCompiler.acquireContext(packageInfo);
+        }
+        BLangPackage bLangPackage = null;
+        boolean resolved = false;
+        try {
+            CompilerContext compilerContext = pooledContext.getCompilerContext();
 
             List<org.ballerinalang.util.diagnostic.Diagnostic> balDiagnostics = new ArrayList<>();
             CollectDiagnosticListener diagnosticListener = new CollectDiagnosticListener(balDiagnostics);
             BallerinaCustomErrorStrategy customErrorStrategy = new BallerinaCustomErrorStrategy(compilerContext,
                     position, filterDataModel);
-            compilerContext.put(DiagnosticListener.class, diagnosticListener);
+            pooledContext.setDiagnosticListener(diagnosticListener);
             compilerContext.put(DefaultErrorStrategy.class, customErrorStrategy);
 
             Compiler compiler = Compiler.getInstance(compilerContext);
-            if ("".equals(pkgName)) {
-                compiler.compile(fileName);
-            } else {
-                compiler.compile(pkgName);
+            // Parsing, symbol definition, type checking and code analysis are run by a single call to the compiler
+            try (TraceSpan span = this.tracer.startSpan(COMPLETION, "parseAndAnalyze")) {
+                if ("".equals(packageInfo.getPackageName())) {
+                    compiler.compile(fileName);
+                } else {
+                    compiler.compile(packageInfo.getPackageName());
+                }
             }
 
-            BLangPackage bLangPackage = (BLangPackage) compiler.getAST();
+            bLangPackage = (BLangPackage) compiler.getAST();
 
             // Visit the package to resolve the symbols
-            TreeVisitor treeVisitor = new TreeVisitor(fileName, compilerContext, position, filterDataModel);
-            bLangPackage.accept(treeVisitor);
+            try (TraceSpan span = this.tracer.startSpan(COMPLETION, "treeVisitor")) {
+                TreeVisitor treeVisitor = new TreeVisitor(fileName, compilerContext, position, filterDataModel);
+                bLangPackage.accept(treeVisitor);
+            }
 
             BLangNode symbolEnvNode = filterDataModel.getSymbolEnvNode();
-            if (symbolEnvNode == null) {
-                completions = CompletionItemResolver.getResolverByClass(TopLevelResolver.class)
-                        .resolveItems(filterDataModel);
+            try (TraceSpan span = this.tracer.startSpan(COMPLETION, "resolveItems")) {
+                if (symbolEnvNode == null) {
+                    // The scope may have been lost to a parse error, in which case a scope resolved before is better
+                    completions = this.staleScopeCompletions.find(filePath, content, position.getPosition());
+                    if (completions == null) {
+                        completions = CompletionItemResolver.getResolverByClass(TopLevelResolver.class)
+                                .resolveItems(filterDataModel);
+                    }
+                } else {
+                    completions = CompletionItemResolver.getResolverByClass(symbolEnvNode.getClass())
+                            .resolveItems(filterDataModel);
+                    if (symbolEnvNode.pos != null && symbolEnvNode.pos.src != null
+                            && fileName.equals(symbolEnvNode.pos.src.cUnitName)) {
+                        this.staleScopeCompletions.remember(filePath, content, symbolEnvNode.pos, completions);
+                    }
+                }
+            }
+            resolved = true;
+        } finally {
+            // The context is released once the symbols are resolved, since they are looked up from the context. A
+            // failed compilation may leave the context inconsistent, hence it is not reused.
+            if (resolved) {
+                this.lsCompiler.releaseContext(pooledContext, packageInfo, bLangPackage);
             } else {
-                completions = CompletionItemResolver.getResolverByClass(symbolEnvNode.getClass())
-                        .resolveItems(filterDataModel);
+                this.lsCompiler.discardContext(pooledContext);
             }
-            return Either.forLeft(completions);
-        });
+        }
+        this.completionCache.put(filePath, version, content, position.getPosition(), completions);
+        return completions;
     }
 
     @Override
@@ -154,12 +342,51 @@ public class BallerinaTextDocumentService implements TextDocumentService {
 
     @Override
     public CompletableFuture<Hover> hover(TextDocumentPositionParams position) {
-        return CompletableFuture.supplyAsync(() -> null);
+        String uri = position.getTextDocument().getUri();
+        CompletableFuture<Hover> computation = this.documentMailboxes.submit(uri, () -> {
+            Path filePath = this.getPath(position.getTextDocument().getUri());
+            if (filePath == null) {
+                return null;
+            }
+            try (TraceSpan span = this.tracer.startSpan("hover", "hover", position.getTextDocument().getUri())) {
+                PackageCompilation compilation = this.lsCompiler.getOrCompile(filePath);
+                return compilation == null ? null
+                        : HoverProvider.getHover(compilation, filePath, position.getPosition());
+            } catch (Exception e) {
+                LOGGER.error(e.getMessage());
+                return null;
+            }
+        });
+        return this.serverStats.recordLatency("hover",
+                this.requestDeadlines.withDeadline("hover", computation, () -> null));
     }
 
     @Override
     public CompletableFuture<SignatureHelp> signatureHelp(TextDocumentPositionParams position) {
-        return null;
+        String uri = position.getTextDocument().getUri();
+        CompletableFuture<SignatureHelp> computation = this.documentMailboxes.submit(uri, () -> {
+            Path filePath = this.getPath(position.getTextDocument().getUri());
+            String fileContent = filePath == null ? null : this.documentManager.getFileContent(filePath);
+            if (fileContent == null) {
+                return null;
+            }
+            try (TraceSpan span = this.tracer.startSpan("signatureHelp", "signatureHelp",
+                    position.getTextDocument().getUri())) {
+                // The signatures of the last compilation are good enough while the invocation is being typed
+                PackageCompilation compilation = this.lsCompiler.getCompilationCache().getByFile(filePath);
+                if (compilation == null) {
+                    compilation = this.lsCompiler.getOrCompile(filePath);
+                }
+                return compilation == null ? null
+                        : SignatureHelpProvider.getSignatureHelp(compilation, filePath, fileContent,
+                                position.getPosition());
+            } catch (Exception e) {
+                LOGGER.error(e.getMessage());
+                return null;
+            }
+        });
+        return this.serverStats.recordLatency("signatureHelp",
+                this.requestDeadlines.withDeadline("signatureHelp", computation, () -> null));
     }
 
     @Override
@@ -175,12 +402,66 @@ public class BallerinaTextDocumentService implements TextDocumentService {
     @Override
     public CompletableFuture<List<? extends DocumentHighlight>> documentHighlight(
             TextDocumentPositionParams position) {
-        return null;
+        String uri = position.getTextDocument().getUri();
+        CompletableFuture<List<? extends DocumentHighlight>> computation = this.documentMailboxes.submit(uri, () -> {
+            Path filePath = this.getPath(position.getTextDocument().getUri());
+            if (filePath == null) {
+                return null;
+            }
+            try (TraceSpan span = this.tracer.startSpan("documentHighlight", "documentHighlight",
+                    position.getTextDocument().getUri())) {
+                PackageCompilation compilation = this.lsCompiler.getOrCompile(filePath);
+                return compilation == null ? new ArrayList<>()
+                        : DocumentHighlightProvider.getHighlights(compilation, filePath, position.getPosition());
+            } catch (Exception e) {
+                LOGGER.error(e.getMessage());
+                return null;
+            }
+        });
+        return this.serverStats.recordLatency("documentHighlight",
+                this.requestDeadlines.withDeadline("documentHighlight", computation, ArrayList::new));
     }
 
     @Override
     public CompletableFuture<List<? extends SymbolInformation>> documentSymbol(DocumentSymbolParams params) {
-        return CompletableFuture.supplyAsync(() -> null);
+        String uri = params.getTextDocument().getUri();
+        CompletableFuture<List<? extends SymbolInformation>> computation = this.documentMailboxes.submit(uri, () -> {
+            Path filePath = this.getPath(params.getTextDocument().getUri());
+            if (filePath == null) {
+                return null;
+            }
+            try (TraceSpan span = this.tracer.startSpan("documentSymbol", "documentSymbol",
+                    params.getTextDocument().getUri())) {
+                CompilerWorkerPool workerPool = this.lsCompiler.getGlobalContext().getCompilerWorkerPool();
+                if (workerPool.isEnabled()) {
+                    // Answered from the summaries of the worker compilations, without compiling in process
+                    if (!this.symbolIndex.contains(this.lsCompiler.getPackageInfo(filePath).getKey())) {
+                        this.compileInWorker(workerPool, filePath);
+                    }
+                    return getSymbolInformation(this.symbolIndex.getCompilationUnit(filePath));
+                }
+                PackageCompilation compilation = this.lsCompiler.getOrCompile(filePath);
+                return getSymbolInformation(this.symbolIndex.update(compilation).getCompilationUnit(filePath));
+            } catch (Exception e) {
+                LOGGER.error(e.getMessage());
+                return null;
+            }
+        });
+        // The last summary of the document is answered meanwhile, which may lag behind the latest edits
+        return this.serverStats.recordLatency("documentSymbol",
+                this.requestDeadlines.withDeadline("documentSymbol", computation, () -> {
+                    Path filePath = this.getPath(uri);
+                    return getSymbolInformation(filePath == null ? null
+                            : this.symbolIndex.getCompilationUnit(filePath));
+                }));
+    }
+
+    private static List<SymbolInformation> getSymbolInformation(CompilationUnitSummary summary) {
+        List<SymbolInformation> symbols = new ArrayList<>();
+        for (int i = 0; summary != null && i < summary.size(); i++) {
+            symbols.add(summary.getSymbolInformation(i));
+        }
+        return symbols;
     }
 
     @Override
@@ -208,22 +489,156 @@ public class BallerinaTextDocumentService implements TextDocumentService {
 
     @Override
     public CompletableFuture<List<? extends TextEdit>> formatting(DocumentFormattingParams params) {
-        return null;
+        String uri = params.getTextDocument().getUri();
+        CompletableFuture<List<? extends TextEdit>> edits = this.documentMailboxes.submit(uri, () -> {
+            String fileContent = this.getFileContent(uri);
+            if (fileContent == null) {
+                return new ArrayList<>();
+            }
+            return BallerinaFormatter.formatDocument(fileContent, params.getOptions());
+        });
+        return this.serverStats.recordLatency("formatting", edits);
     }
 
     @Override
     public CompletableFuture<List<? extends TextEdit>> rangeFormatting(DocumentRangeFormattingParams params) {
-        return null;
+        String uri = params.getTextDocument().getUri();
+        CompletableFuture<List<? extends TextEdit>> edits = this.documentMailboxes.submit(uri, () -> {
+            String fileContent = this.getFileContent(uri);
+            if (fileContent == null) {
+                return new ArrayList<>();
+            }
+            return BallerinaFormatter.formatRange(fileContent, params.getOptions(), params.getRange());
+        });
+        return this.serverStats.recordLatency("rangeFormatting", edits);
     }
 
     @Override
     public CompletableFuture<List<? extends TextEdit>> onTypeFormatting(DocumentOnTypeFormattingParams params) {
-        return null;
+        String uri = params.getTextDocument().getUri();
+        CompletableFuture<List<? extends TextEdit>> edits = this.documentMailboxes.submit(uri, () -> {
+            String fileContent = this.getFileContent(uri);
+            if (fileContent == null) {
+                return new ArrayList<>();
+            }
+            // Only the line the character was typed in is formatted
+            Position position = params.getPosition();
+            Range lineRange = new Range(new Position(position.getLine(), 0), position);
+            return BallerinaFormatter.formatRange(fileContent, params.getOptions(), lineRange);
+        });
+        return this.serverStats.recordLatency("onTypeFormatting", edits);
     }
 
     @Override
     public CompletableFuture<WorkspaceEdit> rename(RenameParams params) {
-        return null;
+        String uri = params.getTextDocument().getUri();
+        CompletableFuture<WorkspaceEdit> edit = this.documentMailboxes.submit(uri, () -> {
+            Path filePath = this.getPath(uri);
+            if (filePath == null) {
+                return null;
+            }
+            try (TraceSpan span = this.tracer.startSpan("rename", "rename", uri)) {
+                return this.renameProvider.rename(filePath, params.getPosition(), params.getNewName());
+            } catch (Exception e) {
+                LOGGER.error(e.getMessage());
+                return null;
+            }
+        });
+        return this.serverStats.recordLatency("rename", edit);
+    }
+
+    /**
+     * Get the semantic tokens of a whole document.
+     *
+     * @param params document to get the tokens of
+     * @return tokens of the document
+     */
+    public CompletableFuture<SemanticTokens> semanticTokensFull(SemanticTokensParams params) {
+        String uri = params.getTextDocument().getUri();
+        CompletableFuture<SemanticTokens> tokens = this.documentMailboxes.submit(uri, () -> {
+            Path filePath = this.getPath(uri);
+            String fileContent = this.getFileContent(uri);
+            if (filePath == null || fileContent == null) {
+                return new SemanticTokens(null, new ArrayList<>());
+            }
+            return this.semanticTokensProvider.getTokens(filePath, fileContent,
+                    this.lsCompiler.getCompilationCache().getByFile(filePath));
+        });
+        return this.serverStats.recordLatency(SEMANTIC_TOKENS, tokens);
+    }
+
+    /**
+     * Get the changes to the semantic tokens of a document since a previous result.
+     *
+     * @param params document and the result ID of the tokens the client has
+     * @return edits to the previous tokens, or all the tokens if the previous result is no longer known
+     */
+    public CompletableFuture<Either<SemanticTokens, SemanticTokensDelta>> semanticTokensFullDelta(
+            SemanticTokensParams params) {
+        String uri = params.getTextDocument().getUri();
+        CompletableFuture<Either<SemanticTokens, SemanticTokensDelta>> tokens = this.documentMailboxes.submit(uri,
+                () -> {
+                    Path filePath = this.getPath(uri);
+                    String fileContent = this.getFileContent(uri);
+                    if (filePath == null || fileContent == null) {
+                        return Either.forLeft(new SemanticTokens(null, new ArrayList<>()));
+                    }
+                    return this.semanticTokensProvider.getTokensDelta(filePath, fileContent,
+                            this.lsCompiler.getCompilationCache().getByFile(filePath),
+                            params.getPreviousResultId());
+                });
+        return this.serverStats.recordLatency(SEMANTIC_TOKENS, tokens);
+    }
+
+    /**
+     * Get the semantic tokens within a range of a document.
+     *
+     * @param params document and the range to get the tokens of
+     * @return tokens within the range
+     */
+    public CompletableFuture<SemanticTokens> semanticTokensRange(SemanticTokensParams params) {
+        String uri = params.getTextDocument().getUri();
+        CompletableFuture<SemanticTokens> tokens = this.documentMailboxes.submit(uri, () -> {
+            Path filePath = this.getPath(uri);
+            String fileContent = this.getFileContent(uri);
+            if (filePath == null || fileContent == null || params.getRange() == null) {
+                return new SemanticTokens(null, new ArrayList<>());
+            }
+            return SemanticTokensProvider.getTokens(filePath, fileContent,
+                    this.lsCompiler.getCompilationCache().getByFile(filePath), params.getRange());
+        });
+        return this.serverStats.recordLatency("semanticTokensRange", tokens);
+    }
+
+    /**
+     * Get the folding ranges of a document. The ranges are found with the lexer, without waiting for the queued
+     * operations of the document.
+     *
+     * @param params document to get the folding ranges of
+     * @return folding ranges
+     */
+    public CompletableFuture<List<FoldingRange>> foldingRange(FoldingRangeParams params) {
+        CompletableFuture<List<FoldingRange>> foldingRanges = CompletableFuture.supplyAsync(() -> {
+            Path filePath = this.getPath(params.getTextDocument().getUri());
+            return filePath == null ? new ArrayList<>() : this.documentStructures.getFoldingRanges(filePath);
+        }, this.requestExecutor);
+        return this.serverStats.recordLatency("foldingRange", foldingRanges);
+    }
+
+    /**
+     * Get the selection ranges around the given positions of a document. The ranges are found with the lexer,
+     * without waiting for the queued operations of the document.
+     *
+     * @param params document and the positions
+     * @return innermost selection range of each position
+     */
+    public CompletableFuture<List<SelectionRange>> selectionRange(SelectionRangeParams params) {
+        CompletableFuture<List<SelectionRange>> selectionRanges = CompletableFuture.supplyAsync(() -> {
+            Path filePath = this.getPath(params.getTextDocument().getUri());
+            return filePath == null ? new ArrayList<>()
+                    : this.documentStructures.getSelectionRanges(filePath, params.getPositions());
+        }, this.requestExecutor);
+        return this.serverStats.recordLatency("selectionRange", selectionRanges);
     }
 
     @Override
@@ -233,44 +648,124 @@ public class BallerinaTextDocumentService implements TextDocumentService {
             return;
         }
 
-        this.documentManager.openFile(openedPath, params.getTextDocument().getText());
+        this.versionTracker.received(openedPath, params.getTextDocument().getVersion());
+        this.documentStructures.received(openedPath, params.getTextDocument().getVersion(),
+                params.getTextDocument().getText());
+        this.documentMailboxes.execute(params.getTextDocument().getUri(), () -> {
+            this.documentManager.openFile(openedPath, params.getTextDocument().getText(),
+                    params.getTextDocument().getVersion());
+        });
     }
 
     @Override
     public void didChange(DidChangeTextDocumentParams params) {
         Path changedPath = this.getPath(params.getTextDocument().getUri());
-        String content = params.getContentChanges().get(0).getText();
+        if (changedPath == null) {
+            return;
+        }
+        String uri = params.getTextDocument().getUri();
+        int version = params.getTextDocument().getVersion();
+        this.versionTracker.received(changedPath, version);
+        this.documentStructures.received(changedPath, version, params.getContentChanges().get(0).getText());
+        this.documentMailboxes.execute(uri, () -> this.applyChange(changedPath, uri, version,
+                params.getContentChanges().get(0).getText()))
+                .whenComplete((result, error) -> {
+                    if (error != null) {
+                        LOGGER.error(error.getMessage());
+                    }
+                });
+    }
 
-        String pkgName = TextDocumentServiceUtil.getPackageFromContent(content);
-        String sourceRoot = TextDocumentServiceUtil.getSourceRoot(changedPath, pkgName);
+    private void applyChange(Path changedPath, String uri, int version, String content) {
+        String packageKey;
+        try (TraceSpan span = this.tracer.startSpan(DID_CHANGE, DID_CHANGE, uri)) {
+            WorkspaceDocument previous = this.documentManager.getDocument(changedPath);
+            this.documentManager.updateFile(changedPath, content, version);
+            this.completionCache.invalidate(changedPath);
+            this.staleScopeCompletions.update(changedPath, content);
+            if (previous != null) {
+                this.diagnosticsPublisher.shiftDiagnostics(changedPath, previous.getContent(), content);
+            }
+            packageKey = this.lsCompiler.getPackageInfo(changedPath).getKey();
+
+            // Syntax errors are published before the compilation, which parses the whole package again. The parser
+            // only keeps the definitions of the documents edited since they were opened.
+            try (TraceSpan parseSpan = this.tracer.startSpan(DID_CHANGE, "incrementalParse")) {
+                if (this.incrementalParser.update(changedPath, content)) {
+                    this.diagnosticsPublisher.publishSyntaxErrors(packageKey, changedPath, version,
+                            this.incrementalParser.getSyntaxDiagnostics(changedPath));
+                }
+            }
+        }
 
-        PackageRepository packageRepository = new WorkspacePackageRepository(sourceRoot, documentManager);
-        CompilerContext context = prepareCompilerContext(packageRepository, sourceRoot);
+        // The package is compiled outside the mailbox, so that the requests on the document do not wait for it. They
+        // are served from the cached compilation, or wait for the compilation on its lock if they need the new one.
+        this.compilationScheduler.schedule(packageKey, () -> this.compileChangedPackage(changedPath, uri, version))
+                .whenComplete((result, error) -> {
+                    if (error != null) {
+                        LOGGER.error(error.getMessage());
+                    }
+                });
+    }
 
-        List<org.ballerinalang.util.diagnostic.Diagnostic> balDiagnostics = new ArrayList<>();
-        CollectDiagnosticListener diagnosticListener = new CollectDiagnosticListener(balDiagnostics);
-        context.put(DiagnosticListener.class, diagnosticListener);
+    private void compileChangedPackage(Path changedPath, String uri, int version) {
+        // A newer change of the document is already queued, which schedules the compilation again once it is applied
+        if (this.versionTracker.isStale(changedPath, version)) {
+            return;
+        }
+        try (TraceSpan span = this.tracer.startSpan(DID_CHANGE, "compile", uri)) {
+            CompilerWorkerPool workerPool = this.lsCompiler.getGlobalContext().getCompilerWorkerPool();
+            if (workerPool.isEnabled()) {
+                this.compileInWorker(workerPool, changedPath);
+                return;
+            }
 
-        Compiler compiler = Compiler.getInstance(context);
-        if ("".equals(pkgName)) {
-            String[] pathComponents = params.getTextDocument().getUri().split("\\" + File.separator);
-            String fileName = pathComponents[pathComponents.length - 1];
-            compiler.compile(fileName);
-        } else {
-            compiler.compile(pkgName);
+            // A request which needed the new compilation may have compiled the package already
+            PackageCompilation compilation = this.lsCompiler.getOrCompile(changedPath);
+            if (compilation == null) {
+                return;
+            }
+            // A change received while compiling makes the result stale, and the queued change publishes its own
+            boolean published;
+            try (TraceSpan publishSpan = this.tracer.startSpan(DID_CHANGE, "publishDiagnostics")) {
+                published = this.diagnosticsPublisher.publish(compilation);
+            }
+            if (published) {
+                this.lsCompiler.recompileDependents(compilation, this.diagnosticsPublisher::publish);
+            }
         }
+    }
 
-        PublishDiagnosticsParams diagnostics = new PublishDiagnosticsParams();
-        Diagnostic d = new Diagnostic();
-        d.setSeverity(DiagnosticSeverity.Error);
-        Range r = new Range();
-        r.setStart(new Position(1, 1));
-        r.setEnd(new Position(2, 1));
-        d.setRange(r);
-        d.setMessage("some error message");
-        diagnostics.setDiagnostics(Arrays.asList(d));
-        diagnostics.setUri(params.getTextDocument().getUri());
-        this.ballerinaLanguageServer.getClient().publishDiagnostics(diagnostics);
+    /**
+     * Compile the package of the changed document in a compiler worker, publishing its diagnostics and indexing its
+     * symbols, imports and references. The requests which need the AST compile the package in process when they
+     * arrive.
+     *
+     * @param workerPool  compiler worker pool
+     * @param changedPath path of the changed document
+     */
+    private void compileInWorker(CompilerWorkerPool workerPool, Path changedPath) {
+        PackageInfo packageInfo = this.lsCompiler.getPackageInfo(changedPath);
+        List<DocumentSnapshot> documents = new ArrayList<>();
+        for (Path openedPath : this.documentManager.getOpenedFilePaths()) {
+            WorkspaceDocument document = this.documentManager.getDocument(openedPath);
+            if (packageInfo.contains(openedPath) && document != null) {
+                documents.add(new DocumentSnapshot(openedPath, document.getVersion(), document.getContent()));
+            }
+        }
+        WorkerCompilation compilation = workerPool.compile(packageInfo.getKey(), changedPath, documents);
+        if (compilation == null) {
+            return;
+        }
+        try (TraceSpan publishSpan = this.tracer.startSpan(DID_CHANGE, "publishDiagnostics")) {
+            if (this.diagnosticsPublisher.publish(compilation.getPackageKey(), compilation.getDocumentVersions(),
+                    compilation.getDiagnostics())) {
+                this.symbolIndex.update(compilation.getPackageKey(), compilation.getSummary());
+                this.lsCompiler.getImportGraph().setImports(compilation.getPackageKey(),
+                        compilation.getImportedKeys());
+                this.referenceIndex.update(compilation.getPackageKey(), compilation.getReferences());
+            }
+        }
     }
 
     @Override
@@ -280,7 +775,15 @@ public class BallerinaTextDocumentService implements TextDocumentService {
             return;
         }
 
-        this.documentManager.closeFile(this.getPath(params.getTextDocument().getUri()));
+        this.versionTracker.closed(closedPath);
+        this.documentStructures.closed(closedPath);
+        this.documentMailboxes.execute(params.getTextDocument().getUri(), () -> {
+            this.documentManager.closeFile(closedPath);
+            this.completionCache.clear();
+            this.staleScopeCompletions.forget(closedPath);
+            this.incrementalParser.close(closedPath);
+            this.semanticTokensProvider.forget(closedPath);
+        });
     }
 
     @Override
@@ -298,12 +801,12 @@ public class BallerinaTextDocumentService implements TextDocumentService {
         }
     }
 
+    private String getFileContent(String uri) {
+        Path filePath = this.getPath(uri);
+        return filePath == null ? null : this.documentManager.getFileContent(filePath);
+    }
+
     protected CompilerContext prepareCompilerContext(PackageRepository packageRepository, String sourceRoot) {
-        CompilerContext context = new CompilerContext();
-        context.put(PackageRepository.class, packageRepository);
-        CompilerOptions options = CompilerOptions.getInstance(context);
-        options.put(SOURCE_ROOT, sourceRoot);
-        options.put(COMPILER_PHASE, CompilerPhase.CODE_ANALYZE.toString());
-        return context;
+        return LSCompiler.prepareCompilerContext(packageRepository, sourceRoot);
     }
 }
@@ -15,12 +15,20 @@
  */
 package org.ballerinalang.langserver;
 
+import org.ballerinalang.langserver.index.WorkspaceSymbolIndex;
 import org.eclipse.lsp4j.DidChangeConfigurationParams;
 import org.eclipse.lsp4j.DidChangeWatchedFilesParams;
+import org.eclipse.lsp4j.ExecuteCommandParams;
 import org.eclipse.lsp4j.SymbolInformation;
 import org.eclipse.lsp4j.WorkspaceSymbolParams;
 import org.eclipse.lsp4j.services.WorkspaceService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
@@ -28,9 +36,60 @@ import java.util.concurrent.CompletableFuture;
  * Workspace service implementation for Ballerina.
  */
 public class BallerinaWorkspaceService implements WorkspaceService {
+
+    /**
+     * Command which exports the recorded request spans in the Chrome trace event format. The trace is written to a new
+     * file in the temporary directory, whose path the command returns. Any argument is ignored, as sessions of the
+     * socket launcher are not trusted to choose the files the server writes to.
+     */
+    public static final String EXPORT_TRACE_COMMAND = "ballerina.exportTrace";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BallerinaWorkspaceService.class);
+    private static final String TRACE_FILE_PREFIX = "ballerina-ls-trace-";
+    private static final String TRACE_FILE_SUFFIX = ".json";
+
+    private final BallerinaLanguageServer ballerinaLanguageServer;
+
+    public BallerinaWorkspaceService(BallerinaLanguageServer ballerinaLanguageServer) {
+        this.ballerinaLanguageServer = ballerinaLanguageServer;
+    }
+
+    public static List<String> getSupportedCommands() {
+        return Collections.singletonList(EXPORT_TRACE_COMMAND);
+    }
+
+    @Override
+    public CompletableFuture<Object> executeCommand(ExecuteCommandParams params) {
+        return CompletableFuture.supplyAsync(() -> {
+            if (!EXPORT_TRACE_COMMAND.equals(params.getCommand())) {
+                LOGGER.error("Unsupported command " + params.getCommand());
+                return null;
+            }
+            try {
+                // Created with a generated name, which also keeps an existing file from being overwritten
+                Path tracePath = Files.createTempFile(TRACE_FILE_PREFIX, TRACE_FILE_SUFFIX);
+                this.ballerinaLanguageServer.getTracer().exportChromeTrace(tracePath);
+                return tracePath.toAbsolutePath().toString();
+            } catch (IOException e) {
+                LOGGER.error(e.getMessage());
+                return null;
+            }
+        }, this.ballerinaLanguageServer.getGlobalContext().getRequestExecutor());
+    }
+
     @Override
     public CompletableFuture<List<? extends SymbolInformation>> symbol(WorkspaceSymbolParams params) {
-        return null;
+        BallerinaTextDocumentService textService = this.ballerinaLanguageServer.getTextDocumentService();
+        CompletableFuture<List<? extends SymbolInformation>> symbols = CompletableFuture.supplyAsync(() -> {
+            WorkspaceSymbolIndex symbolIndex = textService.getSymbolIndex();
+            // Packages compiled since they were indexed are summarized again, the others are served from the index.
+            // The compiler workers keep the index up to date on their own, hence it is served as it is.
+            if (!textService.getLSCompiler().getGlobalContext().getCompilerWorkerPool().isEnabled()) {
+                symbolIndex.update(textService.getLSCompiler().getCompilationCache());
+            }
+            return symbolIndex.findSymbols(params.getQuery());
+        }, this.ballerinaLanguageServer.getGlobalContext().getRequestExecutor());
+        return textService.getServerStats().recordLatency("workspaceSymbol", symbols);
     }
 
     @Override
@@ -0,0 +1,102 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.langserver;
+
+import org.ballerinalang.langserver.compiler.CompilationMemoryManager;
+import org.ballerinalang.langserver.compiler.CompilerContextPool;
+import org.ballerinalang.langserver.compiler.worker.CompilerWorkerPool;
+import org.ballerinalang.langserver.signature.LibrarySignatureCache;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * State shared by all the language server sessions hosted in the same JVM: the thread pools, the caches of the
+ * library packages, which are the same for every workspace, the pooled compiler contexts, the memory budget of the
+ * compilation caches, the latency budgets of the requests and the compiler worker JVMs. The state of the documents
+ * and the workspace packages is kept per session.
+ */
+public class LSGlobalContext {
+
+    private final ExecutorService requestExecutor;
+    private final ForkJoinPool indexerPool;
+    private final LibrarySignatureCache librarySignatureCache = new LibrarySignatureCache();
+    private final CompilationMemoryManager compilationMemoryManager = CompilationMemoryManager.fromSystemProperties();
+    private final CompilerContextPool compilerContextPool =
+            new CompilerContextPool(Runtime.getRuntime().availableProcessors());
+    private final RequestDeadlines requestDeadlines = new RequestDeadlines();
+    private final CompilerWorkerPool compilerWorkerPool = CompilerWorkerPool.fromSystemProperties();
+
+    /**
+     * Create a global context for a single session, which serves the requests on the common pool.
+     */
+    public LSGlobalContext() {
+        this(ForkJoinPool.commonPool(), new ForkJoinPool(Runtime.getRuntime().availableProcessors()));
+    }
+
+    /**
+     * Create a global context.
+     *
+     * @param requestExecutor executor the requests are served on
+     * @param indexerPool     pool the workspaces are indexed on, kept apart so that indexing does not hold up requests
+     */
+    public LSGlobalContext(ExecutorService requestExecutor, ForkJoinPool indexerPool) {
+        this.requestExecutor = requestExecutor;
+        this.indexerPool = indexerPool;
+        this.compilationMemoryManager.register(this.compilerContextPool);
+    }
+
+    public ExecutorService getRequestExecutor() {
+        return requestExecutor;
+    }
+
+    public ForkJoinPool getIndexerPool() {
+        return indexerPool;
+    }
+
+    public LibrarySignatureCache getLibrarySignatureCache() {
+        return librarySignatureCache;
+    }
+
+    public CompilationMemoryManager getCompilationMemoryManager() {
+        return compilationMemoryManager;
+    }
+
+    /**
+     * Get the pool of compiler contexts, which the sessions compiling the same source root reuse each other's
+     * contexts from.
+     *
+     * @return compiler context pool
+     */
+    public CompilerContextPool getCompilerContextPool() {
+        return compilerContextPool;
+    }
+
+    public RequestDeadlines getRequestDeadlines() {
+        return requestDeadlines;
+    }
+
+    /**
+     * Get the pool of compiler worker JVMs, which is disabled unless configured with the system properties.
+     *
+     * @return compiler worker pool
+     */
+    public CompilerWorkerPool getCompilerWorkerPool() {
+        return compilerWorkerPool;
+    }
+}
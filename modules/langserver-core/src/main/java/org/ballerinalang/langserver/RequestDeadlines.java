@@ -0,0 +1,112 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.langserver;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Latency budgets of the requests. A request which is not answered within its budget is answered with a degraded
+ * result instead, while the full computation keeps running in the background, so that its result is ready for the
+ * next request. The budget of a request is set with the system property {@code ballerina.langserver.deadlineMillis.}
+ * followed by the request name, e.g. {@code ballerina.langserver.deadlineMillis.completion}. A budget of zero or less
+ * disables the deadline of the request.
+ */
+public class RequestDeadlines {
+
+    public static final String DEADLINE_PROPERTY_PREFIX = "ballerina.langserver.deadlineMillis.";
+
+    private static final Map<String, Long> DEFAULT_DEADLINES_MILLIS = new HashMap<>();
+
+    static {
+        // Completion compiles the package, and only falls back to the stale scope if the compiler is far behind
+        DEFAULT_DEADLINES_MILLIS.put("completion", 1500L);
+        DEFAULT_DEADLINES_MILLIS.put("signatureHelp", 500L);
+        DEFAULT_DEADLINES_MILLIS.put("hover", 300L);
+        DEFAULT_DEADLINES_MILLIS.put("documentHighlight", 300L);
+        DEFAULT_DEADLINES_MILLIS.put("documentSymbol", 1000L);
+    }
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "ls-request-deadlines");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Map<String, Long> deadlinesMillis = new HashMap<>();
+
+    /**
+     * Create the request deadlines, reading the budgets from the system properties.
+     */
+    public RequestDeadlines() {
+        DEFAULT_DEADLINES_MILLIS.forEach((request, defaultMillis) ->
+                deadlinesMillis.put(request, Long.getLong(DEADLINE_PROPERTY_PREFIX + request, defaultMillis)));
+    }
+
+    /**
+     * Get the budget of the given request.
+     *
+     * @param request name of the request
+     * @return budget in milliseconds, zero or less if the request has no deadline
+     */
+    public long getDeadlineMillis(String request) {
+        return deadlinesMillis.getOrDefault(request, Long.getLong(DEADLINE_PROPERTY_PREFIX + request, 0L));
+    }
+
+    /**
+     * Complete with the result of the computation if it is done within the budget of the request, or else with the
+     * degraded result. The degraded result is built on the scheduler thread, hence it must be cheap to build.
+     *
+     * @param request     name of the request
+     * @param computation full computation of the result
+     * @param degraded    builder of the degraded result
+     * @param <T>         type of the result
+     * @return future of the result
+     */
+    public <T> CompletableFuture<T> withDeadline(String request, CompletableFuture<T> computation,
+                                                 Supplier<T> degraded) {
+        long deadlineMillis = this.getDeadlineMillis(request);
+        if (deadlineMillis <= 0 || computation.isDone()) {
+            return computation;
+        }
+        CompletableFuture<T> result = new CompletableFuture<>();
+        ScheduledFuture<?> timeout = scheduler.schedule(() -> {
+            if (!result.isDone()) {
+                try {
+                    result.complete(degraded.get());
+                } catch (Throwable e) {
+                    result.completeExceptionally(e);
+                }
+            }
+        }, deadlineMillis, TimeUnit.MILLISECONDS);
+        computation.whenComplete((value, error) -> {
+            timeout.cancel(false);
+            if (error != null) {
+                result.completeExceptionally(error);
+            } else {
+                result.complete(value);
+            }
+        });
+        return result;
+    }
+}
@@ -0,0 +1,235 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.langserver.compiler;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryNotificationInfo;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.management.NotificationEmitter;
+
+/**
+ * Keeps the compilations cached by all the sessions within a heap budget, along with the other caches registered with
+ * it, such as the idle compiler contexts and the results derived from the compilations. When the approximate retained
+ * size of the caches exceeds the budget, the least recently used compilations of packages without open documents are
+ * evicted first, then the other caches are emptied, and then the compilations of packages with open documents are
+ * evicted. On a GC pressure notification of the heap, the caches are trimmed to half of the budget.
+ */
+public class CompilationMemoryManager {
+
+    /**
+     * System property which sets the budget in megabytes. Defaults to a quarter of the maximum heap size.
+     */
+    public static final String BUDGET_PROPERTY = "ballerina.langserver.cacheBudgetMB";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CompilationMemoryManager.class);
+
+    private static final double PRESSURE_THRESHOLD = 0.8;
+    private static final long BYTES_PER_MEGABYTE = 1024 * 1024;
+
+    private final long budgetBytes;
+    // Caches of sessions which have ended are dropped with their sessions
+    private final Set<PackageCompilationCache> caches = Collections.newSetFromMap(new WeakHashMap<>());
+    private final Set<EvictableCache> evictableCaches = Collections.newSetFromMap(new WeakHashMap<>());
+    private final AtomicBoolean monitoring = new AtomicBoolean();
+
+    public CompilationMemoryManager(long budgetBytes) {
+        this.budgetBytes = budgetBytes;
+    }
+
+    /**
+     * Create a memory manager with the budget given by the {@link #BUDGET_PROPERTY} system property.
+     *
+     * @return memory manager
+     */
+    public static CompilationMemoryManager fromSystemProperties() {
+        long defaultBudgetMB = Runtime.getRuntime().maxMemory() / 4 / BYTES_PER_MEGABYTE;
+        return new CompilationMemoryManager(Long.getLong(BUDGET_PROPERTY, defaultBudgetMB) * BYTES_PER_MEGABYTE);
+    }
+
+    public long getBudgetBytes() {
+        return budgetBytes;
+    }
+
+    /**
+     * Get the approximate retained size of the compilations cached by all the caches, and of the other caches.
+     *
+     * @return size in bytes
+     */
+    public synchronized long getUsedBytes() {
+        long usedBytes = 0;
+        for (PackageCompilationCache cache : caches) {
+            usedBytes += cache.getRetainedSize();
+        }
+        for (EvictableCache cache : evictableCaches) {
+            usedBytes += cache.getRetainedSize();
+        }
+        return usedBytes;
+    }
+
+    synchronized void register(PackageCompilationCache cache) {
+        caches.add(cache);
+    }
+
+    synchronized void unregister(PackageCompilationCache cache) {
+        caches.remove(cache);
+    }
+
+    /**
+     * Count the given cache in the budget, and empty it when the caches are trimmed. The cache is dropped from the
+     * budget once it is no longer referenced elsewhere.
+     *
+     * @param cache cache to account for
+     */
+    public synchronized void register(EvictableCache cache) {
+        evictableCaches.add(cache);
+    }
+
+    public synchronized void unregister(EvictableCache cache) {
+        evictableCaches.remove(cache);
+    }
+
+    /**
+     * Evict compilations if a newly cached compilation took the caches over the budget.
+     */
+    void onCompilationCached() {
+        if (this.getUsedBytes() > budgetBytes) {
+            this.trim(budgetBytes);
+        }
+    }
+
+    /**
+     * Evict compilations and empty the other caches until they retain at most the given size. The compilations of
+     * packages without open documents are evicted first, and the least recently used ones first within them. The
+     * other caches are emptied before the compilations of packages with open documents are evicted.
+     *
+     * @param targetBytes size to trim the caches to
+     */
+    public synchronized void trim(long targetBytes) {
+        long usedBytes = this.getUsedBytes();
+        if (usedBytes <= targetBytes) {
+            return;
+        }
+        List<Candidate> candidates = new ArrayList<>();
+        for (PackageCompilationCache cache : caches) {
+            for (PackageCompilationCache.Entry entry : cache.getEntries()) {
+                candidates.add(new Candidate(entry));
+            }
+        }
+        candidates.sort(Comparator.comparing((Candidate candidate) -> candidate.hasOpenDocuments)
+                .thenComparingLong(candidate -> candidate.lastAccessNanos));
+        int evictedCount = 0;
+        boolean cachesEmptied = false;
+        for (Candidate candidate : candidates) {
+            if (usedBytes <= targetBytes) {
+                break;
+            }
+            if (candidate.hasOpenDocuments && !cachesEmptied) {
+                usedBytes -= this.emptyCaches(usedBytes - targetBytes);
+                cachesEmptied = true;
+                if (usedBytes <= targetBytes) {
+                    break;
+                }
+            }
+            if (candidate.entry.evict()) {
+                usedBytes -= candidate.entry.getRetainedSize();
+                evictedCount++;
+            }
+        }
+        if (!cachesEmptied && usedBytes > targetBytes) {
+            this.emptyCaches(usedBytes - targetBytes);
+        }
+        LOGGER.debug("Evicted " + evictedCount + " compilations to fit in " + targetBytes / BYTES_PER_MEGABYTE
+                + "MB");
+    }
+
+    /**
+     * Empty the other caches, the largest first, until the given size is freed.
+     *
+     * @param bytesToFree size to free
+     * @return size freed, in bytes
+     */
+    private long emptyCaches(long bytesToFree) {
+        List<EvictableCache> sortedCaches = new ArrayList<>(evictableCaches);
+        Map<EvictableCache, Long> retainedSizes = new HashMap<>();
+        for (EvictableCache cache : sortedCaches) {
+            retainedSizes.put(cache, cache.getRetainedSize());
+        }
+        sortedCaches.sort(Comparator.comparingLong((EvictableCache cache) -> retainedSizes.get(cache)).reversed());
+        long freedBytes = 0;
+        for (EvictableCache cache : sortedCaches) {
+            if (freedBytes >= bytesToFree || retainedSizes.get(cache) == 0) {
+                break;
+            }
+            cache.evict();
+            freedBytes += retainedSizes.get(cache);
+        }
+        return freedBytes;
+    }
+
+    /**
+     * Trim the caches to half of the budget whenever the usage of a heap pool stays above the pressure threshold
+     * after a garbage collection. Calling this more than once has no effect.
+     */
+    public void monitorMemoryPressure() {
+        if (!monitoring.compareAndSet(false, true)) {
+            return;
+        }
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            long maxBytes = pool.getUsage() == null ? -1 : pool.getUsage().getMax();
+            if (pool.getType() == MemoryType.HEAP && pool.isCollectionUsageThresholdSupported() && maxBytes > 0) {
+                pool.setCollectionUsageThreshold((long) (maxBytes * PRESSURE_THRESHOLD));
+            }
+        }
+        NotificationEmitter emitter = (NotificationEmitter) ManagementFactory.getMemoryMXBean();
+        emitter.addNotificationListener((notification, handback) -> {
+            if (MemoryNotificationInfo.MEMORY_COLLECTION_THRESHOLD_EXCEEDED.equals(notification.getType())) {
+                LOGGER.debug("Heap usage is above the threshold after a collection, trimming the caches");
+                this.trim(budgetBytes / 2);
+            }
+        }, null, null);
+    }
+
+    /**
+     * Snapshot of the state of a cached compilation, which stays the same while the candidates are sorted.
+     */
+    private static class Candidate {
+
+        private final PackageCompilationCache.Entry entry;
+        private final boolean hasOpenDocuments;
+        private final long lastAccessNanos;
+
+        private Candidate(PackageCompilationCache.Entry entry) {
+            this.entry = entry;
+            this.hasOpenDocuments = entry.hasOpenDocuments();
+            this.lastAccessNanos = entry.getLastAccessNanos();
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.langserver.compiler;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs the compilations triggered by document changes in the background, apart from the operations on the documents.
+ * A package has at most one compilation running and one pending at a time. Compilations scheduled while one is pending
+ * are merged into it, since it compiles the sources current at the time it starts.
+ */
+public class CompilationScheduler {
+
+    private final Executor executor;
+    private final Map<String, ScheduledCompilation> compilations = new ConcurrentHashMap<>();
+
+    public CompilationScheduler(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Schedule a compilation of the given package, replacing the compilation pending for it, if any.
+     *
+     * @param packageKey  compilation key of the package
+     * @param compilation compilation to run
+     * @return future which completes once a compilation started after this call is done
+     */
+    public CompletableFuture<Void> schedule(String packageKey, Runnable compilation) {
+        AtomicReference<CompletableFuture<Void>> done = new AtomicReference<>();
+        boolean[] start = new boolean[1];
+        compilations.compute(packageKey, (key, scheduled) -> {
+            ScheduledCompilation target = scheduled == null ? new ScheduledCompilation() : scheduled;
+            target.pending = compilation;
+            if (target.pendingDone == null) {
+                target.pendingDone = new CompletableFuture<>();
+            }
+            done.set(target.pendingDone);
+            if (!target.running) {
+                target.running = true;
+                start[0] = true;
+            }
+            return target;
+        });
+        if (start[0]) {
+            executor.execute(() -> this.drain(packageKey));
+        }
+        return done.get();
+    }
+
+    /**
+     * Get the number of packages which have a compilation pending or running.
+     *
+     * @return number of scheduled packages
+     */
+    public int getScheduledPackages() {
+        return compilations.size();
+    }
+
+    /**
+     * Run the pending compilations of the package until none is left.
+     */
+    private void drain(String packageKey) {
+        Runnable[] next = new Runnable[1];
+        AtomicReference<CompletableFuture<Void>> done = new AtomicReference<>();
+        while (true) {
+            next[0] = null;
+            compilations.computeIfPresent(packageKey, (key, scheduled) -> {
+                next[0] = scheduled.pending;
+                done.set(scheduled.pendingDone);
+                scheduled.pending = null;
+                scheduled.pendingDone = null;
+                return next[0] == null ? null : scheduled;
+            });
+            if (next[0] == null) {
+                return;
+            }
+            try {
+                next[0].run();
+                done.get().complete(null);
+            } catch (Throwable e) {
+                done.get().completeExceptionally(e);
+            }
+        }
+    }
+
+    /**
+     * Compilation state of a package. Only accessed within the atomic updates of the compilation map.
+     */
+    private static class ScheduledCompilation {
+        private Runnable pending;
+        private CompletableFuture<Void> pendingDone;
+        private boolean running;
+    }
+}
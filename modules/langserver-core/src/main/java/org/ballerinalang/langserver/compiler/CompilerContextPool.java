@@ -0,0 +1,141 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.langserver.compiler;
+
+import org.ballerinalang.langserver.workspace.WorkspaceDocumentManager;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.function.Predicate;
+
+/**
+ * Pool of warm compiler contexts, shared by all the sessions of the JVM. A context is used by one compilation at a
+ * time, and is handed out again once it is released, instead of building a new context with all the compiler
+ * singletons and library packages for every request. The number of idle contexts is bounded for all the source roots
+ * together, so that the library packages loaded by the contexts are not duplicated per session. The idle contexts
+ * count towards the memory budget of the compilation caches, and are dropped when the budget is exceeded.
+ */
+public class CompilerContextPool implements EvictableCache {
+
+    private final int maxIdleContexts;
+    // Most recently released first, so that the least recently used contexts are dropped first
+    private final Deque<PooledCompilerContext> idleContexts = new ArrayDeque<>();
+
+    /**
+     * Create a compiler context pool.
+     *
+     * @param maxIdleContexts maximum number of idle contexts kept for all the source roots
+     */
+    public CompilerContextPool(int maxIdleContexts) {
+        this.maxIdleContexts = maxIdleContexts;
+    }
+
+    /**
+     * Acquire a compiler context for the given source root, creating one if there is no idle context to reuse.
+     *
+     * @param sourceRoot      source root of the program
+     * @param documentManager document manager of the session the packages are loaded from
+     * @param reusable        checks whether an idle context can be reused
+     * @return {@link PooledCompilerContext}
+     */
+    public PooledCompilerContext acquire(String sourceRoot, WorkspaceDocumentManager documentManager,
+                                        Predicate<PooledCompilerContext> reusable) {
+        PooledCompilerContext context;
+        do {
+            context = this.pollIdleContext(sourceRoot);
+        } while (context != null && !reusable.test(context));
+        if (context == null) {
+            context = new PooledCompilerContext(sourceRoot);
+        }
+        context.setDocumentManager(documentManager);
+        return context;
+    }
+
+    /**
+     * Release a context acquired from the pool. The context must not be used by the caller afterwards.
+     *
+     * @param context compiler context to release
+     */
+    public void release(PooledCompilerContext context) {
+        context.reset();
+        synchronized (idleContexts) {
+            idleContexts.addFirst(context);
+            // The extra contexts are left to the garbage collector
+            while (idleContexts.size() > maxIdleContexts) {
+                idleContexts.removeLast();
+            }
+        }
+    }
+
+    /**
+     * Drop all the idle contexts.
+     */
+    public void clear() {
+        synchronized (idleContexts) {
+            idleContexts.clear();
+        }
+    }
+
+    /**
+     * Drop the idle contexts of the given source root, once its sources are gone.
+     *
+     * @param sourceRoot source root of the program
+     */
+    public void clear(String sourceRoot) {
+        synchronized (idleContexts) {
+            idleContexts.removeIf(context -> context.getSourceRoot().equals(sourceRoot));
+        }
+    }
+
+    @Override
+    public long getRetainedSize() {
+        synchronized (idleContexts) {
+            long retainedSize = 0;
+            for (PooledCompilerContext context : idleContexts) {
+                retainedSize += context.getEstimatedRetainedSize();
+            }
+            return retainedSize;
+        }
+    }
+
+    @Override
+    public void evict() {
+        this.clear();
+    }
+
+    public int getIdleContextCount() {
+        synchronized (idleContexts) {
+            return idleContexts.size();
+        }
+    }
+
+    private PooledCompilerContext pollIdleContext(String sourceRoot) {
+        synchronized (idleContexts) {
+            Iterator<PooledCompilerContext> iterator = idleContexts.iterator();
+            while (iterator.hasNext()) {
+                PooledCompilerContext context = iterator.next();
+                if (context.getSourceRoot().equals(sourceRoot)) {
+                    iterator.remove();
+                    return context;
+                }
+            }
+            return null;
+        }
+    }
+}
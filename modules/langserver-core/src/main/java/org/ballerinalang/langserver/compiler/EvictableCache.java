@@ -0,0 +1,38 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.langserver.compiler;
+
+/**
+ * State kept along with the cached compilations, such as the results derived from them, which counts towards the
+ * memory budget of the compilation caches. The memory manager empties the cache when the budget is exceeded, and its
+ * entries are rebuilt when they are needed again.
+ */
+public interface EvictableCache {
+
+    /**
+     * Get an approximation of the heap size retained by the entries of the cache.
+     *
+     * @return size in bytes
+     */
+    long getRetainedSize();
+
+    /**
+     * Drop the entries of the cache.
+     */
+    void evict();
+}
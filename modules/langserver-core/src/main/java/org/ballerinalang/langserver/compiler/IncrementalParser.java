@@ -0,0 +1,358 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.langserver.compiler;
+
+import org.antlr.v4.runtime.ANTLRInputStream;
+import org.antlr.v4.runtime.BaseErrorListener;
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.RecognitionException;
+import org.antlr.v4.runtime.Recognizer;
+import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.tree.ParseTree;
+import org.ballerinalang.langserver.diagnostics.DiagnosticsPublisher;
+import org.eclipse.lsp4j.Diagnostic;
+import org.eclipse.lsp4j.DiagnosticSeverity;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.wso2.ballerinalang.compiler.parser.antlr4.BallerinaLexer;
+import org.wso2.ballerinalang.compiler.parser.antlr4.BallerinaParser;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Finds the syntax errors of the edited documents ahead of the compilation of their package, by re-parsing only the
+ * top level definition an edit falls in. The definitions of a document are found with a full parse on its first edit,
+ * after which an edit confined to a single definition re-parses the definition alone with the Ballerina grammar, and
+ * the errors found are spliced into those of the rest of the document. A full parse is done whenever the edit crosses
+ * the boundaries of a definition, or the re-parsed definition no longer ends where it used to. This is done in
+ * addition to the parse of the compilation, which does not use the definitions parsed here, hence it only shortens
+ * the time until syntax errors are shown.
+ */
+public class IncrementalParser implements EvictableCache {
+
+    private static final String DIAGNOSTIC_SOURCE = "ballerina";
+    // Rough number of heap bytes of a definition or a syntax error, other than the message of the error
+    private static final int RETAINED_BYTES_PER_ENTRY = 32;
+
+    private final Map<Path, ParsedDocument> documents = new ConcurrentHashMap<>();
+
+    /**
+     * Parse the new content of the document, re-parsing only the edited definition when possible.
+     *
+     * @param filePath path of the document
+     * @param content  new content of the document
+     * @return true if the document has syntax errors
+     */
+    public boolean update(Path filePath, String content) {
+        ParsedDocument document = documents.get(filePath);
+        if (document == null || !document.reparse(content)) {
+            document = ParsedDocument.parse(content);
+            documents.put(filePath, document);
+        }
+        return document.hasErrors();
+    }
+
+    /**
+     * Get the syntax errors of the document as of its last update.
+     *
+     * @param filePath path of the document
+     * @return syntax errors
+     */
+    public List<Diagnostic> getSyntaxDiagnostics(Path filePath) {
+        ParsedDocument document = documents.get(filePath);
+        return document == null ? Collections.emptyList() : document.getDiagnostics();
+    }
+
+    public void close(Path filePath) {
+        documents.remove(filePath);
+    }
+
+    @Override
+    public long getRetainedSize() {
+        long retainedSize = 0;
+        for (ParsedDocument document : documents.values()) {
+            retainedSize += document.getRetainedSize();
+        }
+        return retainedSize;
+    }
+
+    /**
+     * Drop the definitions of all the documents, which are found with a full parse on their next edit.
+     */
+    @Override
+    public void evict() {
+        documents.clear();
+    }
+
+    /**
+     * Syntax error, located by its offset relative to the enclosing definition, or to the document when it is
+     * outside the definitions.
+     */
+    private static class SyntaxError {
+        private int offset;
+        private final int length;
+        private final String message;
+
+        SyntaxError(int offset, int length, String message) {
+            this.offset = offset;
+            this.length = length;
+            this.message = message;
+        }
+    }
+
+    /**
+     * Top level definition of a document, spanning from its first token to the end of its last token.
+     */
+    private static class Definition {
+        private int start;
+        private int end;
+        private List<SyntaxError> errors;
+
+        Definition(int start, int end) {
+            this.start = start;
+            this.end = end;
+            this.errors = new ArrayList<>();
+        }
+    }
+
+    /**
+     * Collects the syntax errors reported by the lexer and the parser, and whether any of them is at the end of the
+     * input.
+     */
+    private static class ErrorCollector extends BaseErrorListener {
+        private final int[] lineOffsets;
+        private final List<SyntaxError> errors = new ArrayList<>();
+        private boolean errorAtEnd;
+
+        ErrorCollector(String text) {
+            this.lineOffsets = getLineOffsets(text);
+        }
+
+        @Override
+        public void syntaxError(Recognizer<?, ?> recognizer, Object offendingSymbol, int line,
+                                int charPositionInLine, String msg, RecognitionException e) {
+            int length = 1;
+            if (offendingSymbol instanceof Token) {
+                Token token = (Token) offendingSymbol;
+                errorAtEnd |= token.getType() == Token.EOF;
+                length = Math.max(token.getStopIndex() - token.getStartIndex() + 1, 1);
+            }
+            int offset = line > 0 && line <= lineOffsets.length ? lineOffsets[line - 1] + charPositionInLine : 0;
+            errors.add(new SyntaxError(offset, length, msg));
+        }
+    }
+
+    /**
+     * Definitions and syntax errors of a document.
+     */
+    private static class ParsedDocument {
+        private String content;
+        private final List<Definition> definitions = new ArrayList<>();
+        private final List<SyntaxError> outerErrors = new ArrayList<>();
+
+        static ParsedDocument parse(String content) {
+            ParsedDocument document = new ParsedDocument();
+            document.content = content;
+            ErrorCollector collector = new ErrorCollector(content);
+            BallerinaParser parser = createParser(content, collector);
+            BallerinaParser.CompilationUnitContext compilationUnit = parser.compilationUnit();
+            if (compilationUnit != null && compilationUnit.children != null) {
+                for (ParseTree child : compilationUnit.children) {
+                    if (child instanceof BallerinaParser.DefinitionContext) {
+                        BallerinaParser.DefinitionContext definition = (BallerinaParser.DefinitionContext) child;
+                        if (definition.getStart() != null && definition.getStop() != null
+                                && definition.getStop().getStopIndex() >= definition.getStart().getStartIndex()) {
+                            document.definitions.add(new Definition(definition.getStart().getStartIndex(),
+                                    definition.getStop().getStopIndex() + 1));
+                        }
+                    }
+                }
+            }
+            for (SyntaxError error : collector.errors) {
+                Definition definition = document.findDefinition(error.offset);
+                if (definition == null) {
+                    document.outerErrors.add(error);
+                } else {
+                    error.offset -= definition.start;
+                    definition.errors.add(error);
+                }
+            }
+            return document;
+        }
+
+        /**
+         * Re-parse the definition enclosing the edit which turns the current content into the given one.
+         *
+         * @param newContent new content of the document
+         * @return false if the edit is not confined to a single definition, and a full parse is needed
+         */
+        boolean reparse(String newContent) {
+            int prefix = 0;
+            int maxPrefix = Math.min(content.length(), newContent.length());
+            while (prefix < maxPrefix && content.charAt(prefix) == newContent.charAt(prefix)) {
+                prefix++;
+            }
+            int suffix = 0;
+            int maxSuffix = maxPrefix - prefix;
+            while (suffix < maxSuffix && content.charAt(content.length() - suffix - 1)
+                    == newContent.charAt(newContent.length() - suffix - 1)) {
+                suffix++;
+            }
+            int editEnd = content.length() - suffix;
+            int delta = newContent.length() - content.length();
+
+            Definition edited = null;
+            for (Definition definition : definitions) {
+                // The first and the last characters of the definition have to stay, so that it is still delimited
+                if (definition.start < prefix && editEnd < definition.end) {
+                    edited = definition;
+                    break;
+                }
+            }
+            if (edited == null) {
+                return prefix == content.length() && prefix == newContent.length();
+            }
+
+            String definitionText = newContent.substring(edited.start, edited.end + delta);
+            ErrorCollector collector = new ErrorCollector(definitionText);
+            BallerinaParser parser = createParser(definitionText, collector);
+            parser.definition();
+            if (collector.errorAtEnd || parser.getCurrentToken().getType() != Token.EOF) {
+                return false;
+            }
+
+            edited.errors = collector.errors;
+            edited.end += delta;
+            for (Definition definition : definitions) {
+                if (definition.start >= editEnd) {
+                    definition.start += delta;
+                    definition.end += delta;
+                }
+            }
+            for (SyntaxError error : outerErrors) {
+                if (error.offset >= editEnd) {
+                    error.offset += delta;
+                }
+            }
+            content = newContent;
+            return true;
+        }
+
+        boolean hasErrors() {
+            if (!outerErrors.isEmpty()) {
+                return true;
+            }
+            for (Definition definition : definitions) {
+                if (!definition.errors.isEmpty()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        List<Diagnostic> getDiagnostics() {
+            int[] lineOffsets = getLineOffsets(content);
+            List<Diagnostic> diagnostics = new ArrayList<>();
+            for (SyntaxError error : outerErrors) {
+                diagnostics.add(toDiagnostic(lineOffsets, error.offset, error.length, error.message));
+            }
+            for (Definition definition : definitions) {
+                for (SyntaxError error : definition.errors) {
+                    diagnostics.add(toDiagnostic(lineOffsets, definition.start + error.offset, error.length,
+                            error.message));
+                }
+            }
+            return diagnostics;
+        }
+
+        long getRetainedSize() {
+            long retainedSize = content.length() * 2L + getRetainedSize(outerErrors);
+            for (Definition definition : definitions) {
+                retainedSize += RETAINED_BYTES_PER_ENTRY + getRetainedSize(definition.errors);
+            }
+            return retainedSize;
+        }
+
+        private static long getRetainedSize(List<SyntaxError> errors) {
+            long retainedSize = 0;
+            for (SyntaxError error : errors) {
+                retainedSize += RETAINED_BYTES_PER_ENTRY + error.message.length() * 2L;
+            }
+            return retainedSize;
+        }
+
+        private Definition findDefinition(int offset) {
+            for (Definition definition : definitions) {
+                if (definition.start <= offset && offset < definition.end) {
+                    return definition;
+                }
+            }
+            return null;
+        }
+    }
+
+    private static BallerinaParser createParser(String text, ErrorCollector collector) {
+        BallerinaLexer lexer = new BallerinaLexer(new ANTLRInputStream(text));
+        lexer.removeErrorListeners();
+        lexer.addErrorListener(collector);
+        BallerinaParser parser = new BallerinaParser(new CommonTokenStream(lexer));
+        parser.removeErrorListeners();
+        parser.addErrorListener(collector);
+        return parser;
+    }
+
+    private static int[] getLineOffsets(String text) {
+        int lineCount = 1;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == '\n') {
+                lineCount++;
+            }
+        }
+        int[] lineOffsets = new int[lineCount];
+        int line = 1;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == '\n') {
+                lineOffsets[line++] = i + 1;
+            }
+        }
+        return lineOffsets;
+    }
+
+    private static Diagnostic toDiagnostic(int[] lineOffsets, int offset, int length, String message) {
+        Diagnostic diagnostic = new Diagnostic();
+        diagnostic.setRange(new Range(toPosition(lineOffsets, offset), toPosition(lineOffsets, offset + length)));
+        diagnostic.setMessage(message);
+        diagnostic.setSource(DIAGNOSTIC_SOURCE);
+        diagnostic.setCode(DiagnosticsPublisher.SYNTAX_ERROR_CODE);
+        diagnostic.setSeverity(DiagnosticSeverity.Error);
+        return diagnostic;
+    }
+
+    private static Position toPosition(int[] lineOffsets, int offset) {
+        int line = 0;
+        while (line + 1 < lineOffsets.length && lineOffsets[line + 1] <= offset) {
+            line++;
+        }
+        return new Position(line, offset - lineOffsets[line]);
+    }
+}
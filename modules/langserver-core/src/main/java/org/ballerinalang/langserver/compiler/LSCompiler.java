@@ -0,0 +1,476 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.langserver.compiler;
+
+import org.ballerinalang.compiler.CompilerPhase;
+import org.ballerinalang.langserver.CollectDiagnosticListener;
+import org.ballerinalang.langserver.LSGlobalContext;
+import org.ballerinalang.langserver.completions.util.TextDocumentServiceUtil;
+import org.ballerinalang.langserver.trace.RequestTracer;
+import org.ballerinalang.langserver.trace.TraceSpan;
+import org.ballerinalang.langserver.workspace.WorkspaceDocument;
+import org.ballerinalang.langserver.workspace.WorkspaceDocumentManager;
+import org.ballerinalang.repository.PackageRepository;
+import org.ballerinalang.util.diagnostic.Diagnostic;
+import org.wso2.ballerinalang.compiler.Compiler;
+import org.wso2.ballerinalang.compiler.semantics.model.SymbolTable;
+import org.wso2.ballerinalang.compiler.semantics.model.symbols.BPackageSymbol;
+import org.wso2.ballerinalang.compiler.tree.BLangIdentifier;
+import org.wso2.ballerinalang.compiler.tree.BLangImportPackage;
+import org.wso2.ballerinalang.compiler.tree.BLangPackage;
+import org.wso2.ballerinalang.compiler.util.CompilerContext;
+import org.wso2.ballerinalang.compiler.util.CompilerOptions;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.ballerinalang.compiler.CompilerOptionName.COMPILER_PHASE;
+import static org.ballerinalang.compiler.CompilerOptionName.SOURCE_ROOT;
+
+/**
+ * Compiles workspace packages for the language server features and keeps the latest compilation of each package
+ * cached, so that requests on an unchanged document are served without compiling again.
+ */
+public class LSCompiler {
+
+    private static final String TRACE_CATEGORY = "compiler";
+    private static final String BAL_EXTENSION = ".bal";
+
+    private final WorkspaceDocumentManager documentManager;
+    private final PackageCompilationCache compilationCache;
+    private final PackageImportGraph importGraph = new PackageImportGraph();
+    private final Map<String, AtomicLong> changeGenerations = new ConcurrentHashMap<>();
+    private final Map<String, Object> compileLocks = new ConcurrentHashMap<>();
+    private final CompilerContextPool contextPool;
+    private final LSGlobalContext globalContext;
+    private final RequestTracer tracer;
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
+    private final AtomicInteger inFlightCompiles = new AtomicInteger();
+
+    public LSCompiler(WorkspaceDocumentManager documentManager) {
+        this(documentManager, new LSGlobalContext(), RequestTracer.DISABLED);
+    }
+
+    public LSCompiler(WorkspaceDocumentManager documentManager, LSGlobalContext globalContext, RequestTracer tracer) {
+        this.documentManager = documentManager;
+        this.globalContext = globalContext;
+        this.tracer = tracer;
+        this.compilationCache = new PackageCompilationCache(globalContext.getCompilationMemoryManager());
+        this.contextPool = globalContext.getCompilerContextPool();
+    }
+
+    public PackageCompilationCache getCompilationCache() {
+        return compilationCache;
+    }
+
+    public PackageImportGraph getImportGraph() {
+        return importGraph;
+    }
+
+    public LSGlobalContext getGlobalContext() {
+        return globalContext;
+    }
+
+    /**
+     * Release the compilations of the session, once its client is gone. The pooled compiler contexts are shared with
+     * the other sessions, and do not refer to the session once released.
+     */
+    public void dispose() {
+        compilationCache.dispose();
+    }
+
+    /**
+     * Get the number of compilations requested through {@link #getOrCompile(Path)} which were served from the cache.
+     *
+     * @return number of cache hits
+     */
+    public long getCacheHits() {
+        return cacheHits.sum();
+    }
+
+    public long getCacheMisses() {
+        return cacheMisses.sum();
+    }
+
+    public int getInFlightCompiles() {
+        return inFlightCompiles.get();
+    }
+
+    /**
+     * Get the compilation of the package the given file belongs to. The cached compilation is returned when none of
+     * the documents of the package has changed since it was compiled. A package whose compilation killed a compiler
+     * worker is not compiled in process, since it would risk the heap of the language server.
+     *
+     * @param filePath path of the source file
+     * @return compilation of the package, or null if a compiler worker failed to compile the package
+     */
+    public PackageCompilation getOrCompile(Path filePath) {
+        PackageInfo packageInfo = this.getPackageInfo(filePath);
+        PackageCompilation compilation = compilationCache.get(packageInfo.getKey());
+        if (compilation != null && compilation.isUpToDate()) {
+            cacheHits.increment();
+            return compilation;
+        }
+        synchronized (compileLocks.computeIfAbsent(packageInfo.getKey(), key -> new Object())) {
+            // Another request might have compiled the package while waiting for the lock
+            compilation = compilationCache.get(packageInfo.getKey());
+            if (compilation != null && compilation.isUpToDate()) {
+                cacheHits.increment();
+                return compilation;
+            }
+            if (globalContext.getCompilerWorkerPool().hasFailed(packageInfo.getKey())) {
+                return null;
+            }
+            cacheMisses.increment();
+            return this.compile(packageInfo);
+        }
+    }
+
+    /**
+     * Compile the package the given file belongs to, and update the cache with the result.
+     *
+     * @param filePath path of the source file
+     * @return compilation of the package
+     */
+    public PackageCompilation compile(Path filePath) {
+        PackageInfo packageInfo = this.getPackageInfo(filePath);
+        synchronized (compileLocks.computeIfAbsent(packageInfo.getKey(), key -> new Object())) {
+            return this.compile(packageInfo);
+        }
+    }
+
+    /**
+     * Recompile the packages which import the given package, directly or transitively, in the background. The other
+     * packages keep their cached compilations. A later call for the same package abandons the packages which are yet
+     * to be recompiled by an earlier call.
+     *
+     * @param compilation     compilation of the changed package
+     * @param onRecompilation  listener notified with each new compilation
+     * @return future which completes once the dependents are recompiled
+     */
+    public CompletableFuture<Void> recompileDependents(PackageCompilation compilation,
+                                                       Consumer<PackageCompilation> onRecompilation) {
+        List<String> dependents = importGraph.getTransitiveDependents(compilation.getKey());
+        if (dependents.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        AtomicLong changeGeneration = changeGenerations.computeIfAbsent(compilation.getKey(),
+                key -> new AtomicLong());
+        long generation = changeGeneration.incrementAndGet();
+        return CompletableFuture.runAsync(() -> {
+            for (String dependentKey : dependents) {
+                if (changeGeneration.get() != generation) {
+                    return;
+                }
+                PackageCompilation previous = compilationCache.get(dependentKey);
+                if (previous == null) {
+                    continue;
+                }
+                PackageInfo packageInfo = new PackageInfo(previous.getKey(), previous.getSourceRoot(),
+                        previous.getPackageName(), previous.getPackagePath());
+                synchronized (compileLocks.computeIfAbsent(dependentKey, key -> new Object())) {
+                    onRecompilation.accept(this.compile(packageInfo));
+                }
+            }
+        }, globalContext.getRequestExecutor());
+    }
+
+    /**
+     * Prepare a compiler context for the given source root.
+     *
+     * @param packageRepository package repository to load the packages from
+     * @param sourceRoot        source root of the program
+     * @return {@link CompilerContext}
+     */
+    public static CompilerContext prepareCompilerContext(PackageRepository packageRepository, String sourceRoot) {
+        CompilerContext context = new CompilerContext();
+        context.put(PackageRepository.class, packageRepository);
+        CompilerOptions options = CompilerOptions.getInstance(context);
+        options.put(SOURCE_ROOT, sourceRoot);
+        options.put(COMPILER_PHASE, CompilerPhase.CODE_ANALYZE.toString());
+        return context;
+    }
+
+    private PackageCompilation compile(PackageInfo packageInfo) {
+        inFlightCompiles.incrementAndGet();
+        try (TraceSpan span = tracer.startSpan(TRACE_CATEGORY, "compile", packageInfo.getKey())) {
+            return this.compileAndCache(packageInfo);
+        } finally {
+            inFlightCompiles.decrementAndGet();
+        }
+    }
+
+    private PackageCompilation compileAndCache(PackageInfo packageInfo) {
+        // Versions are captured before compiling, so that a change made during the compilation marks it as outdated
+        Map<Path, Integer> documentVersions = new HashMap<>();
+        for (Path openedPath : documentManager.getOpenedFilePaths()) {
+            if (packageInfo.contains(openedPath)) {
+                documentVersions.put(openedPath, documentManager.getFileVersion(openedPath));
+            }
+        }
+        String sourceStamp = this.getSourceStamp(packageInfo.getKey());
+
+        PooledCompilerContext pooledContext;
+        try (TraceSpan span = tracer.startSpan(TRACE_CATEGORY, "acquireContext")) {
+            pooledContext = this.acquireContext(packageInfo);
+        }
+        CompilerContext context = pooledContext.getCompilerContext();
+        List<Diagnostic> balDiagnostics = new ArrayList<>();
+        pooledContext.setDiagnosticListener(new CollectDiagnosticListener(balDiagnostics));
+
+        Compiler compiler = Compiler.getInstance(context);
+        // Parsing, symbol definition, type checking and code analysis are run by a single call to the compiler
+        try (TraceSpan span = tracer.startSpan(TRACE_CATEGORY, "parseAndAnalyze")) {
+            if ("".equals(packageInfo.getPackageName())) {
+                compiler.compile(packageInfo.getPackagePath().getFileName().toString());
+            } else {
+                compiler.compile(packageInfo.getPackageName());
+            }
+        } catch (RuntimeException | Error e) {
+            this.discardContext(pooledContext);
+            throw e;
+        }
+
+        PackageCompilation compilation = new PackageCompilation(packageInfo.getKey(), packageInfo.getSourceRoot(),
+                packageInfo.getPackageName(), packageInfo.getPackagePath(), (BLangPackage) compiler.getAST(),
+                getBuiltInPackageSymbol(context), balDiagnostics, documentVersions, sourceStamp,
+                pooledContext.getReadContents(), documentManager, globalContext);
+        compilationCache.put(compilation);
+        importGraph.setImports(compilation.getKey(),
+                getImportedPackageKeys(compilation.getSourceRoot(), compilation.getBLangPackage()));
+        // The context is only reused after a successful compilation, since a failure may leave it inconsistent
+        this.releaseContext(pooledContext, packageInfo, compilation.getBLangPackage());
+        return compilation;
+    }
+
+    /**
+     * Acquire a pooled compiler context to compile the given package. The package itself is parsed and defined again
+     * by the compilation, hence a context is reused after the package is edited. Contexts which have loaded another
+     * workspace package whose sources changed since are not reused, since the package loader of the context would
+     * serve the old copy.
+     *
+     * @param packageInfo package to compile
+     * @return {@link PooledCompilerContext}
+     */
+    public PooledCompilerContext acquireContext(PackageInfo packageInfo) {
+        String packageKey = packageInfo.getKey();
+        PooledCompilerContext pooledContext = contextPool.acquire(packageInfo.getSourceRoot(), documentManager,
+                context -> this.isReusable(context, packageKey));
+        // Stamped before compiling, so that a change made during the compilation prevents the context from reuse
+        pooledContext.enterPackage(packageKey, this.getSourceStamp(packageKey), this.getSourceSize(packageKey));
+        for (String importedKey : importGraph.getTransitiveImports(packageKey)) {
+            if (!pooledContext.isLoaded(importedKey)) {
+                pooledContext.addLoadedPackage(importedKey, this.getSourceStamp(importedKey),
+                        this.getSourceSize(importedKey));
+            }
+        }
+        return pooledContext;
+    }
+
+    private boolean isReusable(PooledCompilerContext context, String entryPackageKey) {
+        Set<String> loadedDependents = new HashSet<>(importGraph.getTransitiveDependents(entryPackageKey));
+        loadedDependents.retainAll(context.getLoadedPackageStamps().keySet());
+        for (Map.Entry<String, String> loadedStamp : context.getLoadedPackageStamps().entrySet()) {
+            // The entry package may have changed, unless a package loaded along with it still refers to the old copy
+            if (loadedStamp.getKey().equals(entryPackageKey) && loadedDependents.isEmpty()) {
+                continue;
+            }
+            if (!this.getSourceStamp(loadedStamp.getKey()).equals(loadedStamp.getValue())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Release a compiler context acquired to compile the given package.
+     *
+     * @param context      compiler context to release
+     * @param packageInfo  compiled package
+     * @param bLangPackage AST of the compiled package
+     */
+    public void releaseContext(PooledCompilerContext context, PackageInfo packageInfo, BLangPackage bLangPackage) {
+        // Packages newly imported by the compilation are only known once it completes
+        Set<String> loadedKeys = new HashSet<>(importGraph.getTransitiveImports(packageInfo.getKey()));
+        for (String importedKey : getImportedPackageKeys(packageInfo.getSourceRoot(), bLangPackage)) {
+            loadedKeys.add(importedKey);
+            loadedKeys.addAll(importGraph.getTransitiveImports(importedKey));
+        }
+        for (String loadedKey : loadedKeys) {
+            if (!context.isLoaded(loadedKey)) {
+                context.addLoadedPackage(loadedKey, this.getSourceStamp(loadedKey), this.getSourceSize(loadedKey));
+            }
+        }
+        if (bLangPackage != null) {
+            context.setEntryPackageSymbol(packageInfo.getKey(), bLangPackage.symbol);
+        }
+        contextPool.release(context);
+    }
+
+    /**
+     * Discard a compiler context acquired to compile a package, when the compilation failed. The context is not
+     * returned to the pool, since the failure may have left it inconsistent.
+     *
+     * @param context compiler context to discard
+     */
+    public void discardContext(PooledCompilerContext context) {
+        // Drops the references to the session, which the caller may still hold the context with
+        context.reset();
+    }
+
+    /**
+     * Get a stamp of the current sources of the given package, which changes whenever a document of the package is
+     * edited, opened, closed, or changed on the disk. Open documents are stamped with their content as well, since
+     * the contexts are shared by sessions whose documents may have the same versions.
+     *
+     * @param packageKey key of the package
+     * @return source stamp
+     */
+    public String getSourceStamp(String packageKey) {
+        StringBuilder stamp = new StringBuilder();
+        for (Path sourceFile : this.getSourceFiles(packageKey)) {
+            stamp.append(sourceFile.getFileName()).append('@');
+            WorkspaceDocument document = documentManager.getDocument(sourceFile);
+            if (document != null) {
+                stamp.append('v').append(document.getVersion()).append('#')
+                        .append(document.getContent() == null ? 0 : document.getContent().hashCode());
+            } else {
+                try {
+                    stamp.append(Files.getLastModifiedTime(sourceFile).toMillis()).append(':')
+                            .append(Files.size(sourceFile));
+                } catch (IOException e) {
+                    stamp.append('-');
+                }
+            }
+            stamp.append(';');
+        }
+        return stamp.toString();
+    }
+
+    /**
+     * Get the number of characters in the current sources of the given package, which the retained size of the
+     * package loaded into a compiler context is estimated from.
+     *
+     * @param packageKey key of the package
+     * @return source size
+     */
+    private long getSourceSize(String packageKey) {
+        long sourceSize = 0;
+        for (Path sourceFile : this.getSourceFiles(packageKey)) {
+            String content = documentManager.getFileContent(sourceFile);
+            if (content != null) {
+                sourceSize += content.length();
+                continue;
+            }
+            try {
+                sourceSize += Files.size(sourceFile);
+            } catch (IOException e) {
+                // The source is gone, the package is stamped as changed
+            }
+        }
+        return sourceSize;
+    }
+
+    private Set<Path> getSourceFiles(String packageKey) {
+        Path packagePath = Paths.get(packageKey);
+        Set<Path> sourceFiles = new TreeSet<>();
+        if (Files.isDirectory(packagePath)) {
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(packagePath, "*" + BAL_EXTENSION)) {
+                stream.forEach(sourceFiles::add);
+            } catch (IOException e) {
+                // The package is gone, which the opened documents below still account for
+            }
+        } else if (Files.exists(packagePath)) {
+            sourceFiles.add(packagePath);
+        }
+        for (Path openedPath : documentManager.getOpenedFilePaths()) {
+            if (openedPath.equals(packagePath) || packagePath.equals(openedPath.getParent())) {
+                sourceFiles.add(openedPath);
+            }
+        }
+        return sourceFiles;
+    }
+
+    private static BPackageSymbol getBuiltInPackageSymbol(CompilerContext context) {
+        SymbolTable symbolTable = SymbolTable.getInstance(context);
+        return symbolTable == null ? null : symbolTable.builtInPackageSymbol;
+    }
+
+    private static Set<String> getImportedPackageKeys(String sourceRoot, BLangPackage bLangPackage) {
+        Set<String> importedKeys = new HashSet<>();
+        if (bLangPackage == null) {
+            return importedKeys;
+        }
+        for (BLangImportPackage importPackage : bLangPackage.imports) {
+            List<String> nameComponents = importPackage.getPackageName().stream()
+                    .map(BLangIdentifier::getValue)
+                    .collect(Collectors.toList());
+            // Imported packages of the workspace share the source root of the importing package
+            importedKeys.add(Paths.get(sourceRoot, nameComponents.toArray(new String[0])).toString());
+        }
+        return importedKeys;
+    }
+
+    /**
+     * Identify the package the given source file belongs to.
+     *
+     * @param filePath path of the source file
+     * @return {@link PackageInfo}
+     */
+    public PackageInfo getPackageInfo(Path filePath) {
+        String content = documentManager.getFileContent(filePath);
+        if (content == null) {
+            try {
+                content = new String(Files.readAllBytes(filePath), StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                content = "";
+            }
+        }
+
+        String pkgName = TextDocumentServiceUtil.getPackageFromContent(content);
+        String sourceRoot = TextDocumentServiceUtil.getSourceRoot(filePath, pkgName);
+        if (sourceRoot == null) {
+            // The file is not placed according to its package declaration, hence compile it as a single file
+            pkgName = "";
+            sourceRoot = filePath.getParent() == null ? "" : filePath.getParent().toString();
+        }
+
+        Path packagePath = "".equals(pkgName) ? filePath : Paths.get(sourceRoot, pkgName.split(Pattern.quote(".")));
+        return new PackageInfo(packagePath.toString(), sourceRoot, pkgName, packagePath);
+    }
+}
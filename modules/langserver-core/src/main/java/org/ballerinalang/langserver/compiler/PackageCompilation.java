@@ -0,0 +1,311 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.langserver.compiler;
+
+import org.ballerinalang.langserver.LSGlobalContext;
+import org.ballerinalang.langserver.workspace.WorkspaceDocument;
+import org.ballerinalang.langserver.workspace.WorkspaceDocumentManager;
+import org.ballerinalang.util.diagnostic.Diagnostic;
+import org.wso2.ballerinalang.compiler.semantics.model.symbols.BPackageSymbol;
+import org.wso2.ballerinalang.compiler.tree.BLangCompilationUnit;
+import org.wso2.ballerinalang.compiler.tree.BLangPackage;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Represents the result of compiling a package (or a single file without a package declaration), together with the
+ * versions of the open documents it was compiled from. Features can attach data derived from the compilation, which
+ * lives as long as the compilation is cached. The compiler context the package was compiled with is not kept, so that
+ * a context dropped from the pool is not retained by the cached compilations, which are accounted for by their size.
+ */
+public class PackageCompilation {
+
+    private static final String LINE_SEPARATOR_REGEX = "\\r?\\n";
+    // Rough number of heap bytes the AST, symbols and types of a package retain per character of its source
+    static final int RETAINED_BYTES_PER_SOURCE_CHAR = 100;
+
+    private final String key;
+    private final String sourceRoot;
+    private final String packageName;
+    private final Path packagePath;
+    private final BLangPackage bLangPackage;
+    private final BPackageSymbol builtInPackageSymbol;
+    private final List<Diagnostic> diagnostics;
+    private final Map<Path, Integer> documentVersions;
+    private final String sourceStamp;
+    private final Map<Path, String> compiledContents;
+    private final WorkspaceDocumentManager documentManager;
+    private final LSGlobalContext globalContext;
+    private final Map<Class<?>, Object> features = new ConcurrentHashMap<>();
+    private final Map<String, String[]> sourceLines = new ConcurrentHashMap<>();
+    private final Map<Path, Integer> unchangedOpenedVersions = new ConcurrentHashMap<>();
+
+    PackageCompilation(String key, String sourceRoot, String packageName, Path packagePath, BLangPackage bLangPackage,
+                       BPackageSymbol builtInPackageSymbol, List<Diagnostic> diagnostics,
+                       Map<Path, Integer> documentVersions, String sourceStamp, Map<Path, String> compiledContents,
+                       WorkspaceDocumentManager documentManager, LSGlobalContext globalContext) {
+        this.key = key;
+        this.sourceRoot = sourceRoot;
+        this.packageName = packageName;
+        this.packagePath = packagePath;
+        this.bLangPackage = bLangPackage;
+        this.builtInPackageSymbol = builtInPackageSymbol;
+        this.diagnostics = diagnostics;
+        this.documentVersions = Collections.unmodifiableMap(documentVersions);
+        this.sourceStamp = sourceStamp;
+        this.compiledContents = compiledContents;
+        this.documentManager = documentManager;
+        this.globalContext = globalContext;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getSourceRoot() {
+        return sourceRoot;
+    }
+
+    /**
+     * Get the package name. Empty when the compilation represents a single file without a package declaration.
+     *
+     * @return package name
+     */
+    public String getPackageName() {
+        return packageName;
+    }
+
+    /**
+     * Get the directory of the package, or the file path when the compilation represents a single file.
+     *
+     * @return package path
+     */
+    public Path getPackagePath() {
+        return packagePath;
+    }
+
+    public BLangPackage getBLangPackage() {
+        return bLangPackage;
+    }
+
+    /**
+     * Get the symbol of the built-in package, as loaded by the compiler context the package was compiled with.
+     *
+     * @return built-in package symbol, or null if the compiler did not load it
+     */
+    public BPackageSymbol getBuiltInPackageSymbol() {
+        return builtInPackageSymbol;
+    }
+
+    public List<Diagnostic> getDiagnostics() {
+        return diagnostics;
+    }
+
+    /**
+     * Get the state shared by all the sessions, such as the caches of the library packages.
+     *
+     * @return global context
+     */
+    public LSGlobalContext getGlobalContext() {
+        return globalContext;
+    }
+
+    public Map<Path, Integer> getDocumentVersions() {
+        return documentVersions;
+    }
+
+    /**
+     * Get the stamp of the sources of the package the compilation was built from.
+     *
+     * @return source stamp, comparable with {@link LSCompiler#getSourceStamp(String)}
+     */
+    public String getSourceStamp() {
+        return sourceStamp;
+    }
+
+    /**
+     * Get the path of the given compilation unit.
+     *
+     * @param compilationUnitName name of the compilation unit
+     * @return path of the source file
+     */
+    public Path getCompilationUnitPath(String compilationUnitName) {
+        if (packageName.isEmpty()) {
+            return packagePath;
+        }
+        return packagePath.resolve(compilationUnitName);
+    }
+
+    /**
+     * Checks whether the compilation still reflects the documents open in the document manager.
+     *
+     * @return true if none of the documents of the package has changed since the compilation
+     */
+    public boolean isUpToDate() {
+        for (Path openedPath : documentManager.getOpenedFilePaths()) {
+            if (this.belongsToPackage(openedPath)) {
+                Integer compiledVersion = documentVersions.get(openedPath);
+                if (compiledVersion == null) {
+                    compiledVersion = this.getUnchangedOpenedVersion(openedPath);
+                }
+                if (compiledVersion == null || compiledVersion != documentManager.getFileVersion(openedPath)) {
+                    return false;
+                }
+            }
+        }
+        for (Path compiledPath : documentVersions.keySet()) {
+            if (!documentManager.isFileOpen(compiledPath)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether any of the documents of the package is open in the document manager.
+     *
+     * @return true if a document of the package is open
+     */
+    public boolean hasOpenDocuments() {
+        for (Path openedPath : documentManager.getOpenedFilePaths()) {
+            if (this.belongsToPackage(openedPath)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Get an approximation of the heap size retained by the compilation, proportional to the size of its sources.
+     * The compiler context is not referenced by the compilation, and the library symbols its AST refers to are
+     * shared with the pooled contexts, whose number the context pool bounds.
+     *
+     * @return size in bytes
+     */
+    long getEstimatedRetainedSize() {
+        long sourceSize = 0;
+        for (BLangCompilationUnit compilationUnit : bLangPackage.compUnits) {
+            Path filePath = this.getCompilationUnitPath(compilationUnit.getName());
+            String content = documentManager.getFileContent(filePath);
+            if (content != null) {
+                sourceSize += content.length();
+                continue;
+            }
+            try {
+                sourceSize += Files.size(filePath);
+            } catch (IOException e) {
+                // The source is gone, the compilation will be replaced on the next request
+            }
+        }
+        return sourceSize * RETAINED_BYTES_PER_SOURCE_CHAR;
+    }
+
+    /**
+     * Get the version of a document opened after the compilation, if its content is still the same as on the disk,
+     * which is what the compilation was built from.
+     *
+     * @param openedPath path of the opened document
+     * @return version of the document, or null if the content differs from the disk
+     */
+    private Integer getUnchangedOpenedVersion(Path openedPath) {
+        WorkspaceDocument document = documentManager.getDocument(openedPath);
+        if (document == null) {
+            return null;
+        }
+        Integer version = unchangedOpenedVersions.get(openedPath);
+        int openedVersion = document.getVersion();
+        if (version != null && version == openedVersion) {
+            return version;
+        }
+        try {
+            String diskContent = new String(Files.readAllBytes(openedPath), StandardCharsets.UTF_8);
+            if (diskContent.equals(document.getContent())) {
+                unchangedOpenedVersions.put(openedPath, openedVersion);
+                return openedVersion;
+            }
+        } catch (IOException e) {
+            // The document does not exist on the disk
+        }
+        return null;
+    }
+
+    /**
+     * Checks whether the given source file is a part of the compiled package.
+     *
+     * @param filePath path of the source file
+     * @return true if the file belongs to the package
+     */
+    public boolean belongsToPackage(Path filePath) {
+        if (packageName.isEmpty()) {
+            return packagePath.equals(filePath);
+        }
+        return packagePath.equals(filePath.getParent());
+    }
+
+    /**
+     * Get the source lines of the given compilation unit as it was compiled, which the positions of the AST refer to.
+     * The content of an open document is the one the compiler read, even if the document has been edited since, and
+     * other sources are read from the disk.
+     *
+     * @param compilationUnitName name of the compilation unit
+     * @return lines of the source, or an empty array if the source cannot be read
+     */
+    public String[] getSourceLines(String compilationUnitName) {
+        return sourceLines.computeIfAbsent(compilationUnitName, name -> {
+            Path filePath = getCompilationUnitPath(name);
+            String content = compiledContents.get(filePath);
+            if (content == null) {
+                try {
+                    content = new String(Files.readAllBytes(filePath), StandardCharsets.UTF_8);
+                } catch (IOException e) {
+                    return new String[0];
+                }
+            }
+            return content.split(LINE_SEPARATOR_REGEX, -1);
+        });
+    }
+
+    /**
+     * Get a feature specific data item derived from this compilation, building it on first access.
+     *
+     * @param type    type of the data item
+     * @param builder builder of the data item
+     * @param <T>     type of the data item
+     * @return data item attached to the compilation
+     */
+    public <T> T getFeature(Class<T> type, Function<PackageCompilation, T> builder) {
+        Object feature = features.get(type);
+        if (feature == null) {
+            // Built outside of the map, since a feature may depend on other features of the same compilation
+            Object builtFeature = builder.apply(this);
+            feature = features.putIfAbsent(type, builtFeature);
+            if (feature == null) {
+                feature = builtFeature;
+            }
+        }
+        return type.cast(feature);
+    }
+}
@@ -0,0 +1,155 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.langserver.compiler;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache of the latest compilation of each package in the workspace. The cache keeps track of the approximate
+ * retained size and the last access of each compilation, so that the memory manager can evict compilations when the
+ * caches grow over the budget.
+ */
+public class PackageCompilationCache {
+
+    private final Map<String, Entry> compilations = new ConcurrentHashMap<>();
+    private final CompilationMemoryManager memoryManager;
+
+    public PackageCompilationCache(CompilationMemoryManager memoryManager) {
+        this.memoryManager = memoryManager;
+        memoryManager.register(this);
+    }
+
+    /**
+     * Get the cached compilation for the given key.
+     *
+     * @param key compilation key
+     * @return cached compilation, or null if the package has not been compiled or has been evicted
+     */
+    public PackageCompilation get(String key) {
+        Entry entry = compilations.get(key);
+        if (entry == null) {
+            return null;
+        }
+        entry.lastAccessNanos = System.nanoTime();
+        return entry.compilation;
+    }
+
+    public void put(PackageCompilation compilation) {
+        compilations.put(compilation.getKey(), new Entry(compilation));
+        memoryManager.onCompilationCached();
+    }
+
+    public void remove(String key) {
+        compilations.remove(key);
+    }
+
+    /**
+     * Get the cached compilation of the package the given source file belongs to.
+     *
+     * @param filePath path of the source file
+     * @return cached compilation, or null if there is none
+     */
+    public PackageCompilation getByFile(Path filePath) {
+        for (Entry entry : compilations.values()) {
+            if (entry.compilation.belongsToPackage(filePath)) {
+                entry.lastAccessNanos = System.nanoTime();
+                return entry.compilation;
+            }
+        }
+        return null;
+    }
+
+    public Collection<PackageCompilation> getAll() {
+        List<PackageCompilation> all = new ArrayList<>();
+        for (Entry entry : compilations.values()) {
+            all.add(entry.compilation);
+        }
+        return all;
+    }
+
+    public void clear() {
+        compilations.clear();
+    }
+
+    /**
+     * Drop the cached compilations and stop accounting for the cache in the memory budget, once its session ended.
+     */
+    public void dispose() {
+        compilations.clear();
+        memoryManager.unregister(this);
+    }
+
+    /**
+     * Get the approximate retained size of the cached compilations.
+     *
+     * @return size in bytes
+     */
+    public long getRetainedSize() {
+        long retainedSize = 0;
+        for (Entry entry : compilations.values()) {
+            retainedSize += entry.retainedSize;
+        }
+        return retainedSize;
+    }
+
+    Collection<Entry> getEntries() {
+        return new ArrayList<>(compilations.values());
+    }
+
+    /**
+     * A cached compilation, as seen by the memory manager.
+     */
+    class Entry {
+
+        private final PackageCompilation compilation;
+        private final long retainedSize;
+        private volatile long lastAccessNanos;
+
+        private Entry(PackageCompilation compilation) {
+            this.compilation = compilation;
+            this.retainedSize = compilation.getEstimatedRetainedSize();
+            this.lastAccessNanos = System.nanoTime();
+        }
+
+        long getRetainedSize() {
+            return retainedSize;
+        }
+
+        long getLastAccessNanos() {
+            return lastAccessNanos;
+        }
+
+        boolean hasOpenDocuments() {
+            return compilation.hasOpenDocuments();
+        }
+
+        /**
+         * Remove the compilation from the cache, unless it has been replaced by a newer compilation meanwhile.
+         *
+         * @return true if the compilation was removed
+         */
+        boolean evict() {
+            return compilations.remove(compilation.getKey(), this);
+        }
+    }
+}
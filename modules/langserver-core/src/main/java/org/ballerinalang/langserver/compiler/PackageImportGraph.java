@@ -0,0 +1,183 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.langserver.compiler;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Import relationships between the packages of the workspace, keyed by the package keys. The imports of the packages
+ * found in the workspace are read from their sources once they are discovered, and updated whenever a package is
+ * compiled.
+ */
+public class PackageImportGraph {
+
+    private final Map<String, Set<String>> imports = new HashMap<>();
+    private final Map<String, Set<String>> importedBy = new HashMap<>();
+    private int pendingDiscoveries;
+
+    /**
+     * Replace the imports of the given package.
+     *
+     * @param packageKey   key of the package
+     * @param importedKeys keys of the imported packages
+     */
+    public synchronized void setImports(String packageKey, Set<String> importedKeys) {
+        Set<String> previousImports = imports.remove(packageKey);
+        if (previousImports != null) {
+            for (String importedKey : previousImports) {
+                Set<String> dependents = importedBy.get(importedKey);
+                dependents.remove(packageKey);
+                if (dependents.isEmpty()) {
+                    importedBy.remove(importedKey);
+                }
+            }
+        }
+        imports.put(packageKey, new HashSet<>(importedKeys));
+        for (String importedKey : importedKeys) {
+            importedBy.computeIfAbsent(importedKey, key -> new HashSet<>()).add(packageKey);
+        }
+    }
+
+    /**
+     * Record that the packages of a workspace are being discovered. Until then, the graph may be missing the packages
+     * which import a given package.
+     */
+    public synchronized void startDiscovery() {
+        pendingDiscoveries++;
+    }
+
+    /**
+     * Record the imports of the discovered packages, as read from their sources. The imports recorded by a compilation
+     * of a package are kept, since they reflect its current sources.
+     *
+     * @param discoveredImports keys of the imported packages, keyed by the keys of the discovered packages
+     */
+    public synchronized void finishDiscovery(Map<String, Set<String>> discoveredImports) {
+        discoveredImports.forEach((packageKey, importedKeys) -> {
+            if (!imports.containsKey(packageKey)) {
+                this.setImports(packageKey, importedKeys);
+            }
+        });
+        pendingDiscoveries--;
+    }
+
+    /**
+     * Checks whether the imports of all the packages of the workspace are known, which is needed to find all the
+     * packages which import a given package.
+     *
+     * @return true if no workspace is being discovered
+     */
+    public synchronized boolean isComplete() {
+        return pendingDiscoveries == 0;
+    }
+
+    public synchronized void removePackage(String packageKey) {
+        this.setImports(packageKey, Collections.emptySet());
+        imports.remove(packageKey);
+    }
+
+    public synchronized Set<String> getImports(String packageKey) {
+        return new HashSet<>(imports.getOrDefault(packageKey, Collections.emptySet()));
+    }
+
+    /**
+     * Get the packages imported by the given package, directly or through other packages.
+     *
+     * @param packageKey key of the package
+     * @return keys of the imported packages, excluding the given package
+     */
+    public synchronized Set<String> getTransitiveImports(String packageKey) {
+        Set<String> importedKeys = new HashSet<>();
+        Deque<String> queue = new ArrayDeque<>();
+        queue.add(packageKey);
+        while (!queue.isEmpty()) {
+            for (String importedKey : imports.getOrDefault(queue.poll(), Collections.emptySet())) {
+                if (!importedKey.equals(packageKey) && importedKeys.add(importedKey)) {
+                    queue.add(importedKey);
+                }
+            }
+        }
+        return importedKeys;
+    }
+
+    /**
+     * Get the packages which import the given package, directly or through other packages. A package comes after
+     * the packages it imports in the list, unless they are in an import cycle.
+     *
+     * @param packageKey key of the package
+     * @return keys of the dependent packages, excluding the given package
+     */
+    public synchronized List<String> getTransitiveDependents(String packageKey) {
+        Set<String> dependents = new LinkedHashSet<>();
+        Deque<String> queue = new ArrayDeque<>();
+        queue.add(packageKey);
+        while (!queue.isEmpty()) {
+            for (String dependent : importedBy.getOrDefault(queue.poll(), Collections.emptySet())) {
+                if (!dependent.equals(packageKey) && dependents.add(dependent)) {
+                    queue.add(dependent);
+                }
+            }
+        }
+
+        // Order the dependents by the imports among themselves
+        Map<String, Integer> pendingImports = new HashMap<>();
+        for (String dependent : dependents) {
+            int count = 0;
+            for (String importedKey : imports.getOrDefault(dependent, Collections.emptySet())) {
+                if (dependents.contains(importedKey)) {
+                    count++;
+                }
+            }
+            pendingImports.put(dependent, count);
+        }
+        List<String> ordered = new ArrayList<>();
+        Deque<String> ready = new ArrayDeque<>();
+        pendingImports.forEach((dependent, count) -> {
+            if (count == 0) {
+                ready.add(dependent);
+            }
+        });
+        while (!ready.isEmpty()) {
+            String dependent = ready.poll();
+            ordered.add(dependent);
+            pendingImports.remove(dependent);
+            for (String next : importedBy.getOrDefault(dependent, Collections.emptySet())) {
+                Integer count = pendingImports.get(next);
+                if (count != null && pendingImports.put(next, count - 1) == 1) {
+                    ready.add(next);
+                }
+            }
+        }
+        // Packages left are within import cycles
+        for (String dependent : dependents) {
+            if (pendingImports.containsKey(dependent)) {
+                ordered.add(dependent);
+            }
+        }
+        return ordered;
+    }
+}
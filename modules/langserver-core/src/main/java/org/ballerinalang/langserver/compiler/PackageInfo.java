@@ -0,0 +1,77 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.langserver.compiler;
+
+import java.nio.file.Path;
+
+/**
+ * Identifies the package a source file belongs to.
+ */
+public class PackageInfo {
+
+    private final String key;
+    private final String sourceRoot;
+    private final String packageName;
+    private final Path packagePath;
+
+    PackageInfo(String key, String sourceRoot, String packageName, Path packagePath) {
+        this.key = key;
+        this.sourceRoot = sourceRoot;
+        this.packageName = packageName;
+        this.packagePath = packagePath;
+    }
+
+    /**
+     * Get the key of the package, which is unique within the workspace.
+     *
+     * @return package key
+     */
+    public String getKey() {
+        return key;
+    }
+
+    public String getSourceRoot() {
+        return sourceRoot;
+    }
+
+    /**
+     * Get the package name. Empty for a single file without a package declaration.
+     *
+     * @return package name
+     */
+    public String getPackageName() {
+        return packageName;
+    }
+
+    public Path getPackagePath() {
+        return packagePath;
+    }
+
+    /**
+     * Checks whether the given source file is a part of the package.
+     *
+     * @param filePath path of the source file
+     * @return true if the file belongs to the package
+     */
+    public boolean contains(Path filePath) {
+        if ("".equals(packageName)) {
+            return packagePath.equals(filePath);
+        }
+        return packagePath.equals(filePath.getParent());
+    }
+}
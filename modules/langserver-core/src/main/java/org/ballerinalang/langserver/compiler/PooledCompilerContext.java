@@ -0,0 +1,267 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.langserver.compiler;
+
+import org.antlr.v4.runtime.DefaultErrorStrategy;
+import org.ballerinalang.langserver.workspace.WorkspaceDocument;
+import org.ballerinalang.langserver.workspace.WorkspaceDocumentManager;
+import org.ballerinalang.langserver.workspace.repository.WorkspacePackageRepository;
+import org.ballerinalang.util.diagnostic.Diagnostic;
+import org.ballerinalang.util.diagnostic.DiagnosticListener;
+import org.wso2.ballerinalang.compiler.parser.antlr4.BallerinaParserErrorStrategy;
+import org.wso2.ballerinalang.compiler.semantics.analyzer.SymbolEnter;
+import org.wso2.ballerinalang.compiler.semantics.model.symbols.BPackageSymbol;
+import org.wso2.ballerinalang.compiler.util.CompilerContext;
+import org.wso2.ballerinalang.compiler.util.diagnotic.BLangDiagnosticLog;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compiler context which is reused across compilations of the same source root, by any of the sessions. The compiler
+ * singletons bound to the context and the packages they have loaded are kept, while the diagnostic listener, the
+ * documents of the compiling session, the parser error strategy and the error count are set per compilation. Since
+ * the package loader keeps the workspace packages it has loaded, the sources of those packages are stamped, and the
+ * context is only reused while none of them has changed, other than the package compiled next.
+ */
+public class PooledCompilerContext {
+
+    // Rough number of heap bytes retained by the compiler singletons and the builtin packages of a context
+    private static final long BASE_RETAINED_BYTES = 16 * 1024 * 1024;
+
+    private final String sourceRoot;
+    private final CompilerContext compilerContext;
+    private final ForwardingDiagnosticListener diagnosticListener = new ForwardingDiagnosticListener();
+    private final ForwardingDocumentManager documentManager = new ForwardingDocumentManager();
+    private final Map<String, String> loadedPackageStamps = new HashMap<>();
+    private final Map<String, Long> loadedPackageSizes = new HashMap<>();
+    private final Map<String, BPackageSymbol> entryPackageSymbols = new HashMap<>();
+
+    PooledCompilerContext(String sourceRoot) {
+        this.sourceRoot = sourceRoot;
+        this.compilerContext = LSCompiler.prepareCompilerContext(
+                new WorkspacePackageRepository(sourceRoot, documentManager), sourceRoot);
+        // Compiler singletons look up the listener once, hence a forwarding listener is registered for good
+        this.compilerContext.put(DiagnosticListener.class, diagnosticListener);
+    }
+
+    public String getSourceRoot() {
+        return sourceRoot;
+    }
+
+    public CompilerContext getCompilerContext() {
+        return compilerContext;
+    }
+
+    /**
+     * Set the listener which receives the diagnostics of the current compilation.
+     *
+     * @param listener diagnostic listener
+     */
+    public void setDiagnosticListener(DiagnosticListener listener) {
+        diagnosticListener.target = listener;
+    }
+
+    /**
+     * Set the document manager of the session compiling with the context, which the workspace packages are loaded
+     * from.
+     *
+     * @param target document manager of the session
+     */
+    void setDocumentManager(WorkspaceDocumentManager target) {
+        documentManager.target = target;
+    }
+
+    /**
+     * Get the contents of the open documents read by the current compilation, which its AST positions refer to.
+     *
+     * @return contents keyed by the document paths
+     */
+    Map<Path, String> getReadContents() {
+        return new HashMap<>(documentManager.readContents);
+    }
+
+    /**
+     * Get the source stamps of the workspace packages loaded into the context, by any of its compilations.
+     *
+     * @return source stamps keyed by the package keys
+     */
+    Map<String, String> getLoadedPackageStamps() {
+        return Collections.unmodifiableMap(loadedPackageStamps);
+    }
+
+    /**
+     * Record the source stamp of a workspace package loaded into the context. The stamp taken first is kept, as it is
+     * the one of the sources the package was loaded from.
+     *
+     * @param packageKey  key of the loaded package
+     * @param sourceStamp stamp of the sources of the package
+     * @param sourceSize  number of characters in the sources of the package
+     */
+    void addLoadedPackage(String packageKey, String sourceStamp, long sourceSize) {
+        loadedPackageStamps.putIfAbsent(packageKey, sourceStamp);
+        loadedPackageSizes.putIfAbsent(packageKey, sourceSize);
+    }
+
+    /**
+     * Record the package about to be compiled with the context. The package loader parses and defines the entry
+     * package again for every compilation, hence the environment the symbol enter keeps for the previous copy is
+     * dropped, and the stamp of the package is replaced with the one of the sources compiled now.
+     *
+     * @param packageKey  key of the entry package
+     * @param sourceStamp stamp of the sources of the package
+     * @param sourceSize  number of characters in the sources of the package
+     */
+    void enterPackage(String packageKey, String sourceStamp, long sourceSize) {
+        loadedPackageStamps.put(packageKey, sourceStamp);
+        loadedPackageSizes.put(packageKey, sourceSize);
+        BPackageSymbol previousSymbol = entryPackageSymbols.remove(packageKey);
+        if (previousSymbol != null) {
+            SymbolEnter.getInstance(compilerContext).packageEnvs.remove(previousSymbol);
+        }
+    }
+
+    /**
+     * Record the symbol the given entry package was defined with, to be dropped once the package is compiled again.
+     *
+     * @param packageKey key of the entry package
+     * @param symbol     symbol of the compiled package
+     */
+    void setEntryPackageSymbol(String packageKey, BPackageSymbol symbol) {
+        if (symbol != null) {
+            entryPackageSymbols.put(packageKey, symbol);
+        }
+    }
+
+    /**
+     * Get an approximation of the heap size retained by the context, which is that of the compiler singletons and the
+     * builtin packages, and of the workspace packages loaded, estimated the same way as their compilations.
+     *
+     * @return size in bytes
+     */
+    long getEstimatedRetainedSize() {
+        long sourceSize = 0;
+        for (long packageSize : loadedPackageSizes.values()) {
+            sourceSize += packageSize;
+        }
+        return BASE_RETAINED_BYTES + sourceSize * PackageCompilation.RETAINED_BYTES_PER_SOURCE_CHAR;
+    }
+
+    boolean isLoaded(String packageKey) {
+        return loadedPackageStamps.containsKey(packageKey);
+    }
+
+    /**
+     * Discard the state of the last compilation.
+     */
+    void reset() {
+        diagnosticListener.target = null;
+        documentManager.target = null;
+        documentManager.readContents.clear();
+        compilerContext.put(DefaultErrorStrategy.class, new BallerinaParserErrorStrategy(compilerContext, null));
+        // The compiler stops after the phase an error was logged in, which would otherwise hold for later compilations
+        BLangDiagnosticLog.getInstance(compilerContext).errorCount = 0;
+    }
+
+    /**
+     * Diagnostic listener which forwards the diagnostics to the listener of the current compilation.
+     */
+    private static class ForwardingDiagnosticListener implements DiagnosticListener {
+        private volatile DiagnosticListener target;
+
+        @Override
+        public void received(Diagnostic diagnostic) {
+            DiagnosticListener currentTarget = target;
+            if (currentTarget != null) {
+                currentTarget.received(diagnostic);
+            }
+        }
+    }
+
+    /**
+     * Read only document manager which forwards to the document manager of the current compilation, and has no open
+     * documents in between the compilations. The contents read by the compilation are recorded.
+     */
+    private static class ForwardingDocumentManager implements WorkspaceDocumentManager {
+        private volatile WorkspaceDocumentManager target;
+        private final Map<Path, String> readContents = new ConcurrentHashMap<>();
+
+        @Override
+        public boolean isFileOpen(Path filePath) {
+            WorkspaceDocumentManager currentTarget = target;
+            return currentTarget != null && currentTarget.isFileOpen(filePath);
+        }
+
+        @Override
+        public void openFile(Path filePath, String content) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void openFile(Path filePath, String content, int version) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void updateFile(Path filePath, String updatedContent) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void updateFile(Path filePath, String updatedContent, int version) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void closeFile(Path filePath) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public String getFileContent(Path filePath) {
+            WorkspaceDocumentManager currentTarget = target;
+            String content = currentTarget == null ? null : currentTarget.getFileContent(filePath);
+            if (content != null) {
+                readContents.put(filePath, content);
+            }
+            return content;
+        }
+
+        @Override
+        public int getFileVersion(Path filePath) {
+            WorkspaceDocumentManager currentTarget = target;
+            return currentTarget == null ? -1 : currentTarget.getFileVersion(filePath);
+        }
+
+        @Override
+        public WorkspaceDocument getDocument(Path filePath) {
+            WorkspaceDocumentManager currentTarget = target;
+            return currentTarget == null ? null : currentTarget.getDocument(filePath);
+        }
+
+        @Override
+        public Set<Path> getOpenedFilePaths() {
+            WorkspaceDocumentManager currentTarget = target;
+            return currentTarget == null ? Collections.emptySet() : currentTarget.getOpenedFilePaths();
+        }
+    }
+}
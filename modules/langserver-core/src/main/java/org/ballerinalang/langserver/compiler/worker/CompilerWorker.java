@@ -0,0 +1,88 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.langserver.compiler.worker;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A compiler worker JVM, serving one request at a time.
+ */
+class CompilerWorker {
+
+    private final Process process;
+    private final DataOutputStream out;
+    private final DataInputStream in;
+
+    private CompilerWorker(Process process) {
+        this.process = process;
+        this.out = new DataOutputStream(new BufferedOutputStream(process.getOutputStream()));
+        this.in = new DataInputStream(new BufferedInputStream(process.getInputStream()));
+    }
+
+    /**
+     * Start a worker JVM.
+     *
+     * @param command command line of the worker JVM
+     * @return started worker
+     * @throws IOException if the JVM cannot be started
+     */
+    static CompilerWorker start(List<String> command) throws IOException {
+        ProcessBuilder processBuilder = new ProcessBuilder(command);
+        processBuilder.redirectError(ProcessBuilder.Redirect.INHERIT);
+        return new CompilerWorker(processBuilder.start());
+    }
+
+    /**
+     * Compile the package of the given document in the worker. The worker is killed if it does not respond in time,
+     * which fails the compilation with an {@link IOException}.
+     *
+     * @param filePath      path of the document
+     * @param documents     open documents of the package
+     * @param timeoutMillis time the worker is given to respond
+     * @param scheduler     scheduler of the timeout
+     * @return compilation of the package, or null if the worker failed to compile it
+     * @throws IOException if the worker died or did not respond in time
+     */
+    WorkerCompilation compile(Path filePath, List<DocumentSnapshot> documents, long timeoutMillis,
+                              ScheduledExecutorService scheduler) throws IOException {
+        ScheduledFuture<?> timeout = scheduler.schedule(this::destroy, timeoutMillis, TimeUnit.MILLISECONDS);
+        try {
+            WorkerProtocol.writeRequest(out, filePath, documents);
+            return WorkerProtocol.readResponse(in);
+        } finally {
+            timeout.cancel(false);
+        }
+    }
+
+    boolean isAlive() {
+        return process.isAlive();
+    }
+
+    void destroy() {
+        process.destroyForcibly();
+    }
+}
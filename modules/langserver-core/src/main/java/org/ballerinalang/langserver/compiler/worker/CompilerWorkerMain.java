@@ -0,0 +1,104 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.langserver.compiler.worker;
+
+import org.ballerinalang.langserver.compiler.LSCompiler;
+import org.ballerinalang.langserver.compiler.PackageCompilation;
+import org.ballerinalang.langserver.diagnostics.DiagnosticsPublisher;
+import org.ballerinalang.langserver.index.PackageReferences;
+import org.ballerinalang.langserver.index.PackageSummary;
+import org.ballerinalang.langserver.workspace.WorkspaceDocumentManager;
+import org.ballerinalang.langserver.workspace.WorkspaceDocumentManagerImpl;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Entry point of a compiler worker JVM. The worker compiles the packages it is asked to over its standard streams,
+ * keeping its own compilation caches warm between the requests, and exits once the language server closes its
+ * standard input.
+ */
+public class CompilerWorkerMain {
+
+    private final WorkspaceDocumentManager documentManager = new WorkspaceDocumentManagerImpl();
+    private final LSCompiler lsCompiler = new LSCompiler(documentManager);
+    private final Set<Path> openedPaths = new HashSet<>();
+
+    public static void main(String[] args) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(System.in));
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(FileDescriptor.out)));
+        // The standard output carries the protocol, hence anything printed by the compiler goes to the error stream
+        System.setOut(System.err);
+        new CompilerWorkerMain().serve(in, out);
+    }
+
+    private void serve(DataInputStream in, DataOutputStream out) throws IOException {
+        while (true) {
+            Path filePath;
+            try {
+                filePath = WorkerProtocol.readRequestPath(in);
+            } catch (EOFException e) {
+                return;
+            }
+            List<DocumentSnapshot> documents = WorkerProtocol.readRequestDocuments(in);
+            WorkerCompilation compilation;
+            try {
+                compilation = this.compile(filePath, documents);
+            } catch (Exception e) {
+                WorkerProtocol.writeError(out, e.getClass().getName() + ": " + e.getMessage());
+                continue;
+            }
+            WorkerProtocol.writeCompilation(out, compilation);
+        }
+    }
+
+    private WorkerCompilation compile(Path filePath, List<DocumentSnapshot> documents) {
+        // The documents of the request are the ones open in the language server, the others are read from the disk
+        Set<Path> requestPaths = new HashSet<>();
+        for (DocumentSnapshot document : documents) {
+            requestPaths.add(document.getFilePath());
+            if (documentManager.isFileOpen(document.getFilePath())) {
+                documentManager.updateFile(document.getFilePath(), document.getContent(), document.getVersion());
+            } else {
+                documentManager.openFile(document.getFilePath(), document.getContent(), document.getVersion());
+            }
+        }
+        for (Path openedPath : openedPaths) {
+            if (!requestPaths.contains(openedPath)) {
+                documentManager.closeFile(openedPath);
+            }
+        }
+        openedPaths.clear();
+        openedPaths.addAll(requestPaths);
+
+        PackageCompilation compilation = lsCompiler.compile(filePath);
+        return new WorkerCompilation(compilation.getKey(), compilation.getDocumentVersions(),
+                DiagnosticsPublisher.getDiagnostics(compilation), PackageSummary.build(compilation),
+                lsCompiler.getImportGraph().getImports(compilation.getKey()), PackageReferences.build(compilation));
+    }
+}
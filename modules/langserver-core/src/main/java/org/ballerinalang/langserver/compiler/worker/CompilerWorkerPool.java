@@ -0,0 +1,224 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.langserver.compiler.worker;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pool of compiler worker JVMs, which compile packages with heaps of their own. The workers compile the packages as
+ * they are edited, producing the diagnostics and the symbol summaries, while the requests which need the AST, such as
+ * completion and hover, still compile in process. A package whose compilation killed a worker is flagged until a
+ * worker compiles it again, and the language server does not compile it in process meanwhile. Workers are started
+ * on demand, and a worker which dies or stops responding is replaced on the next request. The pool is disabled unless
+ * the {@link #WORKERS_PROPERTY} system property is set.
+ */
+public class CompilerWorkerPool {
+
+    /**
+     * System property which sets the number of worker JVMs. Compilation stays in process when it is zero.
+     */
+    public static final String WORKERS_PROPERTY = "ballerina.langserver.compilerWorkers";
+
+    /**
+     * System property which sets the maximum heap size of each worker JVM, in megabytes.
+     */
+    public static final String HEAP_PROPERTY = "ballerina.langserver.compilerWorkerHeapMB";
+
+    /**
+     * System property which sets how long a worker is given to compile a package, in milliseconds, before it is
+     * killed.
+     */
+    public static final String TIMEOUT_PROPERTY = "ballerina.langserver.compilerWorkerTimeoutMillis";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CompilerWorkerPool.class);
+    private static final int DEFAULT_HEAP_MB = 512;
+    private static final long DEFAULT_TIMEOUT_MILLIS = 60000;
+    private static final String FORWARDED_PROPERTY_PREFIX = "ballerina.";
+
+    private final int size;
+    private final int heapMB;
+    private final long timeoutMillis;
+    private final Semaphore permits;
+    private final Queue<CompilerWorker> idleWorkers = new ConcurrentLinkedQueue<>();
+    private final List<CompilerWorker> startedWorkers = new ArrayList<>();
+    private final AtomicLong restarts = new AtomicLong();
+    private final Set<String> failedPackages = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "ls-compiler-worker-timeouts");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private boolean closed;
+
+    public CompilerWorkerPool(int size, int heapMB, long timeoutMillis) {
+        this.size = size;
+        this.heapMB = heapMB;
+        this.timeoutMillis = timeoutMillis;
+        this.permits = new Semaphore(size);
+        if (size > 0) {
+            Runtime.getRuntime().addShutdownHook(new Thread(this::close, "ls-compiler-worker-shutdown"));
+        }
+    }
+
+    /**
+     * Create a worker pool configured by the system properties.
+     *
+     * @return worker pool, which is disabled unless {@link #WORKERS_PROPERTY} is set
+     */
+    public static CompilerWorkerPool fromSystemProperties() {
+        return new CompilerWorkerPool(Integer.getInteger(WORKERS_PROPERTY, 0),
+                Integer.getInteger(HEAP_PROPERTY, DEFAULT_HEAP_MB),
+                Long.getLong(TIMEOUT_PROPERTY, DEFAULT_TIMEOUT_MILLIS));
+    }
+
+    public boolean isEnabled() {
+        return size > 0;
+    }
+
+    /**
+     * Get the number of workers replaced since the pool was created, after they died or stopped responding.
+     *
+     * @return number of restarts
+     */
+    public long getRestarts() {
+        return restarts.get();
+    }
+
+    /**
+     * Checks whether the last worker which compiled the given package died or was killed before it finished, as it
+     * does when the compilation exhausts its heap.
+     *
+     * @param packageKey compilation key of the package
+     * @return true if the package should not be compiled in process
+     */
+    public boolean hasFailed(String packageKey) {
+        return failedPackages.contains(packageKey);
+    }
+
+    /**
+     * Compile the package of the given document in a worker, waiting for a worker to be free if all of them are
+     * busy.
+     *
+     * @param packageKey compilation key of the package
+     * @param filePath   path of the document
+     * @param documents  open documents of the package, which the worker compiles instead of their content on the disk
+     * @return compilation of the package, or null if it failed
+     */
+    public WorkerCompilation compile(String packageKey, Path filePath, List<DocumentSnapshot> documents) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+        CompilerWorker worker = null;
+        try {
+            worker = this.acquireWorker();
+            WorkerCompilation compilation = worker.compile(filePath, documents, timeoutMillis, scheduler);
+            if (compilation != null) {
+                failedPackages.remove(packageKey);
+            }
+            return compilation;
+        } catch (IOException e) {
+            LOGGER.error("Compiler worker failed, replacing it: " + e.getMessage());
+            if (worker != null) {
+                failedPackages.add(packageKey);
+                this.discard(worker);
+                worker = null;
+            }
+            return null;
+        } finally {
+            if (worker != null) {
+                idleWorkers.add(worker);
+            }
+            permits.release();
+        }
+    }
+
+    /**
+     * Kill all the workers. The workers also exit on their own when the language server exits.
+     */
+    public void close() {
+        synchronized (startedWorkers) {
+            closed = true;
+            startedWorkers.forEach(CompilerWorker::destroy);
+            startedWorkers.clear();
+        }
+        idleWorkers.clear();
+    }
+
+    private CompilerWorker acquireWorker() throws IOException {
+        CompilerWorker worker;
+        while ((worker = idleWorkers.poll()) != null) {
+            if (worker.isAlive()) {
+                return worker;
+            }
+            this.discard(worker);
+        }
+        synchronized (startedWorkers) {
+            if (closed) {
+                throw new IOException("the compiler worker pool is closed");
+            }
+            worker = CompilerWorker.start(this.getCommand());
+            startedWorkers.add(worker);
+        }
+        return worker;
+    }
+
+    private void discard(CompilerWorker worker) {
+        worker.destroy();
+        synchronized (startedWorkers) {
+            startedWorkers.remove(worker);
+        }
+        restarts.incrementAndGet();
+    }
+
+    private List<String> getCommand() {
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-Xmx" + heapMB + "m");
+        command.add("-XX:+ExitOnOutOfMemoryError");
+        // The workers locate the Ballerina home and the library packages the same way as the language server
+        for (Map.Entry<Object, Object> property : System.getProperties().entrySet()) {
+            String name = property.getKey().toString();
+            if (name.startsWith(FORWARDED_PROPERTY_PREFIX) && !name.equals(WORKERS_PROPERTY)) {
+                command.add("-D" + name + "=" + property.getValue());
+            }
+        }
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(CompilerWorkerMain.class.getName());
+        return command;
+    }
+}
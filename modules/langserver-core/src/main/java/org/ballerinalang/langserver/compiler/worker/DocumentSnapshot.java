@@ -0,0 +1,48 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.langserver.compiler.worker;
+
+import java.nio.file.Path;
+
+/**
+ * Content of an open document at a given version, as sent to a compiler worker.
+ */
+public class DocumentSnapshot {
+
+    private final Path filePath;
+    private final int version;
+    private final String content;
+
+    public DocumentSnapshot(Path filePath, int version, String content) {
+        this.filePath = filePath;
+        this.version = version;
+        this.content = content;
+    }
+
+    public Path getFilePath() {
+        return filePath;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public String getContent() {
+        return content;
+    }
+}
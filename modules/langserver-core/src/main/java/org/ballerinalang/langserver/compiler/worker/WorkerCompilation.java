@@ -0,0 +1,87 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.langserver.compiler.worker;
+
+import org.ballerinalang.langserver.index.PackageReferences;
+import org.ballerinalang.langserver.index.PackageSummary;
+import org.eclipse.lsp4j.Diagnostic;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Result of compiling a package in a compiler worker: the diagnostics, the symbol summary, the imports and the
+ * references of the package, along with the versions of the open documents it was compiled from. The AST stays in
+ * the worker.
+ */
+public class WorkerCompilation {
+
+    private final String packageKey;
+    private final Map<Path, Integer> documentVersions;
+    private final Map<String, List<Diagnostic>> diagnostics;
+    private final PackageSummary summary;
+    private final Set<String> importedKeys;
+    private final PackageReferences references;
+
+    WorkerCompilation(String packageKey, Map<Path, Integer> documentVersions,
+                      Map<String, List<Diagnostic>> diagnostics, PackageSummary summary, Set<String> importedKeys,
+                      PackageReferences references) {
+        this.packageKey = packageKey;
+        this.documentVersions = documentVersions;
+        this.diagnostics = diagnostics;
+        this.summary = summary;
+        this.importedKeys = importedKeys;
+        this.references = references;
+    }
+
+    public String getPackageKey() {
+        return packageKey;
+    }
+
+    public Map<Path, Integer> getDocumentVersions() {
+        return documentVersions;
+    }
+
+    /**
+     * Get the diagnostics of the documents of the package.
+     *
+     * @return diagnostics, by the URI of the document
+     */
+    public Map<String, List<Diagnostic>> getDiagnostics() {
+        return diagnostics;
+    }
+
+    public PackageSummary getSummary() {
+        return summary;
+    }
+
+    /**
+     * Get the workspace packages the package imports.
+     *
+     * @return keys of the imported packages
+     */
+    public Set<String> getImportedKeys() {
+        return importedKeys;
+    }
+
+    public PackageReferences getReferences() {
+        return references;
+    }
+}
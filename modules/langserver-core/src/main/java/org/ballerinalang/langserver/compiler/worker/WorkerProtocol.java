@@ -0,0 +1,192 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.langserver.compiler.worker;
+
+import org.ballerinalang.langserver.index.PackageReferences;
+import org.ballerinalang.langserver.index.PackageSummary;
+import org.eclipse.lsp4j.Diagnostic;
+import org.eclipse.lsp4j.DiagnosticSeverity;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Binary protocol spoken with the compiler workers over their standard streams. A request carries the document to
+ * compile and the open documents of its package, and the response carries a {@link WorkerCompilation}, or an error
+ * message if the compilation failed, after which the worker takes the next request. Strings which may be long, such
+ * as the sources, are written as length prefixed UTF-8 bytes.
+ */
+final class WorkerProtocol {
+
+    static final byte STATUS_OK = 0;
+    static final byte STATUS_ERROR = 1;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WorkerProtocol.class);
+
+    private WorkerProtocol() {
+    }
+
+    static void writeRequest(DataOutputStream out, Path filePath, List<DocumentSnapshot> documents)
+            throws IOException {
+        writeString(out, filePath.toString());
+        out.writeInt(documents.size());
+        for (DocumentSnapshot document : documents) {
+            writeString(out, document.getFilePath().toString());
+            out.writeInt(document.getVersion());
+            writeString(out, document.getContent());
+        }
+        out.flush();
+    }
+
+    static Path readRequestPath(DataInputStream in) throws IOException {
+        return Paths.get(readString(in));
+    }
+
+    static List<DocumentSnapshot> readRequestDocuments(DataInputStream in) throws IOException {
+        int size = in.readInt();
+        List<DocumentSnapshot> documents = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            documents.add(new DocumentSnapshot(Paths.get(readString(in)), in.readInt(), readString(in)));
+        }
+        return documents;
+    }
+
+    static void writeCompilation(DataOutputStream out, WorkerCompilation compilation) throws IOException {
+        out.writeByte(STATUS_OK);
+        writeString(out, compilation.getPackageKey());
+        out.writeInt(compilation.getDocumentVersions().size());
+        for (Map.Entry<Path, Integer> documentVersion : compilation.getDocumentVersions().entrySet()) {
+            writeString(out, documentVersion.getKey().toString());
+            out.writeInt(documentVersion.getValue());
+        }
+        out.writeInt(compilation.getDiagnostics().size());
+        for (Map.Entry<String, List<Diagnostic>> uriDiagnostics : compilation.getDiagnostics().entrySet()) {
+            writeString(out, uriDiagnostics.getKey());
+            out.writeInt(uriDiagnostics.getValue().size());
+            for (Diagnostic diagnostic : uriDiagnostics.getValue()) {
+                writeDiagnostic(out, diagnostic);
+            }
+        }
+        compilation.getSummary().writeTo(out);
+        out.writeInt(compilation.getImportedKeys().size());
+        for (String importedKey : compilation.getImportedKeys()) {
+            writeString(out, importedKey);
+        }
+        compilation.getReferences().writeTo(out);
+        out.flush();
+    }
+
+    static void writeError(DataOutputStream out, String message) throws IOException {
+        out.writeByte(STATUS_ERROR);
+        writeString(out, message == null ? "" : message);
+        out.flush();
+    }
+
+    /**
+     * Read the response of a worker.
+     *
+     * @param in stream to read from
+     * @return compilation of the package, or null if the worker failed to compile the package
+     * @throws IOException if the stream cannot be read
+     */
+    static WorkerCompilation readResponse(DataInputStream in) throws IOException {
+        if (in.readByte() == STATUS_ERROR) {
+            LOGGER.error("Compiler worker failed to compile the package: " + readString(in));
+            return null;
+        }
+        String packageKey = readString(in);
+        int versionCount = in.readInt();
+        Map<Path, Integer> documentVersions = new HashMap<>();
+        for (int i = 0; i < versionCount; i++) {
+            documentVersions.put(Paths.get(readString(in)), in.readInt());
+        }
+        int uriCount = in.readInt();
+        Map<String, List<Diagnostic>> diagnostics = new HashMap<>();
+        for (int i = 0; i < uriCount; i++) {
+            String uri = readString(in);
+            int size = in.readInt();
+            List<Diagnostic> uriDiagnostics = new ArrayList<>(size);
+            for (int j = 0; j < size; j++) {
+                uriDiagnostics.add(readDiagnostic(in));
+            }
+            diagnostics.put(uri, uriDiagnostics);
+        }
+        PackageSummary summary = PackageSummary.readFrom(in);
+        int importCount = in.readInt();
+        Set<String> importedKeys = new HashSet<>();
+        for (int i = 0; i < importCount; i++) {
+            importedKeys.add(readString(in));
+        }
+        return new WorkerCompilation(packageKey, documentVersions, diagnostics, summary, importedKeys,
+                PackageReferences.readFrom(in));
+    }
+
+    private static void writeDiagnostic(DataOutputStream out, Diagnostic diagnostic) throws IOException {
+        Range range = diagnostic.getRange();
+        out.writeInt(range.getStart().getLine());
+        out.writeInt(range.getStart().getCharacter());
+        out.writeInt(range.getEnd().getLine());
+        out.writeInt(range.getEnd().getCharacter());
+        out.writeByte(diagnostic.getSeverity() == null ? 0 : diagnostic.getSeverity().getValue());
+        writeString(out, diagnostic.getMessage());
+        writeString(out, diagnostic.getSource() == null ? "" : diagnostic.getSource());
+        writeString(out, diagnostic.getCode() == null ? "" : diagnostic.getCode());
+    }
+
+    private static Diagnostic readDiagnostic(DataInputStream in) throws IOException {
+        Diagnostic diagnostic = new Diagnostic();
+        diagnostic.setRange(new Range(new Position(in.readInt(), in.readInt()),
+                new Position(in.readInt(), in.readInt())));
+        byte severity = in.readByte();
+        if (severity > 0) {
+            diagnostic.setSeverity(DiagnosticSeverity.forValue(severity));
+        }
+        diagnostic.setMessage(readString(in));
+        String source = readString(in);
+        diagnostic.setSource(source.isEmpty() ? null : source);
+        String code = readString(in);
+        diagnostic.setCode(code.isEmpty() ? null : code);
+        return diagnostic;
+    }
+
+    static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,221 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.langserver.completions;
+
+import org.ballerinalang.langserver.compiler.EvictableCache;
+import org.eclipse.lsp4j.CompletionItem;
+import org.eclipse.lsp4j.Position;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps the last completion result of a session, so that the requests issued for every character of an identifier
+ * being typed are answered by filtering the result of the first one. A cached result is reused only when the
+ * document has changed within the identifier at the cursor, hence the scope of the cursor is the same. This includes
+ * a request at the same position, which is how a result computed in the background after its request ran out of time
+ * is served to the request following it.
+ */
+public class CompletionCache implements EvictableCache {
+
+    // Rough number of heap bytes a completion item retains, with its label, detail and insert text
+    static final int RETAINED_BYTES_PER_ITEM = 256;
+
+    private volatile CachedCompletion lastCompletion;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Get the completions for the given position from the cached result, if the identifier at the position extends
+     * the identifier the result was computed for.
+     *
+     * @param filePath path of the document
+     * @param version  version of the document
+     * @param content  content of the document
+     * @param position position of the cursor
+     * @return filtered completions, or null if the cached result cannot be reused
+     */
+    public List<CompletionItem> get(Path filePath, int version, String content, Position position) {
+        List<CompletionItem> completions = this.find(filePath, version, content, position);
+        if (completions == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return completions;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    private List<CompletionItem> find(Path filePath, int version, String content, Position position) {
+        CachedCompletion cached = this.lastCompletion;
+        if (cached == null || content == null || !cached.filePath.equals(filePath) || version < cached.version) {
+            return null;
+        }
+        // The cursor may have moved within the identifier since, as characters are typed or deleted
+        int cursorOffset = getOffset(content, position);
+        if (cursorOffset < cached.identifierStart) {
+            return null;
+        }
+        // The text before the identifier and after the cursor should be the same as when the result was computed
+        int suffixLength = content.length() - cursorOffset;
+        if (suffixLength != cached.content.length() - cached.cursorOffset
+                || !content.regionMatches(0, cached.content, 0, cached.identifierStart)
+                || !content.regionMatches(cursorOffset, cached.content, cached.cursorOffset, suffixLength)) {
+            return null;
+        }
+        for (int i = cached.identifierStart; i < cursorOffset; i++) {
+            if (!isIdentifierPart(content.charAt(i))) {
+                return null;
+            }
+        }
+
+        String typed = content.substring(cached.identifierStart, cursorOffset).toLowerCase(Locale.ENGLISH);
+        List<CompletionItem> completions = new ArrayList<>();
+        for (CompletionItem item : cached.completions) {
+            String filterText = item.getFilterText() != null ? item.getFilterText() : item.getLabel();
+            if (filterText != null && matches(filterText.toLowerCase(Locale.ENGLISH), typed)) {
+                completions.add(item);
+            }
+        }
+        return completions;
+    }
+
+    /**
+     * Cache the completions computed for the given position, replacing the previous result.
+     *
+     * @param filePath    path of the document
+     * @param version     version of the document
+     * @param content     content of the document
+     * @param position    position of the cursor
+     * @param completions computed completions
+     */
+    public void put(Path filePath, int version, String content, Position position, List<CompletionItem> completions) {
+        int cursorOffset = content == null ? -1 : getOffset(content, position);
+        if (cursorOffset < 0) {
+            this.lastCompletion = null;
+            return;
+        }
+        int identifierStart = cursorOffset;
+        while (identifierStart > 0 && isIdentifierPart(content.charAt(identifierStart - 1))) {
+            identifierStart--;
+        }
+        this.lastCompletion = new CachedCompletion(filePath, version, content, identifierStart, cursorOffset,
+                completions);
+    }
+
+    /**
+     * Drop the cached result if it was computed for another document, which may see the symbols of the changed one.
+     * Changes to the document of the cached result are detected when the result is looked up.
+     *
+     * @param changedPath path of the changed document
+     */
+    public void invalidate(Path changedPath) {
+        CachedCompletion cached = this.lastCompletion;
+        if (cached != null && !cached.filePath.equals(changedPath)) {
+            this.lastCompletion = null;
+        }
+    }
+
+    public void clear() {
+        this.lastCompletion = null;
+    }
+
+    @Override
+    public long getRetainedSize() {
+        CachedCompletion cached = this.lastCompletion;
+        return cached == null ? 0
+                : cached.content.length() * 2L + cached.completions.size() * (long) RETAINED_BYTES_PER_ITEM;
+    }
+
+    @Override
+    public void evict() {
+        this.clear();
+    }
+
+    /**
+     * Checks whether the characters typed appear in the text in the same order, which is how the clients filter the
+     * completion items while an identifier is typed.
+     */
+    private static boolean matches(String text, String typed) {
+        int textIndex = 0;
+        for (int i = 0; i < typed.length(); i++) {
+            textIndex = text.indexOf(typed.charAt(i), textIndex);
+            if (textIndex < 0) {
+                return false;
+            }
+            textIndex++;
+        }
+        return true;
+    }
+
+    /**
+     * Get the offset of the given zero based position in the content.
+     *
+     * @param content  content of the document
+     * @param position position in the document
+     * @return offset of the position, or -1 if the position is beyond the content
+     */
+    static int getOffset(String content, Position position) {
+        int offset = 0;
+        for (int line = 0; line < position.getLine(); line++) {
+            offset = content.indexOf('\n', offset);
+            if (offset < 0) {
+                return -1;
+            }
+            offset++;
+        }
+        offset += position.getCharacter();
+        return offset <= content.length() ? offset : -1;
+    }
+
+    private static boolean isIdentifierPart(char character) {
+        return Character.isLetterOrDigit(character) || character == '_';
+    }
+
+    /**
+     * Completion result together with the document state it was computed for.
+     */
+    private static class CachedCompletion {
+        private final Path filePath;
+        private final int version;
+        private final String content;
+        private final int identifierStart;
+        private final int cursorOffset;
+        private final List<CompletionItem> completions;
+
+        CachedCompletion(Path filePath, int version, String content, int identifierStart, int cursorOffset,
+                         List<CompletionItem> completions) {
+            this.filePath = filePath;
+            this.version = version;
+            this.content = content;
+            this.identifierStart = identifierStart;
+            this.cursorOffset = cursorOffset;
+            this.completions = completions;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.langserver.completions;
+
+import org.ballerinalang.langserver.completions.consts.CompletionItemResolver;
+import org.ballerinalang.langserver.completions.resolvers.TopLevelResolver;
+import org.ballerinalang.langserver.completions.util.filters.StatementTemplateFilter;
+import org.eclipse.lsp4j.CompletionItem;
+import org.eclipse.lsp4j.Position;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Builds the completions answered while the compilation of the package is taking longer than the latency budget:
+ * the completions last resolved in the scope of the cursor if there are any, or else the keywords and templates valid
+ * at the nesting level of the cursor, which is found by a lexical scan of the document.
+ */
+public class DegradedCompletions {
+
+    private DegradedCompletions() {
+    }
+
+    /**
+     * Get the degraded completions for the given position.
+     *
+     * @param staleScopes completions last resolved in the scopes of the open documents
+     * @param filePath    path of the document
+     * @param content     current content of the document
+     * @param position    position of the cursor
+     * @return completion items
+     */
+    @SuppressWarnings("unchecked")
+    public static List<CompletionItem> getCompletions(StaleScopeCompletions staleScopes, Path filePath,
+                                                      String content, Position position) {
+        List<CompletionItem> completions = staleScopes.find(filePath, content, position);
+        if (completions != null) {
+            return completions;
+        }
+        if (content != null && getNestingLevel(content, CompletionCache.getOffset(content, position)) > 0) {
+            return new StatementTemplateFilter().filterItems(new SuggestionsFilterDataModel());
+        }
+        return ((TopLevelResolver) CompletionItemResolver.getResolverByClass(TopLevelResolver.class))
+                .getTopLevelItems();
+    }
+
+    /**
+     * Get the number of curly braces open at the given offset, skipping the string literals and the comments.
+     *
+     * @param content content of the document
+     * @param offset  offset of the cursor
+     * @return nesting level of the cursor
+     */
+    static int getNestingLevel(String content, int offset) {
+        int level = 0;
+        int end = offset < 0 ? content.length() : Math.min(offset, content.length());
+        for (int i = 0; i < end; i++) {
+            char c = content.charAt(i);
+            if (c == '"') {
+                for (i++; i < end && content.charAt(i) != '"' && content.charAt(i) != '\n'; i++) {
+                    if (content.charAt(i) == '\\') {
+                        i++;
+                    }
+                }
+            } else if (c == '/' && i + 1 < end && content.charAt(i + 1) == '/') {
+                while (i < end && content.charAt(i) != '\n') {
+                    i++;
+                }
+            } else if (c == '{') {
+                level++;
+            } else if (c == '}' && level > 0) {
+                level--;
+            }
+        }
+        return level;
+    }
+}
@@ -0,0 +1,197 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.langserver.completions;
+
+import org.ballerinalang.langserver.compiler.EvictableCache;
+import org.eclipse.lsp4j.CompletionItem;
+import org.eclipse.lsp4j.Position;
+import org.wso2.ballerinalang.compiler.util.diagnotic.DiagnosticPos;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the completions last resolved within each scope of the open documents, to answer from while the code around
+ * the cursor is too broken for the parser to recover the scope, or while the compilation is taking too long. The
+ * ranges of the scopes are mapped through the edits made since they were resolved.
+ */
+public class StaleScopeCompletions implements EvictableCache {
+
+    private static final int MAX_SCOPES_PER_DOCUMENT = 8;
+
+    private final Map<Path, DocumentScopes> documentScopes = new ConcurrentHashMap<>();
+
+    /**
+     * Remember the completions resolved within the given scope of the document.
+     *
+     * @param filePath    path of the document
+     * @param content     content of the document the completions were resolved for
+     * @param scopePos    position of the node enclosing the cursor
+     * @param completions resolved completions
+     */
+    public void remember(Path filePath, String content, DiagnosticPos scopePos, List<CompletionItem> completions) {
+        if (content == null || scopePos == null || scopePos.eLine <= 0) {
+            return;
+        }
+        int start = CompletionCache.getOffset(content, new Position(scopePos.sLine - 1, scopePos.sCol - 1));
+        int end = CompletionCache.getOffset(content, new Position(scopePos.eLine - 1, scopePos.eCol - 1));
+        if (start < 0 || end < start) {
+            return;
+        }
+        DocumentScopes scopes = documentScopes.computeIfAbsent(filePath, path -> new DocumentScopes());
+        synchronized (scopes) {
+            scopes.moveTo(content);
+            scopes.scopes.removeIf(scope -> scope.start == start && scope.end == end);
+            scopes.scopes.add(0, new Scope(start, end, completions));
+            if (scopes.scopes.size() > MAX_SCOPES_PER_DOCUMENT) {
+                scopes.scopes.remove(MAX_SCOPES_PER_DOCUMENT);
+            }
+        }
+    }
+
+    /**
+     * Find the completions of the innermost remembered scope enclosing the given position.
+     *
+     * @param filePath path of the document
+     * @param content  current content of the document
+     * @param position position of the cursor
+     * @return completions of the scope, or null if no remembered scope encloses the position
+     */
+    public List<CompletionItem> find(Path filePath, String content, Position position) {
+        DocumentScopes scopes = documentScopes.get(filePath);
+        int cursorOffset = content == null ? -1 : CompletionCache.getOffset(content, position);
+        if (scopes == null || cursorOffset < 0) {
+            return null;
+        }
+        synchronized (scopes) {
+            scopes.moveTo(content);
+            Scope found = null;
+            for (Scope scope : scopes.scopes) {
+                if (scope.start < cursorOffset && cursorOffset <= scope.end
+                        && (found == null || scope.end - scope.start < found.end - found.start)) {
+                    found = scope;
+                }
+            }
+            return found == null ? null : found.completions;
+        }
+    }
+
+    /**
+     * Map the remembered scopes of the document through a change. Changes are expected to be mapped as they come,
+     * since the difference between two contents is mapped as a single edit.
+     *
+     * @param filePath path of the document
+     * @param content  content of the document after the change
+     */
+    public void update(Path filePath, String content) {
+        DocumentScopes scopes = documentScopes.get(filePath);
+        if (scopes != null && content != null) {
+            synchronized (scopes) {
+                scopes.moveTo(content);
+            }
+        }
+    }
+
+    public void forget(Path filePath) {
+        documentScopes.remove(filePath);
+    }
+
+    @Override
+    public long getRetainedSize() {
+        long retainedSize = 0;
+        for (DocumentScopes scopes : documentScopes.values()) {
+            synchronized (scopes) {
+                retainedSize += scopes.content == null ? 0 : scopes.content.length() * 2L;
+                for (Scope scope : scopes.scopes) {
+                    retainedSize += scope.completions.size() * (long) CompletionCache.RETAINED_BYTES_PER_ITEM;
+                }
+            }
+        }
+        return retainedSize;
+    }
+
+    @Override
+    public void evict() {
+        documentScopes.clear();
+    }
+
+    /**
+     * Remembered scopes of a document, with their ranges as offsets in the content last seen.
+     */
+    private static class DocumentScopes {
+        private String content;
+        private final List<Scope> scopes = new ArrayList<>();
+
+        /**
+         * Map the ranges of the scopes to the given content, treating the difference between the contents as a
+         * single edit. Scopes whose boundaries fall within the edit are dropped.
+         */
+        void moveTo(String newContent) {
+            if (content == null || content.equals(newContent)) {
+                content = newContent;
+                return;
+            }
+            int prefix = 0;
+            int maxPrefix = Math.min(content.length(), newContent.length());
+            while (prefix < maxPrefix && content.charAt(prefix) == newContent.charAt(prefix)) {
+                prefix++;
+            }
+            int suffix = 0;
+            int maxSuffix = maxPrefix - prefix;
+            while (suffix < maxSuffix && content.charAt(content.length() - suffix - 1)
+                    == newContent.charAt(newContent.length() - suffix - 1)) {
+                suffix++;
+            }
+            int editEnd = content.length() - suffix;
+            int delta = newContent.length() - content.length();
+            for (Iterator<Scope> iterator = scopes.iterator(); iterator.hasNext(); ) {
+                Scope scope = iterator.next();
+                if (scope.start > prefix && scope.start < editEnd || scope.end > prefix && scope.end < editEnd) {
+                    iterator.remove();
+                    continue;
+                }
+                if (scope.start >= editEnd) {
+                    scope.start += delta;
+                }
+                if (scope.end >= editEnd) {
+                    scope.end += delta;
+                }
+            }
+            content = newContent;
+        }
+    }
+
+    /**
+     * Completions resolved within a scope.
+     */
+    private static class Scope {
+        private int start;
+        private int end;
+        private final List<CompletionItem> completions;
+
+        Scope(int start, int end, List<CompletionItem> completions) {
+            this.start = start;
+            this.end = end;
+            this.completions = completions;
+        }
+    }
+}
@@ -80,6 +80,10 @@ import java.util.Stack;
 import java.util.stream.Collectors;
 
 /**
+ * Finds the symbol environment at the cursor for completion. The visitor defines worker symbols and synthesizes
+ * nodes while it walks, hence it must only be run on the compilation the completion compiled for itself. Read-only
+ * queries over shared compilations go through {@link org.ballerinalang.langserver.query.PackageQuery}.
+ *
  * @since 0.94
  */
 public class TreeVisitor extends BLangNodeVisitor {
@@ -170,9 +170,9 @@ public abstract class AbstractItemResolver {
     /**
      * Get the function signature.
      * @param bInvokableSymbol - ballerina function instance
-     * @return {@link String}
+     * @return {@link FunctionSignature}
      */
-    private FunctionSignature getFunctionSignature(BInvokableSymbol bInvokableSymbol) {
+    public static FunctionSignature getFunctionSignature(BInvokableSymbol bInvokableSymbol) {
         String functionName = bInvokableSymbol.getName().getValue();
 
         // If there is a receiver symbol, then the name comes with the package name and struct name appended.
@@ -302,7 +302,7 @@ public abstract class AbstractItemResolver {
      * Inner static class for the Function Signature. This holds both the insert text and the label for the FUnction.
      * Signature Completion Item
      */
-    private static class FunctionSignature {
+    public static class FunctionSignature {
         private String insertText;
         private String label;
 
@@ -311,7 +311,7 @@ public abstract class AbstractItemResolver {
             this.label = label;
         }
 
-        String getInsertText() {
+        public String getInsertText() {
             return insertText;
         }
 
@@ -319,7 +319,7 @@ public abstract class AbstractItemResolver {
             this.insertText = insertText;
         }
 
-        String getLabel() {
+        public String getLabel() {
             return label;
         }
 
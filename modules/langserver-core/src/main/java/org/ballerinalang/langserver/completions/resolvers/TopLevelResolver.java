@@ -78,6 +78,17 @@ public class TopLevelResolver extends AbstractItemResolver {
         completionItems.add(item);
     }
 
+    /**
+     * Get the top level items, which do not depend on the context of the cursor.
+     *
+     * @return top level items
+     */
+    public ArrayList<CompletionItem> getTopLevelItems() {
+        ArrayList<CompletionItem> completionItems = new ArrayList<>();
+        addTopLevelItems(completionItems);
+        return completionItems;
+    }
+
     /**
      * Add top level items to the given completionItems List.
      *
@@ -0,0 +1,305 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.langserver.diagnostics;
+
+import org.ballerinalang.langserver.compiler.PackageCompilation;
+import org.ballerinalang.langserver.workspace.DocumentVersionTracker;
+import org.ballerinalang.util.diagnostic.Diagnostic.DiagnosticPosition;
+import org.eclipse.lsp4j.Diagnostic;
+import org.eclipse.lsp4j.DiagnosticSeverity;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.PublishDiagnosticsParams;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.services.LanguageClient;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Publishes the diagnostics of package compilations to the client. Documents which had diagnostics published for an
+ * earlier compilation of the same package are cleared when the new compilation has none for them. Diagnostics computed
+ * from document versions which have been superseded meanwhile are dropped, since the analysis of the newer versions
+ * publishes them again. The diagnostics other than syntax errors are kept for each document, so that the syntax errors
+ * published ahead of a compilation do not hide them until it is done. They are moved along with the edits of the
+ * document meanwhile, and the ones overlapping an edit are dropped until the compilation reports them again.
+ */
+public class DiagnosticsPublisher {
+
+    public static final String SYNTAX_ERROR_CODE = "SYNTAX_ERROR";
+
+    private static final String DIAGNOSTIC_SOURCE = "ballerina";
+    // Codes the compiler reports the errors of its parser with
+    private static final Set<String> SYNTAX_ERROR_CODES = new HashSet<>(Arrays.asList("INVALID_TOKEN",
+            "MISSING_TOKEN", "EXTRANEOUS_INPUT", "MISMATCHED_INPUT", "FAILED_PREDICATE", SYNTAX_ERROR_CODE));
+
+    private final Supplier<LanguageClient> clientSupplier;
+    private final DocumentVersionTracker versionTracker;
+    private final Map<String, Set<String>> publishedUris = new ConcurrentHashMap<>();
+    private final Map<String, List<Diagnostic>> semanticDiagnostics = new ConcurrentHashMap<>();
+
+    public DiagnosticsPublisher(Supplier<LanguageClient> clientSupplier, DocumentVersionTracker versionTracker) {
+        this.clientSupplier = clientSupplier;
+        this.versionTracker = versionTracker;
+    }
+
+    /**
+     * Publish the diagnostics of the given compilation, unless any of the documents it was compiled from has changed
+     * since.
+     *
+     * @param compilation package compilation
+     * @return true if the diagnostics were published
+     */
+    public boolean publish(PackageCompilation compilation) {
+        if (clientSupplier.get() == null || versionTracker.isStale(compilation.getDocumentVersions())) {
+            return false;
+        }
+        return this.publish(compilation.getKey(), compilation.getDocumentVersions(), getDiagnostics(compilation));
+    }
+
+    /**
+     * Publish the diagnostics of a package compiled elsewhere, such as by a compiler worker, unless any of the
+     * documents it was compiled from has changed since.
+     *
+     * @param packageKey       compilation key of the package
+     * @param documentVersions versions of the open documents the package was compiled from
+     * @param diagnosticsByUri diagnostics of the package, by the URI of the document
+     * @return true if the diagnostics were published
+     */
+    public boolean publish(String packageKey, Map<Path, Integer> documentVersions,
+                           Map<String, List<Diagnostic>> diagnosticsByUri) {
+        LanguageClient client = clientSupplier.get();
+        if (client == null) {
+            return false;
+        }
+        Map<String, List<Diagnostic>> publishedDiagnostics = new HashMap<>(diagnosticsByUri);
+        Set<String> uris = new HashSet<>(diagnosticsByUri.keySet());
+        // Synchronized per package, so that the clearing of stale diagnostics is not interleaved
+        synchronized (publishedUris.computeIfAbsent(packageKey, key -> new HashSet<>())) {
+            // Checked under the lock, as a newer compilation may have been published meanwhile
+            if (versionTracker.isStale(documentVersions)) {
+                return false;
+            }
+            Set<String> previousUris = publishedUris.get(packageKey);
+            for (String previousUri : previousUris) {
+                publishedDiagnostics.putIfAbsent(previousUri, new ArrayList<>());
+            }
+            publishedDiagnostics.forEach((uri, diagnostics) -> {
+                client.publishDiagnostics(new PublishDiagnosticsParams(uri, diagnostics));
+                List<Diagnostic> semantic = new ArrayList<>();
+                for (Diagnostic diagnostic : diagnostics) {
+                    if (!isSyntaxError(diagnostic)) {
+                        semantic.add(diagnostic);
+                    }
+                }
+                if (semantic.isEmpty()) {
+                    semanticDiagnostics.remove(uri);
+                } else {
+                    semanticDiagnostics.put(uri, semantic);
+                }
+            });
+            previousUris.clear();
+            previousUris.addAll(uris);
+        }
+        return true;
+    }
+
+    /**
+     * Get the diagnostics reported for the documents of the given compilation, leaving out the ones of the imported
+     * packages.
+     *
+     * @param compilation package compilation
+     * @return diagnostics, by the URI of the document
+     */
+    public static Map<String, List<Diagnostic>> getDiagnostics(PackageCompilation compilation) {
+        Map<String, List<Diagnostic>> diagnosticsByUri = new HashMap<>();
+        for (org.ballerinalang.util.diagnostic.Diagnostic balDiagnostic : compilation.getDiagnostics()) {
+            if (!isFromCompiledPackage(compilation, balDiagnostic)) {
+                continue;
+            }
+            String cUnitName = balDiagnostic.getSource().getCompilationUnitName();
+            String uri = compilation.getCompilationUnitPath(cUnitName).toUri().toString();
+            diagnosticsByUri.computeIfAbsent(uri, key -> new ArrayList<>()).add(toDiagnostic(balDiagnostic));
+        }
+        return diagnosticsByUri;
+    }
+
+    /**
+     * Publish the syntax errors of a document ahead of the compilation of its package, which publishes the complete
+     * diagnostics of the document once it is done. The other diagnostics last published for the document are published
+     * along with them, at their positions moved along with the edits since.
+     *
+     * @param packageKey  compilation key of the package the document belongs to
+     * @param filePath    path of the document
+     * @param version     version of the document the errors were found in
+     * @param diagnostics syntax errors of the document
+     */
+    public void publishSyntaxErrors(String packageKey, Path filePath, int version, List<Diagnostic> diagnostics) {
+        LanguageClient client = clientSupplier.get();
+        if (client == null) {
+            return;
+        }
+        String uri = filePath.toUri().toString();
+        // Recorded as published for the package, so that the compilation clears the document if it finds no errors
+        synchronized (publishedUris.computeIfAbsent(packageKey, key -> new HashSet<>())) {
+            if (versionTracker.isStale(filePath, version)) {
+                return;
+            }
+            publishedUris.get(packageKey).add(uri);
+            List<Diagnostic> publishedDiagnostics = new ArrayList<>(diagnostics);
+            publishedDiagnostics.addAll(semanticDiagnostics.getOrDefault(uri, Collections.emptyList()));
+            client.publishDiagnostics(new PublishDiagnosticsParams(uri, publishedDiagnostics));
+        }
+    }
+
+    /**
+     * Move the diagnostics kept for a document along with the edit which turns its previous content into the new one.
+     * The diagnostics after the edit are shifted by the lines and characters it adds or removes, and the ones
+     * overlapping it are dropped.
+     *
+     * @param filePath   path of the document
+     * @param oldContent previous content of the document
+     * @param newContent new content of the document
+     */
+    public void shiftDiagnostics(Path filePath, String oldContent, String newContent) {
+        semanticDiagnostics.computeIfPresent(filePath.toUri().toString(), (uri, diagnostics) -> {
+            int prefix = 0;
+            int maxPrefix = Math.min(oldContent.length(), newContent.length());
+            while (prefix < maxPrefix && oldContent.charAt(prefix) == newContent.charAt(prefix)) {
+                prefix++;
+            }
+            int suffix = 0;
+            int maxSuffix = maxPrefix - prefix;
+            while (suffix < maxSuffix && oldContent.charAt(oldContent.length() - suffix - 1)
+                    == newContent.charAt(newContent.length() - suffix - 1)) {
+                suffix++;
+            }
+            Position editStart = toPosition(oldContent, prefix);
+            Position oldEditEnd = toPosition(oldContent, oldContent.length() - suffix);
+            Position newEditEnd = toPosition(newContent, newContent.length() - suffix);
+
+            List<Diagnostic> shifted = new ArrayList<>();
+            for (Diagnostic diagnostic : diagnostics) {
+                Range range = diagnostic.getRange();
+                if (compare(range.getEnd(), editStart) <= 0) {
+                    shifted.add(diagnostic);
+                } else if (compare(range.getStart(), oldEditEnd) >= 0) {
+                    // Copied, as the published diagnostic is not to be modified
+                    Diagnostic moved = new Diagnostic();
+                    moved.setRange(new Range(shift(range.getStart(), oldEditEnd, newEditEnd),
+                            shift(range.getEnd(), oldEditEnd, newEditEnd)));
+                    moved.setMessage(diagnostic.getMessage());
+                    moved.setSource(diagnostic.getSource());
+                    moved.setCode(diagnostic.getCode());
+                    moved.setSeverity(diagnostic.getSeverity());
+                    shifted.add(moved);
+                }
+            }
+            return shifted.isEmpty() ? null : shifted;
+        });
+    }
+
+    /**
+     * Whether the given diagnostic is a syntax error, which the compilation of a newer version of the document, or the
+     * incremental parser, reports again if it is still there.
+     *
+     * @param diagnostic diagnostic
+     * @return true if the diagnostic is a syntax error
+     */
+    public static boolean isSyntaxError(Diagnostic diagnostic) {
+        return diagnostic.getCode() != null && SYNTAX_ERROR_CODES.contains(diagnostic.getCode());
+    }
+
+    private static Position toPosition(String text, int offset) {
+        int line = 0;
+        int lineStart = 0;
+        for (int i = 0; i < offset; i++) {
+            if (text.charAt(i) == '\n') {
+                line++;
+                lineStart = i + 1;
+            }
+        }
+        return new Position(line, offset - lineStart);
+    }
+
+    private static int compare(Position position1, Position position2) {
+        return position1.getLine() != position2.getLine() ? Integer.compare(position1.getLine(), position2.getLine())
+                : Integer.compare(position1.getCharacter(), position2.getCharacter());
+    }
+
+    private static Position shift(Position position, Position oldEditEnd, Position newEditEnd) {
+        if (position.getLine() == oldEditEnd.getLine()) {
+            return new Position(newEditEnd.getLine(),
+                    newEditEnd.getCharacter() + position.getCharacter() - oldEditEnd.getCharacter());
+        }
+        return new Position(position.getLine() + newEditEnd.getLine() - oldEditEnd.getLine(), position.getCharacter());
+    }
+
+    private static boolean isFromCompiledPackage(PackageCompilation compilation,
+                                                 org.ballerinalang.util.diagnostic.Diagnostic balDiagnostic) {
+        if (balDiagnostic.getSource() == null || balDiagnostic.getPosition() == null) {
+            return false;
+        }
+        if (compilation.getPackageName().isEmpty()) {
+            // A single file only imports library packages, hence its compilation reports its own diagnostics
+            return compilation.getPackagePath().getFileName().toString()
+                    .equals(balDiagnostic.getSource().getCompilationUnitName());
+        }
+        return compilation.getPackageName().equals(balDiagnostic.getSource().getPackageName());
+    }
+
+    private static Diagnostic toDiagnostic(org.ballerinalang.util.diagnostic.Diagnostic balDiagnostic) {
+        DiagnosticPosition position = balDiagnostic.getPosition();
+        // Compiler positions are one based, and the end is not always available
+        int startLine = Math.max(position.getStartLine() - 1, 0);
+        int startColumn = Math.max(position.startColumn() - 1, 0);
+        int endLine = position.getEndLine() > 0 ? position.getEndLine() - 1 : startLine;
+        int endColumn = position.endColumn() > 0 ? position.endColumn() - 1 : startColumn;
+        if (endLine < startLine || (endLine == startLine && endColumn < startColumn)) {
+            endLine = startLine;
+            endColumn = startColumn;
+        }
+
+        Diagnostic diagnostic = new Diagnostic();
+        diagnostic.setRange(new Range(new Position(startLine, startColumn), new Position(endLine, endColumn)));
+        diagnostic.setMessage(balDiagnostic.getMessage());
+        diagnostic.setSource(DIAGNOSTIC_SOURCE);
+        if (balDiagnostic.getCode() != null) {
+            diagnostic.setCode(balDiagnostic.getCode().name());
+        }
+        switch (balDiagnostic.getKind()) {
+            case WARNING:
+                diagnostic.setSeverity(DiagnosticSeverity.Warning);
+                break;
+            case NOTE:
+                diagnostic.setSeverity(DiagnosticSeverity.Information);
+                break;
+            default:
+                diagnostic.setSeverity(DiagnosticSeverity.Error);
+        }
+        return diagnostic;
+    }
+}
@@ -0,0 +1,196 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.langserver.formatting;
+
+import org.antlr.v4.runtime.ANTLRInputStream;
+import org.antlr.v4.runtime.Token;
+import org.eclipse.lsp4j.FormattingOptions;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.TextEdit;
+import org.wso2.ballerinalang.compiler.parser.antlr4.BallerinaLexer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Formats ballerina sources in a single pass over the lexer tokens. Only the whitespace between two tokens is
+ * touched, and an edit is emitted only for the whitespace runs which change, hence the client keeps the undo history
+ * and the cursor positions of the untouched text.
+ * <p>
+ * Whitespace is never inserted where there is none. Line breaks are kept, the indentation of each line is derived
+ * from the depth of the enclosing brackets, and the whitespace within a line is normalized to a single space, or
+ * removed around the tokens which are written without spaces.
+ */
+public class BallerinaFormatter {
+
+    private static final Set<String> OPENING_BRACKETS = new HashSet<>(Arrays.asList("{", "(", "["));
+
+    private static final Set<String> CLOSING_BRACKETS = new HashSet<>(Arrays.asList("}", ")", "]"));
+
+    private static final Set<String> NO_SPACE_BEFORE = new HashSet<>(Arrays.asList(";", ",", ")", "]", "."));
+
+    private static final Set<String> NO_SPACE_AFTER = new HashSet<>(Arrays.asList("(", "[", ".", "@"));
+
+    private static final String LF = "\n";
+    private static final String CRLF = "\r\n";
+
+    private final String content;
+    private final String indentUnit;
+    private final Range range;
+    private final PositionTracker positionTracker;
+    private final List<TextEdit> textEdits = new ArrayList<>();
+
+    private BallerinaFormatter(String content, FormattingOptions options, Range range) {
+        this.content = content;
+        this.indentUnit = options.isInsertSpaces() ? repeat(" ", options.getTabSize()) : "\t";
+        this.range = range;
+        this.positionTracker = new PositionTracker(content);
+    }
+
+    /**
+     * Format the whole document.
+     *
+     * @param content content of the document
+     * @param options formatting options
+     * @return text edits to format the document
+     */
+    public static List<TextEdit> formatDocument(String content, FormattingOptions options) {
+        return new BallerinaFormatter(content, options, null).format();
+    }
+
+    /**
+     * Format the lines within the given range. The document is only scanned up to the end of the range.
+     *
+     * @param content content of the document
+     * @param options formatting options
+     * @param range   range to format
+     * @return text edits to format the range
+     */
+    public static List<TextEdit> formatRange(String content, FormattingOptions options, Range range) {
+        return new BallerinaFormatter(content, options, range).format();
+    }
+
+    private List<TextEdit> format() {
+        BallerinaLexer lexer = new BallerinaLexer(new ANTLRInputStream(content));
+        lexer.removeErrorListeners();
+
+        int depth = 0;
+        int previousEnd = 0;
+        String previousText = null;
+        for (Token token = lexer.nextToken(); token.getType() != Token.EOF; token = lexer.nextToken()) {
+            String text = token.getText();
+            if (text.trim().isEmpty()) {
+                // Whitespace tokens are a part of the gap between the surrounding tokens
+                continue;
+            }
+            if (range != null && token.getLine() - 1 > range.getEnd().getLine()) {
+                return textEdits;
+            }
+            if (CLOSING_BRACKETS.contains(text)) {
+                depth = Math.max(depth - 1, 0);
+            }
+            int start = token.getStartIndex();
+            this.formatGap(previousEnd, start, previousText, text, depth);
+            if (OPENING_BRACKETS.contains(text)) {
+                depth++;
+            }
+            previousText = text;
+            previousEnd = token.getStopIndex() + 1;
+        }
+        this.formatGap(previousEnd, content.length(), previousText, null, 0);
+        return textEdits;
+    }
+
+    private void formatGap(int start, int end, String previousText, String nextText, int depth) {
+        String gap = content.substring(start, end);
+        if (!gap.trim().isEmpty()) {
+            // Characters skipped by the lexer, such as comments or invalid input, are left as they are
+            return;
+        }
+        String replacement;
+        int lineBreaks = countLineBreaks(gap);
+        if (lineBreaks > 0) {
+            String lineBreak = gap.contains(CRLF) ? CRLF : LF;
+            replacement = repeat(lineBreak, lineBreaks) + (nextText == null ? "" : repeat(indentUnit, depth));
+        } else if (previousText == null || nextText == null || gap.isEmpty()
+                || NO_SPACE_BEFORE.contains(nextText) || NO_SPACE_AFTER.contains(previousText)) {
+            replacement = "";
+        } else {
+            replacement = " ";
+        }
+        if (replacement.equals(gap)) {
+            return;
+        }
+
+        Position startPosition = positionTracker.getPosition(start);
+        Position endPosition = positionTracker.getPosition(end);
+        if (range == null || (endPosition.getLine() >= range.getStart().getLine()
+                && endPosition.getLine() <= range.getEnd().getLine())) {
+            textEdits.add(new TextEdit(new Range(startPosition, endPosition), replacement));
+        }
+    }
+
+    private static int countLineBreaks(String text) {
+        int count = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == '\n') {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static String repeat(String text, int count) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            builder.append(text);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Converts offsets of the content to line and column positions. Offsets are expected in increasing order, hence
+     * the content is scanned only once.
+     */
+    private static class PositionTracker {
+        private final String content;
+        private int offset = 0;
+        private int line = 0;
+        private int column = 0;
+
+        PositionTracker(String content) {
+            this.content = content;
+        }
+
+        Position getPosition(int targetOffset) {
+            for (; offset < targetOffset; offset++) {
+                if (content.charAt(offset) == '\n') {
+                    line++;
+                    column = 0;
+                } else {
+                    column++;
+                }
+            }
+            return new Position(line, column);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.langserver.highlight;
+
+import org.ballerinalang.langserver.compiler.PackageCompilation;
+import org.ballerinalang.langserver.index.SymbolOccurrence;
+import org.ballerinalang.langserver.query.PackageQuery;
+import org.eclipse.lsp4j.DocumentHighlight;
+import org.eclipse.lsp4j.DocumentHighlightKind;
+import org.eclipse.lsp4j.Position;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Provides the occurrences of the symbol at a given position within a document, using the read-only query of a
+ * cached package compilation.
+ */
+public class DocumentHighlightProvider {
+
+    /**
+     * Get the highlights for the given position. The definition of the symbol is highlighted as a write, and the
+     * references as reads.
+     *
+     * @param compilation compilation of the package the document belongs to
+     * @param filePath    path of the document
+     * @param position    zero based position in the document
+     * @return highlights, empty if there is no symbol at the position
+     */
+    public static List<DocumentHighlight> getHighlights(PackageCompilation compilation, Path filePath,
+                                                        Position position) {
+        List<DocumentHighlight> highlights = new ArrayList<>();
+        String compilationUnit = filePath.getFileName().toString();
+        PackageQuery query = PackageQuery.of(compilation);
+        SymbolOccurrence occurrence = query.getOccurrenceAt(compilationUnit, position.getLine(),
+                position.getCharacter());
+        if (occurrence == null) {
+            return highlights;
+        }
+        for (SymbolOccurrence symbolOccurrence : query.getOccurrences(occurrence.getSymbol())) {
+            if (compilationUnit.equals(symbolOccurrence.getCompilationUnit())) {
+                highlights.add(new DocumentHighlight(symbolOccurrence.getRange(), symbolOccurrence.isDefinition()
+                        ? DocumentHighlightKind.Write : DocumentHighlightKind.Read));
+            }
+        }
+        return highlights;
+    }
+}
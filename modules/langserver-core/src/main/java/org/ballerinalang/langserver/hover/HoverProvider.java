@@ -0,0 +1,185 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.langserver.hover;
+
+import org.ballerinalang.langserver.compiler.PackageCompilation;
+import org.ballerinalang.langserver.completions.resolvers.AbstractItemResolver;
+import org.ballerinalang.langserver.index.PositionIndexBuilder;
+import org.ballerinalang.langserver.index.SymbolOccurrence;
+import org.ballerinalang.langserver.query.PackageQuery;
+import org.ballerinalang.model.symbols.SymbolKind;
+import org.eclipse.lsp4j.Hover;
+import org.eclipse.lsp4j.MarkedString;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.jsonrpc.messages.Either;
+import org.wso2.ballerinalang.compiler.semantics.model.symbols.BInvokableSymbol;
+import org.wso2.ballerinalang.compiler.semantics.model.symbols.BPackageSymbol;
+import org.wso2.ballerinalang.compiler.semantics.model.symbols.BSymbol;
+import org.wso2.ballerinalang.compiler.semantics.model.symbols.BTypeSymbol;
+import org.wso2.ballerinalang.compiler.semantics.model.symbols.BVarSymbol;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BEndpointType;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BStructType;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Provides the hover information of the symbol at a given position, using the read-only query of a cached package
+ * compilation. Rendered contents are cached per symbol for the lifetime of the compilation.
+ */
+public class HoverProvider {
+
+    private static final String BALLERINA_LANGUAGE_ID = "ballerina";
+
+    private static final Pattern DOC_ANNOTATION_PATTERN =
+            Pattern.compile("@(Description|Param|Return|Field)\\s*\\{\\s*value\\s*:\\s*\"(.*)\"\\s*}");
+
+    /**
+     * Get the hover information for the given position.
+     *
+     * @param compilation compilation of the package the document belongs to
+     * @param filePath    path of the document
+     * @param position    zero based position in the document
+     * @return {@link Hover}, or null if there is no symbol at the position
+     */
+    public static Hover getHover(PackageCompilation compilation, Path filePath, Position position) {
+        PackageQuery query = PackageQuery.of(compilation);
+        SymbolOccurrence occurrence = query.getOccurrenceAt(filePath.getFileName().toString(), position.getLine(),
+                position.getCharacter());
+        if (occurrence == null) {
+            return null;
+        }
+
+        RenderedContents renderedContents = compilation.getFeature(RenderedContents.class,
+                c -> new RenderedContents());
+        List<Either<String, MarkedString>> contents = renderedContents.contents.computeIfAbsent(
+                occurrence.getSymbol(), symbol -> renderContents(compilation, query, symbol));
+        return new Hover(contents, occurrence.getRange());
+    }
+
+    private static List<Either<String, MarkedString>> renderContents(PackageCompilation compilation,
+                                                                     PackageQuery query, BSymbol symbol) {
+        List<Either<String, MarkedString>> contents = new ArrayList<>();
+        contents.add(Either.forRight(new MarkedString(BALLERINA_LANGUAGE_ID, renderSignature(symbol))));
+        SymbolOccurrence definition = query.getDefinition(symbol);
+        if (definition != null) {
+            String documentation = getDocumentation(compilation.getSourceLines(definition.getCompilationUnit()),
+                    definition.getLine());
+            if (!documentation.isEmpty()) {
+                contents.add(Either.forLeft(documentation));
+            }
+        }
+        return Collections.unmodifiableList(contents);
+    }
+
+    /**
+     * Render the code snippet describing the given symbol.
+     *
+     * @param symbol symbol to render
+     * @return rendered snippet
+     */
+    public static String renderSignature(BSymbol symbol) {
+        String name = PositionIndexBuilder.getSimpleName(symbol);
+        if (symbol instanceof BInvokableSymbol) {
+            String label = AbstractItemResolver.getFunctionSignature((BInvokableSymbol) symbol).getLabel();
+            return getInvokableKeyword(symbol.kind) + " " + label;
+        } else if (symbol instanceof BVarSymbol) {
+            if (symbol.type instanceof BEndpointType) {
+                return "endpoint<" + ((BEndpointType) symbol.type).constraint + "> " + name;
+            }
+            return symbol.type + " " + name;
+        } else if (symbol instanceof BPackageSymbol) {
+            return "package " + symbol.pkgID;
+        } else if (symbol instanceof BTypeSymbol && symbol.type instanceof BStructType) {
+            StringBuilder struct = new StringBuilder("struct ").append(name).append(" {");
+            for (BStructType.BStructField field : ((BStructType) symbol.type).fields) {
+                struct.append("\n    ").append(field.getType()).append(" ").append(field.getName()).append(";");
+            }
+            return struct.append("\n}").toString();
+        } else if (SymbolKind.CONNECTOR.equals(symbol.kind)) {
+            return "connector " + name;
+        } else if (SymbolKind.SERVICE.equals(symbol.kind)) {
+            return "service " + name;
+        } else if (SymbolKind.ENUM.equals(symbol.kind)) {
+            return "enum " + name;
+        } else if (SymbolKind.ANNOTATION.equals(symbol.kind)) {
+            return "annotation " + name;
+        }
+        return name;
+    }
+
+    private static String getInvokableKeyword(SymbolKind kind) {
+        if (SymbolKind.ACTION.equals(kind)) {
+            return "action";
+        } else if (SymbolKind.RESOURCE.equals(kind)) {
+            return "resource";
+        } else if (SymbolKind.WORKER.equals(kind)) {
+            return "worker";
+        } else if (SymbolKind.TRANSFORMER.equals(kind)) {
+            return "transformer";
+        }
+        return "function";
+    }
+
+    /**
+     * Collect the documentation written right above the definition, as line comments or documentation annotations.
+     *
+     * @param lines          source lines of the compilation unit
+     * @param definitionLine zero based line of the definition
+     * @return documentation text, or an empty string if there is none
+     */
+    static String getDocumentation(String[] lines, int definitionLine) {
+        List<String> docLines = new ArrayList<>();
+        for (int line = definitionLine - 1; line >= 0 && line < lines.length; line--) {
+            String lineText = lines[line].trim();
+            Matcher matcher = DOC_ANNOTATION_PATTERN.matcher(lineText);
+            if (lineText.startsWith("//")) {
+                docLines.add(0, lineText.substring(2).trim());
+            } else if (matcher.find()) {
+                String value = matcher.group(2);
+                switch (matcher.group(1)) {
+                    case "Param":
+                    case "Field":
+                        docLines.add(0, "* " + value);
+                        break;
+                    case "Return":
+                        docLines.add(0, "* returns " + value);
+                        break;
+                    default:
+                        docLines.add(0, value);
+                }
+            } else {
+                break;
+            }
+        }
+        return String.join("\n", docLines).trim();
+    }
+
+    /**
+     * Hover contents rendered for the symbols of a compilation.
+     */
+    private static class RenderedContents {
+        private final Map<BSymbol, List<Either<String, MarkedString>>> contents = new ConcurrentHashMap<>();
+    }
+}
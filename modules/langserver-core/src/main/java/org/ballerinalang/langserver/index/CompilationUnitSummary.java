@@ -0,0 +1,200 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.langserver.index;
+
+import org.eclipse.lsp4j.Location;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.SymbolInformation;
+import org.eclipse.lsp4j.SymbolKind;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+/**
+ * Compact summary of the top level symbols of a compilation unit: their names, kinds, signatures and identifier
+ * ranges. Unlike the AST it is built from, the summary does not reference the compiler model, and is kept in
+ * parallel arrays, hence it can be retained for every file of the workspace.
+ */
+public class CompilationUnitSummary {
+
+    private static final int POSITION_STRIDE = 3;
+
+    private final Path filePath;
+    private final String[] names;
+    private final String[] containerNames;
+    private final String[] signatures;
+    private final byte[] kinds;
+    // Zero based line, start column and end column of the identifier of each symbol
+    private final int[] positions;
+
+    private CompilationUnitSummary(Path filePath, String[] names, String[] containerNames, String[] signatures,
+                                   byte[] kinds, int[] positions) {
+        this.filePath = filePath;
+        this.names = names;
+        this.containerNames = containerNames;
+        this.signatures = signatures;
+        this.kinds = kinds;
+        this.positions = positions;
+    }
+
+    public Path getFilePath() {
+        return filePath;
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    public String getName(int index) {
+        return names[index];
+    }
+
+    /**
+     * Get the name of the struct, connector or service the symbol belongs to.
+     *
+     * @param index index of the symbol
+     * @return container name, or null for the symbols defined at the package level
+     */
+    public String getContainerName(int index) {
+        return containerNames[index];
+    }
+
+    public String getSignature(int index) {
+        return signatures[index];
+    }
+
+    public SymbolKind getKind(int index) {
+        return SymbolKind.forValue(kinds[index]);
+    }
+
+    public Range getRange(int index) {
+        int offset = index * POSITION_STRIDE;
+        int line = positions[offset];
+        return new Range(new Position(line, positions[offset + 1]), new Position(line, positions[offset + 2]));
+    }
+
+    /**
+     * Get the symbol information of the given symbol, as reported to the client.
+     *
+     * @param index index of the symbol
+     * @return {@link SymbolInformation}
+     */
+    public SymbolInformation getSymbolInformation(int index) {
+        Location location = new Location(filePath.toUri().toString(), this.getRange(index));
+        return new SymbolInformation(names[index], this.getKind(index), location, containerNames[index]);
+    }
+
+    /**
+     * Write the summary in a compact binary form, to be read back with {@link #readFrom(DataInputStream)}.
+     *
+     * @param out stream to write to
+     * @throws IOException if the stream cannot be written
+     */
+    public void writeTo(DataOutputStream out) throws IOException {
+        out.writeUTF(filePath.toString());
+        out.writeInt(names.length);
+        for (int i = 0; i < names.length; i++) {
+            out.writeUTF(names[i]);
+            out.writeBoolean(containerNames[i] != null);
+            if (containerNames[i] != null) {
+                out.writeUTF(containerNames[i]);
+            }
+            out.writeUTF(signatures[i]);
+            out.writeByte(kinds[i]);
+        }
+        for (int position : positions) {
+            out.writeInt(position);
+        }
+    }
+
+    /**
+     * Read a summary written with {@link #writeTo(DataOutputStream)}.
+     *
+     * @param in stream to read from
+     * @return summary
+     * @throws IOException if the stream cannot be read
+     */
+    public static CompilationUnitSummary readFrom(DataInputStream in) throws IOException {
+        Path filePath = Paths.get(in.readUTF());
+        int size = in.readInt();
+        String[] names = new String[size];
+        String[] containerNames = new String[size];
+        String[] signatures = new String[size];
+        byte[] kinds = new byte[size];
+        for (int i = 0; i < size; i++) {
+            names[i] = in.readUTF();
+            containerNames[i] = in.readBoolean() ? in.readUTF() : null;
+            signatures[i] = in.readUTF();
+            kinds[i] = in.readByte();
+        }
+        int[] positions = new int[size * POSITION_STRIDE];
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = in.readInt();
+        }
+        return new CompilationUnitSummary(filePath, names, containerNames, signatures, kinds, positions);
+    }
+
+    /**
+     * Collects the symbols of a compilation unit, in the order they are defined.
+     */
+    static class Builder {
+
+        private final Path filePath;
+        private int size;
+        private String[] names = new String[16];
+        private String[] containerNames = new String[16];
+        private String[] signatures = new String[16];
+        private byte[] kinds = new byte[16];
+        private int[] positions = new int[16 * POSITION_STRIDE];
+
+        Builder(Path filePath) {
+            this.filePath = filePath;
+        }
+
+        void add(String name, String containerName, String signature, SymbolKind kind, SymbolOccurrence definition) {
+            if (size == names.length) {
+                int capacity = size * 2;
+                names = Arrays.copyOf(names, capacity);
+                containerNames = Arrays.copyOf(containerNames, capacity);
+                signatures = Arrays.copyOf(signatures, capacity);
+                kinds = Arrays.copyOf(kinds, capacity);
+                positions = Arrays.copyOf(positions, capacity * POSITION_STRIDE);
+            }
+            names[size] = name;
+            containerNames[size] = containerName;
+            signatures[size] = signature;
+            kinds[size] = (byte) kind.getValue();
+            int offset = size * POSITION_STRIDE;
+            positions[offset] = definition.getLine();
+            positions[offset + 1] = definition.getStartColumn();
+            positions[offset + 2] = definition.getEndColumn();
+            size++;
+        }
+
+        CompilationUnitSummary build() {
+            return new CompilationUnitSummary(filePath, Arrays.copyOf(names, size),
+                    Arrays.copyOf(containerNames, size), Arrays.copyOf(signatures, size), Arrays.copyOf(kinds, size),
+                    Arrays.copyOf(positions, size * POSITION_STRIDE));
+        }
+    }
+}
@@ -0,0 +1,154 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.langserver.index;
+
+import org.ballerinalang.langserver.compiler.PackageCompilation;
+import org.ballerinalang.model.symbols.SymbolKind;
+import org.wso2.ballerinalang.compiler.semantics.model.symbols.BSymbol;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * References of a compiled package to the top level symbols, keyed by a name which identifies a symbol across the
+ * compilations, as each compilation loads the packages it imports anew.
+ */
+public class PackageReferences {
+
+    private final Map<String, List<SymbolReference>> references;
+    private final String sourceStamp;
+
+    private PackageReferences(Map<String, List<SymbolReference>> references, String sourceStamp) {
+        this.references = references;
+        this.sourceStamp = sourceStamp;
+    }
+
+    /**
+     * Collect the references of the given compilation from its position index.
+     *
+     * @param compilation package compilation
+     * @return {@link PackageReferences}
+     */
+    public static PackageReferences build(PackageCompilation compilation) {
+        PositionIndex positionIndex = compilation.getFeature(PositionIndex.class, PositionIndexBuilder::build);
+        Map<String, List<SymbolReference>> references = new HashMap<>();
+        for (BSymbol symbol : positionIndex.getSymbols()) {
+            String symbolKey = getSymbolKey(symbol);
+            if (symbolKey == null) {
+                continue;
+            }
+            List<SymbolReference> symbolReferences = new ArrayList<>();
+            for (SymbolOccurrence occurrence : positionIndex.getOccurrences(symbol)) {
+                symbolReferences.add(new SymbolReference(
+                        compilation.getCompilationUnitPath(occurrence.getCompilationUnit()), occurrence.getLine(),
+                        occurrence.getStartColumn(), occurrence.getEndColumn()));
+            }
+            references.put(symbolKey, symbolReferences);
+        }
+        return new PackageReferences(references, compilation.getSourceStamp());
+    }
+
+    /**
+     * Get the key identifying the given symbol across the compilations.
+     *
+     * @param symbol symbol
+     * @return key of the symbol, or null if the symbol is not defined at the top level of a package
+     */
+    public static String getSymbolKey(BSymbol symbol) {
+        if (symbol.owner == null || !SymbolKind.PACKAGE.equals(symbol.owner.kind) || symbol.pkgID == null) {
+            return null;
+        }
+        return symbol.pkgID.getName().getValue() + ":" + symbol.getName().getValue() + ":" + symbol.kind;
+    }
+
+    /**
+     * Get the stamp of the sources the references were collected from.
+     *
+     * @return source stamp of the compilation
+     */
+    public String getSourceStamp() {
+        return sourceStamp;
+    }
+
+    /**
+     * Get the references to the symbol with the given key.
+     *
+     * @param symbolKey key of the symbol
+     * @return references, empty if the package does not refer to the symbol
+     */
+    public List<SymbolReference> getReferences(String symbolKey) {
+        return Collections.unmodifiableList(references.getOrDefault(symbolKey, Collections.emptyList()));
+    }
+
+    /**
+     * Write the references in a compact binary form, to be read back with {@link #readFrom(DataInputStream)}.
+     *
+     * @param out stream to write to
+     * @throws IOException if the stream cannot be written
+     */
+    public void writeTo(DataOutputStream out) throws IOException {
+        // The stamp covers every source file of the package, hence may exceed the length of a modified UTF-8 string
+        byte[] stamp = (sourceStamp == null ? "" : sourceStamp).getBytes(StandardCharsets.UTF_8);
+        out.writeInt(stamp.length);
+        out.write(stamp);
+        out.writeInt(references.size());
+        for (Map.Entry<String, List<SymbolReference>> symbolReferences : references.entrySet()) {
+            out.writeUTF(symbolReferences.getKey());
+            out.writeInt(symbolReferences.getValue().size());
+            for (SymbolReference reference : symbolReferences.getValue()) {
+                out.writeUTF(reference.getFilePath().toString());
+                out.writeInt(reference.getLine());
+                out.writeInt(reference.getStartColumn());
+                out.writeInt(reference.getEndColumn());
+            }
+        }
+    }
+
+    /**
+     * Read references written with {@link #writeTo(DataOutputStream)}.
+     *
+     * @param in stream to read from
+     * @return references
+     * @throws IOException if the stream cannot be read
+     */
+    public static PackageReferences readFrom(DataInputStream in) throws IOException {
+        byte[] stamp = new byte[in.readInt()];
+        in.readFully(stamp);
+        int symbolCount = in.readInt();
+        Map<String, List<SymbolReference>> references = new HashMap<>();
+        for (int i = 0; i < symbolCount; i++) {
+            String symbolKey = in.readUTF();
+            int size = in.readInt();
+            List<SymbolReference> symbolReferences = new ArrayList<>(size);
+            for (int j = 0; j < size; j++) {
+                symbolReferences.add(new SymbolReference(Paths.get(in.readUTF()), in.readInt(), in.readInt(),
+                        in.readInt()));
+            }
+            references.put(symbolKey, symbolReferences);
+        }
+        return new PackageReferences(references, new String(stamp, StandardCharsets.UTF_8));
+    }
+}
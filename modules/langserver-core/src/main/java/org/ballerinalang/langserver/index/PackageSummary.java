@@ -0,0 +1,179 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.langserver.index;
+
+import org.ballerinalang.langserver.compiler.PackageCompilation;
+import org.ballerinalang.langserver.hover.HoverProvider;
+import org.eclipse.lsp4j.SymbolKind;
+import org.wso2.ballerinalang.compiler.semantics.model.symbols.BSymbol;
+import org.wso2.ballerinalang.compiler.tree.BLangConnector;
+import org.wso2.ballerinalang.compiler.tree.BLangFunction;
+import org.wso2.ballerinalang.compiler.tree.BLangPackage;
+import org.wso2.ballerinalang.compiler.tree.BLangService;
+import org.wso2.ballerinalang.compiler.tree.BLangStruct;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Summaries of the compilation units of a compiled package. A summary outlives the compilation it was built from, so
+ * that the workspace wide features keep working for the packages whose compilations have been evicted.
+ */
+public class PackageSummary {
+
+    private final String packageName;
+    private final Map<String, CompilationUnitSummary> compilationUnits;
+
+    private PackageSummary(String packageName, Map<String, CompilationUnitSummary> compilationUnits) {
+        this.packageName = packageName;
+        this.compilationUnits = compilationUnits;
+    }
+
+    /**
+     * Build the summary of the given compilation.
+     *
+     * @param compilation package compilation
+     * @return {@link PackageSummary}
+     */
+    public static PackageSummary build(PackageCompilation compilation) {
+        BLangPackage bLangPackage = compilation.getBLangPackage();
+        if (bLangPackage == null) {
+            return new PackageSummary(compilation.getPackageName(), Collections.emptyMap());
+        }
+        PositionIndex positionIndex = compilation.getFeature(PositionIndex.class, PositionIndexBuilder::build);
+        Map<String, CompilationUnitSummary.Builder> builders = new HashMap<>();
+        SummaryCollector collector = (symbol, containerName, kind) -> {
+            SymbolOccurrence definition = symbol == null ? null : positionIndex.getDefinition(symbol);
+            if (definition == null) {
+                return;
+            }
+            builders.computeIfAbsent(definition.getCompilationUnit(),
+                    name -> new CompilationUnitSummary.Builder(compilation.getCompilationUnitPath(name)))
+                    .add(PositionIndexBuilder.getSimpleName(symbol), containerName,
+                            HoverProvider.renderSignature(symbol), kind, definition);
+        };
+
+        bLangPackage.globalVars.forEach(variable -> collector.add(variable.symbol, null, SymbolKind.Variable));
+        for (BLangStruct struct : bLangPackage.structs) {
+            collector.add(struct.symbol, null, SymbolKind.Class);
+            String structName = getName(struct.symbol);
+            struct.fields.forEach(field -> collector.add(field.symbol, structName, SymbolKind.Field));
+        }
+        for (BLangFunction function : bLangPackage.functions) {
+            if (function.receiver != null && function.symbol != null) {
+                // The name of a function attached to a struct is qualified with the name of the struct
+                String name = function.symbol.getName().getValue();
+                collector.add(function.symbol, name.substring(0, Math.max(name.lastIndexOf('.'), 0)),
+                        SymbolKind.Method);
+            } else {
+                collector.add(function.symbol, null, SymbolKind.Function);
+            }
+        }
+        for (BLangConnector connector : bLangPackage.connectors) {
+            collector.add(connector.symbol, null, SymbolKind.Class);
+            String connectorName = getName(connector.symbol);
+            connector.actions.forEach(action -> collector.add(action.symbol, connectorName, SymbolKind.Method));
+        }
+        for (BLangService service : bLangPackage.services) {
+            collector.add(service.symbol, null, SymbolKind.Module);
+            String serviceName = getName(service.symbol);
+            service.resources.forEach(resource -> collector.add(resource.symbol, serviceName, SymbolKind.Method));
+        }
+        bLangPackage.transformers.forEach(transformer ->
+                collector.add(transformer.symbol, null, SymbolKind.Function));
+        bLangPackage.enums.forEach(bLangEnum -> collector.add(bLangEnum.symbol, null, SymbolKind.Enum));
+        bLangPackage.annotations.forEach(annotation ->
+                collector.add(annotation.symbol, null, SymbolKind.Interface));
+
+        Map<String, CompilationUnitSummary> compilationUnits = new HashMap<>();
+        builders.forEach((name, builder) -> compilationUnits.put(name, builder.build()));
+        return new PackageSummary(compilation.getPackageName(), compilationUnits);
+    }
+
+    /**
+     * Get the package name. Empty for a single file without a package declaration.
+     *
+     * @return package name
+     */
+    public String getPackageName() {
+        return packageName;
+    }
+
+    /**
+     * Get the summary of the given source file.
+     *
+     * @param filePath path of the source file
+     * @return summary, or null if the file does not define any symbols
+     */
+    public CompilationUnitSummary getCompilationUnit(Path filePath) {
+        return compilationUnits.get(filePath.getFileName().toString());
+    }
+
+    public Collection<CompilationUnitSummary> getCompilationUnits() {
+        return compilationUnits.values();
+    }
+
+    /**
+     * Write the summary in a compact binary form, to be read back with {@link #readFrom(DataInputStream)}.
+     *
+     * @param out stream to write to
+     * @throws IOException if the stream cannot be written
+     */
+    public void writeTo(DataOutputStream out) throws IOException {
+        out.writeUTF(packageName);
+        out.writeInt(compilationUnits.size());
+        for (Map.Entry<String, CompilationUnitSummary> compilationUnit : compilationUnits.entrySet()) {
+            out.writeUTF(compilationUnit.getKey());
+            compilationUnit.getValue().writeTo(out);
+        }
+    }
+
+    /**
+     * Read a summary written with {@link #writeTo(DataOutputStream)}.
+     *
+     * @param in stream to read from
+     * @return summary
+     * @throws IOException if the stream cannot be read
+     */
+    public static PackageSummary readFrom(DataInputStream in) throws IOException {
+        String packageName = in.readUTF();
+        int size = in.readInt();
+        Map<String, CompilationUnitSummary> compilationUnits = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            compilationUnits.put(in.readUTF(), CompilationUnitSummary.readFrom(in));
+        }
+        return new PackageSummary(packageName, compilationUnits);
+    }
+
+    private static String getName(BSymbol symbol) {
+        return symbol == null ? null : PositionIndexBuilder.getSimpleName(symbol);
+    }
+
+    /**
+     * Adds a symbol of the package to the summary of the compilation unit it is defined in.
+     */
+    private interface SummaryCollector {
+        void add(BSymbol symbol, String containerName, SymbolKind kind);
+    }
+}
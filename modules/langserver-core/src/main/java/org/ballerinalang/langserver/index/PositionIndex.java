@@ -0,0 +1,99 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.langserver.index;
+
+import org.wso2.ballerinalang.compiler.semantics.model.symbols.BSymbol;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Index of the symbol occurrences of a compiled package, looked up by compilation unit and position.
+ */
+public class PositionIndex {
+
+    private final Map<String, Map<Integer, List<SymbolOccurrence>>> occurrencesByLine = new HashMap<>();
+    private final Map<BSymbol, SymbolOccurrence> definitions = new HashMap<>();
+    private final Map<BSymbol, List<SymbolOccurrence>> occurrencesBySymbol = new HashMap<>();
+
+    void addOccurrence(SymbolOccurrence occurrence) {
+        occurrencesByLine.computeIfAbsent(occurrence.getCompilationUnit(), cUnit -> new HashMap<>())
+                .computeIfAbsent(occurrence.getLine(), line -> new ArrayList<>())
+                .add(occurrence);
+        occurrencesBySymbol.computeIfAbsent(occurrence.getSymbol(), symbol -> new ArrayList<>()).add(occurrence);
+        if (occurrence.isDefinition()) {
+            definitions.putIfAbsent(occurrence.getSymbol(), occurrence);
+        }
+    }
+
+    /**
+     * Find the symbol occurrence at the given zero based position.
+     *
+     * @param compilationUnit name of the compilation unit
+     * @param line            line of the position
+     * @param column          column of the position
+     * @return occurrence at the position, or null if there is no symbol at the position
+     */
+    public SymbolOccurrence findOccurrence(String compilationUnit, int line, int column) {
+        List<SymbolOccurrence> lineOccurrences = occurrencesByLine
+                .getOrDefault(compilationUnit, Collections.emptyMap())
+                .getOrDefault(line, Collections.emptyList());
+        SymbolOccurrence found = null;
+        for (SymbolOccurrence occurrence : lineOccurrences) {
+            // When the position touches two identifiers (i.e. "a.b"), the one starting at the position wins
+            if (occurrence.contains(line, column)
+                    && (found == null || occurrence.getStartColumn() > found.getStartColumn())) {
+                found = occurrence;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Get the definition of the given symbol within the package.
+     *
+     * @param symbol symbol to look up
+     * @return defining occurrence, or null if the symbol is defined outside the package
+     */
+    public SymbolOccurrence getDefinition(BSymbol symbol) {
+        return definitions.get(symbol);
+    }
+
+    /**
+     * Get the symbols which occur in the package, including the ones defined in other packages.
+     *
+     * @return symbols occurring in the package
+     */
+    public Set<BSymbol> getSymbols() {
+        return Collections.unmodifiableSet(occurrencesBySymbol.keySet());
+    }
+
+    /**
+     * Get all the occurrences of the given symbol within the package, including its definition.
+     *
+     * @param symbol symbol to look up
+     * @return occurrences of the symbol
+     */
+    public List<SymbolOccurrence> getOccurrences(BSymbol symbol) {
+        return Collections.unmodifiableList(occurrencesBySymbol.getOrDefault(symbol, Collections.emptyList()));
+    }
+}
@@ -0,0 +1,663 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.langserver.index;
+
+import org.ballerinalang.langserver.compiler.PackageCompilation;
+import org.ballerinalang.model.symbols.SymbolKind;
+import org.ballerinalang.model.tree.Node;
+import org.ballerinalang.model.tree.TopLevelNode;
+import org.wso2.ballerinalang.compiler.semantics.model.symbols.BStructSymbol;
+import org.wso2.ballerinalang.compiler.semantics.model.symbols.BSymbol;
+import org.wso2.ballerinalang.compiler.semantics.model.symbols.BTypeSymbol;
+import org.wso2.ballerinalang.compiler.tree.BLangAction;
+import org.wso2.ballerinalang.compiler.tree.BLangAnnotAttachmentAttribute;
+import org.wso2.ballerinalang.compiler.tree.BLangAnnotAttachmentAttributeValue;
+import org.wso2.ballerinalang.compiler.tree.BLangAnnotAttribute;
+import org.wso2.ballerinalang.compiler.tree.BLangAnnotation;
+import org.wso2.ballerinalang.compiler.tree.BLangAnnotationAttachment;
+import org.wso2.ballerinalang.compiler.tree.BLangConnector;
+import org.wso2.ballerinalang.compiler.tree.BLangEnum;
+import org.wso2.ballerinalang.compiler.tree.BLangFunction;
+import org.wso2.ballerinalang.compiler.tree.BLangImportPackage;
+import org.wso2.ballerinalang.compiler.tree.BLangInvokableNode;
+import org.wso2.ballerinalang.compiler.tree.BLangNode;
+import org.wso2.ballerinalang.compiler.tree.BLangNodeVisitor;
+import org.wso2.ballerinalang.compiler.tree.BLangPackage;
+import org.wso2.ballerinalang.compiler.tree.BLangResource;
+import org.wso2.ballerinalang.compiler.tree.BLangService;
+import org.wso2.ballerinalang.compiler.tree.BLangStruct;
+import org.wso2.ballerinalang.compiler.tree.BLangTransformer;
+import org.wso2.ballerinalang.compiler.tree.BLangVariable;
+import org.wso2.ballerinalang.compiler.tree.BLangWorker;
+import org.wso2.ballerinalang.compiler.tree.BLangXMLNS;
+import org.wso2.ballerinalang.compiler.tree.expressions.BLangArrayLiteral;
+import org.wso2.ballerinalang.compiler.tree.expressions.BLangBinaryExpr;
+import org.wso2.ballerinalang.compiler.tree.expressions.BLangConnectorInit;
+import org.wso2.ballerinalang.compiler.tree.expressions.BLangFieldBasedAccess;
+import org.wso2.ballerinalang.compiler.tree.expressions.BLangIndexBasedAccess;
+import org.wso2.ballerinalang.compiler.tree.expressions.BLangIntRangeExpression;
+import org.wso2.ballerinalang.compiler.tree.expressions.BLangInvocation;
+import org.wso2.ballerinalang.compiler.tree.expressions.BLangLambdaFunction;
+import org.wso2.ballerinalang.compiler.tree.expressions.BLangLiteral;
+import org.wso2.ballerinalang.compiler.tree.expressions.BLangRecordLiteral;
+import org.wso2.ballerinalang.compiler.tree.expressions.BLangSimpleVarRef;
+import org.wso2.ballerinalang.compiler.tree.expressions.BLangStringTemplateLiteral;
+import org.wso2.ballerinalang.compiler.tree.expressions.BLangTernaryExpr;
+import org.wso2.ballerinalang.compiler.tree.expressions.BLangTypeCastExpr;
+import org.wso2.ballerinalang.compiler.tree.expressions.BLangTypeConversionExpr;
+import org.wso2.ballerinalang.compiler.tree.expressions.BLangTypeofExpr;
+import org.wso2.ballerinalang.compiler.tree.expressions.BLangUnaryExpr;
+import org.wso2.ballerinalang.compiler.tree.expressions.BLangXMLAttribute;
+import org.wso2.ballerinalang.compiler.tree.expressions.BLangXMLAttributeAccess;
+import org.wso2.ballerinalang.compiler.tree.expressions.BLangXMLCommentLiteral;
+import org.wso2.ballerinalang.compiler.tree.expressions.BLangXMLElementLiteral;
+import org.wso2.ballerinalang.compiler.tree.expressions.BLangXMLProcInsLiteral;
+import org.wso2.ballerinalang.compiler.tree.expressions.BLangXMLQName;
+import org.wso2.ballerinalang.compiler.tree.expressions.BLangXMLQuotedString;
+import org.wso2.ballerinalang.compiler.tree.expressions.BLangXMLTextLiteral;
+import org.wso2.ballerinalang.compiler.tree.statements.BLangAbort;
+import org.wso2.ballerinalang.compiler.tree.statements.BLangAssignment;
+import org.wso2.ballerinalang.compiler.tree.statements.BLangBind;
+import org.wso2.ballerinalang.compiler.tree.statements.BLangBlockStmt;
+import org.wso2.ballerinalang.compiler.tree.statements.BLangBreak;
+import org.wso2.ballerinalang.compiler.tree.statements.BLangCatch;
+import org.wso2.ballerinalang.compiler.tree.statements.BLangComment;
+import org.wso2.ballerinalang.compiler.tree.statements.BLangExpressionStmt;
+import org.wso2.ballerinalang.compiler.tree.statements.BLangForeach;
+import org.wso2.ballerinalang.compiler.tree.statements.BLangForkJoin;
+import org.wso2.ballerinalang.compiler.tree.statements.BLangIf;
+import org.wso2.ballerinalang.compiler.tree.statements.BLangLock;
+import org.wso2.ballerinalang.compiler.tree.statements.BLangNext;
+import org.wso2.ballerinalang.compiler.tree.statements.BLangRetry;
+import org.wso2.ballerinalang.compiler.tree.statements.BLangReturn;
+import org.wso2.ballerinalang.compiler.tree.statements.BLangThrow;
+import org.wso2.ballerinalang.compiler.tree.statements.BLangTransaction;
+import org.wso2.ballerinalang.compiler.tree.statements.BLangTryCatchFinally;
+import org.wso2.ballerinalang.compiler.tree.statements.BLangVariableDef;
+import org.wso2.ballerinalang.compiler.tree.statements.BLangWhile;
+import org.wso2.ballerinalang.compiler.tree.statements.BLangWorkerReceive;
+import org.wso2.ballerinalang.compiler.tree.statements.BLangWorkerSend;
+import org.wso2.ballerinalang.compiler.tree.statements.BLangXMLNSStatement;
+import org.wso2.ballerinalang.compiler.tree.types.BLangArrayType;
+import org.wso2.ballerinalang.compiler.tree.types.BLangBuiltInRefTypeNode;
+import org.wso2.ballerinalang.compiler.tree.types.BLangConstrainedType;
+import org.wso2.ballerinalang.compiler.tree.types.BLangFunctionTypeNode;
+import org.wso2.ballerinalang.compiler.tree.types.BLangUserDefinedType;
+import org.wso2.ballerinalang.compiler.tree.types.BLangValueType;
+import org.wso2.ballerinalang.compiler.util.diagnotic.DiagnosticPos;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Builds the {@link PositionIndex} of a package compilation by visiting the AST. Every statement, expression and type
+ * node of the package is visited, and the nodes which define or refer to a symbol are recorded as its occurrences.
+ * Node positions cover whole constructs, hence each occurrence is narrowed down to the identifier by searching the
+ * symbol name in the source the package was compiled from.
+ */
+public class PositionIndexBuilder extends BLangNodeVisitor {
+
+    private final PackageCompilation compilation;
+    private final PositionIndex positionIndex = new PositionIndex();
+    // Lambda functions are top level nodes of the package as well as expressions
+    private final Set<BLangNode> visitedNodes = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    private PositionIndexBuilder(PackageCompilation compilation) {
+        this.compilation = compilation;
+    }
+
+    /**
+     * Build the position index of the given compilation.
+     *
+     * @param compilation package compilation
+     * @return {@link PositionIndex}
+     */
+    public static PositionIndex build(PackageCompilation compilation) {
+        PositionIndexBuilder builder = new PositionIndexBuilder(compilation);
+        BLangPackage bLangPackage = compilation.getBLangPackage();
+        if (bLangPackage != null) {
+            builder.acceptNode(bLangPackage);
+        }
+        return builder.positionIndex;
+    }
+
+    /**
+     * Get the simple name of the symbol, without the struct or connector name attached to functions and actions.
+     *
+     * @param symbol symbol
+     * @return simple name of the symbol
+     */
+    public static String getSimpleName(BSymbol symbol) {
+        String name = symbol.getName().getValue();
+        return name.substring(name.lastIndexOf('.') + 1);
+    }
+
+    // Visitor methods
+
+    @Override
+    public void visit(BLangPackage pkgNode) {
+        for (TopLevelNode topLevelNode : pkgNode.topLevelNodes) {
+            this.acceptNode((BLangNode) topLevelNode);
+        }
+    }
+
+    @Override
+    public void visit(BLangImportPackage importPkgNode) {
+        if (importPkgNode.symbol != null && importPkgNode.alias != null) {
+            this.addOccurrence(importPkgNode.pos, importPkgNode.alias.value, importPkgNode.symbol, true);
+        }
+    }
+
+    @Override
+    public void visit(BLangXMLNS xmlnsNode) {
+        this.acceptNode(xmlnsNode.namespaceURI);
+    }
+
+    @Override
+    public void visit(BLangFunction funcNode) {
+        this.acceptNode(funcNode.receiver);
+        this.visitInvokable(funcNode);
+    }
+
+    @Override
+    public void visit(BLangStruct structNode) {
+        this.addOccurrence(structNode.pos, structNode.symbol, true);
+        this.acceptNodes(structNode.annAttachments);
+        this.acceptNodes(structNode.fields);
+    }
+
+    @Override
+    public void visit(BLangEnum enumNode) {
+        this.addOccurrence(enumNode.pos, enumNode.symbol, true);
+        this.acceptNodes(enumNode.annAttachments);
+    }
+
+    @Override
+    public void visit(BLangVariable varNode) {
+        this.addOccurrence(varNode.pos, varNode.symbol, true);
+        this.acceptNodes(varNode.annAttachments);
+        this.acceptNode(varNode.typeNode);
+        this.acceptNode(varNode.expr);
+    }
+
+    @Override
+    public void visit(BLangWorker workerNode) {
+        this.visitInvokable(workerNode);
+    }
+
+    @Override
+    public void visit(BLangTransformer transformerNode) {
+        this.acceptNode(transformerNode.source);
+        this.visitInvokable(transformerNode);
+    }
+
+    @Override
+    public void visit(BLangConnector connectorNode) {
+        this.addOccurrence(connectorNode.pos, connectorNode.symbol, true);
+        this.acceptNodes(connectorNode.annAttachments);
+        this.acceptNodes(connectorNode.params);
+        this.acceptNodes(connectorNode.varDefs);
+        this.acceptNodes(connectorNode.actions);
+    }
+
+    @Override
+    public void visit(BLangAction actionNode) {
+        this.visitInvokable(actionNode);
+    }
+
+    @Override
+    public void visit(BLangService serviceNode) {
+        this.addOccurrence(serviceNode.pos, serviceNode.symbol, true);
+        this.acceptNodes(serviceNode.annAttachments);
+        this.acceptNodes(serviceNode.vars);
+        this.acceptNodes(serviceNode.resources);
+    }
+
+    @Override
+    public void visit(BLangResource resourceNode) {
+        this.visitInvokable(resourceNode);
+    }
+
+    @Override
+    public void visit(BLangAnnotation annotationNode) {
+        this.addOccurrence(annotationNode.pos, annotationNode.symbol, true);
+        this.acceptNodes(annotationNode.annAttachments);
+        this.acceptNodes(annotationNode.attributes);
+    }
+
+    @Override
+    public void visit(BLangAnnotAttribute annotationAttribute) {
+        this.acceptNode(annotationAttribute.typeNode);
+        this.acceptNode(annotationAttribute.expr);
+    }
+
+    @Override
+    public void visit(BLangAnnotationAttachment annAttachmentNode) {
+        this.acceptNodes(annAttachmentNode.attributes);
+    }
+
+    @Override
+    public void visit(BLangAnnotAttachmentAttribute annotAttachmentAttribute) {
+        this.acceptNode(annotAttachmentAttribute.value);
+    }
+
+    @Override
+    public void visit(BLangAnnotAttachmentAttributeValue annotAttributeValue) {
+        // The value is an expression, or an annotation attachment of an attribute of an annotation type
+        Node value = annotAttributeValue.value;
+        if (value instanceof BLangNode) {
+            this.acceptNode((BLangNode) value);
+        }
+        this.acceptNodes(annotAttributeValue.arrayValues);
+    }
+
+    // Statements
+
+    @Override
+    public void visit(BLangBlockStmt blockNode) {
+        this.acceptNodes(blockNode.stmts);
+    }
+
+    @Override
+    public void visit(BLangVariableDef varDefNode) {
+        this.acceptNode(varDefNode.var);
+    }
+
+    @Override
+    public void visit(BLangAssignment assignNode) {
+        this.acceptNodes(assignNode.varRefs);
+        this.acceptNode(assignNode.expr);
+    }
+
+    @Override
+    public void visit(BLangBind bindNode) {
+        this.acceptNode(bindNode.varRef);
+        this.acceptNode(bindNode.expr);
+    }
+
+    @Override
+    public void visit(BLangAbort abortNode) {
+    }
+
+    @Override
+    public void visit(BLangRetry retryNode) {
+    }
+
+    @Override
+    public void visit(BLangNext nextNode) {
+    }
+
+    @Override
+    public void visit(BLangBreak breakNode) {
+    }
+
+    @Override
+    public void visit(BLangReturn returnNode) {
+        this.acceptNodes(returnNode.exprs);
+    }
+
+    @Override
+    public void visit(BLangThrow throwNode) {
+        this.acceptNode(throwNode.expr);
+    }
+
+    @Override
+    public void visit(BLangXMLNSStatement xmlnsStmtNode) {
+        this.acceptNode(xmlnsStmtNode.xmlnsDecl);
+    }
+
+    @Override
+    public void visit(BLangExpressionStmt exprStmtNode) {
+        this.acceptNode(exprStmtNode.expr);
+    }
+
+    @Override
+    public void visit(BLangComment comment) {
+    }
+
+    @Override
+    public void visit(BLangIf ifNode) {
+        this.acceptNode(ifNode.expr);
+        this.acceptNode(ifNode.body);
+        this.acceptNode(ifNode.elseStmt);
+    }
+
+    @Override
+    public void visit(BLangForeach foreach) {
+        this.acceptNodes(foreach.varRefs);
+        this.acceptNode(foreach.collection);
+        this.acceptNode(foreach.body);
+    }
+
+    @Override
+    public void visit(BLangWhile whileNode) {
+        this.acceptNode(whileNode.expr);
+        this.acceptNode(whileNode.body);
+    }
+
+    @Override
+    public void visit(BLangLock lockNode) {
+        this.acceptNode(lockNode.body);
+    }
+
+    @Override
+    public void visit(BLangTransaction transactionNode) {
+        this.acceptNode(transactionNode.transactionBody);
+        this.acceptNode(transactionNode.failedBody);
+        this.acceptNode(transactionNode.committedBody);
+        this.acceptNode(transactionNode.abortedBody);
+    }
+
+    @Override
+    public void visit(BLangTryCatchFinally tryNode) {
+        this.acceptNode(tryNode.tryBody);
+        this.acceptNodes(tryNode.catchBlocks);
+        this.acceptNode(tryNode.finallyBody);
+    }
+
+    @Override
+    public void visit(BLangCatch catchNode) {
+        this.acceptNode(catchNode.param);
+        this.acceptNode(catchNode.body);
+    }
+
+    @Override
+    public void visit(BLangForkJoin forkJoin) {
+        this.acceptNodes(forkJoin.workers);
+        this.acceptNode(forkJoin.joinResultVar);
+        this.acceptNode(forkJoin.joinedBody);
+        this.acceptNode(forkJoin.timeoutExpression);
+        this.acceptNode(forkJoin.timeoutVariable);
+        this.acceptNode(forkJoin.timeoutBody);
+    }
+
+    @Override
+    public void visit(BLangWorkerSend workerSendNode) {
+        this.acceptNodes(workerSendNode.exprs);
+    }
+
+    @Override
+    public void visit(BLangWorkerReceive workerReceiveNode) {
+        this.acceptNodes(workerReceiveNode.exprs);
+    }
+
+    // Expressions
+
+    @Override
+    public void visit(BLangLiteral literalExpr) {
+    }
+
+    @Override
+    public void visit(BLangArrayLiteral arrayLiteral) {
+        this.acceptNodes(arrayLiteral.exprs);
+    }
+
+    @Override
+    public void visit(BLangRecordLiteral recordLiteral) {
+        for (BLangRecordLiteral.BLangRecordKeyValue keyValue : recordLiteral.keyValuePairs) {
+            this.acceptNode(keyValue.key.expr);
+            this.acceptNode(keyValue.valueExpr);
+        }
+    }
+
+    @Override
+    public void visit(BLangSimpleVarRef varRefExpr) {
+        this.addOccurrence(varRefExpr.pos, varRefExpr.symbol, false);
+    }
+
+    @Override
+    public void visit(BLangFieldBasedAccess fieldAccessExpr) {
+        this.acceptNode(fieldAccessExpr.expr);
+    }
+
+    @Override
+    public void visit(BLangIndexBasedAccess indexAccessExpr) {
+        this.acceptNode(indexAccessExpr.expr);
+        this.acceptNode(indexAccessExpr.indexExpr);
+    }
+
+    @Override
+    public void visit(BLangInvocation invocationExpr) {
+        this.addInvocationOccurrence(invocationExpr);
+        this.acceptNode(invocationExpr.expr);
+        this.acceptNodes(invocationExpr.argExprs);
+    }
+
+    @Override
+    public void visit(BLangConnectorInit connectorInitExpr) {
+        this.acceptNode(connectorInitExpr.connectorType);
+        this.acceptNodes(connectorInitExpr.argsExpr);
+    }
+
+    @Override
+    public void visit(BLangTernaryExpr ternaryExpr) {
+        this.acceptNode(ternaryExpr.expr);
+        this.acceptNode(ternaryExpr.thenExpr);
+        this.acceptNode(ternaryExpr.elseExpr);
+    }
+
+    @Override
+    public void visit(BLangBinaryExpr binaryExpr) {
+        this.acceptNode(binaryExpr.lhsExpr);
+        this.acceptNode(binaryExpr.rhsExpr);
+    }
+
+    @Override
+    public void visit(BLangUnaryExpr unaryExpr) {
+        this.acceptNode(unaryExpr.expr);
+    }
+
+    @Override
+    public void visit(BLangTypeofExpr accessExpr) {
+        this.acceptNode(accessExpr.typeNode);
+    }
+
+    @Override
+    public void visit(BLangTypeCastExpr castExpr) {
+        this.acceptNode(castExpr.typeNode);
+        this.acceptNode(castExpr.expr);
+    }
+
+    @Override
+    public void visit(BLangTypeConversionExpr conversionExpr) {
+        this.acceptNode(conversionExpr.typeNode);
+        this.acceptNode(conversionExpr.expr);
+    }
+
+    @Override
+    public void visit(BLangXMLQName xmlQName) {
+    }
+
+    @Override
+    public void visit(BLangXMLAttribute xmlAttribute) {
+        this.acceptNode(xmlAttribute.name);
+        this.acceptNode(xmlAttribute.value);
+    }
+
+    @Override
+    public void visit(BLangXMLElementLiteral xmlElementLiteral) {
+        this.acceptNode(xmlElementLiteral.startTagName);
+        this.acceptNode(xmlElementLiteral.endTagName);
+        this.acceptNodes(xmlElementLiteral.attributes);
+        this.acceptNodes(xmlElementLiteral.children);
+    }
+
+    @Override
+    public void visit(BLangXMLTextLiteral xmlTextLiteral) {
+        this.acceptNodes(xmlTextLiteral.textFragments);
+    }
+
+    @Override
+    public void visit(BLangXMLCommentLiteral xmlCommentLiteral) {
+        this.acceptNodes(xmlCommentLiteral.textFragments);
+    }
+
+    @Override
+    public void visit(BLangXMLProcInsLiteral xmlProcInsLiteral) {
+        this.acceptNode(xmlProcInsLiteral.target);
+        this.acceptNodes(xmlProcInsLiteral.dataFragments);
+    }
+
+    @Override
+    public void visit(BLangXMLQuotedString xmlQuotedString) {
+        this.acceptNodes(xmlQuotedString.textFragments);
+    }
+
+    @Override
+    public void visit(BLangStringTemplateLiteral stringTemplateLiteral) {
+        this.acceptNodes(stringTemplateLiteral.exprs);
+    }
+
+    @Override
+    public void visit(BLangLambdaFunction bLangLambdaFunction) {
+        this.acceptNode(bLangLambdaFunction.function);
+    }
+
+    @Override
+    public void visit(BLangXMLAttributeAccess xmlAttributeAccessExpr) {
+        this.acceptNode(xmlAttributeAccessExpr.expr);
+        this.acceptNode(xmlAttributeAccessExpr.indexExpr);
+    }
+
+    @Override
+    public void visit(BLangIntRangeExpression intRangeExpression) {
+        this.acceptNode(intRangeExpression.startExpr);
+        this.acceptNode(intRangeExpression.endExpr);
+    }
+
+    // Type nodes
+
+    @Override
+    public void visit(BLangValueType valueType) {
+    }
+
+    @Override
+    public void visit(BLangArrayType arrayType) {
+        this.acceptNode(arrayType.elemtype);
+    }
+
+    @Override
+    public void visit(BLangBuiltInRefTypeNode builtInRefType) {
+    }
+
+    @Override
+    public void visit(BLangConstrainedType constrainedType) {
+        this.acceptNode(constrainedType.type);
+        this.acceptNode(constrainedType.constraint);
+    }
+
+    @Override
+    public void visit(BLangUserDefinedType userDefinedType) {
+        // Type names of variables, casts, conversions and array types, resolved to their type symbols
+        if (userDefinedType.type != null && isUserDefinedType(userDefinedType.type.tsymbol)) {
+            this.addOccurrence(userDefinedType.pos, userDefinedType.type.tsymbol, false);
+        }
+    }
+
+    @Override
+    public void visit(BLangFunctionTypeNode functionTypeNode) {
+        this.acceptNodes(functionTypeNode.paramTypeNodes);
+        this.acceptNodes(functionTypeNode.returnParamTypeNodes);
+    }
+
+    // Private methods
+
+    private void visitInvokable(BLangInvokableNode invokableNode) {
+        this.addOccurrence(invokableNode.pos, invokableNode.symbol, true);
+        this.acceptNodes(invokableNode.annAttachments);
+        this.acceptNodes(invokableNode.params);
+        this.acceptNodes(invokableNode.retParams);
+        this.acceptNode(invokableNode.body);
+        this.acceptNodes(invokableNode.workers);
+    }
+
+    private void acceptNode(BLangNode node) {
+        if (node != null && visitedNodes.add(node)) {
+            node.accept(this);
+        }
+    }
+
+    private void acceptNodes(List<? extends BLangNode> nodes) {
+        if (nodes != null) {
+            nodes.forEach(this::acceptNode);
+        }
+    }
+
+    private void addInvocationOccurrence(BLangInvocation invocation) {
+        if (invocation.symbol == null || invocation.pos == null) {
+            return;
+        }
+        // The invoked name comes after the receiver expression, if there is one
+        DiagnosticPos searchPos = invocation.pos;
+        if (invocation.expr != null && invocation.expr.pos != null) {
+            DiagnosticPos exprPos = invocation.expr.pos;
+            searchPos = new DiagnosticPos(searchPos.src, exprPos.eLine, searchPos.eLine, exprPos.eCol,
+                    searchPos.eCol);
+        }
+        this.addOccurrence(searchPos, invocation.symbol, false);
+    }
+
+    private void addOccurrence(DiagnosticPos pos, BSymbol symbol, boolean definition) {
+        if (symbol != null) {
+            this.addOccurrence(pos, getSimpleName(symbol), symbol, definition);
+        }
+    }
+
+    private void addOccurrence(DiagnosticPos pos, String name, BSymbol symbol, boolean definition) {
+        if (pos == null || pos.src == null || symbol == null || name.isEmpty()) {
+            return;
+        }
+        String cUnitName = pos.src.cUnitName;
+        String[] lines = compilation.getSourceLines(cUnitName);
+        int endLine = Math.min(pos.eLine > 0 ? pos.eLine : pos.sLine, lines.length);
+        for (int line = pos.sLine; line <= endLine; line++) {
+            String lineText = lines[line - 1];
+            int fromColumn = line == pos.sLine ? Math.max(pos.sCol - 1, 0) : 0;
+            int column = findIdentifier(lineText, name, fromColumn);
+            if (column >= 0) {
+                positionIndex.addOccurrence(new SymbolOccurrence(cUnitName, line - 1, column,
+                        column + name.length(), symbol, definition));
+                return;
+            }
+        }
+    }
+
+    private static boolean isUserDefinedType(BTypeSymbol typeSymbol) {
+        return typeSymbol instanceof BStructSymbol || (typeSymbol != null
+                && (SymbolKind.CONNECTOR.equals(typeSymbol.kind) || SymbolKind.ENUM.equals(typeSymbol.kind)));
+    }
+
+    private static int findIdentifier(String lineText, String name, int fromColumn) {
+        int column = lineText.indexOf(name, fromColumn);
+        while (column >= 0) {
+            int end = column + name.length();
+            if ((column == 0 || !isIdentifierPart(lineText.charAt(column - 1)))
+                    && (end == lineText.length() || !isIdentifierPart(lineText.charAt(end)))) {
+                return column;
+            }
+            column = lineText.indexOf(name, column + 1);
+        }
+        return -1;
+    }
+
+    private static boolean isIdentifierPart(char character) {
+        return Character.isLetterOrDigit(character) || character == '_';
+    }
+}
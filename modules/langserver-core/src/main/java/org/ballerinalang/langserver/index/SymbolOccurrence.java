@@ -0,0 +1,89 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.langserver.index;
+
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.wso2.ballerinalang.compiler.semantics.model.symbols.BSymbol;
+
+/**
+ * Occurrence of a symbol in the source. Lines and columns are zero based, and the range covers the identifier only.
+ */
+public class SymbolOccurrence {
+
+    private final String compilationUnit;
+    private final int line;
+    private final int startColumn;
+    private final int endColumn;
+    private final BSymbol symbol;
+    private final boolean definition;
+
+    public SymbolOccurrence(String compilationUnit, int line, int startColumn, int endColumn, BSymbol symbol,
+                            boolean definition) {
+        this.compilationUnit = compilationUnit;
+        this.line = line;
+        this.startColumn = startColumn;
+        this.endColumn = endColumn;
+        this.symbol = symbol;
+        this.definition = definition;
+    }
+
+    public String getCompilationUnit() {
+        return compilationUnit;
+    }
+
+    public int getLine() {
+        return line;
+    }
+
+    public int getStartColumn() {
+        return startColumn;
+    }
+
+    public int getEndColumn() {
+        return endColumn;
+    }
+
+    public BSymbol getSymbol() {
+        return symbol;
+    }
+
+    /**
+     * Whether the occurrence is the definition of the symbol.
+     *
+     * @return true for the defining occurrence
+     */
+    public boolean isDefinition() {
+        return definition;
+    }
+
+    /**
+     * Checks whether the given zero based position is within the occurrence, including the position right after it.
+     *
+     * @param line   line of the position
+     * @param column column of the position
+     * @return true if the position is within the occurrence
+     */
+    public boolean contains(int line, int column) {
+        return this.line == line && column >= startColumn && column <= endColumn;
+    }
+
+    public Range getRange() {
+        return new Range(new Position(line, startColumn), new Position(line, endColumn));
+    }
+}
@@ -0,0 +1,62 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.langserver.index;
+
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+
+import java.nio.file.Path;
+
+/**
+ * Reference to a symbol, located by the path of the source file and a zero based position. Unlike a
+ * {@link SymbolOccurrence}, a reference does not retain the symbol, hence the compilation it was found in.
+ */
+public class SymbolReference {
+
+    private final Path filePath;
+    private final int line;
+    private final int startColumn;
+    private final int endColumn;
+
+    public SymbolReference(Path filePath, int line, int startColumn, int endColumn) {
+        this.filePath = filePath;
+        this.line = line;
+        this.startColumn = startColumn;
+        this.endColumn = endColumn;
+    }
+
+    public Path getFilePath() {
+        return filePath;
+    }
+
+    public int getLine() {
+        return line;
+    }
+
+    public int getStartColumn() {
+        return startColumn;
+    }
+
+    public int getEndColumn() {
+        return endColumn;
+    }
+
+    public Range getRange() {
+        return new Range(new Position(line, startColumn), new Position(line, endColumn));
+    }
+}
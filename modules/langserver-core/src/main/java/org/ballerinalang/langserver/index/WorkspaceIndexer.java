@@ -0,0 +1,292 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.langserver.index;
+
+import org.ballerinalang.langserver.compiler.LSCompiler;
+import org.ballerinalang.langserver.compiler.PackageCompilation;
+import org.ballerinalang.langserver.compiler.PackageImportGraph;
+import org.ballerinalang.langserver.compiler.PackageInfo;
+import org.ballerinalang.langserver.compiler.worker.CompilerWorkerPool;
+import org.ballerinalang.langserver.compiler.worker.WorkerCompilation;
+import org.ballerinalang.langserver.signature.SignatureTable;
+import org.eclipse.lsp4j.MessageParams;
+import org.eclipse.lsp4j.MessageType;
+import org.eclipse.lsp4j.services.LanguageClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Compiles every package of the workspace at startup, so that the compilation cache and the indexes are ready
+ * before the first request. Packages are compiled in parallel on a work-stealing pool, each one after the packages
+ * it imports. The imports read from the sources of the packages are recorded in the import graph as soon as the
+ * packages are discovered. When the compiler workers are enabled, the packages are compiled in the workers instead,
+ * which return the summaries, the imports and the references of the packages, while the ASTs stay in the workers.
+ */
+public class WorkspaceIndexer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WorkspaceIndexer.class);
+
+    private static final String BAL_EXTENSION = ".bal";
+
+    private static final Pattern IMPORT_PATTERN =
+            Pattern.compile("import\\s+([a-zA-Z_][\\.\\w]*)\\s*(?:version\\s+[\\w.]+\\s*)?(?:as\\s+\\w+\\s*)?;");
+
+    private static final int PROGRESS_STEPS = 10;
+
+    private final LSCompiler lsCompiler;
+    private final WorkspaceSymbolIndex symbolIndex;
+    private final WorkspaceReferenceIndex referenceIndex;
+    private final LanguageClient client;
+    private final ForkJoinPool pool;
+    private volatile boolean cancelled;
+
+    public WorkspaceIndexer(LSCompiler lsCompiler, WorkspaceSymbolIndex symbolIndex,
+                            WorkspaceReferenceIndex referenceIndex, LanguageClient client, ForkJoinPool pool) {
+        this.lsCompiler = lsCompiler;
+        this.symbolIndex = symbolIndex;
+        this.referenceIndex = referenceIndex;
+        this.client = client;
+        this.pool = pool;
+    }
+
+    /**
+     * Index all the packages under the given workspace root.
+     *
+     * @param workspaceRoot root directory of the workspace
+     * @return future which completes once all the packages are indexed
+     */
+    public CompletableFuture<Void> index(Path workspaceRoot) {
+        long startTime = System.currentTimeMillis();
+        PackageImportGraph importGraph = lsCompiler.getImportGraph();
+        // Started before returning, so that no rename is computed with the packages yet to be discovered
+        importGraph.startDiscovery();
+        return CompletableFuture.supplyAsync(() -> this.discoverPackages(workspaceRoot), pool)
+                .whenComplete((packages, error) -> {
+                    Map<String, Set<String>> discoveredImports = new HashMap<>();
+                    if (packages != null) {
+                        packages.forEach((key, workspacePackage) ->
+                                discoveredImports.put(key, workspacePackage.dependencies));
+                    }
+                    importGraph.finishDiscovery(discoveredImports);
+                })
+                .thenCompose(packages -> {
+                    this.logMessage("Indexing " + packages.size() + " packages in " + workspaceRoot);
+                    AtomicInteger indexedCount = new AtomicInteger();
+                    Map<String, CompletableFuture<Void>> scheduled = new HashMap<>();
+                    for (String key : packages.keySet()) {
+                        this.schedule(key, packages, scheduled, new HashSet<>(), indexedCount);
+                    }
+                    return CompletableFuture.allOf(scheduled.values().toArray(new CompletableFuture[0]));
+                })
+                .whenComplete((result, error) -> {
+                    if (error != null) {
+                        LOGGER.error(error.getMessage());
+                    }
+                    this.logMessage("Workspace indexed in " + (System.currentTimeMillis() - startTime) + "ms");
+                });
+    }
+
+    private Map<String, WorkspacePackage> discoverPackages(Path workspaceRoot) {
+        List<Path> sourceFiles;
+        try (Stream<Path> paths = Files.walk(workspaceRoot)) {
+            sourceFiles = paths.filter(path -> path.toString().endsWith(BAL_EXTENSION) && Files.isRegularFile(path))
+                    .filter(path -> !isHidden(workspaceRoot.relativize(path)))
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            LOGGER.error(e.getMessage());
+            return new HashMap<>();
+        }
+
+        // Runs within the pool, hence the files are read in parallel on the same workers
+        Map<String, WorkspacePackage> packages = new ConcurrentHashMap<>();
+        sourceFiles.parallelStream().forEach(sourceFile -> {
+            PackageInfo packageInfo = lsCompiler.getPackageInfo(sourceFile);
+            WorkspacePackage workspacePackage = packages.computeIfAbsent(packageInfo.getKey(),
+                    key -> new WorkspacePackage(packageInfo, sourceFile));
+            Set<String> imports = readImports(sourceFile);
+            synchronized (workspacePackage) {
+                workspacePackage.importedPackages.addAll(imports);
+            }
+        });
+
+        Map<String, String> keysByName = new HashMap<>();
+        for (WorkspacePackage workspacePackage : packages.values()) {
+            PackageInfo packageInfo = workspacePackage.packageInfo;
+            keysByName.put(getQualifiedName(packageInfo.getSourceRoot(), packageInfo.getPackageName()),
+                    packageInfo.getKey());
+        }
+        for (WorkspacePackage workspacePackage : packages.values()) {
+            for (String importedPackage : workspacePackage.importedPackages) {
+                String dependencyKey = keysByName.get(getQualifiedName(workspacePackage.packageInfo.getSourceRoot(),
+                        importedPackage));
+                if (dependencyKey != null && !dependencyKey.equals(workspacePackage.packageInfo.getKey())) {
+                    workspacePackage.dependencies.add(dependencyKey);
+                }
+            }
+        }
+        return packages;
+    }
+
+    private CompletableFuture<Void> schedule(String key, Map<String, WorkspacePackage> packages,
+                                             Map<String, CompletableFuture<Void>> scheduled, Set<String> visiting,
+                                             AtomicInteger indexedCount) {
+        CompletableFuture<Void> future = scheduled.get(key);
+        if (future != null) {
+            return future;
+        }
+        if (!visiting.add(key)) {
+            // Import cycle, the package is compiled without waiting for the rest of the cycle
+            return CompletableFuture.completedFuture(null);
+        }
+
+        WorkspacePackage workspacePackage = packages.get(key);
+        List<CompletableFuture<Void>> dependencies = new ArrayList<>();
+        for (String dependency : workspacePackage.dependencies) {
+            dependencies.add(this.schedule(dependency, packages, scheduled, visiting, indexedCount));
+        }
+        future = CompletableFuture.allOf(dependencies.toArray(new CompletableFuture[0]))
+                .handle((result, error) -> null)
+                .thenRunAsync(() -> this.indexPackage(workspacePackage, packages.size(), indexedCount), pool);
+        visiting.remove(key);
+        scheduled.put(key, future);
+        return future;
+    }
+
+    /**
+     * Stop indexing the packages which are yet to be indexed, once the session has ended.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    private void indexPackage(WorkspacePackage workspacePackage, int packageCount, AtomicInteger indexedCount) {
+        if (cancelled) {
+            return;
+        }
+        try {
+            CompilerWorkerPool workerPool = lsCompiler.getGlobalContext().getCompilerWorkerPool();
+            if (workerPool.isEnabled()) {
+                this.indexInWorker(workerPool, workspacePackage);
+            } else {
+                this.indexInProcess(workspacePackage);
+            }
+        } catch (Exception e) {
+            LOGGER.error(e.getMessage());
+        }
+
+        int indexed = indexedCount.incrementAndGet();
+        if (indexed == packageCount || indexed * PROGRESS_STEPS / packageCount
+                != (indexed - 1) * PROGRESS_STEPS / packageCount) {
+            this.logMessage("Indexed " + indexed + "/" + packageCount + " packages");
+        }
+    }
+
+    private void indexInWorker(CompilerWorkerPool workerPool, WorkspacePackage workspacePackage) {
+        String packageKey = workspacePackage.packageInfo.getKey();
+        // The content on the disk is compiled, hence the summary of a package edited meanwhile is not replaced
+        if (symbolIndex.contains(packageKey)) {
+            return;
+        }
+        WorkerCompilation compilation = workerPool.compile(packageKey, workspacePackage.sourceFile,
+                Collections.emptyList());
+        if (compilation != null && !symbolIndex.contains(packageKey)) {
+            symbolIndex.update(packageKey, compilation.getSummary());
+            lsCompiler.getImportGraph().setImports(packageKey, compilation.getImportedKeys());
+            referenceIndex.update(packageKey, compilation.getReferences());
+        }
+    }
+
+    private void indexInProcess(WorkspacePackage workspacePackage) {
+        PackageCompilation compilation = lsCompiler.getOrCompile(workspacePackage.sourceFile);
+        if (compilation == null) {
+            return;
+        }
+        compilation.getFeature(PositionIndex.class, PositionIndexBuilder::build);
+        compilation.getFeature(SignatureTable.class, SignatureTable::build);
+        symbolIndex.update(compilation);
+        referenceIndex.update(compilation);
+    }
+
+    private void logMessage(String message) {
+        if (client != null) {
+            client.logMessage(new MessageParams(MessageType.Info, message));
+        }
+    }
+
+    private static Set<String> readImports(Path sourceFile) {
+        Set<String> imports = new HashSet<>();
+        try {
+            String content = new String(Files.readAllBytes(sourceFile), StandardCharsets.UTF_8);
+            Matcher matcher = IMPORT_PATTERN.matcher(content);
+            while (matcher.find()) {
+                imports.add(matcher.group(1));
+            }
+        } catch (IOException e) {
+            LOGGER.error(e.getMessage());
+        }
+        return imports;
+    }
+
+    private static boolean isHidden(Path relativePath) {
+        for (Path component : relativePath) {
+            if (component.toString().startsWith(".")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String getQualifiedName(String sourceRoot, String packageName) {
+        return sourceRoot + ":" + packageName;
+    }
+
+    /**
+     * Package found in the workspace.
+     */
+    private static class WorkspacePackage {
+        private final PackageInfo packageInfo;
+        private final Path sourceFile;
+        private final Set<String> importedPackages = new HashSet<>();
+        private final Set<String> dependencies = new HashSet<>();
+
+        WorkspacePackage(PackageInfo packageInfo, Path sourceFile) {
+            this.packageInfo = packageInfo;
+            this.sourceFile = sourceFile;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.langserver.index;
+
+import org.ballerinalang.langserver.compiler.PackageCompilation;
+import org.ballerinalang.langserver.compiler.PackageCompilationCache;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * References of all the packages of a workspace to the top level symbols, which answer the rename requests without
+ * keeping the compilations of the referring packages in memory, or compiling them again.
+ */
+public class WorkspaceReferenceIndex {
+
+    private final Map<String, PackageReferences> packages = new ConcurrentHashMap<>();
+
+    /**
+     * Collect the references of the given compilation, replacing those of the previous compilation of the package.
+     *
+     * @param compilation package compilation
+     * @return references of the compilation
+     */
+    public PackageReferences update(PackageCompilation compilation) {
+        PackageReferences references = compilation.getFeature(PackageReferences.class, PackageReferences::build);
+        packages.put(compilation.getKey(), references);
+        return references;
+    }
+
+    /**
+     * Record the references of a package compiled elsewhere, such as by a compiler worker.
+     *
+     * @param packageKey compilation key of the package
+     * @param references references of the package
+     */
+    public void update(String packageKey, PackageReferences references) {
+        packages.put(packageKey, references);
+    }
+
+    /**
+     * Collect the references of the compilations in the given cache. The references of a compilation are only
+     * collected once, and kept as a feature of the compilation.
+     *
+     * @param compilationCache compilation cache
+     */
+    public void update(PackageCompilationCache compilationCache) {
+        for (PackageCompilation compilation : compilationCache.getAll()) {
+            this.update(compilation);
+        }
+    }
+
+    /**
+     * Get the references of the given package as of its last compilation.
+     *
+     * @param packageKey compilation key of the package
+     * @return references of the package, or null if the package has not been indexed
+     */
+    public PackageReferences getReferences(String packageKey) {
+        return packages.get(packageKey);
+    }
+}
@@ -0,0 +1,126 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.langserver.index;
+
+import org.ballerinalang.langserver.compiler.PackageCompilation;
+import org.ballerinalang.langserver.compiler.PackageCompilationCache;
+import org.eclipse.lsp4j.SymbolInformation;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Summaries of all the packages of a workspace, which answer the workspace symbol queries without keeping the
+ * compilations of the packages in memory.
+ */
+public class WorkspaceSymbolIndex {
+
+    private static final int MAX_RESULTS = 1000;
+
+    private final Map<String, PackageSummary> summaries = new ConcurrentHashMap<>();
+
+    /**
+     * Summarize the given compilation, replacing the summary of the previous compilation of the package.
+     *
+     * @param compilation package compilation
+     * @return summary of the compilation
+     */
+    public PackageSummary update(PackageCompilation compilation) {
+        PackageSummary summary = compilation.getFeature(PackageSummary.class, PackageSummary::build);
+        summaries.put(compilation.getKey(), summary);
+        return summary;
+    }
+
+    /**
+     * Replace the summary of a package with one built elsewhere, such as by a compiler worker.
+     *
+     * @param packageKey compilation key of the package
+     * @param summary    summary of the package
+     */
+    public void update(String packageKey, PackageSummary summary) {
+        summaries.put(packageKey, summary);
+    }
+
+    /**
+     * Checks whether the given package has been summarized.
+     *
+     * @param packageKey compilation key of the package
+     * @return true if the index has a summary of the package
+     */
+    public boolean contains(String packageKey) {
+        return summaries.containsKey(packageKey);
+    }
+
+    /**
+     * Summarize the compilations in the given cache, which are newer than the summaries of their packages.
+     *
+     * @param compilationCache compilation cache
+     */
+    public void update(PackageCompilationCache compilationCache) {
+        for (PackageCompilation compilation : compilationCache.getAll()) {
+            // An outdated compilation does not replace a summary received from a compiler worker meanwhile
+            if (compilation.isUpToDate() || !summaries.containsKey(compilation.getKey())) {
+                this.update(compilation);
+            }
+        }
+    }
+
+    /**
+     * Get the last summary of the given source file, which may lag behind the current content of the file.
+     *
+     * @param filePath path of the source file
+     * @return summary of the compilation unit, or null if the file has not been summarized
+     */
+    public CompilationUnitSummary getCompilationUnit(Path filePath) {
+        for (PackageSummary summary : summaries.values()) {
+            CompilationUnitSummary compilationUnit = summary.getCompilationUnit(filePath);
+            if (compilationUnit != null && compilationUnit.getFilePath().equals(filePath)) {
+                return compilationUnit;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Find the symbols whose names contain the given query, ignoring the case.
+     *
+     * @param query query string, which matches all the symbols when empty
+     * @return matching symbols
+     */
+    public List<SymbolInformation> findSymbols(String query) {
+        String lowerCaseQuery = query == null ? "" : query.toLowerCase(Locale.ENGLISH);
+        List<SymbolInformation> symbols = new ArrayList<>();
+        for (PackageSummary summary : summaries.values()) {
+            for (CompilationUnitSummary compilationUnit : summary.getCompilationUnits()) {
+                for (int i = 0; i < compilationUnit.size(); i++) {
+                    if (compilationUnit.getName(i).toLowerCase(Locale.ENGLISH).contains(lowerCaseQuery)) {
+                        symbols.add(compilationUnit.getSymbolInformation(i));
+                        if (symbols.size() == MAX_RESULTS) {
+                            return symbols;
+                        }
+                    }
+                }
+            }
+        }
+        return symbols;
+    }
+}
@@ -0,0 +1,139 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.langserver.query;
+
+import org.ballerinalang.langserver.compiler.PackageCompilation;
+import org.ballerinalang.langserver.index.PositionIndex;
+import org.ballerinalang.langserver.index.PositionIndexBuilder;
+import org.ballerinalang.langserver.index.SymbolOccurrence;
+import org.wso2.ballerinalang.compiler.semantics.model.symbols.BSymbol;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BType;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-only queries over a finished package compilation: the symbols, types and scopes at a position. The query is
+ * derived from the AST and the symbols once, without entering symbols or synthesizing nodes, hence a cached
+ * compilation can serve any number of concurrent requests through it. The scope tree is only built by the first query
+ * of the visible symbols, as the position queries of hover, highlight and rename do not need it. Lines and columns
+ * are zero based.
+ */
+public class PackageQuery {
+
+    private final PackageCompilation compilation;
+    private final PositionIndex positionIndex;
+
+    private PackageQuery(PackageCompilation compilation) {
+        this.compilation = compilation;
+        this.positionIndex = compilation.getFeature(PositionIndex.class, PositionIndexBuilder::build);
+    }
+
+    /**
+     * Get the query of the given compilation, building it on first access.
+     *
+     * @param compilation package compilation
+     * @return query over the compilation
+     */
+    public static PackageQuery of(PackageCompilation compilation) {
+        return compilation.getFeature(PackageQuery.class, PackageQuery::new);
+    }
+
+    /**
+     * Get the symbol occurrence at the given position.
+     *
+     * @param compilationUnit name of the compilation unit
+     * @param line            line of the position
+     * @param column          column of the position
+     * @return occurrence at the position, or null if there is no symbol at the position
+     */
+    public SymbolOccurrence getOccurrenceAt(String compilationUnit, int line, int column) {
+        return positionIndex.findOccurrence(compilationUnit, line, column);
+    }
+
+    /**
+     * Get the symbol referred to or defined at the given position.
+     *
+     * @param compilationUnit name of the compilation unit
+     * @param line            line of the position
+     * @param column          column of the position
+     * @return symbol at the position, or null if there is none
+     */
+    public BSymbol getSymbolAt(String compilationUnit, int line, int column) {
+        SymbolOccurrence occurrence = positionIndex.findOccurrence(compilationUnit, line, column);
+        return occurrence == null ? null : occurrence.getSymbol();
+    }
+
+    /**
+     * Get the type of the symbol at the given position.
+     *
+     * @param compilationUnit name of the compilation unit
+     * @param line            line of the position
+     * @param column          column of the position
+     * @return type of the symbol, or null if there is no symbol at the position
+     */
+    public BType getTypeAt(String compilationUnit, int line, int column) {
+        BSymbol symbol = this.getSymbolAt(compilationUnit, line, column);
+        return symbol == null ? null : symbol.type;
+    }
+
+    public SymbolOccurrence getDefinition(BSymbol symbol) {
+        return positionIndex.getDefinition(symbol);
+    }
+
+    public List<SymbolOccurrence> getOccurrences(BSymbol symbol) {
+        return positionIndex.getOccurrences(symbol);
+    }
+
+    /**
+     * Get the symbols visible at the given position. A symbol of an inner scope shadows the symbols of the enclosing
+     * scopes with the same name.
+     *
+     * @param compilationUnit name of the compilation unit
+     * @param line            line of the position
+     * @param column          column of the position
+     * @return visible symbols, innermost scope first
+     */
+    public Collection<BSymbol> getVisibleSymbols(String compilationUnit, int line, int column) {
+        List<QueryScope> enclosingScopes = new ArrayList<>();
+        QueryScope scope = compilation.getFeature(QueryScope.class,
+                packageCompilation -> ScopeTreeBuilder.build(packageCompilation.getBLangPackage()));
+        while (scope != null) {
+            enclosingScopes.add(0, scope);
+            QueryScope enclosing = scope;
+            scope = null;
+            for (QueryScope child : enclosing.getChildren()) {
+                if (child.contains(compilationUnit, line, column)) {
+                    scope = child;
+                    break;
+                }
+            }
+        }
+
+        Map<String, BSymbol> visibleSymbols = new LinkedHashMap<>();
+        for (QueryScope enclosingScope : enclosingScopes) {
+            for (BSymbol symbol : enclosingScope.getSymbolsDeclaredBefore(line, column)) {
+                visibleSymbols.putIfAbsent(symbol.name.value, symbol);
+            }
+        }
+        return visibleSymbols.values();
+    }
+}
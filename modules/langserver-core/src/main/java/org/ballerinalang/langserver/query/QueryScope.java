@@ -0,0 +1,121 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.langserver.query;
+
+import org.wso2.ballerinalang.compiler.semantics.model.symbols.BSymbol;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Lexical scope of a compiled package, with the symbols declared directly within it. Lines and columns are zero
+ * based. Scopes are only populated while the scope tree is built, and never change once it is published.
+ */
+public class QueryScope {
+
+    private final String compilationUnit;
+    private final int startLine;
+    private final int startColumn;
+    private final int endLine;
+    private final int endColumn;
+    private final List<Declaration> declarations = new ArrayList<>();
+    private final List<QueryScope> children = new ArrayList<>();
+
+    QueryScope(String compilationUnit, int startLine, int startColumn, int endLine, int endColumn) {
+        this.compilationUnit = compilationUnit;
+        this.startLine = startLine;
+        this.startColumn = startColumn;
+        this.endLine = endLine;
+        this.endColumn = endColumn;
+    }
+
+    /**
+     * Get the compilation unit of the scope.
+     *
+     * @return name of the compilation unit, or null for the package scope
+     */
+    public String getCompilationUnit() {
+        return compilationUnit;
+    }
+
+    public List<QueryScope> getChildren() {
+        return Collections.unmodifiableList(children);
+    }
+
+    /**
+     * Get the symbols declared in the scope up to the given position. Symbols of the package scope are visible from
+     * everywhere.
+     *
+     * @param line   line of the position
+     * @param column column of the position
+     * @return symbols declared before the position
+     */
+    public List<BSymbol> getSymbolsDeclaredBefore(int line, int column) {
+        List<BSymbol> symbols = new ArrayList<>();
+        for (Declaration declaration : declarations) {
+            if (compilationUnit == null || isBefore(declaration.line, declaration.column, line, column)) {
+                symbols.add(declaration.symbol);
+            }
+        }
+        return symbols;
+    }
+
+    /**
+     * Checks whether the given position is within the scope.
+     *
+     * @param cUnitName name of the compilation unit of the position
+     * @param line      line of the position
+     * @param column    column of the position
+     * @return true if the scope encloses the position
+     */
+    public boolean contains(String cUnitName, int line, int column) {
+        if (compilationUnit == null) {
+            return true;
+        }
+        return compilationUnit.equals(cUnitName) && isBefore(startLine, startColumn, line, column)
+                && isBefore(line, column, endLine, endColumn);
+    }
+
+    void addDeclaration(BSymbol symbol, int line, int column) {
+        declarations.add(new Declaration(symbol, line, column));
+    }
+
+    void addChild(QueryScope child) {
+        children.add(child);
+    }
+
+    private static boolean isBefore(int line, int column, int otherLine, int otherColumn) {
+        return line < otherLine || (line == otherLine && column <= otherColumn);
+    }
+
+    /**
+     * Symbol declared in a scope, with the position it is visible from.
+     */
+    private static class Declaration {
+        private final BSymbol symbol;
+        private final int line;
+        private final int column;
+
+        Declaration(BSymbol symbol, int line, int column) {
+            this.symbol = symbol;
+            this.line = line;
+            this.column = column;
+        }
+    }
+}
@@ -0,0 +1,184 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.langserver.query;
+
+import org.wso2.ballerinalang.compiler.semantics.model.Scope;
+import org.wso2.ballerinalang.compiler.semantics.model.symbols.BSymbol;
+import org.wso2.ballerinalang.compiler.tree.BLangConnector;
+import org.wso2.ballerinalang.compiler.tree.BLangFunction;
+import org.wso2.ballerinalang.compiler.tree.BLangInvokableNode;
+import org.wso2.ballerinalang.compiler.tree.BLangNode;
+import org.wso2.ballerinalang.compiler.tree.BLangPackage;
+import org.wso2.ballerinalang.compiler.tree.BLangService;
+import org.wso2.ballerinalang.compiler.tree.BLangVariable;
+import org.wso2.ballerinalang.compiler.tree.statements.BLangBlockStmt;
+import org.wso2.ballerinalang.compiler.tree.statements.BLangCatch;
+import org.wso2.ballerinalang.compiler.tree.statements.BLangForkJoin;
+import org.wso2.ballerinalang.compiler.tree.statements.BLangIf;
+import org.wso2.ballerinalang.compiler.tree.statements.BLangStatement;
+import org.wso2.ballerinalang.compiler.tree.statements.BLangTransaction;
+import org.wso2.ballerinalang.compiler.tree.statements.BLangTryCatchFinally;
+import org.wso2.ballerinalang.compiler.tree.statements.BLangVariableDef;
+import org.wso2.ballerinalang.compiler.tree.statements.BLangWhile;
+import org.wso2.ballerinalang.compiler.util.diagnotic.DiagnosticPos;
+
+/**
+ * Builds the scope tree of a compiled package by reading the AST and the symbols the compiler attached to it. Unlike
+ * the completion tree visitor, it neither defines symbols nor synthesizes nodes, hence it can run on a compilation
+ * shared by concurrent requests.
+ */
+class ScopeTreeBuilder {
+
+    private ScopeTreeBuilder() {
+    }
+
+    /**
+     * Build the scope tree of the given package.
+     *
+     * @param bLangPackage compiled package
+     * @return package scope, enclosing the scopes of all the compilation units
+     */
+    static QueryScope build(BLangPackage bLangPackage) {
+        QueryScope packageScope = new QueryScope(null, -1, -1, -1, -1);
+        if (bLangPackage.symbol != null && bLangPackage.symbol.scope != null) {
+            for (Scope.ScopeEntry entry : bLangPackage.symbol.scope.entries.values()) {
+                for (Scope.ScopeEntry current = entry; current != null; current = current.next) {
+                    if (current.symbol != null) {
+                        packageScope.addDeclaration(current.symbol, -1, -1);
+                    }
+                }
+            }
+        }
+        bLangPackage.functions.forEach(function -> addInvokable(function, packageScope));
+        bLangPackage.transformers.forEach(transformer -> addInvokable(transformer, packageScope));
+        for (BLangConnector connector : bLangPackage.connectors) {
+            QueryScope connectorScope = addScope(connector, packageScope);
+            if (connectorScope != null) {
+                connector.params.forEach(param -> addVariable(param, connectorScope));
+                connector.varDefs.forEach(varDef -> addVariable(varDef.var, connectorScope));
+                connector.actions.forEach(action -> addInvokable(action, connectorScope));
+            }
+        }
+        for (BLangService service : bLangPackage.services) {
+            QueryScope serviceScope = addScope(service, packageScope);
+            if (serviceScope != null) {
+                service.vars.forEach(varDef -> addVariable(varDef.var, serviceScope));
+                service.resources.forEach(resource -> addInvokable(resource, serviceScope));
+            }
+        }
+        return packageScope;
+    }
+
+    private static void addInvokable(BLangInvokableNode invokableNode, QueryScope parent) {
+        QueryScope invokableScope = addScope(invokableNode, parent);
+        if (invokableScope == null) {
+            return;
+        }
+        if (invokableNode instanceof BLangFunction) {
+            addVariable(((BLangFunction) invokableNode).receiver, invokableScope);
+        }
+        invokableNode.params.forEach(param -> addVariable(param, invokableScope));
+        invokableNode.retParams.forEach(param -> addVariable(param, invokableScope));
+        for (BLangInvokableNode worker : invokableNode.workers) {
+            addDeclaration(worker.symbol, invokableNode.pos, invokableScope);
+            addInvokable(worker, invokableScope);
+        }
+        addStatement(invokableNode.body, invokableScope);
+    }
+
+    private static void addStatement(BLangStatement statement, QueryScope scope) {
+        if (statement == null) {
+            return;
+        }
+        if (statement instanceof BLangBlockStmt) {
+            QueryScope blockScope = addScope(statement, scope);
+            if (blockScope != null) {
+                ((BLangBlockStmt) statement).stmts.forEach(child -> addStatement(child, blockScope));
+            }
+        } else if (statement instanceof BLangVariableDef) {
+            addVariable(((BLangVariableDef) statement).var, scope);
+        } else if (statement instanceof BLangIf) {
+            addStatement(((BLangIf) statement).body, scope);
+            addStatement(((BLangIf) statement).elseStmt, scope);
+        } else if (statement instanceof BLangWhile) {
+            addStatement(((BLangWhile) statement).body, scope);
+        } else if (statement instanceof BLangTryCatchFinally) {
+            BLangTryCatchFinally tryCatchFinally = (BLangTryCatchFinally) statement;
+            addStatement(tryCatchFinally.tryBody, scope);
+            tryCatchFinally.catchBlocks.forEach(catchBlock -> addStatement(catchBlock, scope));
+            addStatement(tryCatchFinally.finallyBody, scope);
+        } else if (statement instanceof BLangCatch) {
+            QueryScope catchScope = addScope(statement, scope);
+            if (catchScope != null) {
+                addVariable(((BLangCatch) statement).param, catchScope);
+                addStatement(((BLangCatch) statement).body, catchScope);
+            }
+        } else if (statement instanceof BLangTransaction) {
+            BLangTransaction transaction = (BLangTransaction) statement;
+            addStatement(transaction.transactionBody, scope);
+            addStatement(transaction.committedBody, scope);
+            addStatement(transaction.failedBody, scope);
+            addStatement(transaction.abortedBody, scope);
+        } else if (statement instanceof BLangForkJoin) {
+            addForkJoin((BLangForkJoin) statement, scope);
+        }
+    }
+
+    private static void addForkJoin(BLangForkJoin forkJoin, QueryScope scope) {
+        for (BLangInvokableNode worker : forkJoin.workers) {
+            addDeclaration(worker.symbol, forkJoin.pos, scope);
+            addInvokable(worker, scope);
+        }
+        // The join result and the timeout variables are only visible within their bodies
+        QueryScope joinScope = addScope(forkJoin.joinedBody, scope);
+        if (joinScope != null) {
+            addDeclaration(forkJoin.joinResultVar == null ? null : forkJoin.joinResultVar.symbol,
+                    forkJoin.joinedBody.pos, joinScope);
+            forkJoin.joinedBody.stmts.forEach(child -> addStatement(child, joinScope));
+        }
+        QueryScope timeoutScope = addScope(forkJoin.timeoutBody, scope);
+        if (timeoutScope != null) {
+            addDeclaration(forkJoin.timeoutVariable == null ? null : forkJoin.timeoutVariable.symbol,
+                    forkJoin.timeoutBody.pos, timeoutScope);
+            forkJoin.timeoutBody.stmts.forEach(child -> addStatement(child, timeoutScope));
+        }
+    }
+
+    private static void addVariable(BLangVariable variable, QueryScope scope) {
+        if (variable != null) {
+            addDeclaration(variable.symbol, variable.pos, scope);
+        }
+    }
+
+    private static void addDeclaration(BSymbol symbol, DiagnosticPos pos, QueryScope scope) {
+        if (symbol != null && pos != null) {
+            scope.addDeclaration(symbol, pos.sLine - 1, pos.sCol - 1);
+        }
+    }
+
+    private static QueryScope addScope(BLangNode node, QueryScope parent) {
+        DiagnosticPos pos = node == null ? null : node.pos;
+        if (pos == null || pos.src == null || pos.eLine <= 0) {
+            return null;
+        }
+        QueryScope scope = new QueryScope(pos.src.cUnitName, pos.sLine - 1, pos.sCol - 1, pos.eLine - 1,
+                pos.eCol - 1);
+        parent.addChild(scope);
+        return scope;
+    }
+}
@@ -0,0 +1,308 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.langserver.rename;
+
+import org.antlr.v4.runtime.ANTLRInputStream;
+import org.antlr.v4.runtime.Token;
+import org.ballerinalang.langserver.compiler.LSCompiler;
+import org.ballerinalang.langserver.compiler.PackageCompilation;
+import org.ballerinalang.langserver.compiler.PackageImportGraph;
+import org.ballerinalang.langserver.index.PackageReferences;
+import org.ballerinalang.langserver.index.PositionIndexBuilder;
+import org.ballerinalang.langserver.index.SymbolOccurrence;
+import org.ballerinalang.langserver.index.SymbolReference;
+import org.ballerinalang.langserver.index.WorkspaceReferenceIndex;
+import org.ballerinalang.langserver.query.PackageQuery;
+import org.ballerinalang.langserver.workspace.WorkspaceDocumentManager;
+import org.ballerinalang.model.symbols.SymbolKind;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.TextEdit;
+import org.eclipse.lsp4j.WorkspaceEdit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wso2.ballerinalang.compiler.parser.antlr4.BallerinaLexer;
+import org.wso2.ballerinalang.compiler.semantics.model.symbols.BSymbol;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Renames local variables, functions, structs, connectors and services. The references within the package of the
+ * document are taken from its compilation, and those of the other packages from the workspace reference index, so
+ * that the packages importing a renamed symbol are not compiled again unless they were edited since they were
+ * indexed. Top level symbols are not renamed until the imports of all the packages of the workspace are known. The
+ * edits of the files are generated in parallel, and the rename is refused rather than applied partially if a
+ * reference does not match the current content of its file.
+ */
+public class RenameProvider {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RenameProvider.class);
+
+    private static final Set<SymbolKind> TOP_LEVEL_KINDS = new HashSet<>(Arrays.asList(SymbolKind.FUNCTION,
+            SymbolKind.STRUCT, SymbolKind.CONNECTOR, SymbolKind.SERVICE));
+
+    private static final String IDENTIFIER = "Identifier";
+    private static final String BAL_EXTENSION = ".bal";
+
+    private final LSCompiler lsCompiler;
+    private final WorkspaceReferenceIndex referenceIndex;
+    private final WorkspaceDocumentManager documentManager;
+
+    public RenameProvider(LSCompiler lsCompiler, WorkspaceReferenceIndex referenceIndex,
+                          WorkspaceDocumentManager documentManager) {
+        this.lsCompiler = lsCompiler;
+        this.referenceIndex = referenceIndex;
+        this.documentManager = documentManager;
+    }
+
+    /**
+     * Rename the symbol at the given position.
+     *
+     * @param filePath path of the document
+     * @param position zero based position in the document
+     * @param newName  new name of the symbol
+     * @return edits of the affected files, or null if there is no symbol to rename at the position, the new name is
+     * not a valid identifier, or the package cannot be compiled
+     */
+    public WorkspaceEdit rename(Path filePath, Position position, String newName) {
+        if (!isIdentifier(newName)) {
+            return null;
+        }
+        PackageCompilation compilation = lsCompiler.getOrCompile(filePath);
+        if (compilation == null) {
+            return null;
+        }
+        PackageQuery query = PackageQuery.of(compilation);
+        SymbolOccurrence occurrence = query.getOccurrenceAt(filePath.getFileName().toString(), position.getLine(),
+                position.getCharacter());
+        if (occurrence == null || !isRenamable(occurrence.getSymbol())) {
+            return null;
+        }
+        BSymbol symbol = occurrence.getSymbol();
+
+        List<SymbolReference> references = new ArrayList<>();
+        String symbolKey = PackageReferences.getSymbolKey(symbol);
+        if (symbolKey == null) {
+            // Local variables are only referred to within their package
+            for (SymbolOccurrence symbolOccurrence : query.getOccurrences(symbol)) {
+                references.add(new SymbolReference(
+                        compilation.getCompilationUnitPath(symbolOccurrence.getCompilationUnit()),
+                        symbolOccurrence.getLine(), symbolOccurrence.getStartColumn(),
+                        symbolOccurrence.getEndColumn()));
+            }
+        } else {
+            if (!lsCompiler.getImportGraph().isComplete()) {
+                // Packages which are not discovered yet may refer to the symbol, and would be left unrenamed
+                LOGGER.error("Cannot rename " + symbolKey + ", the imports of the workspace are not known yet");
+                return null;
+            }
+            referenceIndex.update(lsCompiler.getCompilationCache());
+            String definingKey = this.getDefiningPackage(compilation, query, symbol);
+            if (definingKey == null) {
+                // Symbols of the library packages cannot be renamed
+                return null;
+            }
+            for (String packageKey : this.getReferringPackages(definingKey)) {
+                PackageReferences packageReferences = this.getCurrentReferences(packageKey);
+                if (packageReferences == null) {
+                    LOGGER.error("Cannot rename " + symbolKey + ", failed to compile " + packageKey);
+                    return null;
+                }
+                references.addAll(packageReferences.getReferences(symbolKey));
+            }
+        }
+
+        String oldName = PositionIndexBuilder.getSimpleName(symbol);
+        Map<Path, List<SymbolReference>> referencesByFile = references.stream()
+                .collect(Collectors.groupingBy(SymbolReference::getFilePath, LinkedHashMap::new,
+                        Collectors.toList()));
+        // The files are read and checked in parallel, as a widely used symbol is referred to from many unopened files
+        Map<String, List<TextEdit>> changes = new ConcurrentHashMap<>();
+        AtomicBoolean outdated = new AtomicBoolean();
+        referencesByFile.entrySet().parallelStream().forEach(entry -> {
+            List<TextEdit> edits = this.getEdits(entry.getKey(), entry.getValue(), oldName, newName);
+            if (edits == null) {
+                outdated.set(true);
+            } else if (!edits.isEmpty()) {
+                changes.put(entry.getKey().toUri().toString(), edits);
+            }
+        });
+        if (outdated.get()) {
+            // A file changed while the rename was computed, which would be left with unrenamed references
+            LOGGER.error("Cannot rename " + oldName + ", the references are outdated");
+            return null;
+        }
+        return new WorkspaceEdit(changes);
+    }
+
+    /**
+     * Find the package defining the given top level symbol, which is either the package of the compilation or one
+     * of the workspace packages it imports.
+     */
+    private String getDefiningPackage(PackageCompilation compilation, PackageQuery query, BSymbol symbol) {
+        if (query.getDefinition(symbol) != null) {
+            return compilation.getKey();
+        }
+        // Imported packages of the workspace share the source root of the importing package
+        String definingKey = Paths.get(compilation.getSourceRoot(),
+                symbol.pkgID.getName().getValue().split(Pattern.quote("."))).toString();
+        return lsCompiler.getImportGraph().getImports(compilation.getKey()).contains(definingKey) ? definingKey : null;
+    }
+
+    /**
+     * Get the defining package and the packages importing it, which are the only ones able to refer to its symbols.
+     */
+    private List<String> getReferringPackages(String definingKey) {
+        PackageImportGraph importGraph = lsCompiler.getImportGraph();
+        List<String> packageKeys = new ArrayList<>();
+        packageKeys.add(definingKey);
+        for (String dependentKey : importGraph.getTransitiveDependents(definingKey)) {
+            if (importGraph.getImports(dependentKey).contains(definingKey)) {
+                packageKeys.add(dependentKey);
+            }
+        }
+        return packageKeys;
+    }
+
+    /**
+     * Get the references of the given package as of its current sources. Packages edited since they were indexed, or
+     * never indexed, are compiled again, which only concerns the few packages being worked on.
+     *
+     * @param packageKey key of the package
+     * @return references of the package, or null if the package cannot be compiled
+     */
+    private PackageReferences getCurrentReferences(String packageKey) {
+        PackageReferences packageReferences = referenceIndex.getReferences(packageKey);
+        if (packageReferences != null
+                && lsCompiler.getSourceStamp(packageKey).equals(packageReferences.getSourceStamp())) {
+            return packageReferences;
+        }
+        Path sourceFile = getSourceFile(Paths.get(packageKey));
+        if (sourceFile == null) {
+            return null;
+        }
+        try {
+            PackageCompilation compilation = lsCompiler.getOrCompile(sourceFile);
+            return compilation == null ? null : referenceIndex.update(compilation);
+        } catch (Exception e) {
+            LOGGER.error(e.getMessage());
+            return null;
+        }
+    }
+
+    private static Path getSourceFile(Path packagePath) {
+        if (!Files.isDirectory(packagePath)) {
+            return Files.exists(packagePath) ? packagePath : null;
+        }
+        try (Stream<Path> paths = Files.list(packagePath)) {
+            return paths.filter(path -> path.toString().endsWith(BAL_EXTENSION)).findFirst().orElse(null);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Get the edits of the given file.
+     *
+     * @param filePath   path of the file
+     * @param references references within the file
+     * @param oldName    name the references are expected to have
+     * @param newName    new name of the symbol
+     * @return edits of the file, or null if a reference does not match the current content of the file
+     */
+    private List<TextEdit> getEdits(Path filePath, List<SymbolReference> references, String oldName,
+                                    String newName) {
+        List<TextEdit> edits = new ArrayList<>();
+        String[] lines = this.getLines(filePath);
+        Set<String> editedRanges = new HashSet<>();
+        for (SymbolReference reference : references) {
+            if (reference.getLine() >= lines.length) {
+                return null;
+            }
+            String line = lines[reference.getLine()];
+            if (reference.getEndColumn() > line.length()
+                    || !oldName.equals(line.substring(reference.getStartColumn(), reference.getEndColumn()))) {
+                return null;
+            }
+            if (editedRanges.add(reference.getLine() + ":" + reference.getStartColumn())) {
+                edits.add(new TextEdit(reference.getRange(), newName));
+            }
+        }
+        return edits;
+    }
+
+    /**
+     * Get the current lines of the given file, from the document manager if the file is open, and from the disk
+     * otherwise, the same way the workspace package repository reads the sources.
+     */
+    private String[] getLines(Path filePath) {
+        String content = documentManager.getFileContent(filePath);
+        if (content == null) {
+            try {
+                content = new String(Files.readAllBytes(filePath), StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                LOGGER.error(e.getMessage());
+                return new String[0];
+            }
+        }
+        return content.split("\\r?\\n", -1);
+    }
+
+    private static boolean isRenamable(BSymbol symbol) {
+        if (symbol.kind == null || symbol.owner == null) {
+            return false;
+        }
+        if (SymbolKind.PACKAGE.equals(symbol.owner.kind)) {
+            return TOP_LEVEL_KINDS.contains(symbol.kind);
+        }
+        // Variables defined in functions, as opposed to the fields of the structs
+        return SymbolKind.VARIABLE.equals(symbol.kind) && !SymbolKind.STRUCT.equals(symbol.owner.kind);
+    }
+
+    /**
+     * Checks whether the given name is lexed as a single identifier, hence is not empty or a keyword.
+     *
+     * @param name name to check
+     * @return true if the name is an identifier
+     */
+    static boolean isIdentifier(String name) {
+        if (name == null || name.isEmpty()) {
+            return false;
+        }
+        BallerinaLexer lexer = new BallerinaLexer(new ANTLRInputStream(name));
+        lexer.removeErrorListeners();
+        Token token = lexer.nextToken();
+        return IDENTIFIER.equals(lexer.getVocabulary().getSymbolicName(token.getType()))
+                && token.getStopIndex() == name.length() - 1;
+    }
+}
@@ -0,0 +1,49 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.langserver.semantictokens;
+
+import java.util.List;
+
+/**
+ * Semantic tokens of a document, encoded as five integers per token: the line relative to the previous token, the
+ * start character relative to the previous token if on the same line, the length, the index of the token type in
+ * the legend, and the bit set of the token modifiers.
+ */
+public class SemanticTokens {
+
+    private final String resultId;
+    private final List<Integer> data;
+
+    public SemanticTokens(String resultId, List<Integer> data) {
+        this.resultId = resultId;
+        this.data = data;
+    }
+
+    /**
+     * Get the ID the client refers to the result with in the next delta request.
+     *
+     * @return result ID, or null if the result cannot be used as the base of a delta
+     */
+    public String getResultId() {
+        return resultId;
+    }
+
+    public List<Integer> getData() {
+        return data;
+    }
+}
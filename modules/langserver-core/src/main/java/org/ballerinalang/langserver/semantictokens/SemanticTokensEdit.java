@@ -0,0 +1,48 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.langserver.semantictokens;
+
+import java.util.List;
+
+/**
+ * Replacement of a slice of the encoded integers of a previous semantic tokens result.
+ */
+public class SemanticTokensEdit {
+
+    private final int start;
+    private final int deleteCount;
+    private final List<Integer> data;
+
+    public SemanticTokensEdit(int start, int deleteCount, List<Integer> data) {
+        this.start = start;
+        this.deleteCount = deleteCount;
+        this.data = data;
+    }
+
+    public int getStart() {
+        return start;
+    }
+
+    public int getDeleteCount() {
+        return deleteCount;
+    }
+
+    public List<Integer> getData() {
+        return data;
+    }
+}
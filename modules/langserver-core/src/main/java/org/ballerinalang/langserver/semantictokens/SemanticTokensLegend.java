@@ -0,0 +1,42 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.langserver.semantictokens;
+
+import java.util.List;
+
+/**
+ * Token types and modifiers the encoded semantic tokens refer to by index.
+ */
+public class SemanticTokensLegend {
+
+    private final List<String> tokenTypes;
+    private final List<String> tokenModifiers;
+
+    public SemanticTokensLegend(List<String> tokenTypes, List<String> tokenModifiers) {
+        this.tokenTypes = tokenTypes;
+        this.tokenModifiers = tokenModifiers;
+    }
+
+    public List<String> getTokenTypes() {
+        return tokenTypes;
+    }
+
+    public List<String> getTokenModifiers() {
+        return tokenModifiers;
+    }
+}
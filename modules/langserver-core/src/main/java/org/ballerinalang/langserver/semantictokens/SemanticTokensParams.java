@@ -0,0 +1,63 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.langserver.semantictokens;
+
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.TextDocumentIdentifier;
+
+/**
+ * Parameters of the semantic tokens requests. The range is only given with the range request, and the previous
+ * result ID with the delta request.
+ */
+public class SemanticTokensParams {
+
+    private TextDocumentIdentifier textDocument;
+    private Range range;
+    private String previousResultId;
+
+    public SemanticTokensParams() {
+    }
+
+    public SemanticTokensParams(TextDocumentIdentifier textDocument) {
+        this.textDocument = textDocument;
+    }
+
+    public TextDocumentIdentifier getTextDocument() {
+        return textDocument;
+    }
+
+    public void setTextDocument(TextDocumentIdentifier textDocument) {
+        this.textDocument = textDocument;
+    }
+
+    public Range getRange() {
+        return range;
+    }
+
+    public void setRange(Range range) {
+        this.range = range;
+    }
+
+    public String getPreviousResultId() {
+        return previousResultId;
+    }
+
+    public void setPreviousResultId(String previousResultId) {
+        this.previousResultId = previousResultId;
+    }
+}
@@ -0,0 +1,367 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.langserver.semantictokens;
+
+import org.antlr.v4.runtime.ANTLRInputStream;
+import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.Vocabulary;
+import org.ballerinalang.langserver.compiler.EvictableCache;
+import org.ballerinalang.langserver.compiler.PackageCompilation;
+import org.ballerinalang.langserver.index.PositionIndexBuilder;
+import org.ballerinalang.langserver.index.SymbolOccurrence;
+import org.ballerinalang.langserver.query.PackageQuery;
+import org.ballerinalang.model.symbols.SymbolKind;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.jsonrpc.messages.Either;
+import org.wso2.ballerinalang.compiler.parser.antlr4.BallerinaLexer;
+import org.wso2.ballerinalang.compiler.semantics.model.symbols.BSymbol;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Provides the semantic tokens of the documents in a single pass over the lexer tokens. Keywords, literals and
+ * comments are classified by the lexer alone, and identifiers by the kind of the symbol they refer to in the cached
+ * compilation of the package, if there is one. The package is never compiled for the tokens, hence they are cheap
+ * enough to be requested on every edit, and the identifiers are classified as soon as the compilation following the
+ * edit is cached.
+ * <p>
+ * The last tokens of each document are kept, so that the delta request only sends the slice which changed. Once they
+ * are evicted to keep the caches within the memory budget, the next delta request sends all the tokens instead.
+ */
+public class SemanticTokensProvider implements EvictableCache {
+
+    private static final List<String> TOKEN_TYPES = Collections.unmodifiableList(Arrays.asList("namespace", "type",
+            "class", "struct", "enum", "enumMember", "property", "variable", "function", "method", "keyword",
+            "comment", "string", "number"));
+    private static final List<String> TOKEN_MODIFIERS = Collections.unmodifiableList(Arrays.asList("declaration",
+            "readonly"));
+
+    private static final int NAMESPACE = TOKEN_TYPES.indexOf("namespace");
+    private static final int TYPE = TOKEN_TYPES.indexOf("type");
+    private static final int CLASS = TOKEN_TYPES.indexOf("class");
+    private static final int STRUCT = TOKEN_TYPES.indexOf("struct");
+    private static final int ENUM = TOKEN_TYPES.indexOf("enum");
+    private static final int ENUM_MEMBER = TOKEN_TYPES.indexOf("enumMember");
+    private static final int PROPERTY = TOKEN_TYPES.indexOf("property");
+    private static final int VARIABLE = TOKEN_TYPES.indexOf("variable");
+    private static final int FUNCTION = TOKEN_TYPES.indexOf("function");
+    private static final int METHOD = TOKEN_TYPES.indexOf("method");
+    private static final int KEYWORD = TOKEN_TYPES.indexOf("keyword");
+    private static final int COMMENT = TOKEN_TYPES.indexOf("comment");
+    private static final int STRING = TOKEN_TYPES.indexOf("string");
+    private static final int NUMBER = TOKEN_TYPES.indexOf("number");
+    private static final int UNCLASSIFIED = -1;
+
+    private static final int DECLARATION = 1;
+    private static final int READONLY = 1 << 1;
+
+    private static final int INTEGERS_PER_TOKEN = 5;
+    // Heap bytes of a boxed integer of the token data, along with its reference in the list
+    private static final int RETAINED_BYTES_PER_INTEGER = 20;
+
+    private static final String IDENTIFIER = "Identifier";
+
+    private final Map<Path, SemanticTokens> lastTokens = new ConcurrentHashMap<>();
+    private final AtomicLong resultIds = new AtomicLong();
+
+    public static SemanticTokensLegend getLegend() {
+        return new SemanticTokensLegend(TOKEN_TYPES, TOKEN_MODIFIERS);
+    }
+
+    /**
+     * Get the options advertised under the {@code semanticTokensProvider} experimental capability.
+     *
+     * @return capability options
+     */
+    public static Map<String, Object> getOptions() {
+        Map<String, Object> options = new HashMap<>();
+        options.put("legend", getLegend());
+        options.put("range", true);
+        options.put("full", Collections.singletonMap("delta", true));
+        return options;
+    }
+
+    /**
+     * Get the tokens of a whole document, which are kept as the base of the next delta request.
+     *
+     * @param filePath    path of the document
+     * @param content     content of the document
+     * @param compilation cached compilation of the package, or null if there is none
+     * @return tokens of the document
+     */
+    public SemanticTokens getTokens(Path filePath, String content, PackageCompilation compilation) {
+        SemanticTokens tokens = new SemanticTokens(String.valueOf(resultIds.incrementAndGet()),
+                encode(filePath, content, compilation, null));
+        lastTokens.put(filePath, tokens);
+        return tokens;
+    }
+
+    /**
+     * Get the changes to the tokens of a document since the given result.
+     *
+     * @param filePath         path of the document
+     * @param content          content of the document
+     * @param compilation      cached compilation of the package, or null if there is none
+     * @param previousResultId ID of the result the client has
+     * @return edits to the previous result, or all the tokens if the previous result is not the last one
+     */
+    public Either<SemanticTokens, SemanticTokensDelta> getTokensDelta(Path filePath, String content,
+                                                                      PackageCompilation compilation,
+                                                                      String previousResultId) {
+        SemanticTokens previous = lastTokens.get(filePath);
+        SemanticTokens tokens = this.getTokens(filePath, content, compilation);
+        if (previous == null || !previous.getResultId().equals(previousResultId)) {
+            return Either.forLeft(tokens);
+        }
+        return Either.forRight(new SemanticTokensDelta(tokens.getResultId(),
+                getEdits(previous.getData(), tokens.getData())));
+    }
+
+    /**
+     * Get the tokens within a range of a document. The document is only scanned up to the end of the range.
+     *
+     * @param filePath    path of the document
+     * @param content     content of the document
+     * @param compilation cached compilation of the package, or null if there is none
+     * @param range       range to get the tokens of
+     * @return tokens within the range, without a result ID
+     */
+    public static SemanticTokens getTokens(Path filePath, String content, PackageCompilation compilation,
+                                           Range range) {
+        return new SemanticTokens(null, encode(filePath, content, compilation, range));
+    }
+
+    public void forget(Path filePath) {
+        lastTokens.remove(filePath);
+    }
+
+    @Override
+    public long getRetainedSize() {
+        long retainedSize = 0;
+        for (SemanticTokens tokens : lastTokens.values()) {
+            retainedSize += tokens.getData().size() * (long) RETAINED_BYTES_PER_INTEGER;
+        }
+        return retainedSize;
+    }
+
+    @Override
+    public void evict() {
+        lastTokens.clear();
+    }
+
+    /**
+     * Get the edit turning the previous tokens into the current ones, replacing the tokens between their common
+     * prefix and suffix.
+     *
+     * @param previous previous encoded tokens
+     * @param current  current encoded tokens
+     * @return edits, empty if the tokens are the same
+     */
+    static List<SemanticTokensEdit> getEdits(List<Integer> previous, List<Integer> current) {
+        int maxLength = Math.min(previous.size(), current.size());
+        int prefix = 0;
+        while (prefix < maxLength && previous.get(prefix).equals(current.get(prefix))) {
+            prefix++;
+        }
+        if (prefix == previous.size() && prefix == current.size()) {
+            return new ArrayList<>();
+        }
+        int suffix = 0;
+        while (suffix < maxLength - prefix && previous.get(previous.size() - 1 - suffix)
+                .equals(current.get(current.size() - 1 - suffix))) {
+            suffix++;
+        }
+        // Whole tokens are replaced, so that an edit never splits the integers of a token
+        prefix -= prefix % INTEGERS_PER_TOKEN;
+        suffix -= suffix % INTEGERS_PER_TOKEN;
+        List<Integer> data = new ArrayList<>(current.subList(prefix, current.size() - suffix));
+        return Collections.singletonList(new SemanticTokensEdit(prefix, previous.size() - suffix - prefix, data));
+    }
+
+    private static List<Integer> encode(Path filePath, String content, PackageCompilation compilation,
+                                        Range range) {
+        BallerinaLexer lexer = new BallerinaLexer(new ANTLRInputStream(content));
+        lexer.removeErrorListeners();
+        Vocabulary vocabulary = lexer.getVocabulary();
+        PackageQuery query = compilation == null ? null : PackageQuery.of(compilation);
+        String compilationUnit = filePath.getFileName().toString();
+
+        Encoder encoder = new Encoder(range);
+        for (Token token = lexer.nextToken(); token.getType() != Token.EOF; token = lexer.nextToken()) {
+            int line = token.getLine() - 1;
+            if (range != null && line > range.getEnd().getLine()) {
+                break;
+            }
+            String text = token.getText();
+            int column = token.getCharPositionInLine();
+            String symbolicName = vocabulary.getSymbolicName(token.getType());
+            if (!IDENTIFIER.equals(symbolicName)) {
+                encoder.add(line, column, text, getLexicalType(symbolicName, text), 0);
+                continue;
+            }
+            SymbolOccurrence occurrence = query == null ? null : query.getOccurrenceAt(compilationUnit, line, column);
+            // The cached compilation may be behind the content, hence the occurrence has to match the identifier
+            if (occurrence == null || occurrence.getStartColumn() != column
+                    || occurrence.getEndColumn() != column + text.length()
+                    || !text.equals(PositionIndexBuilder.getSimpleName(occurrence.getSymbol()))) {
+                continue;
+            }
+            BSymbol symbol = occurrence.getSymbol();
+            int modifiers = (occurrence.isDefinition() ? DECLARATION : 0)
+                    | (SymbolKind.CONSTANT.equals(symbol.kind) ? READONLY : 0);
+            encoder.add(line, column, text, getSymbolType(symbol), modifiers);
+        }
+        return encoder.data;
+    }
+
+    private static int getLexicalType(String symbolicName, String text) {
+        if (symbolicName == null) {
+            return UNCLASSIFIED;
+        }
+        switch (symbolicName) {
+            case "IntegerLiteral":
+            case "FloatingPointLiteral":
+                return NUMBER;
+            case "QuotedStringLiteral":
+                return STRING;
+            case "BooleanLiteral":
+            case "NullLiteral":
+                return KEYWORD;
+            default:
+                break;
+        }
+        if (symbolicName.contains("COMMENT")) {
+            return COMMENT;
+        }
+        if (symbolicName.endsWith("Text")) {
+            // Text within string and XML templates
+            return STRING;
+        }
+        if (!isWord(text)) {
+            // Operators and punctuation are left to the client
+            return UNCLASSIFIED;
+        }
+        return symbolicName.startsWith("TYPE_") ? TYPE : KEYWORD;
+    }
+
+    private static int getSymbolType(BSymbol symbol) {
+        if (symbol.kind == null) {
+            return UNCLASSIFIED;
+        }
+        switch (symbol.kind) {
+            case PACKAGE:
+            case XMLNS:
+                return NAMESPACE;
+            case STRUCT:
+                return STRUCT;
+            case ENUM:
+                return ENUM;
+            case ENUMERATOR:
+                return ENUM_MEMBER;
+            case CONNECTOR:
+            case SERVICE:
+                return CLASS;
+            case ANNOTATION:
+                return TYPE;
+            case FUNCTION:
+            case TRANSFORMER:
+            case WORKER:
+                return FUNCTION;
+            case ACTION:
+            case RESOURCE:
+                return METHOD;
+            case ANNOTATION_ATTRIBUTE:
+                return PROPERTY;
+            case VARIABLE:
+            case PACKAGE_VARIABLE:
+            case CONSTANT:
+                return symbol.owner != null && SymbolKind.STRUCT.equals(symbol.owner.kind) ? PROPERTY : VARIABLE;
+            default:
+                return UNCLASSIFIED;
+        }
+    }
+
+    private static boolean isWord(String text) {
+        if (text.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < text.length(); i++) {
+            if (!Character.isLetter(text.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Encodes the tokens relative to the previous token, splitting the tokens which span lines.
+     */
+    private static class Encoder {
+
+        private final Range range;
+        private final List<Integer> data = new ArrayList<>();
+        private int previousLine;
+        private int previousColumn;
+
+        private Encoder(Range range) {
+            this.range = range;
+        }
+
+        private void add(int line, int column, String text, int type, int modifiers) {
+            if (type == UNCLASSIFIED) {
+                return;
+            }
+            int segmentStart = 0;
+            for (int i = 0; i <= text.length(); i++) {
+                if (i < text.length() && text.charAt(i) != '\n' && text.charAt(i) != '\r') {
+                    continue;
+                }
+                this.addSegment(line, column, i - segmentStart, type, modifiers);
+                if (i < text.length() && text.charAt(i) == '\r' && i + 1 < text.length()
+                        && text.charAt(i + 1) == '\n') {
+                    i++;
+                }
+                line++;
+                column = 0;
+                segmentStart = i + 1;
+            }
+        }
+
+        private void addSegment(int line, int column, int length, int type, int modifiers) {
+            if (length == 0 || (range != null && (line < range.getStart().getLine()
+                    || line > range.getEnd().getLine()))) {
+                return;
+            }
+            data.add(line - previousLine);
+            data.add(line == previousLine ? column - previousColumn : column);
+            data.add(length);
+            data.add(type);
+            data.add(modifiers);
+            previousLine = line;
+            previousColumn = column;
+        }
+    }
+}
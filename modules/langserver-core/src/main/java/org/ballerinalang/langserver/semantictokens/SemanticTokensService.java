@@ -0,0 +1,61 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.langserver.semantictokens;
+
+import org.eclipse.lsp4j.jsonrpc.messages.Either;
+import org.eclipse.lsp4j.jsonrpc.services.JsonRequest;
+import org.eclipse.lsp4j.jsonrpc.services.JsonSegment;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Custom requests of the language server for semantic highlighting, served under the {@code ballerina/} method
+ * prefix. The requests and their results follow the shape of the semantic tokens requests of the language server
+ * protocol, and the legend is advertised under the {@code semanticTokensProvider} experimental capability.
+ */
+@JsonSegment("ballerina")
+public interface SemanticTokensService {
+
+    /**
+     * Get the semantic tokens of a whole document.
+     *
+     * @param params document to get the tokens of
+     * @return tokens of the document
+     */
+    @JsonRequest("semanticTokens/full")
+    CompletableFuture<SemanticTokens> semanticTokensFull(SemanticTokensParams params);
+
+    /**
+     * Get the changes to the semantic tokens of a document since a previous result.
+     *
+     * @param params document and the result ID of the tokens the client has
+     * @return edits to the previous tokens, or all the tokens if the previous result is no longer known
+     */
+    @JsonRequest("semanticTokens/full/delta")
+    CompletableFuture<Either<SemanticTokens, SemanticTokensDelta>> semanticTokensFullDelta(
+            SemanticTokensParams params);
+
+    /**
+     * Get the semantic tokens within a range of a document.
+     *
+     * @param params document and the range to get the tokens of
+     * @return tokens within the range
+     */
+    @JsonRequest("semanticTokens/range")
+    CompletableFuture<SemanticTokens> semanticTokensRange(SemanticTokensParams params);
+}
@@ -0,0 +1,69 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.langserver.signature;
+
+import org.eclipse.lsp4j.SignatureInformation;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Signatures of the library packages, which are the same for every compilation and are hence built once and shared
+ * by all the sessions. The cached signatures must not be modified.
+ */
+public class LibrarySignatureCache {
+
+    private static final String LIBRARY_PACKAGE_PREFIX = "ballerina.";
+
+    private final Map<String, Map<String, List<SignatureInformation>>> packageSignatures = new ConcurrentHashMap<>();
+
+    /**
+     * Checks whether the given package is a library package, rather than a package of the workspace.
+     *
+     * @param packageName fully qualified name of the package
+     * @return true if the package is a library package
+     */
+    public static boolean isLibraryPackage(String packageName) {
+        return packageName != null && packageName.startsWith(LIBRARY_PACKAGE_PREFIX);
+    }
+
+    /**
+     * Get the signatures of the given library package, building them on first access.
+     *
+     * @param packageName fully qualified name of the package
+     * @param builder     builder of the signatures of the package
+     * @return signatures of the package
+     */
+    public Map<String, List<SignatureInformation>> getSignatures(String packageName,
+                                                                 Supplier<Map<String, List<SignatureInformation>>>
+                                                                         builder) {
+        Map<String, List<SignatureInformation>> signatures = packageSignatures.get(packageName);
+        if (signatures == null) {
+            // Built outside of the map, since building the signatures of a large package takes a while
+            signatures = Collections.unmodifiableMap(builder.get());
+            Map<String, List<SignatureInformation>> existing = packageSignatures.putIfAbsent(packageName, signatures);
+            if (existing != null) {
+                signatures = existing;
+            }
+        }
+        return signatures;
+    }
+}
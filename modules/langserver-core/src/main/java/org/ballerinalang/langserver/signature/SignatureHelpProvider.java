@@ -0,0 +1,245 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.langserver.signature;
+
+import org.antlr.v4.runtime.ANTLRInputStream;
+import org.antlr.v4.runtime.Token;
+import org.ballerinalang.langserver.compiler.PackageCompilation;
+import org.ballerinalang.langserver.index.PositionIndexBuilder;
+import org.ballerinalang.langserver.index.SymbolOccurrence;
+import org.ballerinalang.langserver.query.PackageQuery;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.SignatureHelp;
+import org.eclipse.lsp4j.SignatureInformation;
+import org.wso2.ballerinalang.compiler.parser.antlr4.BallerinaLexer;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BEndpointType;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BType;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Provides signature help by resolving the enclosing invocation from the tokens before the cursor, and looking up its
+ * signatures in the {@link SignatureTable} of the package. Only the text before the cursor is lexed, and no semantic
+ * analysis happens per request. The type of the receiver of a member invocation is looked up in the compilation, and
+ * the members of all the types are matched by name when the compilation does not know the receiver yet.
+ */
+public class SignatureHelpProvider {
+
+    private static final Pattern IDENTIFIER_PATTERN = Pattern.compile("[a-zA-Z_][a-zA-Z0-9_]*");
+
+    private static final Set<String> OPENING_BRACKETS = new HashSet<>(Arrays.asList("(", "[", "{"));
+
+    private static final Set<String> CLOSING_BRACKETS = new HashSet<>(Arrays.asList(")", "]", "}"));
+
+    // Keywords which are followed by a parenthesis, but do not start an invocation
+    private static final Set<String> NON_INVOCATION_KEYWORDS = new HashSet<>(Arrays.asList("if", "while", "catch",
+            "foreach", "return", "throw", "typeof", "lengthof", "function", "action", "resource", "connector",
+            "transformer", "worker", "join", "timeout"));
+
+    /**
+     * Get the signature help for the given position.
+     *
+     * @param compilation compilation of the package the document belongs to
+     * @param filePath    path of the document
+     * @param content     content of the document
+     * @param position    zero based position of the cursor
+     * @return {@link SignatureHelp}, or null if the cursor is not within the arguments of an invocation
+     */
+    public static SignatureHelp getSignatureHelp(PackageCompilation compilation, Path filePath, String content,
+                                                 Position position) {
+        int offset = getOffset(content, position);
+        if (offset < 0) {
+            return null;
+        }
+        InvocationContext invocationContext = resolveInvocation(content.substring(0, offset));
+        if (invocationContext == null) {
+            return null;
+        }
+
+        SignatureTable signatureTable = compilation.getFeature(SignatureTable.class, SignatureTable::build);
+        List<SignatureInformation> signatures;
+        if (invocationContext.packageAlias != null) {
+            signatures = signatureTable.getPackageSignatures(invocationContext.packageAlias, invocationContext.name);
+        } else if (invocationContext.isMember) {
+            BType receiverType = getReceiverType(compilation, filePath, invocationContext);
+            signatures = receiverType == null ? signatureTable.getMemberSignatures(invocationContext.name)
+                    : signatureTable.getMemberSignatures(receiverType.tsymbol, invocationContext.name);
+        } else {
+            signatures = signatureTable.getSignatures(invocationContext.name);
+        }
+        if (signatures.isEmpty()) {
+            return null;
+        }
+
+        // Prefer the first signature which accepts as many arguments as already written
+        int activeSignature = 0;
+        for (int i = 0; i < signatures.size(); i++) {
+            if (signatures.get(i).getParameters().size() > invocationContext.argumentIndex) {
+                activeSignature = i;
+                break;
+            }
+        }
+        return new SignatureHelp(signatures, activeSignature, invocationContext.argumentIndex);
+    }
+
+    /**
+     * Get the type of the receiver of a member invocation from the compilation. The compilation may be older than the
+     * content, hence the symbol at the position of the receiver is only trusted when it has the same name.
+     *
+     * @param compilation       compilation of the package the document belongs to
+     * @param filePath          path of the document
+     * @param invocationContext member invocation
+     * @return type of the receiver, or null if it is not known
+     */
+    private static BType getReceiverType(PackageCompilation compilation, Path filePath,
+                                         InvocationContext invocationContext) {
+        if (invocationContext.receiverName == null || filePath == null || filePath.getFileName() == null) {
+            return null;
+        }
+        SymbolOccurrence occurrence = PackageQuery.of(compilation).getOccurrenceAt(filePath.getFileName().toString(),
+                invocationContext.receiverLine, invocationContext.receiverColumn);
+        if (occurrence == null || occurrence.getSymbol().type == null
+                || !invocationContext.receiverName.equals(PositionIndexBuilder.getSimpleName(occurrence.getSymbol()))) {
+            return null;
+        }
+        BType receiverType = occurrence.getSymbol().type;
+        if (receiverType instanceof BEndpointType) {
+            // Actions are invoked on endpoints, and are owned by the connector the endpoint is constrained to
+            receiverType = ((BEndpointType) receiverType).constraint;
+        }
+        return receiverType == null || receiverType.tsymbol == null ? null : receiverType;
+    }
+
+    /**
+     * Resolve the innermost invocation left open at the end of the given text.
+     *
+     * @param text text before the cursor
+     * @return {@link InvocationContext}, or null if the text does not end within the arguments of an invocation
+     */
+    static InvocationContext resolveInvocation(String text) {
+        BallerinaLexer lexer = new BallerinaLexer(new ANTLRInputStream(text));
+        lexer.removeErrorListeners();
+        List<Token> tokens = new ArrayList<>();
+        for (Token token : lexer.getAllTokens()) {
+            if (token.getChannel() == Token.DEFAULT_CHANNEL) {
+                tokens.add(token);
+            }
+        }
+
+        int depth = 0;
+        int argumentIndex = 0;
+        for (int i = tokens.size() - 1; i >= 0; i--) {
+            String tokenText = tokens.get(i).getText();
+            if (CLOSING_BRACKETS.contains(tokenText)) {
+                depth++;
+            } else if (OPENING_BRACKETS.contains(tokenText)) {
+                if (depth > 0) {
+                    depth--;
+                } else if ("(".equals(tokenText)) {
+                    return createInvocationContext(tokens, i, argumentIndex);
+                } else {
+                    // Within an array or a map literal which is not enclosed by an invocation
+                    return null;
+                }
+            } else if (",".equals(tokenText) && depth == 0) {
+                argumentIndex++;
+            } else if (";".equals(tokenText)) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private static InvocationContext createInvocationContext(List<Token> tokens, int openParenIndex,
+                                                             int argumentIndex) {
+        int nameIndex = openParenIndex - 1;
+        if (nameIndex < 0 || !isIdentifier(tokens.get(nameIndex).getText())) {
+            return null;
+        }
+        String name = tokens.get(nameIndex).getText();
+        String previous = nameIndex > 0 ? tokens.get(nameIndex - 1).getText() : "";
+        if (":".equals(previous) && nameIndex > 1 && isIdentifier(tokens.get(nameIndex - 2).getText())) {
+            return new InvocationContext(tokens.get(nameIndex - 2).getText(), name, argumentIndex);
+        } else if (".".equals(previous) || "->".equals(previous)) {
+            // Only a receiver which is a plain identifier can be looked up by its position
+            Token receiver = nameIndex > 1 ? tokens.get(nameIndex - 2) : null;
+            boolean isIdentifierReceiver = receiver != null && isIdentifier(receiver.getText());
+            return new InvocationContext(name, argumentIndex, isIdentifierReceiver ? receiver : null);
+        } else if (NON_INVOCATION_KEYWORDS.contains(previous)) {
+            // Definition of a function, an action or a worker
+            return null;
+        }
+        return new InvocationContext(null, name, argumentIndex);
+    }
+
+    private static boolean isIdentifier(String text) {
+        return IDENTIFIER_PATTERN.matcher(text).matches() && !NON_INVOCATION_KEYWORDS.contains(text);
+    }
+
+    private static int getOffset(String content, Position position) {
+        int offset = 0;
+        for (int line = 0; line < position.getLine(); line++) {
+            offset = content.indexOf('\n', offset);
+            if (offset < 0) {
+                return -1;
+            }
+            offset++;
+        }
+        return Math.min(offset + position.getCharacter(), content.length());
+    }
+
+    /**
+     * Invocation enclosing the cursor.
+     */
+    static class InvocationContext {
+        private final String packageAlias;
+        private final String name;
+        private final boolean isMember;
+        private final int argumentIndex;
+        private final String receiverName;
+        private final int receiverLine;
+        private final int receiverColumn;
+
+        InvocationContext(String packageAlias, String name, int argumentIndex) {
+            this.packageAlias = packageAlias;
+            this.name = name;
+            this.isMember = false;
+            this.argumentIndex = argumentIndex;
+            this.receiverName = null;
+            this.receiverLine = -1;
+            this.receiverColumn = -1;
+        }
+
+        InvocationContext(String name, int argumentIndex, Token receiver) {
+            this.packageAlias = null;
+            this.name = name;
+            this.isMember = true;
+            this.argumentIndex = argumentIndex;
+            this.receiverName = receiver == null ? null : receiver.getText();
+            // Lines of the lexer are one based
+            this.receiverLine = receiver == null ? -1 : receiver.getLine() - 1;
+            this.receiverColumn = receiver == null ? -1 : receiver.getCharPositionInLine();
+        }
+    }
+}
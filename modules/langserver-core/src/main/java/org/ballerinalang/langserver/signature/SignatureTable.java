@@ -0,0 +1,218 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.langserver.signature;
+
+import org.ballerinalang.langserver.compiler.PackageCompilation;
+import org.ballerinalang.langserver.completions.resolvers.AbstractItemResolver;
+import org.ballerinalang.langserver.index.PositionIndexBuilder;
+import org.ballerinalang.model.symbols.SymbolKind;
+import org.eclipse.lsp4j.ParameterInformation;
+import org.eclipse.lsp4j.SignatureInformation;
+import org.wso2.ballerinalang.compiler.semantics.model.Scope;
+import org.wso2.ballerinalang.compiler.semantics.model.symbols.BInvokableSymbol;
+import org.wso2.ballerinalang.compiler.semantics.model.symbols.BSymbol;
+import org.wso2.ballerinalang.compiler.semantics.model.symbols.BVarSymbol;
+import org.wso2.ballerinalang.compiler.tree.BLangImportPackage;
+import org.wso2.ballerinalang.compiler.tree.BLangPackage;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Signatures of the functions and actions invocable from a package, built once per compilation. Signatures are keyed
+ * by the way they are invoked: {@code name} for the functions of the package and the built in functions,
+ * {@code alias:name} for the functions of imported packages and {@code package:Type.name} for the attached functions
+ * and the actions, which are invoked on a value of the owner type.
+ */
+public class SignatureTable {
+
+    private static final String PACKAGE_SEPARATOR = ":";
+    private static final String MEMBER_SEPARATOR = ".";
+
+    private final Map<String, List<SignatureInformation>> signatures = new HashMap<>();
+    private final Map<String, List<SignatureInformation>> memberSignaturesByName = new HashMap<>();
+
+    private SignatureTable() {
+    }
+
+    /**
+     * Build the signature table of the given compilation.
+     *
+     * @param compilation package compilation
+     * @return {@link SignatureTable}
+     */
+    public static SignatureTable build(PackageCompilation compilation) {
+        SignatureTable signatureTable = new SignatureTable();
+        BLangPackage bLangPackage = compilation.getBLangPackage();
+        if (bLangPackage == null) {
+            return signatureTable;
+        }
+
+        LibrarySignatureCache libraryCache = compilation.getGlobalContext().getLibrarySignatureCache();
+        if (compilation.getBuiltInPackageSymbol() != null) {
+            signatureTable.addSignatures("", getPackageSignatures(compilation.getBuiltInPackageSymbol(),
+                    libraryCache));
+        }
+        if (bLangPackage.symbol != null) {
+            signatureTable.addSignatures("", getPackageSignatures(bLangPackage.symbol, libraryCache));
+        }
+        for (BLangImportPackage importPackage : bLangPackage.imports) {
+            if (importPackage.symbol != null && importPackage.alias != null) {
+                signatureTable.addSignatures(importPackage.alias.value + PACKAGE_SEPARATOR,
+                        getPackageSignatures(importPackage.symbol, libraryCache));
+            }
+        }
+        return signatureTable;
+    }
+
+    /**
+     * Get the signatures for a plain invocation, such as {@code foo(}.
+     *
+     * @param name name of the function
+     * @return signatures matching the invocation
+     */
+    public List<SignatureInformation> getSignatures(String name) {
+        return signatures.getOrDefault(name, Collections.emptyList());
+    }
+
+    /**
+     * Get the signatures for an invocation qualified with a package alias, such as {@code io:println(}.
+     *
+     * @param packageAlias alias of the package
+     * @param name         name of the function
+     * @return signatures matching the invocation
+     */
+    public List<SignatureInformation> getPackageSignatures(String packageAlias, String name) {
+        return signatures.getOrDefault(packageAlias + PACKAGE_SEPARATOR + name, Collections.emptyList());
+    }
+
+    /**
+     * Get the signatures for an invocation on a value of the given type, such as {@code person.getName(}.
+     *
+     * @param ownerType type symbol of the receiver
+     * @param name      name of the attached function or the action
+     * @return signatures matching the invocation
+     */
+    public List<SignatureInformation> getMemberSignatures(BSymbol ownerType, String name) {
+        return signatures.getOrDefault(getMemberKey(ownerType, name), Collections.emptyList());
+    }
+
+    /**
+     * Get the signatures for an invocation on an expression of which the type is not known, matching the attached
+     * functions and the actions of all the types by name.
+     *
+     * @param name name of the attached function or the action
+     * @return signatures matching the invocation
+     */
+    public List<SignatureInformation> getMemberSignatures(String name) {
+        return memberSignaturesByName.getOrDefault(name, Collections.emptyList());
+    }
+
+    /**
+     * Get the signatures of a package keyed without the package alias. The signatures of library packages are shared
+     * through the library cache.
+     *
+     * @param packageSymbol symbol of the package
+     * @param libraryCache  cache of the library signatures
+     * @return signatures of the package
+     */
+    private static Map<String, List<SignatureInformation>> getPackageSignatures(BSymbol packageSymbol,
+                                                                               LibrarySignatureCache libraryCache) {
+        String packageName = packageSymbol.pkgID == null ? null : packageSymbol.pkgID.getName().getValue();
+        if (LibrarySignatureCache.isLibraryPackage(packageName)) {
+            return libraryCache.getSignatures(packageName, () -> collectSignatures(packageSymbol.scope));
+        }
+        return collectSignatures(packageSymbol.scope);
+    }
+
+    private static Map<String, List<SignatureInformation>> collectSignatures(Scope scope) {
+        Map<String, List<SignatureInformation>> scopeSignatures = new HashMap<>();
+        collectSignatures(scope, scopeSignatures);
+        return scopeSignatures;
+    }
+
+    private static void collectSignatures(Scope scope, Map<String, List<SignatureInformation>> scopeSignatures) {
+        if (scope == null || scope.entries == null) {
+            return;
+        }
+        for (Scope.ScopeEntry entry : scope.entries.values()) {
+            for (Scope.ScopeEntry current = entry; current != null; current = current.next) {
+                BSymbol symbol = current.symbol;
+                if (symbol instanceof BInvokableSymbol) {
+                    collectInvokable((BInvokableSymbol) symbol, scopeSignatures);
+                } else if (symbol != null && SymbolKind.CONNECTOR.equals(symbol.kind)) {
+                    // Actions live in the scope of the connector
+                    collectSignatures(symbol.scope, scopeSignatures);
+                }
+            }
+        }
+    }
+
+    private static void collectInvokable(BInvokableSymbol symbol,
+                                         Map<String, List<SignatureInformation>> scopeSignatures) {
+        if (SymbolKind.WORKER.equals(symbol.kind) || symbol.getName().getValue().contains("<")) {
+            return;
+        }
+        String name = PositionIndexBuilder.getSimpleName(symbol);
+        String key = name;
+        if (symbol.receiverSymbol != null && symbol.receiverSymbol.type != null) {
+            key = getMemberKey(symbol.receiverSymbol.type.tsymbol, name);
+        } else if (SymbolKind.ACTION.equals(symbol.kind)) {
+            // Actions are owned by the connector
+            key = getMemberKey(symbol.owner, name);
+        }
+        scopeSignatures.computeIfAbsent(key, k -> new ArrayList<>()).add(createSignatureInformation(symbol));
+    }
+
+    private void addSignatures(String keyPrefix, Map<String, List<SignatureInformation>> scopeSignatures) {
+        for (Map.Entry<String, List<SignatureInformation>> entry : scopeSignatures.entrySet()) {
+            String key = entry.getKey();
+            // Plain names never contain the separator. Members are invoked on expressions, hence they are qualified
+            // with the owner type rather than the package alias
+            int separatorIndex = key.lastIndexOf(MEMBER_SEPARATOR);
+            if (separatorIndex < 0) {
+                key = keyPrefix + key;
+            } else {
+                memberSignaturesByName.computeIfAbsent(key.substring(separatorIndex + 1), k -> new ArrayList<>())
+                        .addAll(entry.getValue());
+            }
+            signatures.computeIfAbsent(key, k -> new ArrayList<>()).addAll(entry.getValue());
+        }
+    }
+
+    private static String getMemberKey(BSymbol ownerType, String name) {
+        if (ownerType == null || ownerType.name == null) {
+            return MEMBER_SEPARATOR + name;
+        }
+        String typeName = ownerType.name.getValue();
+        return ownerType.pkgID == null ? typeName + MEMBER_SEPARATOR + name
+                : ownerType.pkgID + PACKAGE_SEPARATOR + typeName + MEMBER_SEPARATOR + name;
+    }
+
+    private static SignatureInformation createSignatureInformation(BInvokableSymbol symbol) {
+        List<ParameterInformation> parameters = new ArrayList<>();
+        for (BVarSymbol param : symbol.getParameters()) {
+            parameters.add(new ParameterInformation(param.getType() + " " + param.getName()));
+        }
+        String label = AbstractItemResolver.getFunctionSignature(symbol).getLabel();
+        return new SignatureInformation(label, null, parameters);
+    }
+}
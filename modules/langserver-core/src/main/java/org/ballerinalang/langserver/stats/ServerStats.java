@@ -0,0 +1,131 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.langserver.stats;
+
+import java.util.Map;
+
+/**
+ * Snapshot of the statistics of a language server session, as answered to the {@code ballerina/serverStats}
+ * request.
+ */
+public class ServerStats {
+
+    private final int cachedCompilations;
+    private final long compilationCacheRetainedBytes;
+    private final long compilationCacheBudgetBytes;
+    private final double compilationCacheHitRate;
+    private final double completionCacheHitRate;
+    private final int inFlightCompiles;
+    private final int pendingDocumentOperations;
+    private final int activeDocumentMailboxes;
+    private final long queuedRequestTasks;
+    private final long queuedIndexerTasks;
+    private final long heapUsedBytes;
+    private final long heapMaxBytes;
+    private final long gcCount;
+    private final long gcTimeMillis;
+    private final Map<String, RequestLatency> requestLatencies;
+
+    private ServerStats(ServerStatsMXBean stats) {
+        this.cachedCompilations = stats.getCachedCompilations();
+        this.compilationCacheRetainedBytes = stats.getCompilationCacheRetainedBytes();
+        this.compilationCacheBudgetBytes = stats.getCompilationCacheBudgetBytes();
+        this.compilationCacheHitRate = stats.getCompilationCacheHitRate();
+        this.completionCacheHitRate = stats.getCompletionCacheHitRate();
+        this.inFlightCompiles = stats.getInFlightCompiles();
+        this.pendingDocumentOperations = stats.getPendingDocumentOperations();
+        this.activeDocumentMailboxes = stats.getActiveDocumentMailboxes();
+        this.queuedRequestTasks = stats.getQueuedRequestTasks();
+        this.queuedIndexerTasks = stats.getQueuedIndexerTasks();
+        this.heapUsedBytes = stats.getHeapUsedBytes();
+        this.heapMaxBytes = stats.getHeapMaxBytes();
+        this.gcCount = stats.getGcCount();
+        this.gcTimeMillis = stats.getGcTimeMillis();
+        this.requestLatencies = stats.getRequestLatencies();
+    }
+
+    /**
+     * Take a snapshot of the given live statistics.
+     *
+     * @param stats live statistics
+     * @return snapshot of the statistics
+     */
+    public static ServerStats of(ServerStatsMXBean stats) {
+        return new ServerStats(stats);
+    }
+
+    public int getCachedCompilations() {
+        return cachedCompilations;
+    }
+
+    public long getCompilationCacheRetainedBytes() {
+        return compilationCacheRetainedBytes;
+    }
+
+    public long getCompilationCacheBudgetBytes() {
+        return compilationCacheBudgetBytes;
+    }
+
+    public double getCompilationCacheHitRate() {
+        return compilationCacheHitRate;
+    }
+
+    public double getCompletionCacheHitRate() {
+        return completionCacheHitRate;
+    }
+
+    public int getInFlightCompiles() {
+        return inFlightCompiles;
+    }
+
+    public int getPendingDocumentOperations() {
+        return pendingDocumentOperations;
+    }
+
+    public int getActiveDocumentMailboxes() {
+        return activeDocumentMailboxes;
+    }
+
+    public long getQueuedRequestTasks() {
+        return queuedRequestTasks;
+    }
+
+    public long getQueuedIndexerTasks() {
+        return queuedIndexerTasks;
+    }
+
+    public long getHeapUsedBytes() {
+        return heapUsedBytes;
+    }
+
+    public long getHeapMaxBytes() {
+        return heapMaxBytes;
+    }
+
+    public long getGcCount() {
+        return gcCount;
+    }
+
+    public long getGcTimeMillis() {
+        return gcTimeMillis;
+    }
+
+    public Map<String, RequestLatency> getRequestLatencies() {
+        return requestLatencies;
+    }
+}
@@ -0,0 +1,215 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.langserver.stats;
+
+import org.ballerinalang.langserver.LSGlobalContext;
+import org.ballerinalang.langserver.compiler.LSCompiler;
+import org.ballerinalang.langserver.completions.CompletionCache;
+import org.ballerinalang.langserver.workspace.DocumentMailboxes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Collects the statistics of a language server session: the compilation and completion caches, the pending work, the
+ * latencies of the requests and the heap. The statistics are read live, and exposed both as an MXBean and through
+ * the {@code ballerina/serverStats} request.
+ */
+public class ServerStatsCollector implements ServerStatsMXBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ServerStatsCollector.class);
+    private static final String OBJECT_NAME_PREFIX = "org.ballerinalang.langserver:type=ServerStats,session=";
+    private static final AtomicInteger SESSION_COUNTER = new AtomicInteger();
+
+    private final LSCompiler lsCompiler;
+    private final CompletionCache completionCache;
+    private final DocumentMailboxes documentMailboxes;
+    private final LSGlobalContext globalContext;
+    private final Map<String, LatencyHistogram> latencies = new ConcurrentHashMap<>();
+    private ObjectName objectName;
+
+    public ServerStatsCollector(LSCompiler lsCompiler, CompletionCache completionCache,
+                                DocumentMailboxes documentMailboxes, LSGlobalContext globalContext) {
+        this.lsCompiler = lsCompiler;
+        this.completionCache = completionCache;
+        this.documentMailboxes = documentMailboxes;
+        this.globalContext = globalContext;
+    }
+
+    /**
+     * Record the latency of a request, from now until the given result completes.
+     *
+     * @param request name of the request
+     * @param result  result of the request
+     * @param <T>     type of the result
+     * @return the given result
+     */
+    public <T> CompletableFuture<T> recordLatency(String request, CompletableFuture<T> result) {
+        if (result == null) {
+            return null;
+        }
+        long startNanos = System.nanoTime();
+        LatencyHistogram histogram = latencies.computeIfAbsent(request, key -> new LatencyHistogram());
+        result.whenComplete((value, error) -> histogram.record(System.nanoTime() - startNanos));
+        return result;
+    }
+
+    /**
+     * Register the statistics with the platform MBean server. Failures are logged, as the statistics are optional.
+     */
+    public synchronized void registerMBean() {
+        if (objectName != null) {
+            return;
+        }
+        try {
+            ObjectName name = new ObjectName(OBJECT_NAME_PREFIX + SESSION_COUNTER.incrementAndGet());
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, name);
+            objectName = name;
+        } catch (JMException e) {
+            LOGGER.error("Failed to register the server statistics MBean: " + e.getMessage());
+        }
+    }
+
+    public synchronized void unregisterMBean() {
+        if (objectName == null) {
+            return;
+        }
+        MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        try {
+            mBeanServer.unregisterMBean(objectName);
+        } catch (JMException e) {
+            LOGGER.error("Failed to unregister the server statistics MBean: " + e.getMessage());
+        }
+        objectName = null;
+    }
+
+    @Override
+    public int getCachedCompilations() {
+        return lsCompiler.getCompilationCache().getAll().size();
+    }
+
+    @Override
+    public long getCompilationCacheRetainedBytes() {
+        return lsCompiler.getCompilationCache().getRetainedSize();
+    }
+
+    @Override
+    public long getCompilationCacheBudgetBytes() {
+        return globalContext.getCompilationMemoryManager().getBudgetBytes();
+    }
+
+    @Override
+    public double getCompilationCacheHitRate() {
+        return getRate(lsCompiler.getCacheHits(), lsCompiler.getCacheMisses());
+    }
+
+    @Override
+    public double getCompletionCacheHitRate() {
+        return getRate(completionCache.getHits(), completionCache.getMisses());
+    }
+
+    @Override
+    public int getInFlightCompiles() {
+        return lsCompiler.getInFlightCompiles();
+    }
+
+    @Override
+    public int getPendingDocumentOperations() {
+        return documentMailboxes.getPendingOperations();
+    }
+
+    @Override
+    public int getActiveDocumentMailboxes() {
+        return documentMailboxes.getActiveMailboxes();
+    }
+
+    @Override
+    public long getQueuedRequestTasks() {
+        return getQueuedTasks(globalContext.getRequestExecutor());
+    }
+
+    @Override
+    public long getQueuedIndexerTasks() {
+        return getQueuedTasks(globalContext.getIndexerPool());
+    }
+
+    @Override
+    public long getHeapUsedBytes() {
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    @Override
+    public long getHeapMaxBytes() {
+        MemoryUsage heapUsage = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        return heapUsage.getMax() < 0 ? heapUsage.getCommitted() : heapUsage.getMax();
+    }
+
+    @Override
+    public long getGcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(collector.getCollectionCount(), 0);
+        }
+        return count;
+    }
+
+    @Override
+    public long getGcTimeMillis() {
+        long timeMillis = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            timeMillis += Math.max(collector.getCollectionTime(), 0);
+        }
+        return timeMillis;
+    }
+
+    @Override
+    public Map<String, RequestLatency> getRequestLatencies() {
+        Map<String, RequestLatency> requestLatencies = new TreeMap<>();
+        latencies.forEach((request, histogram) -> requestLatencies.put(request, histogram.snapshot()));
+        return requestLatencies;
+    }
+
+    private static double getRate(long hits, long misses) {
+        long total = hits + misses;
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    private static long getQueuedTasks(ExecutorService executor) {
+        if (executor instanceof ForkJoinPool) {
+            ForkJoinPool pool = (ForkJoinPool) executor;
+            return pool.getQueuedSubmissionCount() + pool.getQueuedTaskCount();
+        } else if (executor instanceof ThreadPoolExecutor) {
+            return ((ThreadPoolExecutor) executor).getQueue().size();
+        }
+        return -1;
+    }
+}
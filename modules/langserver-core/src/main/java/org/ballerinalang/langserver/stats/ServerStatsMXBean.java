@@ -0,0 +1,57 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.langserver.stats;
+
+import java.util.Map;
+
+/**
+ * Statistics of a language server session exposed over JMX, registered under
+ * {@code org.ballerinalang.langserver:type=ServerStats,session=<n>}.
+ */
+public interface ServerStatsMXBean {
+
+    int getCachedCompilations();
+
+    long getCompilationCacheRetainedBytes();
+
+    long getCompilationCacheBudgetBytes();
+
+    double getCompilationCacheHitRate();
+
+    double getCompletionCacheHitRate();
+
+    int getInFlightCompiles();
+
+    int getPendingDocumentOperations();
+
+    int getActiveDocumentMailboxes();
+
+    long getQueuedRequestTasks();
+
+    long getQueuedIndexerTasks();
+
+    long getHeapUsedBytes();
+
+    long getHeapMaxBytes();
+
+    long getGcCount();
+
+    long getGcTimeMillis();
+
+    Map<String, RequestLatency> getRequestLatencies();
+}
@@ -0,0 +1,486 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.langserver.structure;
+
+import org.antlr.v4.runtime.ANTLRInputStream;
+import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.Vocabulary;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.wso2.ballerinalang.compiler.parser.antlr4.BallerinaLexer;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Brackets, comments and top level definitions of a document, found with the lexer alone. An edit confined to a top
+ * level bracket pair (i.e. the body of a function) re-lexes the pair alone, and the rest of the structure is shifted
+ * by the length of the edit. A full scan is done whenever the edit crosses the boundaries of a top level pair, or the
+ * re-lexed pair no longer closes where it used to.
+ */
+class DocumentStructure {
+
+    private static final String OPENING_BRACKETS = "{([";
+    private static final String CLOSING_BRACKETS = "})]";
+    private static final String COMMENT_START = "//";
+    private static final String IMPORT = "import";
+    private static final String SEMICOLON = ";";
+    private static final String CLOSING_BRACE = "}";
+    // Rough number of heap bytes of a bracket pair, a comment or a definition
+    private static final int RETAINED_BYTES_PER_ENTRY = 32;
+
+    private String content;
+    private int[] lineOffsets;
+    private List<Region> regions;
+    private List<Span> comments;
+    private List<Definition> definitions;
+
+    private DocumentStructure(String content, Scan scan) {
+        this.content = content;
+        this.lineOffsets = getLineOffsets(content);
+        this.regions = scan.regions;
+        this.comments = scan.comments;
+        this.definitions = scan.definitions;
+    }
+
+    static DocumentStructure scan(String content) {
+        return new DocumentStructure(content, Scan.of(content, 0));
+    }
+
+    /**
+     * Re-lex the top level bracket pair enclosing the edit which turns the current content into the given one.
+     *
+     * @param newContent new content of the document
+     * @return false if the edit is not confined to a single top level pair, and a full scan is needed
+     */
+    boolean rescan(String newContent) {
+        int prefix = 0;
+        int maxPrefix = Math.min(content.length(), newContent.length());
+        while (prefix < maxPrefix && content.charAt(prefix) == newContent.charAt(prefix)) {
+            prefix++;
+        }
+        int suffix = 0;
+        int maxSuffix = maxPrefix - prefix;
+        while (suffix < maxSuffix && content.charAt(content.length() - suffix - 1)
+                == newContent.charAt(newContent.length() - suffix - 1)) {
+            suffix++;
+        }
+        if (prefix == content.length() && prefix == newContent.length()) {
+            return true;
+        }
+        int editEnd = content.length() - suffix;
+        int delta = newContent.length() - content.length();
+
+        int editedIndex = -1;
+        for (int i = 0; i < regions.size(); i++) {
+            // The brackets of the pair have to stay, so that it still delimits the same part of the document
+            if (regions.get(i).open < prefix && editEnd <= regions.get(i).close) {
+                editedIndex = i;
+                break;
+            }
+        }
+        if (editedIndex < 0) {
+            return false;
+        }
+
+        Region edited = regions.get(editedIndex);
+        Scan scan = Scan.of(newContent.substring(edited.open, edited.close + delta + 1), edited.open);
+        if (!scan.balanced || scan.regions.size() != 1 || scan.regions.get(0).close != edited.close + delta) {
+            return false;
+        }
+
+        regions.set(editedIndex, scan.regions.get(0));
+        for (int i = editedIndex + 1; i < regions.size(); i++) {
+            regions.get(i).shift(delta);
+        }
+        List<Span> newComments = new ArrayList<>();
+        for (Span comment : comments) {
+            if (comment.end <= edited.open) {
+                newComments.add(comment);
+            } else if (comment.start > edited.close) {
+                if (!scan.comments.isEmpty()) {
+                    newComments.addAll(scan.comments);
+                    scan.comments.clear();
+                }
+                newComments.add(comment.shift(delta));
+            }
+        }
+        newComments.addAll(scan.comments);
+        comments = newComments;
+        for (Definition definition : definitions) {
+            if (definition.start > edited.open) {
+                definition.start += delta;
+                definition.end += delta;
+            } else if (definition.end > edited.open) {
+                definition.end += delta;
+            }
+        }
+        content = newContent;
+        lineOffsets = getLineOffsets(newContent);
+        return true;
+    }
+
+    /**
+     * Get the folding ranges of the document: the bracket pairs spanning lines, the runs of comments on consecutive
+     * lines, and the runs of import declarations.
+     *
+     * @return folding ranges
+     */
+    long getRetainedSize() {
+        // The content is the one of the document, unless the structure is behind it
+        return lineOffsets.length * 4L + (countRegions(regions) + comments.size() + definitions.size())
+                * (long) RETAINED_BYTES_PER_ENTRY;
+    }
+
+    private static int countRegions(List<Region> levelRegions) {
+        int count = levelRegions.size();
+        for (Region region : levelRegions) {
+            count += countRegions(region.children);
+        }
+        return count;
+    }
+
+    List<FoldingRange> getFoldingRanges() {
+        List<FoldingRange> foldingRanges = new ArrayList<>();
+        int importsStart = -1;
+        int importsEnd = -1;
+        for (Definition definition : definitions) {
+            if (!definition.isImport) {
+                this.addFoldingRange(foldingRanges, importsStart, importsEnd, FoldingRange.IMPORTS);
+                importsStart = -1;
+                continue;
+            }
+            if (importsStart < 0) {
+                importsStart = this.getLine(definition.start);
+            }
+            importsEnd = this.getLine(definition.end - 1);
+        }
+        this.addFoldingRange(foldingRanges, importsStart, importsEnd, FoldingRange.IMPORTS);
+
+        int commentsStart = -1;
+        int commentsEnd = -1;
+        for (Span comment : comments) {
+            int line = this.getLine(comment.start);
+            if (commentsStart < 0 || line != commentsEnd + 1) {
+                this.addFoldingRange(foldingRanges, commentsStart, commentsEnd, FoldingRange.COMMENT);
+                commentsStart = line;
+            }
+            commentsEnd = line;
+        }
+        this.addFoldingRange(foldingRanges, commentsStart, commentsEnd, FoldingRange.COMMENT);
+
+        this.addRegionFoldingRanges(foldingRanges, regions);
+        return foldingRanges;
+    }
+
+    /**
+     * Get the selection ranges around the given position, from the word at the position to the whole document.
+     *
+     * @param position position in the document
+     * @return innermost selection range, linked to the enclosing ones
+     */
+    SelectionRange getSelectionRange(Position position) {
+        int offset = this.getOffset(position);
+        List<int[]> spans = new ArrayList<>();
+        spans.add(new int[]{0, content.length()});
+        for (Definition definition : definitions) {
+            if (definition.start <= offset && offset <= definition.end) {
+                spans.add(new int[]{definition.start, definition.end});
+                break;
+            }
+        }
+        List<Region> levelRegions = regions;
+        Region enclosing;
+        while ((enclosing = findRegion(levelRegions, offset)) != null) {
+            spans.add(new int[]{enclosing.open, enclosing.close + 1});
+            if (offset > enclosing.open) {
+                spans.add(new int[]{enclosing.open + 1, enclosing.close});
+            }
+            levelRegions = enclosing.children;
+        }
+        for (Span comment : comments) {
+            if (comment.start <= offset && offset <= comment.end) {
+                spans.add(new int[]{comment.start, comment.end});
+                break;
+            }
+        }
+        int wordStart = offset;
+        while (wordStart > 0 && Character.isJavaIdentifierPart(content.charAt(wordStart - 1))) {
+            wordStart--;
+        }
+        int wordEnd = offset;
+        while (wordEnd < content.length() && Character.isJavaIdentifierPart(content.charAt(wordEnd))) {
+            wordEnd++;
+        }
+        if (wordEnd > wordStart) {
+            spans.add(new int[]{wordStart, wordEnd});
+        }
+
+        SelectionRange selectionRange = null;
+        int[] previous = null;
+        for (int[] span : spans) {
+            // Spans are added outermost first, and only the ones narrower than their parent are kept
+            if (previous != null && (span[0] < previous[0] || span[1] > previous[1]
+                    || (span[0] == previous[0] && span[1] == previous[1]))) {
+                continue;
+            }
+            selectionRange = new SelectionRange(new Range(this.getPosition(span[0]), this.getPosition(span[1])),
+                    selectionRange);
+            previous = span;
+        }
+        return selectionRange;
+    }
+
+    private void addFoldingRange(List<FoldingRange> foldingRanges, int startLine, int endLine, String kind) {
+        if (startLine >= 0 && endLine > startLine) {
+            foldingRanges.add(new FoldingRange(startLine, endLine, kind));
+        }
+    }
+
+    private void addRegionFoldingRanges(List<FoldingRange> foldingRanges, List<Region> levelRegions) {
+        for (Region region : levelRegions) {
+            // The line of the closing bracket stays visible, as it may continue with more code (i.e. "} else {")
+            int startLine = this.getLine(region.open);
+            int endLine = this.getLine(region.close) - 1;
+            this.addFoldingRange(foldingRanges, startLine, endLine, null);
+            this.addRegionFoldingRanges(foldingRanges, region.children);
+        }
+    }
+
+    private static Region findRegion(List<Region> levelRegions, int offset) {
+        for (Region region : levelRegions) {
+            if (region.open <= offset && offset <= region.close) {
+                return region;
+            }
+        }
+        return null;
+    }
+
+    private int getLine(int offset) {
+        int low = 0;
+        int high = lineOffsets.length - 1;
+        while (low < high) {
+            int middle = (low + high + 1) / 2;
+            if (lineOffsets[middle] <= offset) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    private Position getPosition(int offset) {
+        int line = this.getLine(offset);
+        return new Position(line, offset - lineOffsets[line]);
+    }
+
+    private int getOffset(Position position) {
+        int line = Math.max(Math.min(position.getLine(), lineOffsets.length - 1), 0);
+        return Math.max(Math.min(lineOffsets[line] + position.getCharacter(), content.length()), 0);
+    }
+
+    private static int[] getLineOffsets(String text) {
+        List<Integer> offsets = new ArrayList<>();
+        offsets.add(0);
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == '\n') {
+                offsets.add(i + 1);
+            }
+        }
+        int[] lineOffsets = new int[offsets.size()];
+        for (int i = 0; i < lineOffsets.length; i++) {
+            lineOffsets[i] = offsets.get(i);
+        }
+        return lineOffsets;
+    }
+
+    /**
+     * Span of the document, from the start offset up to the end offset, exclusive.
+     */
+    private static class Span {
+        private final int start;
+        private final int end;
+
+        Span(int start, int end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        Span shift(int delta) {
+            return new Span(start + delta, end + delta);
+        }
+    }
+
+    /**
+     * Top level definition or statement, up to its semicolon or the closing brace of its body.
+     */
+    private static class Definition {
+        private int start;
+        private int end;
+        private final boolean isImport;
+
+        Definition(int start, boolean isImport) {
+            this.start = start;
+            this.end = start;
+            this.isImport = isImport;
+        }
+    }
+
+    /**
+     * Pair of brackets, with the offsets of the opening and the closing bracket.
+     */
+    private static class Region {
+        private int open;
+        private int close;
+        private final char bracket;
+        private final List<Region> children = new ArrayList<>();
+
+        Region(int open, char bracket) {
+            this.open = open;
+            this.bracket = bracket;
+        }
+
+        void shift(int delta) {
+            open += delta;
+            close += delta;
+            children.forEach(child -> child.shift(delta));
+        }
+    }
+
+    /**
+     * Structure found by lexing a text, which starts at the given offset of the document.
+     */
+    private static class Scan {
+        private final List<Region> regions = new ArrayList<>();
+        private final List<Span> comments = new ArrayList<>();
+        private final List<Definition> definitions = new ArrayList<>();
+        private final Deque<Region> openRegions = new ArrayDeque<>();
+        private boolean balanced = true;
+        private Definition definition;
+        private boolean closedByBrace;
+
+        static Scan of(String text, int baseOffset) {
+            Scan scan = new Scan();
+            BallerinaLexer lexer = new BallerinaLexer(new ANTLRInputStream(text));
+            lexer.removeErrorListeners();
+            Vocabulary vocabulary = lexer.getVocabulary();
+            int previousEnd = 0;
+            for (Token token = lexer.nextToken(); token.getType() != Token.EOF; token = lexer.nextToken()) {
+                // Comments skipped by the lexer are found in the gaps between the tokens
+                scan.addComments(text, previousEnd, token.getStartIndex(), baseOffset);
+                previousEnd = token.getStopIndex() + 1;
+                String tokenText = token.getText();
+                String symbolicName = vocabulary.getSymbolicName(token.getType());
+                if (tokenText.startsWith(COMMENT_START) || (symbolicName != null && symbolicName.contains("COMMENT"))) {
+                    scan.comments.add(new Span(baseOffset + token.getStartIndex(), baseOffset + previousEnd));
+                } else if (!tokenText.trim().isEmpty()) {
+                    scan.addToken(tokenText, baseOffset + token.getStartIndex(), baseOffset + previousEnd);
+                }
+            }
+            scan.addComments(text, previousEnd, text.length(), baseOffset);
+            while (!scan.openRegions.isEmpty()) {
+                scan.dropOpenRegion();
+            }
+            return scan;
+        }
+
+        private void addToken(String text, int start, int end) {
+            if (openRegions.isEmpty()) {
+                if (definition != null && closedByBrace) {
+                    // A semicolon right after the closing brace belongs to the same definition, i.e. "json j = {};"
+                    if (SEMICOLON.equals(text)) {
+                        definition.end = end;
+                    }
+                    definition = null;
+                    closedByBrace = false;
+                    if (SEMICOLON.equals(text)) {
+                        return;
+                    }
+                }
+                if (definition == null) {
+                    definition = new Definition(start, IMPORT.equals(text));
+                    definitions.add(definition);
+                }
+                definition.end = end;
+                if (SEMICOLON.equals(text)) {
+                    definition = null;
+                }
+            }
+
+            int opening = OPENING_BRACKETS.indexOf(text);
+            int closing = CLOSING_BRACKETS.indexOf(text);
+            if (text.length() == 1 && opening >= 0) {
+                openRegions.push(new Region(start, text.charAt(0)));
+            } else if (text.length() == 1 && closing >= 0) {
+                this.closeRegion(OPENING_BRACKETS.charAt(closing), start);
+                if (openRegions.isEmpty() && definition != null) {
+                    definition.end = end;
+                    closedByBrace = CLOSING_BRACE.equals(text);
+                }
+            }
+        }
+
+        private void closeRegion(char bracket, int close) {
+            boolean matched = false;
+            for (Region region : openRegions) {
+                if (region.bracket == bracket) {
+                    matched = true;
+                    break;
+                }
+            }
+            if (!matched) {
+                balanced = false;
+                return;
+            }
+            while (openRegions.peek().bracket != bracket) {
+                this.dropOpenRegion();
+            }
+            Region region = openRegions.pop();
+            region.close = close;
+            (openRegions.isEmpty() ? regions : openRegions.peek().children).add(region);
+        }
+
+        /**
+         * Drop a bracket which is never closed, keeping the pairs within it.
+         */
+        private void dropOpenRegion() {
+            balanced = false;
+            Region region = openRegions.pop();
+            (openRegions.isEmpty() ? regions : openRegions.peek().children).addAll(region.children);
+        }
+
+        private void addComments(String text, int gapStart, int gapEnd, int baseOffset) {
+            int offset = gapStart;
+            while (offset < gapEnd) {
+                if (!text.startsWith(COMMENT_START, offset)) {
+                    offset++;
+                    continue;
+                }
+                int commentEnd = offset;
+                while (commentEnd < gapEnd && text.charAt(commentEnd) != '\n' && text.charAt(commentEnd) != '\r') {
+                    commentEnd++;
+                }
+                comments.add(new Span(baseOffset + offset, baseOffset + commentEnd));
+                offset = commentEnd;
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.langserver.structure;
+
+import org.eclipse.lsp4j.jsonrpc.services.JsonRequest;
+import org.eclipse.lsp4j.jsonrpc.services.JsonSegment;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Custom requests of the language server for the structure of the documents, served under the {@code ballerina/}
+ * method prefix. The requests and their results follow the shape of the folding range and selection range requests
+ * of the language server protocol.
+ */
+@JsonSegment("ballerina")
+public interface DocumentStructureService {
+
+    /**
+     * Get the folding ranges of a document.
+     *
+     * @param params document to get the folding ranges of
+     * @return folding ranges
+     */
+    @JsonRequest
+    CompletableFuture<List<FoldingRange>> foldingRange(FoldingRangeParams params);
+
+    /**
+     * Get the selection ranges around the given positions of a document.
+     *
+     * @param params document and the positions
+     * @return innermost selection range of each position
+     */
+    @JsonRequest
+    CompletableFuture<List<SelectionRange>> selectionRange(SelectionRangeParams params);
+}
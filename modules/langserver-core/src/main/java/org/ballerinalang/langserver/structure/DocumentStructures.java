@@ -0,0 +1,141 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.langserver.structure;
+
+import org.ballerinalang.langserver.compiler.EvictableCache;
+import org.eclipse.lsp4j.Position;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Structure of the open documents, kept apart from the document manager so that the folding and selection ranges are
+ * answered without waiting for the queued operations of the document, which may be compiling the package. The content
+ * of each version is recorded as it is received, and the structure is brought up to date with it on the next request.
+ * When the structures are evicted to keep the caches within the memory budget, they are scanned again on the next
+ * request.
+ */
+public class DocumentStructures implements EvictableCache {
+
+    private final Map<Path, Document> documents = new ConcurrentHashMap<>();
+
+    /**
+     * Record a version of a document received from the client.
+     *
+     * @param filePath path of the document
+     * @param version  version of the document
+     * @param content  content of the version
+     */
+    public void received(Path filePath, int version, String content) {
+        Document document = documents.computeIfAbsent(filePath, path -> new Document());
+        synchronized (document) {
+            if (version >= document.version) {
+                document.version = version;
+                document.content = content;
+            }
+        }
+    }
+
+    public void closed(Path filePath) {
+        documents.remove(filePath);
+    }
+
+    @Override
+    public long getRetainedSize() {
+        long retainedSize = 0;
+        for (Document document : documents.values()) {
+            synchronized (document) {
+                retainedSize += document.structure == null ? 0 : document.structure.getRetainedSize();
+            }
+        }
+        return retainedSize;
+    }
+
+    /**
+     * Drop the structures of the documents, keeping their latest content.
+     */
+    @Override
+    public void evict() {
+        for (Document document : documents.values()) {
+            synchronized (document) {
+                document.structure = null;
+            }
+        }
+    }
+
+    /**
+     * Get the folding ranges of the latest version of a document.
+     *
+     * @param filePath path of the document
+     * @return folding ranges, empty if the document is not open
+     */
+    public List<FoldingRange> getFoldingRanges(Path filePath) {
+        Document document = documents.get(filePath);
+        if (document == null) {
+            return new ArrayList<>();
+        }
+        synchronized (document) {
+            return document.getStructure().getFoldingRanges();
+        }
+    }
+
+    /**
+     * Get the selection ranges around the given positions of the latest version of a document.
+     *
+     * @param filePath  path of the document
+     * @param positions positions in the document
+     * @return innermost selection range of each position, empty if the document is not open
+     */
+    public List<SelectionRange> getSelectionRanges(Path filePath, List<Position> positions) {
+        List<SelectionRange> selectionRanges = new ArrayList<>();
+        Document document = documents.get(filePath);
+        if (document == null) {
+            return selectionRanges;
+        }
+        synchronized (document) {
+            DocumentStructure structure = document.getStructure();
+            for (Position position : positions) {
+                selectionRanges.add(structure.getSelectionRange(position));
+            }
+        }
+        return selectionRanges;
+    }
+
+    /**
+     * Latest version of a document, and its structure as of the version it was last requested for.
+     */
+    private static class Document {
+        private int version = Integer.MIN_VALUE;
+        private String content;
+        private DocumentStructure structure;
+        private int structureVersion;
+
+        DocumentStructure getStructure() {
+            if (structure == null) {
+                structure = DocumentStructure.scan(content);
+            } else if (structureVersion != version && !structure.rescan(content)) {
+                structure = DocumentStructure.scan(content);
+            }
+            structureVersion = version;
+            return structure;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.langserver.structure;
+
+/**
+ * Range of lines the client can fold. The line of the end is folded too.
+ */
+public class FoldingRange {
+
+    public static final String COMMENT = "comment";
+    public static final String IMPORTS = "imports";
+
+    private final int startLine;
+    private final int endLine;
+    private final String kind;
+
+    public FoldingRange(int startLine, int endLine, String kind) {
+        this.startLine = startLine;
+        this.endLine = endLine;
+        this.kind = kind;
+    }
+
+    public int getStartLine() {
+        return startLine;
+    }
+
+    public int getEndLine() {
+        return endLine;
+    }
+
+    /**
+     * Get the kind of the range, which the client may fold by default.
+     *
+     * @return {@link #COMMENT}, {@link #IMPORTS}, or null for a code block
+     */
+    public String getKind() {
+        return kind;
+    }
+}
@@ -0,0 +1,170 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.langserver.trace;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Records the phases of the requests served by the language server in a fixed size ring buffer, which keeps the
+ * latest spans only. The recorded spans can be exported in the Chrome trace event format, to be opened with
+ * chrome://tracing.
+ */
+public class RequestTracer {
+
+    /**
+     * System property which sets the number of spans kept in the buffer. Tracing is disabled when it is zero.
+     */
+    public static final String BUFFER_SIZE_PROPERTY = "ballerina.langserver.traceBufferSize";
+
+    /**
+     * Tracer which does not record any span.
+     */
+    public static final RequestTracer DISABLED = new RequestTracer(0);
+
+    private static final int DEFAULT_BUFFER_SIZE = 8192;
+    private static final long PROCESS_ID = 1;
+
+    private final AtomicReferenceArray<TraceSpan> spans;
+    private final AtomicLong nextSlot = new AtomicLong();
+    private final long originNanos = System.nanoTime();
+
+    public RequestTracer(int bufferSize) {
+        this.spans = new AtomicReferenceArray<>(bufferSize);
+    }
+
+    /**
+     * Create a tracer with the buffer size given by the {@link #BUFFER_SIZE_PROPERTY} system property.
+     *
+     * @return request tracer
+     */
+    public static RequestTracer fromSystemProperties() {
+        return new RequestTracer(Integer.getInteger(BUFFER_SIZE_PROPERTY, DEFAULT_BUFFER_SIZE));
+    }
+
+    public boolean isEnabled() {
+        return spans.length() > 0;
+    }
+
+    /**
+     * Start a span for a phase of a request. The span is recorded when it is closed.
+     *
+     * @param category request the phase belongs to
+     * @param name     name of the phase
+     * @return started span
+     */
+    public TraceSpan startSpan(String category, String name) {
+        return this.startSpan(category, name, null);
+    }
+
+    /**
+     * Start a span for a phase of a request. The span is recorded when it is closed.
+     *
+     * @param category request the phase belongs to
+     * @param name     name of the phase
+     * @param detail   detail of the phase, such as the package being compiled
+     * @return started span
+     */
+    public TraceSpan startSpan(String category, String name, String detail) {
+        if (!isEnabled()) {
+            return TraceSpan.NO_OP;
+        }
+        return new TraceSpan(this, category, name, detail);
+    }
+
+    void record(TraceSpan span) {
+        int slot = (int) (nextSlot.getAndIncrement() % spans.length());
+        spans.set(slot, span);
+    }
+
+    /**
+     * Get the recorded spans, ordered by their start time.
+     *
+     * @return recorded spans
+     */
+    public List<TraceSpan> getSpans() {
+        List<TraceSpan> recordedSpans = new ArrayList<>();
+        for (int i = 0; i < spans.length(); i++) {
+            TraceSpan span = spans.get(i);
+            if (span != null) {
+                recordedSpans.add(span);
+            }
+        }
+        recordedSpans.sort(Comparator.comparingLong(TraceSpan::getStartNanos));
+        return recordedSpans;
+    }
+
+    /**
+     * Export the recorded spans to a file in the Chrome trace event format.
+     *
+     * @param filePath path of the file to write
+     * @throws IOException if the file cannot be written
+     */
+    public void exportChromeTrace(Path filePath) throws IOException {
+        JsonArray traceEvents = new JsonArray();
+        Map<Long, String> threadNames = new HashMap<>();
+        for (TraceSpan span : this.getSpans()) {
+            JsonObject event = new JsonObject();
+            event.addProperty("name", span.getName());
+            event.addProperty("cat", span.getCategory());
+            event.addProperty("ph", "X");
+            event.addProperty("ts", (span.getStartNanos() - originNanos) / 1000.0);
+            event.addProperty("dur", span.getDurationNanos() / 1000.0);
+            event.addProperty("pid", PROCESS_ID);
+            event.addProperty("tid", span.getThreadId());
+            if (span.getDetail() != null) {
+                JsonObject args = new JsonObject();
+                args.addProperty("detail", span.getDetail());
+                event.add("args", args);
+            }
+            traceEvents.add(event);
+            threadNames.put(span.getThreadId(), span.getThreadName());
+        }
+        for (Map.Entry<Long, String> threadName : threadNames.entrySet()) {
+            JsonObject event = new JsonObject();
+            event.addProperty("name", "thread_name");
+            event.addProperty("ph", "M");
+            event.addProperty("pid", PROCESS_ID);
+            event.addProperty("tid", threadName.getKey());
+            JsonObject args = new JsonObject();
+            args.addProperty("name", threadName.getValue());
+            event.add("args", args);
+            traceEvents.add(event);
+        }
+
+        JsonObject trace = new JsonObject();
+        trace.add("traceEvents", traceEvents);
+        trace.addProperty("displayTimeUnit", "ms");
+        try (Writer writer = Files.newBufferedWriter(filePath, StandardCharsets.UTF_8)) {
+            writer.write(trace.toString());
+        }
+    }
+}
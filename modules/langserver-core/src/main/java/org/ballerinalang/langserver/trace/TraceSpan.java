@@ -0,0 +1,94 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.langserver.trace;
+
+/**
+ * A timed phase of a request. Spans are closed by the thread which started them, and are recorded in the buffer of
+ * the tracer when closed.
+ */
+public class TraceSpan implements AutoCloseable {
+
+    static final TraceSpan NO_OP = new TraceSpan(null, "", "", null);
+
+    private final RequestTracer tracer;
+    private final String category;
+    private final String name;
+    private final String detail;
+    private final long threadId;
+    private final String threadName;
+    private final long startNanos;
+    private long durationNanos;
+
+    TraceSpan(RequestTracer tracer, String category, String name, String detail) {
+        this.tracer = tracer;
+        this.category = category;
+        this.name = name;
+        this.detail = detail;
+        Thread thread = Thread.currentThread();
+        this.threadId = thread.getId();
+        this.threadName = thread.getName();
+        this.startNanos = tracer == null ? 0 : System.nanoTime();
+    }
+
+    /**
+     * Get the category of the span, which is the request the phase belongs to.
+     *
+     * @return category
+     */
+    public String getCategory() {
+        return category;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Get the detail of the span, such as the package being compiled.
+     *
+     * @return detail, or null if there is none
+     */
+    public String getDetail() {
+        return detail;
+    }
+
+    public long getThreadId() {
+        return threadId;
+    }
+
+    public String getThreadName() {
+        return threadName;
+    }
+
+    public long getStartNanos() {
+        return startNanos;
+    }
+
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    @Override
+    public void close() {
+        if (tracer == null) {
+            return;
+        }
+        durationNanos = System.nanoTime() - startNanos;
+        tracer.record(this);
+    }
+}
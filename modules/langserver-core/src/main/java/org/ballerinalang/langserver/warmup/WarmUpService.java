@@ -0,0 +1,177 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.langserver.warmup;
+
+import org.ballerinalang.langserver.LSGlobalContext;
+import org.ballerinalang.langserver.compiler.LSCompiler;
+import org.ballerinalang.langserver.compiler.PackageCompilation;
+import org.ballerinalang.langserver.formatting.BallerinaFormatter;
+import org.ballerinalang.langserver.hover.HoverProvider;
+import org.ballerinalang.langserver.index.PositionIndex;
+import org.ballerinalang.langserver.index.PositionIndexBuilder;
+import org.ballerinalang.langserver.signature.SignatureHelpProvider;
+import org.ballerinalang.langserver.signature.SignatureTable;
+import org.ballerinalang.langserver.trace.RequestTracer;
+import org.ballerinalang.langserver.workspace.WorkspaceDocumentManagerImpl;
+import org.eclipse.lsp4j.FormattingOptions;
+import org.eclipse.lsp4j.Position;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Warms up the language server by compiling a representative source and running the features on it, so that the
+ * compiler classes, the parser ATN and the library packages are loaded before the first request of the user. The
+ * warm-up runs on the global context of the server, so that the library signatures it caches are shared with the
+ * sessions rather than with a global context of its own.
+ */
+public class WarmUpService {
+
+    /**
+     * System property which enables the warm-up at initialize.
+     */
+    public static final String WARM_UP_PROPERTY = "ballerina.langserver.warmup";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WarmUpService.class);
+
+    private static final String WARM_UP_FILE_NAME = "warmup.bal";
+
+    private static final String WARM_UP_SOURCE = "import ballerina.net.http;\n" +
+            "\n" +
+            "struct Person {\n" +
+            "    string name;\n" +
+            "    int age;\n" +
+            "}\n" +
+            "\n" +
+            "function getAge (Person person) (int) {\n" +
+            "    return person.age;\n" +
+            "}\n" +
+            "\n" +
+            "function main (string[] args) {\n" +
+            "    Person person = {name:\"warm-up\", age:1};\n" +
+            "    int total = 0;\n" +
+            "    while (total < 10) {\n" +
+            "        total = total + getAge(person);\n" +
+            "    }\n" +
+            "    if (total > 5) {\n" +
+            "        println(person.name);\n" +
+            "    }\n" +
+            "}\n" +
+            "\n" +
+            "service<http> warmUpService {\n" +
+            "    resource warmUp (http:Request req, http:Response res) {\n" +
+            "        res.send();\n" +
+            "    }\n" +
+            "}\n";
+
+    // Classes which are not touched by compiling, but are on the path of the first requests
+    private static final String[] PRELOADED_CLASSES = {
+            "org.ballerinalang.langserver.completions.consts.CompletionItemResolver",
+            "org.ballerinalang.langserver.completions.TreeVisitor",
+            "org.ballerinalang.langserver.completions.BallerinaCustomErrorStrategy",
+            "org.ballerinalang.langserver.completions.SuggestionsFilterDataModel",
+            "org.ballerinalang.langserver.completions.util.positioning.resolvers.CursorPositionResolver",
+            "org.eclipse.lsp4j.CompletionItem",
+            "org.eclipse.lsp4j.CompletionList",
+            "org.eclipse.lsp4j.Hover",
+            "org.eclipse.lsp4j.SignatureHelp",
+            "org.eclipse.lsp4j.TextEdit"
+    };
+
+    private final LSGlobalContext globalContext;
+
+    public WarmUpService(LSGlobalContext globalContext) {
+        this.globalContext = globalContext;
+    }
+
+    /**
+     * Returns whether the warm-up is enabled for this process.
+     *
+     * @return true if the warm-up is enabled
+     */
+    public static boolean isEnabled() {
+        return Boolean.getBoolean(WARM_UP_PROPERTY);
+    }
+
+    /**
+     * Run the warm-up. Failures are logged and ignored, since the warm-up does not affect the results of requests.
+     */
+    public void warmUp() {
+        long startTime = System.currentTimeMillis();
+        this.preloadClasses();
+        Path warmUpDirectory = null;
+        try {
+            warmUpDirectory = Files.createTempDirectory("ballerina-langserver-warmup");
+            Path warmUpFile = warmUpDirectory.resolve(WARM_UP_FILE_NAME);
+            Files.write(warmUpFile, WARM_UP_SOURCE.getBytes(StandardCharsets.UTF_8));
+            this.runFeatures(warmUpFile);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.error("Error while warming up the language server: " + e.getMessage());
+        } finally {
+            deleteDirectory(warmUpDirectory);
+        }
+        LOGGER.info("Language server warmed up in " + (System.currentTimeMillis() - startTime) + "ms");
+    }
+
+    private void preloadClasses() {
+        ClassLoader classLoader = WarmUpService.class.getClassLoader();
+        for (String className : PRELOADED_CLASSES) {
+            try {
+                Class.forName(className, true, classLoader);
+            } catch (ClassNotFoundException | LinkageError e) {
+                LOGGER.debug("Unable to preload class " + className);
+            }
+        }
+    }
+
+    private void runFeatures(Path warmUpFile) {
+        // A compiler of its own, which is disposed so that the warm-up does not leave compilations of the temporary
+        // file behind
+        LSCompiler lsCompiler = new LSCompiler(new WorkspaceDocumentManagerImpl(), globalContext,
+                RequestTracer.DISABLED);
+        try {
+            PackageCompilation compilation = lsCompiler.compile(warmUpFile);
+            compilation.getFeature(PositionIndex.class, PositionIndexBuilder::build);
+            compilation.getFeature(SignatureTable.class, SignatureTable::build);
+
+            HoverProvider.getHover(compilation, warmUpFile, new Position(15, 26));
+            SignatureHelpProvider.getSignatureHelp(compilation, warmUpFile, WARM_UP_SOURCE, new Position(15, 31));
+            BallerinaFormatter.formatDocument(WARM_UP_SOURCE, new FormattingOptions(4, true));
+        } finally {
+            lsCompiler.dispose();
+            // No other program compiles from the temporary directory
+            globalContext.getCompilerContextPool().clear(lsCompiler.getPackageInfo(warmUpFile).getSourceRoot());
+        }
+    }
+
+    private static void deleteDirectory(Path directory) {
+        if (directory == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(directory.resolve(WARM_UP_FILE_NAME));
+            Files.deleteIfExists(directory);
+        } catch (IOException e) {
+            LOGGER.debug("Unable to delete the warm-up directory " + directory);
+        }
+    }
+}
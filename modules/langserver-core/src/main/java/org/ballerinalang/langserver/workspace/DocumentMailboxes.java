@@ -0,0 +1,129 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.langserver.workspace;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs the operations on each document one after the other, in the order they are submitted, while the operations on
+ * different documents run concurrently on a shared executor. Each document has a mailbox of pending operations, which
+ * is drained by a single task at a time and dropped once it is empty.
+ */
+public class DocumentMailboxes {
+
+    private final Executor executor;
+    private final Map<String, Mailbox> mailboxes = new ConcurrentHashMap<>();
+    private final AtomicInteger pendingOperations = new AtomicInteger();
+
+    public DocumentMailboxes(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Submit an operation on the given document, to be run after the operations submitted before on the document.
+     *
+     * @param uri       URI of the document
+     * @param operation operation to run
+     * @param <T>       type of the result of the operation
+     * @return future of the result of the operation
+     */
+    public <T> CompletableFuture<T> submit(String uri, Supplier<T> operation) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Runnable task = () -> {
+            pendingOperations.decrementAndGet();
+            try {
+                result.complete(operation.get());
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        };
+        pendingOperations.incrementAndGet();
+        boolean[] start = new boolean[1];
+        mailboxes.compute(uri, (key, mailbox) -> {
+            Mailbox target = mailbox == null ? new Mailbox() : mailbox;
+            target.pending.add(task);
+            if (!target.running) {
+                target.running = true;
+                start[0] = true;
+            }
+            return target;
+        });
+        if (start[0]) {
+            executor.execute(() -> this.drain(uri));
+        }
+        return result;
+    }
+
+    public CompletableFuture<Void> execute(String uri, Runnable operation) {
+        return this.submit(uri, () -> {
+            operation.run();
+            return null;
+        });
+    }
+
+    /**
+     * Get the number of operations waiting in the mailboxes, not counting the ones running.
+     *
+     * @return number of pending operations
+     */
+    public int getPendingOperations() {
+        return pendingOperations.get();
+    }
+
+    /**
+     * Get the number of documents which have operations pending or running.
+     *
+     * @return number of active mailboxes
+     */
+    public int getActiveMailboxes() {
+        return mailboxes.size();
+    }
+
+    /**
+     * Run the pending operations of the document until its mailbox is empty.
+     */
+    private void drain(String uri) {
+        Runnable[] next = new Runnable[1];
+        while (true) {
+            next[0] = null;
+            mailboxes.computeIfPresent(uri, (key, mailbox) -> {
+                next[0] = mailbox.pending.poll();
+                return next[0] == null ? null : mailbox;
+            });
+            if (next[0] == null) {
+                return;
+            }
+            next[0].run();
+        }
+    }
+
+    /**
+     * Pending operations of a document. Only accessed within the atomic updates of the mailbox map.
+     */
+    private static class Mailbox {
+        private final Queue<Runnable> pending = new ArrayDeque<>();
+        private boolean running;
+    }
+}
@@ -0,0 +1,73 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.langserver.workspace;
+
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks the latest version of each document received from the client. Versions are recorded as soon as a
+ * notification arrives, ahead of the queued operations applying it, so that an analysis can tell whether the
+ * versions it was computed from have been superseded by the time it finishes.
+ */
+public class DocumentVersionTracker {
+
+    private final Map<Path, Integer> receivedVersions = new ConcurrentHashMap<>();
+
+    /**
+     * Record a version of the document received from the client.
+     *
+     * @param path    path of the document
+     * @param version version of the document
+     */
+    public void received(Path path, int version) {
+        receivedVersions.merge(path, version, Math::max);
+    }
+
+    public void closed(Path path) {
+        receivedVersions.remove(path);
+    }
+
+    /**
+     * Checks whether a newer version of the document has been received than the given one.
+     *
+     * @param path    path of the document
+     * @param version version the result was computed from
+     * @return true if the result is stale
+     */
+    public boolean isStale(Path path, int version) {
+        Integer receivedVersion = receivedVersions.get(path);
+        return receivedVersion != null && receivedVersion > version;
+    }
+
+    /**
+     * Checks whether a newer version has been received for any of the documents a result was computed from.
+     *
+     * @param inputVersions versions of the documents the result was computed from
+     * @return true if the result is stale
+     */
+    public boolean isStale(Map<Path, Integer> inputVersions) {
+        for (Map.Entry<Path, Integer> inputVersion : inputVersions.entrySet()) {
+            if (this.isStale(inputVersion.getKey(), inputVersion.getValue())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -20,31 +20,34 @@ package org.ballerinalang.langserver.workspace;
 import java.nio.file.Path;
 
 /**
- * Represents a document open in workspace.
+ * Represents a document open in workspace. A document is not modified once created, hence its content and version
+ * are always read as a pair; an update replaces the document with a new one.
  */
 public class WorkspaceDocument {
 
-    private Path path;
-    private String content;
+    private final Path path;
+    private final String content;
+    private final int version;
 
     public WorkspaceDocument(Path path, String content) {
+        this(path, content, 0);
+    }
+
+    public WorkspaceDocument(Path path, String content, int version) {
         this.path = path;
         this.content = content;
+        this.version = version;
     }
 
     public Path getPath() {
         return path;
     }
 
-    public void setPath(Path path) {
-        this.path = path;
-    }
-
     public String getContent() {
         return content;
     }
 
-    public void setContent(String content) {
-        this.content = content;
+    public int getVersion() {
+        return version;
     }
 }
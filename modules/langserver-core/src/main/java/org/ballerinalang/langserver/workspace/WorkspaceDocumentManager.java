@@ -18,6 +18,7 @@
 package org.ballerinalang.langserver.workspace;
 
 import java.nio.file.Path;
+import java.util.Set;
 
 /**
  * This represents a Document Manager for the workspace. Example, an in-memory document
@@ -41,6 +42,15 @@ public interface WorkspaceDocumentManager {
      */
     void openFile(Path filePath, String content);
 
+    /**
+     * Opens the given file in document manager with the version given by the client.
+     *
+     * @param filePath Path of the file
+     * @param content Content of the file
+     * @param version Version of the document
+     */
+    void openFile(Path filePath, String content, int version);
+
     /**
      * Updates given file in document manager with new content.
      *
@@ -49,6 +59,15 @@ public interface WorkspaceDocumentManager {
      */
     void updateFile(Path filePath, String updatedContent);
 
+    /**
+     * Updates given file in document manager with new content and the version given by the client.
+     *
+     * @param filePath Path of the file
+     * @param updatedContent New content of the file
+     * @param version New version of the document
+     */
+    void updateFile(Path filePath, String updatedContent, int version);
+
     /**
      * Close the given file in document manager.
      *
@@ -63,4 +82,27 @@ public interface WorkspaceDocumentManager {
      * @return Content of the file
      */
     String getFileContent(Path filePath);
+
+    /**
+     * Gets the current version of the file.
+     *
+     * @param filePath Path of the file
+     * @return Version of the file, or -1 if the file is not open
+     */
+    int getFileVersion(Path filePath);
+
+    /**
+     * Gets the current content of the file along with its version.
+     *
+     * @param filePath Path of the file
+     * @return Document, or null if the file is not open
+     */
+    WorkspaceDocument getDocument(Path filePath);
+
+    /**
+     * Gets the paths of all the files open in document manager.
+     *
+     * @return Paths of the opened files
+     */
+    Set<Path> getOpenedFilePaths();
 }
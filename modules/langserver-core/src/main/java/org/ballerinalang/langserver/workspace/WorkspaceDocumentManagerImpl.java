@@ -21,8 +21,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.nio.file.Path;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 /**
  * An in-memory document manager that keeps dirty files in-memory and will match the collection of files currently
@@ -32,7 +34,7 @@ public class WorkspaceDocumentManagerImpl implements WorkspaceDocumentManager {
 
     private static final Logger logger = LoggerFactory.getLogger(WorkspaceDocumentManagerImpl.class);
 
-    private Map<String, WorkspaceDocument> documentList = new HashMap<>();
+    private Map<String, WorkspaceDocument> documentList = new ConcurrentHashMap<>();
 
     @Override
     public boolean isFileOpen(Path filePath) {
@@ -41,33 +43,57 @@ public class WorkspaceDocumentManagerImpl implements WorkspaceDocumentManager {
 
     @Override
     public void openFile(Path filePath, String content) {
-        if (!isFileOpen(filePath)) {
-            documentList.put(filePath.toString(), new WorkspaceDocument(filePath, content));
-        } else {
+        openFile(filePath, content, 0);
+    }
+
+    @Override
+    public void openFile(Path filePath, String content, int version) {
+        if (documentList.putIfAbsent(filePath.toString(), new WorkspaceDocument(filePath, content, version)) != null) {
             logger.warn("File " + filePath.toString() + " already opened in document manager.");
         }
     }
 
     @Override
     public void updateFile(Path filePath, String updatedContent) {
-        if (isFileOpen(filePath)) {
-            documentList.get(filePath.toString()).setContent(updatedContent);
-        } else {
-            logger.error("File " + filePath.toString() + " is not opened in document manager.");
+        WorkspaceDocument document = getDocument(filePath);
+        updateFile(filePath, updatedContent, document == null ? 0 : document.getVersion() + 1);
+    }
+
+    @Override
+    public void updateFile(Path filePath, String updatedContent, int version) {
+        // The document is replaced as a whole, so that the new content is never read along with the old version
+        if (filePath == null || documentList.replace(filePath.toString(),
+                new WorkspaceDocument(filePath, updatedContent, version)) == null) {
+            logger.error("File " + filePath + " is not opened in document manager.");
         }
     }
 
     @Override
     public void closeFile(Path filePath) {
-        if (isFileOpen(filePath)) {
-            documentList.remove(filePath.toString());
-        } else {
-            logger.error("File " + filePath.toString() + " is not opened in document manager.");
+        if (filePath == null || documentList.remove(filePath.toString()) == null) {
+            logger.error("File " + filePath + " is not opened in document manager.");
         }
     }
 
     @Override
     public String getFileContent(Path filePath) {
-        return isFileOpen(filePath) ? documentList.get(filePath.toString()).getContent() : null;
+        WorkspaceDocument document = getDocument(filePath);
+        return document == null ? null : document.getContent();
+    }
+
+    @Override
+    public int getFileVersion(Path filePath) {
+        WorkspaceDocument document = getDocument(filePath);
+        return document == null ? -1 : document.getVersion();
+    }
+
+    @Override
+    public WorkspaceDocument getDocument(Path filePath) {
+        return filePath == null ? null : documentList.get(filePath.toString());
+    }
+
+    @Override
+    public Set<Path> getOpenedFilePaths() {
+        return documentList.values().stream().map(WorkspaceDocument::getPath).collect(Collectors.toSet());
     }
 }
@@ -83,9 +83,10 @@ public class WorkspacePackageRepository extends GeneralFSPackageRepository {
             private WorkspacePackageSourceEntry(String name) {
                 this.name = name;
                 Path filePath = basePath.resolve(pkgPath).resolve(name);
-                if (documentManager.isFileOpen(filePath)) {
+                String content = documentManager.getFileContent(filePath);
+                if (content != null) {
                     try {
-                        this.code = documentManager.getFileContent(filePath).getBytes("UTF-8");
+                        this.code = content.getBytes("UTF-8");
                     } catch (UnsupportedEncodingException e) {
                         throw new RuntimeException("Error in loading package source entry '" + filePath +
                                 "': " + e.getMessage(), e);
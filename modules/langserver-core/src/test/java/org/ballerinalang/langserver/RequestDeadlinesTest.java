@@ -0,0 +1,58 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.langserver;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Test the latency budgets of the requests.
+ */
+public class RequestDeadlinesTest {
+
+    @Test
+    public void testDegradedResult() throws Exception {
+        System.setProperty(RequestDeadlines.DEADLINE_PROPERTY_PREFIX + "hover", "10");
+        System.setProperty(RequestDeadlines.DEADLINE_PROPERTY_PREFIX + "signatureHelp", "60000");
+        System.setProperty(RequestDeadlines.DEADLINE_PROPERTY_PREFIX + "documentSymbol", "0");
+        RequestDeadlines deadlines = new RequestDeadlines();
+        try {
+            CompletableFuture<String> slow = new CompletableFuture<>();
+            Assert.assertEquals(deadlines.withDeadline("hover", slow, () -> "degraded").get(), "degraded");
+
+            // The full computation goes on, and its result is not affected by the deadline
+            slow.complete("full");
+            Assert.assertEquals(slow.get(), "full");
+
+            CompletableFuture<String> fast = new CompletableFuture<>();
+            CompletableFuture<String> result = deadlines.withDeadline("signatureHelp", fast, () -> "degraded");
+            fast.complete("full");
+            Assert.assertEquals(result.get(), "full");
+
+            // Without a budget the request waits for the full computation
+            CompletableFuture<String> unbounded = new CompletableFuture<>();
+            Assert.assertSame(deadlines.withDeadline("documentSymbol", unbounded, () -> "degraded"), unbounded);
+        } finally {
+            System.clearProperty(RequestDeadlines.DEADLINE_PROPERTY_PREFIX + "hover");
+            System.clearProperty(RequestDeadlines.DEADLINE_PROPERTY_PREFIX + "signatureHelp");
+            System.clearProperty(RequestDeadlines.DEADLINE_PROPERTY_PREFIX + "documentSymbol");
+        }
+    }
+}
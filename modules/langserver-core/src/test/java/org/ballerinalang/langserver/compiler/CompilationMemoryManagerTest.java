@@ -0,0 +1,149 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.langserver.compiler;
+
+import org.ballerinalang.langserver.LSGlobalContext;
+import org.ballerinalang.langserver.workspace.WorkspaceDocumentManager;
+import org.ballerinalang.langserver.workspace.WorkspaceDocumentManagerImpl;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.ballerinalang.compiler.tree.BLangCompilationUnit;
+import org.wso2.ballerinalang.compiler.tree.BLangPackage;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Test the eviction order of the compilation memory manager.
+ */
+public class CompilationMemoryManagerTest {
+
+    private static final String SOURCE = "function main (string[] args) {\n}\n";
+
+    private Path sourceRoot;
+
+    @BeforeMethod
+    public void createSourceRoot() throws IOException {
+        sourceRoot = Files.createTempDirectory("memory-manager-test");
+    }
+
+    @AfterMethod
+    public void deleteSourceRoot() throws IOException {
+        try (Stream<Path> paths = Files.walk(sourceRoot)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsedWithoutOpenDocumentsFirst() throws IOException {
+        WorkspaceDocumentManager documentManager = new WorkspaceDocumentManagerImpl();
+        CompilationMemoryManager memoryManager = new CompilationMemoryManager(Long.MAX_VALUE);
+        PackageCompilationCache cache = new PackageCompilationCache(memoryManager);
+        LSGlobalContext globalContext = new LSGlobalContext();
+
+        PackageCompilation opened = this.createCompilation("opened", documentManager, globalContext);
+        documentManager.openFile(sourceRoot.resolve("opened").resolve("opened.bal"), SOURCE, 1);
+        PackageCompilation used = this.createCompilation("used", documentManager, globalContext);
+        PackageCompilation unused = this.createCompilation("unused", documentManager, globalContext);
+        cache.put(opened);
+        cache.put(used);
+        cache.put(unused);
+        long compilationSize = memoryManager.getUsedBytes() / 3;
+        Assert.assertTrue(compilationSize > 0);
+
+        // The compilation with an open document is the least recently used one, yet it is evicted last
+        cache.get(used.getKey());
+        memoryManager.trim(compilationSize * 2);
+        Assert.assertNull(cache.get(unused.getKey()), "Least recently used compilation should be evicted first.");
+        Assert.assertNotNull(cache.get(used.getKey()));
+        Assert.assertNotNull(cache.get(opened.getKey()));
+
+        cache.get(opened.getKey());
+        memoryManager.trim(compilationSize);
+        Assert.assertNull(cache.get(used.getKey()), "Compilations with open documents should be evicted last.");
+        Assert.assertNotNull(cache.get(opened.getKey()));
+        Assert.assertEquals(memoryManager.getUsedBytes(), compilationSize);
+    }
+
+    @Test
+    public void testEmptiesOtherCachesBeforeCompilationsWithOpenDocuments() throws IOException {
+        WorkspaceDocumentManager documentManager = new WorkspaceDocumentManagerImpl();
+        CompilationMemoryManager memoryManager = new CompilationMemoryManager(Long.MAX_VALUE);
+        PackageCompilationCache cache = new PackageCompilationCache(memoryManager);
+        LSGlobalContext globalContext = new LSGlobalContext();
+
+        PackageCompilation opened = this.createCompilation("opened", documentManager, globalContext);
+        documentManager.openFile(sourceRoot.resolve("opened").resolve("opened.bal"), SOURCE, 1);
+        PackageCompilation unused = this.createCompilation("unused", documentManager, globalContext);
+        cache.put(opened);
+        cache.put(unused);
+        long compilationSize = memoryManager.getUsedBytes() / 2;
+        TestCache otherCache = new TestCache(compilationSize);
+        memoryManager.register(otherCache);
+        Assert.assertEquals(memoryManager.getUsedBytes(), compilationSize * 3);
+
+        memoryManager.trim(compilationSize);
+        Assert.assertNull(cache.get(unused.getKey()), "Compilations without open documents should be evicted first.");
+        Assert.assertEquals(otherCache.getRetainedSize(), 0, "Other caches should be emptied next.");
+        Assert.assertNotNull(cache.get(opened.getKey()));
+        Assert.assertEquals(memoryManager.getUsedBytes(), compilationSize);
+    }
+
+    private PackageCompilation createCompilation(String packageName, WorkspaceDocumentManager documentManager,
+                                                 LSGlobalContext globalContext) throws IOException {
+        Path packagePath = Files.createDirectory(sourceRoot.resolve(packageName));
+        String cUnitName = packageName + ".bal";
+        Files.write(packagePath.resolve(cUnitName), SOURCE.getBytes(StandardCharsets.UTF_8));
+        BLangCompilationUnit compilationUnit = new BLangCompilationUnit();
+        compilationUnit.name = cUnitName;
+        BLangPackage bLangPackage = new BLangPackage();
+        bLangPackage.compUnits.add(compilationUnit);
+        return new PackageCompilation(sourceRoot + ":" + packageName, sourceRoot.toString(), packageName,
+                packagePath, bLangPackage, null, new ArrayList<>(), Collections.emptyMap(), "", Collections.emptyMap(),
+                documentManager, globalContext);
+    }
+
+    /**
+     * Cache of a fixed size until it is evicted.
+     */
+    private static class TestCache implements EvictableCache {
+        private long retainedSize;
+
+        TestCache(long retainedSize) {
+            this.retainedSize = retainedSize;
+        }
+
+        @Override
+        public long getRetainedSize() {
+            return retainedSize;
+        }
+
+        @Override
+        public void evict() {
+            retainedSize = 0;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.langserver.compiler;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test the merging of the compilations scheduled for a package.
+ */
+public class CompilationSchedulerTest {
+
+    @Test
+    public void testCompilationsMergedWhileOneRuns() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CompilationScheduler scheduler = new CompilationScheduler(executor);
+        List<Integer> compiled = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> first = scheduler.schedule("pkg", () -> {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            compiled.add(0);
+        });
+        Assert.assertTrue(started.await(5, TimeUnit.SECONDS));
+        List<CompletableFuture<Void>> later = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            int index = i;
+            later.add(scheduler.schedule("pkg", () -> compiled.add(index)));
+        }
+        release.countDown();
+        first.join();
+        CompletableFuture.allOf(later.toArray(new CompletableFuture[0])).join();
+        // Only the last of the compilations scheduled while the first one ran is run
+        Assert.assertEquals(compiled, Arrays.asList(0, 3));
+        Assert.assertEquals(scheduler.getScheduledPackages(), 0);
+        executor.shutdown();
+    }
+
+    @Test
+    public void testPackagesCompiledConcurrently() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CompilationScheduler scheduler = new CompilationScheduler(executor);
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        Runnable compilation = () -> {
+            bothStarted.countDown();
+            try {
+                bothStarted.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        scheduler.schedule("a", compilation);
+        scheduler.schedule("b", compilation);
+        Assert.assertTrue(bothStarted.await(5, TimeUnit.SECONDS));
+        executor.shutdown();
+    }
+
+    @Test
+    public void testFailedCompilationCompletesFuture() {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        CompilationScheduler scheduler = new CompilationScheduler(executor);
+        CompletableFuture<Void> failed = scheduler.schedule("pkg", () -> {
+            throw new IllegalStateException("compilation failed");
+        });
+        Assert.assertTrue(failed.handle((result, error) -> error != null).join());
+        // The package can be scheduled again after a failure
+        scheduler.schedule("pkg", () -> { }).join();
+        executor.shutdown();
+    }
+}
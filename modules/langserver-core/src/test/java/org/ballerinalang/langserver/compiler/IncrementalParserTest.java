@@ -0,0 +1,108 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.langserver.compiler;
+
+import org.eclipse.lsp4j.Diagnostic;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * Test that the incremental parser finds the same syntax errors as a full parse of the document.
+ */
+public class IncrementalParserTest {
+
+    private static final Path FILE_PATH = Paths.get("src/test/resources/workspace/org/pkg1/file1.bal")
+            .toAbsolutePath();
+    private static final String CONTENT = "function first() {\n    int a = 1;\n}\n\nfunction second() {\n"
+            + "    int b = 2;\n}\n";
+
+    @Test
+    public void testEditInsideDefinition() {
+        IncrementalParser parser = new IncrementalParser();
+        Assert.assertFalse(parser.update(FILE_PATH, CONTENT));
+
+        String content = CONTENT.replace("int b = 2;", "int b = 2");
+        Assert.assertTrue(parser.update(FILE_PATH, content));
+        List<Diagnostic> diagnostics = assertSameAsFullParse(parser, content);
+        for (Diagnostic diagnostic : diagnostics) {
+            Assert.assertTrue(diagnostic.getRange().getStart().getLine() >= 4,
+                    "Syntax error should be reported in the edited definition.");
+        }
+
+        // The errors of the other definitions move along with the lines added before them
+        content = content.replace("int a = 1;", "int a = 1;\n    int c = 3;");
+        Assert.assertTrue(parser.update(FILE_PATH, content));
+        List<Diagnostic> shiftedDiagnostics = assertSameAsFullParse(parser, content);
+        Assert.assertEquals(shiftedDiagnostics.get(0).getRange().getStart().getLine(),
+                diagnostics.get(0).getRange().getStart().getLine() + 1);
+
+        content = content.replace("int b = 2", "int b = 2;");
+        Assert.assertFalse(parser.update(FILE_PATH, content));
+        Assert.assertTrue(parser.getSyntaxDiagnostics(FILE_PATH).isEmpty());
+    }
+
+    @Test
+    public void testEditAcrossDefinitions() {
+        IncrementalParser parser = new IncrementalParser();
+        String content = CONTENT.replace("int b = 2;", "int b = 2");
+        Assert.assertTrue(parser.update(FILE_PATH, content));
+
+        // Merging the definitions removes the one the error was in
+        content = content.replace("1;\n}\n\nfunction second() {\n    int b = 2", "1;\n    int b = 2;");
+        Assert.assertFalse(parser.update(FILE_PATH, content));
+        Assert.assertTrue(assertSameAsFullParse(parser, content).isEmpty());
+
+        // Splitting it again brings back a definition the parser did not know of
+        content = content.replace("1;\n    int b = 2;", "1;\n}\n\nfunction second() {\n    int b = 2");
+        Assert.assertTrue(parser.update(FILE_PATH, content));
+        assertSameAsFullParse(parser, content);
+    }
+
+    @Test
+    public void testEditMovingDefinitionEnd() {
+        IncrementalParser parser = new IncrementalParser();
+        Assert.assertFalse(parser.update(FILE_PATH, CONTENT));
+
+        // The re-parsed definition ends ahead of its old end, leaving a brace which does not belong to any definition
+        String content = CONTENT.replace("int a = 1;", "int a = 1; }");
+        Assert.assertTrue(parser.update(FILE_PATH, content));
+        assertSameAsFullParse(parser, content);
+
+        // Without its closing brace, the definition runs into the next one
+        content = CONTENT.replace("int a = 1;\n}", "int a = 1;\n");
+        Assert.assertTrue(parser.update(FILE_PATH, content));
+        assertSameAsFullParse(parser, content);
+
+        content = CONTENT;
+        Assert.assertFalse(parser.update(FILE_PATH, content));
+        Assert.assertTrue(assertSameAsFullParse(parser, content).isEmpty());
+    }
+
+    private static List<Diagnostic> assertSameAsFullParse(IncrementalParser parser, String content) {
+        IncrementalParser fullParser = new IncrementalParser();
+        fullParser.update(FILE_PATH, content);
+        List<Diagnostic> diagnostics = parser.getSyntaxDiagnostics(FILE_PATH);
+        Assert.assertEquals(diagnostics, fullParser.getSyntaxDiagnostics(FILE_PATH),
+                "Incremental parse should find the errors of a full parse.");
+        return diagnostics;
+    }
+}
@@ -0,0 +1,173 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.langserver.compiler;
+
+import org.ballerinalang.langserver.LSGlobalContext;
+import org.ballerinalang.langserver.trace.RequestTracer;
+import org.ballerinalang.langserver.workspace.WorkspaceDocumentManager;
+import org.ballerinalang.langserver.workspace.WorkspaceDocumentManagerImpl;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Test the reuse of the pooled compiler contexts across the compilations of the workspace packages.
+ */
+public class LSCompilerTest {
+
+    private Path pkg1File;
+    private Path pkg2File;
+    private WorkspaceDocumentManager documentManager;
+    private LSCompiler lsCompiler;
+
+    @BeforeMethod
+    public void setup() {
+        String sourceRoot = Paths.get("src/test/resources/workspace").toAbsolutePath().toString();
+        pkg1File = Paths.get(sourceRoot, "org", "pkg1", "file1.bal");
+        pkg2File = Paths.get(sourceRoot, "org", "pkg2", "file1.bal");
+        documentManager = new WorkspaceDocumentManagerImpl();
+        lsCompiler = new LSCompiler(documentManager);
+    }
+
+    @Test
+    public void testContextReusedAfterCompiledPackageChanges() {
+        PackageInfo packageInfo = lsCompiler.getPackageInfo(pkg1File);
+        PooledCompilerContext context = lsCompiler.acquireContext(packageInfo);
+        lsCompiler.releaseContext(context, packageInfo, null);
+        PooledCompilerContext reusedContext = lsCompiler.acquireContext(packageInfo);
+        Assert.assertSame(reusedContext, context, "Context should be reused while the package is unchanged.");
+        lsCompiler.releaseContext(reusedContext, packageInfo, null);
+
+        // The compiled package is parsed again by every compilation, hence its edits do not prevent the reuse
+        documentManager.openFile(pkg1File, "package org.pkg1;\n", 1);
+        Assert.assertSame(lsCompiler.acquireContext(packageInfo), context,
+                "Context should be reused after the compiled package is edited.");
+    }
+
+    @Test
+    public void testContextNotReusedAfterLoadedPackageChanges() {
+        PackageInfo pkg1Info = lsCompiler.getPackageInfo(pkg1File);
+        PackageInfo pkg2Info = lsCompiler.getPackageInfo(pkg2File);
+        lsCompiler.getImportGraph().setImports(pkg2Info.getKey(), Collections.singleton(pkg1Info.getKey()));
+        PooledCompilerContext context = lsCompiler.acquireContext(pkg2Info);
+        lsCompiler.releaseContext(context, pkg2Info, null);
+
+        documentManager.openFile(pkg1File, "package org.pkg1;\n", 1);
+        PooledCompilerContext editedContext = lsCompiler.acquireContext(pkg2Info);
+        Assert.assertNotSame(editedContext, context, "Context which loaded the edited package should not be reused.");
+        lsCompiler.releaseContext(editedContext, pkg2Info, null);
+
+        documentManager.updateFile(pkg1File, "package org.pkg1;\n\nfunction f () {\n}\n", 2);
+        Assert.assertNotSame(lsCompiler.acquireContext(pkg1Info), editedContext,
+                "Context whose loaded package imports the edited package should not be reused to compile it.");
+    }
+
+    @Test
+    public void testContextDiscardedAfterFailedCompilation() {
+        PackageInfo packageInfo = lsCompiler.getPackageInfo(pkg1File);
+        PooledCompilerContext context = lsCompiler.acquireContext(packageInfo);
+        lsCompiler.discardContext(context);
+        Assert.assertNotSame(lsCompiler.acquireContext(packageInfo), context,
+                "Context of a failed compilation should not be reused.");
+    }
+
+    @Test
+    public void testContextSharedAcrossSessions() {
+        LSGlobalContext globalContext = new LSGlobalContext();
+        WorkspaceDocumentManager otherDocumentManager = new WorkspaceDocumentManagerImpl();
+        LSCompiler session = new LSCompiler(documentManager, globalContext, RequestTracer.DISABLED);
+        LSCompiler otherSession = new LSCompiler(otherDocumentManager, globalContext, RequestTracer.DISABLED);
+        PackageInfo pkg1Info = session.getPackageInfo(pkg1File);
+        PackageInfo packageInfo = session.getPackageInfo(pkg2File);
+        session.getImportGraph().setImports(packageInfo.getKey(), Collections.singleton(pkg1Info.getKey()));
+        otherSession.getImportGraph().setImports(packageInfo.getKey(), Collections.singleton(pkg1Info.getKey()));
+
+        PooledCompilerContext context = session.acquireContext(packageInfo);
+        session.releaseContext(context, packageInfo, null);
+        PooledCompilerContext sharedContext = otherSession.acquireContext(packageInfo);
+        Assert.assertSame(sharedContext, context, "Sessions with the same sources should share the context.");
+        otherSession.releaseContext(sharedContext, packageInfo, null);
+
+        // Same version of the imported package in both sessions, but different content
+        documentManager.openFile(pkg1File, "package org.pkg1;\n", 1);
+        otherDocumentManager.openFile(pkg1File, "package org.pkg1;\n\nfunction f () {\n}\n", 1);
+        PooledCompilerContext editedContext = session.acquireContext(packageInfo);
+        session.releaseContext(editedContext, packageInfo, null);
+        Assert.assertNotSame(otherSession.acquireContext(packageInfo), editedContext,
+                "Context which loaded the documents of another session should not be reused.");
+    }
+
+    @Test
+    public void testIdleContextsBoundedAcrossSourceRoots() {
+        CompilerContextPool pool = new CompilerContextPool(2);
+        for (String sourceRoot : new String[]{"a", "b", "c"}) {
+            pool.release(pool.acquire(sourceRoot, documentManager, context -> true));
+        }
+        Assert.assertEquals(pool.getIdleContextCount(), 2);
+        PooledCompilerContext context = pool.acquire("a", documentManager, reused -> true);
+        Assert.assertEquals(pool.getIdleContextCount(), 2,
+                "Least recently released context should have been dropped.");
+        Assert.assertEquals(context.getSourceRoot(), "a");
+
+        // The warm-up drops the contexts of its temporary source root
+        pool.clear("c");
+        Assert.assertEquals(pool.getIdleContextCount(), 1);
+    }
+
+    @Test
+    public void testIdleContextsCountedInMemoryBudget() {
+        CompilerContextPool pool = new CompilerContextPool(2);
+        CompilationMemoryManager memoryManager = new CompilationMemoryManager(Long.MAX_VALUE);
+        memoryManager.register(pool);
+        PooledCompilerContext context = pool.acquire("a", documentManager, reused -> true);
+        context.enterPackage("a:pkg1", "", 10);
+        pool.release(context);
+        Assert.assertTrue(memoryManager.getUsedBytes() > 10 * PackageCompilation.RETAINED_BYTES_PER_SOURCE_CHAR,
+                "Idle context should be counted along with the packages it loaded.");
+
+        memoryManager.trim(0);
+        Assert.assertEquals(pool.getIdleContextCount(), 0);
+        Assert.assertEquals(memoryManager.getUsedBytes(), 0);
+    }
+
+    @Test
+    public void testEditedPackageSeenThroughReusedContext() {
+        lsCompiler.compile(pkg2File);
+        lsCompiler.compile(pkg1File);
+
+        documentManager.openFile(pkg1File, "package org.pkg1;\n\npublic function sayHello() {\n}\n\n"
+                + "public function sayBye() {\n}\n", 1);
+        PackageCompilation pkg1Compilation = lsCompiler.compile(pkg1File);
+        List<String> functionNames = pkg1Compilation.getBLangPackage().getFunctions().stream()
+                .map(function -> function.getName().getValue())
+                .collect(Collectors.toList());
+        Assert.assertTrue(functionNames.contains("sayBye"), "Edited package should contain the added function.");
+
+        documentManager.openFile(pkg2File, "package org.pkg2;\n\nimport org.pkg1;\n\n"
+                + "function main (string[] args) {\n    pkg1:sayBye();\n}\n", 1);
+        PackageCompilation pkg2Compilation = lsCompiler.compile(pkg2File);
+        Assert.assertTrue(pkg2Compilation.getDiagnostics().isEmpty(),
+                "Importing package should resolve the function added to the edited package.");
+    }
+}
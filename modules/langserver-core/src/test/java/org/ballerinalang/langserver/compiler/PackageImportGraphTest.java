@@ -0,0 +1,82 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.langserver.compiler;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Test the package import graph.
+ */
+public class PackageImportGraphTest {
+
+    @Test
+    public void testTransitiveDependents() {
+        PackageImportGraph importGraph = new PackageImportGraph();
+        importGraph.setImports("a", Collections.emptySet());
+        importGraph.setImports("b", new HashSet<>(Arrays.asList("a", "c")));
+        importGraph.setImports("c", Collections.singleton("a"));
+        importGraph.setImports("d", Collections.singleton("b"));
+        importGraph.setImports("e", Collections.emptySet());
+
+        List<String> dependents = importGraph.getTransitiveDependents("a");
+        Assert.assertEquals(dependents, Arrays.asList("c", "b", "d"),
+                "Dependents should be ordered after the packages they import.");
+        Assert.assertTrue(importGraph.getTransitiveDependents("e").isEmpty(), "Package e has no dependents.");
+
+        importGraph.setImports("b", Collections.singleton("c"));
+        importGraph.setImports("c", Collections.emptySet());
+        Assert.assertTrue(importGraph.getTransitiveDependents("a").isEmpty(),
+                "Dependents should be updated when the imports change.");
+    }
+
+    @Test
+    public void testImportCycle() {
+        PackageImportGraph importGraph = new PackageImportGraph();
+        importGraph.setImports("a", Collections.singleton("b"));
+        importGraph.setImports("b", Collections.singleton("a"));
+
+        Assert.assertEquals(importGraph.getTransitiveDependents("a"), Collections.singletonList("b"),
+                "Packages in a cycle should be listed once.");
+    }
+
+    @Test
+    public void testDiscoveredImports() {
+        PackageImportGraph importGraph = new PackageImportGraph();
+        importGraph.startDiscovery();
+        Assert.assertFalse(importGraph.isComplete(), "Imports should be unknown while the workspace is discovered.");
+        importGraph.setImports("b", Collections.singleton("c"));
+
+        Map<String, Set<String>> discoveredImports = new HashMap<>();
+        discoveredImports.put("a", Collections.singleton("c"));
+        discoveredImports.put("b", Collections.singleton("d"));
+        importGraph.finishDiscovery(discoveredImports);
+        Assert.assertTrue(importGraph.isComplete());
+        Assert.assertEquals(importGraph.getImports("a"), Collections.singleton("c"));
+        Assert.assertEquals(importGraph.getImports("b"), Collections.singleton("c"),
+                "Imports recorded by a compilation should be kept.");
+    }
+}
@@ -0,0 +1,128 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.langserver.compiler.worker;
+
+import org.ballerinalang.langserver.index.PackageReferences;
+import org.ballerinalang.langserver.index.PackageSummary;
+import org.ballerinalang.langserver.index.SymbolReference;
+import org.eclipse.lsp4j.Diagnostic;
+import org.eclipse.lsp4j.DiagnosticSeverity;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Test the protocol spoken with the compiler workers.
+ */
+public class WorkerProtocolTest {
+
+    private static final String SYMBOL_KEY = "org.pkg1:sayHello:FUNCTION";
+
+    @Test
+    public void testRequest() throws IOException {
+        Path filePath = Paths.get("src/test/resources/workspace/org/pkg1/file1.bal").toAbsolutePath();
+        // Non ASCII content is written as UTF-8
+        String content = "function f() {\n    string s = \"caf\u00e9\";\n}";
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        WorkerProtocol.writeRequest(new DataOutputStream(bytes), filePath,
+                Collections.singletonList(new DocumentSnapshot(filePath, 4, content)));
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        Assert.assertEquals(WorkerProtocol.readRequestPath(in), filePath);
+        List<DocumentSnapshot> documents = WorkerProtocol.readRequestDocuments(in);
+        Assert.assertEquals(documents.size(), 1);
+        Assert.assertEquals(documents.get(0).getFilePath(), filePath);
+        Assert.assertEquals(documents.get(0).getVersion(), 4);
+        Assert.assertEquals(documents.get(0).getContent(), content);
+    }
+
+    @Test
+    public void testCompilationResponse() throws IOException {
+        Path filePath = Paths.get("src/test/resources/workspace/org/pkg1/file1.bal").toAbsolutePath();
+        Diagnostic diagnostic = new Diagnostic(new Range(new Position(1, 4), new Position(1, 10)),
+                "undefined symbol 'x'", DiagnosticSeverity.Error, null);
+        Map<String, List<Diagnostic>> diagnostics = new HashMap<>();
+        diagnostics.put(filePath.toUri().toString(), Collections.singletonList(diagnostic));
+        WorkerCompilation compilation = new WorkerCompilation("key", Collections.singletonMap(filePath, 4),
+                diagnostics, this.getEmptySummary(), Collections.singleton("importedKey"),
+                this.getReferences(filePath));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        WorkerProtocol.writeCompilation(new DataOutputStream(bytes), compilation);
+        WorkerCompilation response = WorkerProtocol.readResponse(
+                new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        Assert.assertNotNull(response);
+        Assert.assertEquals(response.getPackageKey(), "key");
+        Assert.assertEquals(response.getDocumentVersions(), Collections.singletonMap(filePath, 4));
+        Assert.assertEquals(response.getDiagnostics(), diagnostics);
+        Assert.assertEquals(response.getSummary().getPackageName(), "pkg1");
+        Assert.assertEquals(response.getImportedKeys(), Collections.singleton("importedKey"));
+        Assert.assertEquals(response.getReferences().getSourceStamp(), "file1.bal@v4#0;");
+        List<SymbolReference> references = response.getReferences().getReferences(SYMBOL_KEY);
+        Assert.assertEquals(references.size(), 1);
+        Assert.assertEquals(references.get(0).getFilePath(), filePath);
+        Assert.assertEquals(references.get(0).getRange(), new Range(new Position(2, 16), new Position(2, 24)));
+    }
+
+    @Test
+    public void testErrorResponse() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        WorkerProtocol.writeError(new DataOutputStream(bytes), "compilation failed");
+        Assert.assertNull(WorkerProtocol.readResponse(
+                new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))));
+    }
+
+    private PackageSummary getEmptySummary() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeUTF("pkg1");
+        out.writeInt(0);
+        return PackageSummary.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+    }
+
+    private PackageReferences getReferences(Path filePath) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        byte[] stamp = "file1.bal@v4#0;".getBytes(StandardCharsets.UTF_8);
+        out.writeInt(stamp.length);
+        out.write(stamp);
+        out.writeInt(1);
+        out.writeUTF(SYMBOL_KEY);
+        out.writeInt(1);
+        out.writeUTF(filePath.toString());
+        out.writeInt(2);
+        out.writeInt(16);
+        out.writeInt(24);
+        return PackageReferences.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+    }
+}
@@ -0,0 +1,86 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.langserver.completions;
+
+import org.eclipse.lsp4j.CompletionItem;
+import org.eclipse.lsp4j.Position;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Test the reuse of completion results while an identifier is typed.
+ */
+public class CompletionCacheTest {
+
+    private final Path filePath = Paths.get("main.bal").toAbsolutePath();
+    private final List<CompletionItem> completions = Arrays.asList(new CompletionItem("fooBar"),
+            new CompletionItem("format"), new CompletionItem("bar"));
+
+    @Test
+    public void testPrefixContinuation() {
+        CompletionCache cache = new CompletionCache();
+        cache.put(filePath, 1, "function main () {\n    f\n}", new Position(1, 5), completions);
+
+        List<CompletionItem> filtered = cache.get(filePath, 2, "function main () {\n    fo\n}", new Position(1, 6));
+        Assert.assertNotNull(filtered);
+        Assert.assertEquals(filtered.size(), 2);
+        filtered = cache.get(filePath, 3, "function main () {\n    fooB\n}", new Position(1, 8));
+        Assert.assertNotNull(filtered);
+        Assert.assertEquals(filtered.size(), 1);
+        Assert.assertEquals(filtered.get(0).getLabel(), "fooBar");
+    }
+
+    @Test
+    public void testSameIdentifier() {
+        CompletionCache cache = new CompletionCache();
+        cache.put(filePath, 1, "function main () {\n    fo\n}", new Position(1, 6), completions);
+
+        // A request at the same position is answered with the result computed for the previous one
+        List<CompletionItem> filtered = cache.get(filePath, 1, "function main () {\n    fo\n}", new Position(1, 6));
+        Assert.assertNotNull(filtered);
+        Assert.assertEquals(filtered.size(), 2);
+        // Characters deleted within the identifier
+        filtered = cache.get(filePath, 2, "function main () {\n    f\n}", new Position(1, 5));
+        Assert.assertNotNull(filtered);
+        Assert.assertEquals(filtered.size(), 2);
+        filtered = cache.get(filePath, 3, "function main () {\n    b\n}", new Position(1, 5));
+        Assert.assertNotNull(filtered);
+        Assert.assertEquals(filtered.size(), 2);
+    }
+
+    @Test
+    public void testScopeChange() {
+        CompletionCache cache = new CompletionCache();
+        cache.put(filePath, 1, "function main () {\n    f\n}", new Position(1, 5), completions);
+
+        // Characters deleted before the identifier
+        Assert.assertNull(cache.get(filePath, 2, "function main () {\n   \n}", new Position(1, 3)));
+        // Characters other than the identifier ones may change the scope
+        Assert.assertNull(cache.get(filePath, 2, "function main () {\n    f.\n}", new Position(1, 6)));
+        // Edits elsewhere in the document
+        Assert.assertNull(cache.get(filePath, 2, "function main () {\n    fo\n}\n", new Position(1, 6)));
+        // Changes to other documents
+        cache.invalidate(Paths.get("other.bal").toAbsolutePath());
+        Assert.assertNull(cache.get(filePath, 2, "function main () {\n    fo\n}", new Position(1, 6)));
+    }
+}
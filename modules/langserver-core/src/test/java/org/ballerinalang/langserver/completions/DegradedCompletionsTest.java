@@ -0,0 +1,45 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.langserver.completions;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Test the lexical scan of the degraded completions.
+ */
+public class DegradedCompletionsTest {
+
+    @Test
+    public void testNestingLevel() {
+        String content = "import ballerina.io;\n"
+                + "function main (string[] args) {\n"
+                + "    // closing } in a comment\n"
+                + "    string s = \"{ \\\" {\";\n"
+                + "    if (true) {\n"
+                + "        int a = 1;\n"
+                + "    }\n"
+                + "    \n"
+                + "}\n";
+        Assert.assertEquals(DegradedCompletions.getNestingLevel(content, content.indexOf("function")), 0);
+        Assert.assertEquals(DegradedCompletions.getNestingLevel(content, content.indexOf("string s")), 1);
+        Assert.assertEquals(DegradedCompletions.getNestingLevel(content, content.indexOf("int a")), 2);
+        Assert.assertEquals(DegradedCompletions.getNestingLevel(content, content.lastIndexOf("    \n") + 4), 1);
+        Assert.assertEquals(DegradedCompletions.getNestingLevel(content, -1), 0);
+    }
+}
@@ -0,0 +1,62 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.langserver.completions;
+
+import org.eclipse.lsp4j.CompletionItem;
+import org.eclipse.lsp4j.Position;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.ballerinalang.compiler.util.diagnotic.DiagnosticPos;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Test the completions answered from the scopes resolved before.
+ */
+public class StaleScopeCompletionsTest {
+
+    @Test
+    public void testScopeMappedThroughEdits() {
+        Path filePath = Paths.get("main.bal").toAbsolutePath();
+        String content = "function f1 () {\n    int a = 1;\n}\n\nfunction f2 () {\n    string b;\n}\n";
+        List<CompletionItem> completions = Collections.singletonList(new CompletionItem("b"));
+        StaleScopeCompletions staleScopes = new StaleScopeCompletions();
+        // Body of f2, from the opening brace to the closing one
+        DiagnosticPos scopePos = new DiagnosticPos(null, 5, 7, 16, 2);
+        scopePos.sLine = 5;
+        scopePos.eLine = 7;
+        scopePos.sCol = 16;
+        scopePos.eCol = 2;
+        staleScopes.remember(filePath, content, scopePos, completions);
+
+        // A line added to f1 moves f2 down, and broken code within f2 keeps it in the same scope
+        staleScopes.update(filePath,
+                "function f1 () {\n    int a = 1;\n    a = a +\n}\n\nfunction f2 () {\n    string b;\n}\n");
+        String edited = "function f1 () {\n    int a = 1;\n    a = a +\n}\n\n"
+                + "function f2 () {\n    string b;\n    b.(\n}\n";
+        Assert.assertEquals(staleScopes.find(filePath, edited, new Position(7, 7)), completions);
+        Assert.assertNull(staleScopes.find(filePath, edited, new Position(2, 11)));
+
+        // Edits over the boundaries of the scope drop it
+        String merged = "function f1 () {\n    int a = 1;\n    string b;\n    b.(\n}\n";
+        Assert.assertNull(staleScopes.find(filePath, merged, new Position(3, 7)));
+    }
+}
@@ -0,0 +1,124 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.langserver.diagnostics;
+
+import org.ballerinalang.langserver.client.LanguageClientImpl;
+import org.ballerinalang.langserver.workspace.DocumentVersionTracker;
+import org.eclipse.lsp4j.Diagnostic;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.PublishDiagnosticsParams;
+import org.eclipse.lsp4j.Range;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Test the publishing of syntax errors ahead of the compilation.
+ */
+public class DiagnosticsPublisherTest {
+
+    private static final String PACKAGE_KEY = "org.pkg1";
+
+    @Test
+    public void testSyntaxErrorsKeepSemanticDiagnostics() {
+        Path file1 = Paths.get("src/test/resources/workspace/org/pkg1/file1.bal").toAbsolutePath();
+        String uri = file1.toUri().toString();
+        List<PublishDiagnosticsParams> published = new ArrayList<>();
+        LanguageClientImpl client = new LanguageClientImpl() {
+            @Override
+            public void publishDiagnostics(PublishDiagnosticsParams publishDiagnosticsParams) {
+                published.add(publishDiagnosticsParams);
+            }
+        };
+        DocumentVersionTracker versionTracker = new DocumentVersionTracker();
+        DiagnosticsPublisher publisher = new DiagnosticsPublisher(() -> client, versionTracker);
+
+        versionTracker.received(file1, 1);
+        Diagnostic semanticError = createDiagnostic(1, "undefined symbol 'a'", "UNDEFINED_SYMBOL");
+        Diagnostic compilerSyntaxError = createDiagnostic(2, "mismatched input '}'", "MISMATCHED_INPUT");
+        Map<String, List<Diagnostic>> diagnostics = new HashMap<>();
+        diagnostics.put(uri, Arrays.asList(semanticError, compilerSyntaxError));
+        Assert.assertTrue(publisher.publish(PACKAGE_KEY, Collections.singletonMap(file1, 1), diagnostics));
+
+        // The syntax error of the compilation may have been fixed by the edit, but the semantic error stays
+        versionTracker.received(file1, 2);
+        Diagnostic syntaxError = createDiagnostic(3, "missing ';'", DiagnosticsPublisher.SYNTAX_ERROR_CODE);
+        publisher.publishSyntaxErrors(PACKAGE_KEY, file1, 2, Collections.singletonList(syntaxError));
+        PublishDiagnosticsParams lastPublished = published.get(published.size() - 1);
+        Assert.assertEquals(lastPublished.getUri(), uri);
+        Assert.assertEquals(lastPublished.getDiagnostics(), Arrays.asList(syntaxError, semanticError));
+
+        // Once the compilation finds no semantic errors, the next syntax errors are published alone
+        Assert.assertTrue(publisher.publish(PACKAGE_KEY, Collections.singletonMap(file1, 2),
+                Collections.singletonMap(uri, Collections.singletonList(syntaxError))));
+        publisher.publishSyntaxErrors(PACKAGE_KEY, file1, 2, Collections.singletonList(syntaxError));
+        lastPublished = published.get(published.size() - 1);
+        Assert.assertEquals(lastPublished.getDiagnostics(), Collections.singletonList(syntaxError));
+    }
+
+    @Test
+    public void testSemanticDiagnosticsFollowEdits() {
+        Path file1 = Paths.get("src/test/resources/workspace/org/pkg1/file1.bal").toAbsolutePath();
+        String uri = file1.toUri().toString();
+        List<PublishDiagnosticsParams> published = new ArrayList<>();
+        LanguageClientImpl client = new LanguageClientImpl() {
+            @Override
+            public void publishDiagnostics(PublishDiagnosticsParams publishDiagnosticsParams) {
+                published.add(publishDiagnosticsParams);
+            }
+        };
+        DocumentVersionTracker versionTracker = new DocumentVersionTracker();
+        DiagnosticsPublisher publisher = new DiagnosticsPublisher(() -> client, versionTracker);
+
+        versionTracker.received(file1, 1);
+        Diagnostic firstError = createDiagnostic(0, "undefined symbol 'a'", "UNDEFINED_SYMBOL");
+        Diagnostic editedError = createDiagnostic(2, "undefined symbol 'c'", "UNDEFINED_SYMBOL");
+        Diagnostic lastError = createDiagnostic(4, "undefined symbol 'e'", "UNDEFINED_SYMBOL");
+        Assert.assertTrue(publisher.publish(PACKAGE_KEY, Collections.singletonMap(file1, 1),
+                Collections.singletonMap(uri, Arrays.asList(firstError, editedError, lastError))));
+
+        // Lines inserted ahead of a diagnostic move it down, and an edit overlapping a diagnostic drops it
+        publisher.shiftDiagnostics(file1, "a\nb\nccccc\nd\ne", "a\nb\nx\ny\nccccc\nd\ne");
+        publisher.shiftDiagnostics(file1, "a\nb\nx\ny\nccccc\nd\ne", "a\nb\nx\ny\nz\nd\ne");
+        versionTracker.received(file1, 3);
+        Diagnostic syntaxError = createDiagnostic(4, "missing ';'", DiagnosticsPublisher.SYNTAX_ERROR_CODE);
+        publisher.publishSyntaxErrors(PACKAGE_KEY, file1, 3, Collections.singletonList(syntaxError));
+        List<Diagnostic> lastPublished = published.get(published.size() - 1).getDiagnostics();
+        Assert.assertEquals(lastPublished.size(), 3);
+        Assert.assertEquals(lastPublished.get(0), syntaxError);
+        Assert.assertEquals(lastPublished.get(1).getRange(), firstError.getRange());
+        Assert.assertEquals(lastPublished.get(2).getMessage(), lastError.getMessage());
+        Assert.assertEquals(lastPublished.get(2).getRange(), new Range(new Position(6, 0), new Position(6, 1)));
+    }
+
+    private static Diagnostic createDiagnostic(int line, String message, String code) {
+        Diagnostic diagnostic = new Diagnostic();
+        diagnostic.setRange(new Range(new Position(line, 0), new Position(line, 1)));
+        diagnostic.setMessage(message);
+        diagnostic.setCode(code);
+        return diagnostic;
+    }
+}
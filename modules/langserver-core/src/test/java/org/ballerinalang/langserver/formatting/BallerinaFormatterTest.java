@@ -0,0 +1,87 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.langserver.formatting;
+
+import org.eclipse.lsp4j.FormattingOptions;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.TextEdit;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+/**
+ * Test the token based formatter.
+ */
+public class BallerinaFormatterTest {
+
+    private static final FormattingOptions OPTIONS = new FormattingOptions(4, true);
+
+    private static final String UNFORMATTED = "function main ( string[] args ) {\n" +
+            "  int a=1 ;\n" +
+            "        if (a > 0)   {\n" +
+            "a = a + 1;   \n" +
+            "    }\n" +
+            "}\n";
+
+    private static final String FORMATTED = "function main (string[] args) {\n" +
+            "    int a=1;\n" +
+            "    if (a > 0) {\n" +
+            "        a = a + 1;\n" +
+            "    }\n" +
+            "}\n";
+
+    @Test
+    public void testDocumentFormatting() {
+        List<TextEdit> textEdits = BallerinaFormatter.formatDocument(UNFORMATTED, OPTIONS);
+        Assert.assertEquals(applyEdits(UNFORMATTED, textEdits), FORMATTED, "Document should be formatted.");
+        Assert.assertTrue(BallerinaFormatter.formatDocument(FORMATTED, OPTIONS).isEmpty(),
+                "Formatted document should not be edited.");
+    }
+
+    @Test
+    public void testRangeFormatting() {
+        Range range = new Range(new Position(1, 0), new Position(1, 11));
+        List<TextEdit> textEdits = BallerinaFormatter.formatRange(UNFORMATTED, OPTIONS, range);
+        for (TextEdit textEdit : textEdits) {
+            Assert.assertEquals(textEdit.getRange().getEnd().getLine(), 1, "Only the given range should be edited.");
+        }
+        Assert.assertTrue(applyEdits(UNFORMATTED, textEdits).contains("\n    int a=1;\n"),
+                "Lines within the range should be formatted.");
+    }
+
+    private static String applyEdits(String content, List<TextEdit> textEdits) {
+        StringBuilder builder = new StringBuilder(content);
+        // Edits are applied from the end, so that the offsets of the remaining edits stay valid
+        for (int i = textEdits.size() - 1; i >= 0; i--) {
+            TextEdit textEdit = textEdits.get(i);
+            builder.replace(getOffset(content, textEdit.getRange().getStart()),
+                    getOffset(content, textEdit.getRange().getEnd()), textEdit.getNewText());
+        }
+        return builder.toString();
+    }
+
+    private static int getOffset(String content, Position position) {
+        int offset = 0;
+        for (int line = 0; line < position.getLine(); line++) {
+            offset = content.indexOf('\n', offset) + 1;
+        }
+        return offset + position.getCharacter();
+    }
+}
@@ -0,0 +1,60 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.langserver.index;
+
+import org.eclipse.lsp4j.SymbolInformation;
+import org.eclipse.lsp4j.SymbolKind;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Test the compilation unit summaries.
+ */
+public class CompilationUnitSummaryTest {
+
+    @Test
+    public void testSummary() {
+        Path filePath = Paths.get("src/test/resources/workspace/org/pkg1/file1.bal").toAbsolutePath();
+        CompilationUnitSummary.Builder builder = new CompilationUnitSummary.Builder(filePath);
+        for (int i = 0; i < 40; i++) {
+            builder.add("f" + i, null, "function f" + i + " ()", SymbolKind.Function,
+                    new SymbolOccurrence("file1.bal", i, 9, 11, null, true));
+        }
+        builder.add("name", "Person", "string name", SymbolKind.Field,
+                new SymbolOccurrence("file1.bal", 41, 11, 15, null, true));
+        CompilationUnitSummary summary = builder.build();
+
+        Assert.assertEquals(summary.size(), 41);
+        Assert.assertEquals(summary.getName(39), "f39");
+        Assert.assertEquals(summary.getSignature(39), "function f39 ()");
+        Assert.assertEquals(summary.getKind(39), SymbolKind.Function);
+        Assert.assertNull(summary.getContainerName(39));
+
+        SymbolInformation field = summary.getSymbolInformation(40);
+        Assert.assertEquals(field.getName(), "name");
+        Assert.assertEquals(field.getKind(), SymbolKind.Field);
+        Assert.assertEquals(field.getContainerName(), "Person");
+        Assert.assertEquals(field.getLocation().getUri(), filePath.toUri().toString());
+        Assert.assertEquals(field.getLocation().getRange().getStart().getLine(), 41);
+        Assert.assertEquals(field.getLocation().getRange().getStart().getCharacter(), 11);
+        Assert.assertEquals(field.getLocation().getRange().getEnd().getCharacter(), 15);
+    }
+}
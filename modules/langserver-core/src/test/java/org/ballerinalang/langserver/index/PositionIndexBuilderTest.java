@@ -0,0 +1,89 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.langserver.index;
+
+import org.ballerinalang.langserver.compiler.LSCompiler;
+import org.ballerinalang.langserver.compiler.PackageCompilation;
+import org.ballerinalang.langserver.workspace.WorkspaceDocumentManagerImpl;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.ballerinalang.compiler.semantics.model.symbols.BSymbol;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Test the position index of a compilation.
+ */
+public class PositionIndexBuilderTest {
+
+    @Test
+    public void testAllExpressionsIndexed() {
+        Path filePath = Paths.get("src/test/resources/index/expressions.bal").toAbsolutePath();
+        PackageCompilation compilation = new LSCompiler(new WorkspaceDocumentManagerImpl()).getOrCompile(filePath);
+        PositionIndex positionIndex = compilation.getFeature(PositionIndex.class, PositionIndexBuilder::build);
+        String cUnitName = filePath.getFileName().toString();
+        String[] lines = compilation.getSourceLines(cUnitName);
+
+        // Index access, casts, conversions, array and record literals, ternaries, templates and lambdas
+        for (String name : new String[]{"args", "first", "converted", "shout", "Person"}) {
+            Pattern pattern = Pattern.compile("\\b" + name + "\\b");
+            BSymbol symbol = null;
+            int occurrences = 0;
+            for (int line = 0; line < lines.length; line++) {
+                Matcher matcher = pattern.matcher(lines[line]);
+                while (matcher.find()) {
+                    SymbolOccurrence occurrence = positionIndex.findOccurrence(cUnitName, line, matcher.start());
+                    Assert.assertNotNull(occurrence, name + " should be indexed at " + line + ":" + matcher.start());
+                    if (symbol == null) {
+                        symbol = occurrence.getSymbol();
+                    }
+                    Assert.assertSame(occurrence.getSymbol(), symbol, name + " should refer to a single symbol.");
+                    occurrences++;
+                }
+            }
+            Assert.assertEquals(positionIndex.getOccurrences(symbol).size(), occurrences,
+                    "All the occurrences of " + name + " should be indexed once.");
+        }
+    }
+
+    @Test
+    public void testIndexedAgainstCompiledSource() throws IOException {
+        Path filePath = Paths.get("src/test/resources/index/expressions.bal").toAbsolutePath();
+        String content = new String(Files.readAllBytes(filePath), StandardCharsets.UTF_8);
+        WorkspaceDocumentManagerImpl documentManager = new WorkspaceDocumentManagerImpl();
+        documentManager.openFile(filePath, content, 1);
+        PackageCompilation compilation = new LSCompiler(documentManager).getOrCompile(filePath);
+
+        // Edited after the compilation, before the index is built
+        documentManager.updateFile(filePath, "\n\n" + content, 2);
+        PositionIndex positionIndex = compilation.getFeature(PositionIndex.class, PositionIndexBuilder::build);
+        String cUnitName = filePath.getFileName().toString();
+        String mainLine = "function main (string[] args) {";
+        int line = Arrays.asList(content.split("\n")).indexOf(mainLine);
+        SymbolOccurrence occurrence = positionIndex.findOccurrence(cUnitName, line, mainLine.indexOf("args"));
+        Assert.assertNotNull(occurrence, "Occurrences should be at the positions of the compiled source.");
+        Assert.assertTrue(occurrence.isDefinition());
+    }
+}
@@ -0,0 +1,57 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.langserver.query;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Test the lexical scopes of the query layer.
+ */
+public class QueryScopeTest {
+
+    @Test
+    public void testScopeBounds() {
+        QueryScope packageScope = new QueryScope(null, -1, -1, -1, -1);
+        QueryScope functionScope = new QueryScope("file1.bal", 2, 0, 6, 1);
+        packageScope.addChild(functionScope);
+
+        Assert.assertTrue(packageScope.contains("file2.bal", 10, 0));
+        Assert.assertTrue(functionScope.contains("file1.bal", 2, 0));
+        Assert.assertTrue(functionScope.contains("file1.bal", 4, 20));
+        Assert.assertTrue(functionScope.contains("file1.bal", 6, 1));
+        Assert.assertFalse(functionScope.contains("file1.bal", 6, 2));
+        Assert.assertFalse(functionScope.contains("file1.bal", 1, 5));
+        Assert.assertFalse(functionScope.contains("file2.bal", 4, 0));
+        Assert.assertEquals(packageScope.getChildren().size(), 1);
+    }
+
+    @Test
+    public void testDeclarationOrder() {
+        QueryScope packageScope = new QueryScope(null, -1, -1, -1, -1);
+        packageScope.addDeclaration(null, -1, -1);
+        QueryScope blockScope = new QueryScope("file1.bal", 2, 0, 10, 1);
+        blockScope.addDeclaration(null, 3, 8);
+        blockScope.addDeclaration(null, 5, 8);
+
+        Assert.assertEquals(packageScope.getSymbolsDeclaredBefore(0, 0).size(), 1);
+        Assert.assertEquals(blockScope.getSymbolsDeclaredBefore(2, 4).size(), 0);
+        Assert.assertEquals(blockScope.getSymbolsDeclaredBefore(4, 0).size(), 1);
+        Assert.assertEquals(blockScope.getSymbolsDeclaredBefore(9, 0).size(), 2);
+    }
+}
@@ -0,0 +1,81 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.langserver.query;
+
+import org.ballerinalang.langserver.compiler.LSCompiler;
+import org.ballerinalang.langserver.compiler.PackageCompilation;
+import org.ballerinalang.langserver.workspace.WorkspaceDocumentManagerImpl;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.ballerinalang.compiler.semantics.model.symbols.BSymbol;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Test the scope tree built from a compiled package.
+ */
+public class ScopeTreeBuilderTest {
+
+    private static final Path FILE_PATH = Paths.get("src/test/resources/query/scopes.bal").toAbsolutePath();
+    private static final String CUNIT_NAME = "scopes.bal";
+
+    @Test
+    public void testVisibleSymbols() {
+        PackageQuery query = PackageQuery.of(compile());
+
+        Set<String> names = getVisibleNames(query, 7, 30);
+        Assert.assertTrue(names.containsAll(Arrays.asList("helper", "outer", "name", "count", "inner")),
+                "Symbols of the enclosing scopes should be visible: " + names);
+        Assert.assertFalse(names.contains("after"), "Symbols declared later should not be visible.");
+
+        names = getVisibleNames(query, 9, 0);
+        Assert.assertTrue(names.contains("count"));
+        Assert.assertFalse(names.contains("inner"), "Symbols of a closed block should not be visible.");
+        Assert.assertFalse(names.contains("after"));
+
+        names = getVisibleNames(query, 1, 4);
+        Assert.assertTrue(names.contains("helper"));
+        Assert.assertFalse(names.contains("name"), "Parameters of other functions should not be visible.");
+    }
+
+    @Test
+    public void testScopeTreeBuiltOnDemand() {
+        PackageCompilation compilation = compile();
+        PackageQuery.of(compilation);
+        QueryScope emptyScope = new QueryScope(null, -1, -1, -1, -1);
+        Assert.assertSame(compilation.getFeature(QueryScope.class, packageCompilation -> emptyScope), emptyScope,
+                "Position queries should not build the scope tree.");
+    }
+
+    private static PackageCompilation compile() {
+        // Each compiler has its own cache, hence the tests do not share the features of the compilation
+        return new LSCompiler(new WorkspaceDocumentManagerImpl()).getOrCompile(FILE_PATH);
+    }
+
+    private static Set<String> getVisibleNames(PackageQuery query, int line, int column) {
+        Set<String> names = new HashSet<>();
+        for (BSymbol symbol : query.getVisibleSymbols(CUNIT_NAME, line, column)) {
+            names.add(symbol.name.value);
+        }
+        return names;
+    }
+}
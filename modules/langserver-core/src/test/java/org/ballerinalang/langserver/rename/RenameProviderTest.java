@@ -0,0 +1,124 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.langserver.rename;
+
+import org.ballerinalang.langserver.compiler.LSCompiler;
+import org.ballerinalang.langserver.index.WorkspaceIndexer;
+import org.ballerinalang.langserver.index.WorkspaceReferenceIndex;
+import org.ballerinalang.langserver.index.WorkspaceSymbolIndex;
+import org.ballerinalang.langserver.workspace.WorkspaceDocumentManager;
+import org.ballerinalang.langserver.workspace.WorkspaceDocumentManagerImpl;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.TextEdit;
+import org.eclipse.lsp4j.WorkspaceEdit;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Test renaming the symbols across the packages of a workspace.
+ */
+public class RenameProviderTest {
+
+    private Path pkg1File;
+    private Path pkg2File;
+    private WorkspaceDocumentManager documentManager;
+    private Path sourceRootPath;
+    private LSCompiler lsCompiler;
+    private WorkspaceReferenceIndex referenceIndex;
+    private RenameProvider renameProvider;
+
+    @BeforeMethod
+    public void setup() {
+        sourceRootPath = Paths.get("src/test/resources/workspace").toAbsolutePath();
+        String sourceRoot = sourceRootPath.toString();
+        pkg1File = Paths.get(sourceRoot, "org", "pkg1", "file1.bal");
+        pkg2File = Paths.get(sourceRoot, "org", "pkg2", "file1.bal");
+        documentManager = new WorkspaceDocumentManagerImpl();
+        lsCompiler = new LSCompiler(documentManager);
+        referenceIndex = new WorkspaceReferenceIndex();
+        renameProvider = new RenameProvider(lsCompiler, referenceIndex, documentManager);
+    }
+
+    @Test
+    public void testRenameFunctionAcrossPackages() {
+        this.indexWorkspace();
+        WorkspaceEdit edit = renameProvider.rename(pkg1File, new Position(2, 18), "greet");
+
+        Assert.assertNotNull(edit);
+        assertEdit(edit.getChanges().get(pkg1File.toUri().toString()), new Range(new Position(2, 16),
+                new Position(2, 24)));
+        assertEdit(edit.getChanges().get(pkg2File.toUri().toString()), new Range(new Position(5, 9),
+                new Position(5, 17)));
+    }
+
+    @Test
+    public void testRenameInEditedPackage() {
+        this.indexWorkspace();
+        // The call moves down a line after the last compilation of the importing package
+        documentManager.openFile(pkg2File, "package org.pkg2;\n\nimport org.pkg1;\n\n\n"
+                + "function main (string[] args) {\n    pkg1:sayHello();\n}\n");
+        WorkspaceEdit edit = renameProvider.rename(pkg1File, new Position(2, 18), "greet");
+
+        Assert.assertNotNull(edit);
+        assertEdit(edit.getChanges().get(pkg1File.toUri().toString()), new Range(new Position(2, 16),
+                new Position(2, 24)));
+        assertEdit(edit.getChanges().get(pkg2File.toUri().toString()), new Range(new Position(6, 9),
+                new Position(6, 17)));
+    }
+
+    @Test
+    public void testRenameRefusedUntilImportsKnown() {
+        // The importing package is only found once the workspace is discovered
+        lsCompiler.getImportGraph().startDiscovery();
+        Assert.assertNull(renameProvider.rename(pkg1File, new Position(2, 18), "greet"));
+
+        lsCompiler.getImportGraph().finishDiscovery(Collections.singletonMap(lsCompiler.getPackageInfo(pkg2File)
+                .getKey(), Collections.singleton(lsCompiler.getPackageInfo(pkg1File).getKey())));
+        WorkspaceEdit edit = renameProvider.rename(pkg1File, new Position(2, 18), "greet");
+        Assert.assertNotNull(edit);
+        assertEdit(edit.getChanges().get(pkg2File.toUri().toString()), new Range(new Position(5, 9),
+                new Position(5, 17)));
+    }
+
+    @Test
+    public void testRenameToInvalidName() {
+        Assert.assertNull(renameProvider.rename(pkg1File, new Position(2, 18), "function"));
+        Assert.assertNull(renameProvider.rename(pkg1File, new Position(2, 18), "say hello"));
+        Assert.assertNull(renameProvider.rename(pkg1File, new Position(2, 18), ""));
+    }
+
+    private static void assertEdit(List<TextEdit> edits, Range range) {
+        Assert.assertNotNull(edits);
+        Assert.assertEquals(edits.size(), 1);
+        Assert.assertEquals(edits.get(0).getRange(), range);
+        Assert.assertEquals(edits.get(0).getNewText(), "greet");
+    }
+
+    private void indexWorkspace() {
+        new WorkspaceIndexer(lsCompiler, new WorkspaceSymbolIndex(), referenceIndex, null,
+                ForkJoinPool.commonPool()).index(sourceRootPath).join();
+    }
+}
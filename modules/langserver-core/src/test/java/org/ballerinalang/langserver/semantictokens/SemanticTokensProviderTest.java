@@ -0,0 +1,73 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.langserver.semantictokens;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Test the delta encoding of the semantic tokens.
+ */
+public class SemanticTokensProviderTest {
+
+    @Test
+    public void testUnchangedTokens() {
+        List<Integer> tokens = Arrays.asList(0, 0, 8, 10, 0, 0, 9, 4, 8, 1);
+        Assert.assertTrue(SemanticTokensProvider.getEdits(tokens, new ArrayList<>(tokens)).isEmpty());
+    }
+
+    @Test
+    public void testChangedToken() {
+        List<Integer> previous = Arrays.asList(0, 0, 8, 10, 0, 0, 9, 4, 8, 1, 1, 4, 6, 10, 0);
+        List<Integer> current = Arrays.asList(0, 0, 8, 10, 0, 0, 9, 5, 8, 1, 1, 4, 6, 10, 0);
+        List<SemanticTokensEdit> edits = SemanticTokensProvider.getEdits(previous, current);
+
+        // The edit covers the whole changed token, although only its length changed
+        Assert.assertEquals(edits.size(), 1);
+        Assert.assertEquals(edits.get(0).getStart(), 5);
+        Assert.assertEquals(edits.get(0).getDeleteCount(), 5);
+        Assert.assertEquals(edits.get(0).getData(), Arrays.asList(0, 9, 5, 8, 1));
+        Assert.assertEquals(apply(previous, edits.get(0)), current);
+    }
+
+    @Test
+    public void testInsertedAndRemovedTokens() {
+        List<Integer> previous = Arrays.asList(0, 0, 8, 10, 0, 1, 4, 6, 10, 0);
+        List<Integer> current = Arrays.asList(0, 0, 8, 10, 0, 0, 9, 4, 8, 1, 1, 4, 6, 10, 0);
+
+        List<SemanticTokensEdit> inserted = SemanticTokensProvider.getEdits(previous, current);
+        Assert.assertEquals(inserted.size(), 1);
+        Assert.assertEquals(apply(previous, inserted.get(0)), current);
+
+        List<SemanticTokensEdit> removed = SemanticTokensProvider.getEdits(current, previous);
+        Assert.assertEquals(removed.size(), 1);
+        Assert.assertEquals(removed.get(0).getData(), new ArrayList<>());
+        Assert.assertEquals(apply(current, removed.get(0)), previous);
+    }
+
+    private static List<Integer> apply(List<Integer> tokens, SemanticTokensEdit edit) {
+        List<Integer> result = new ArrayList<>(tokens.subList(0, edit.getStart()));
+        result.addAll(edit.getData());
+        result.addAll(tokens.subList(edit.getStart() + edit.getDeleteCount(), tokens.size()));
+        return result;
+    }
+}
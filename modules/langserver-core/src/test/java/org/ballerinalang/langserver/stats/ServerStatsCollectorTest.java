@@ -0,0 +1,99 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.langserver.stats;
+
+import org.ballerinalang.langserver.BallerinaLanguageServer;
+import org.ballerinalang.langserver.LSGlobalContext;
+import org.ballerinalang.langserver.compiler.LSCompiler;
+import org.ballerinalang.langserver.completions.CompletionCache;
+import org.ballerinalang.langserver.trace.RequestTracer;
+import org.ballerinalang.langserver.workspace.DocumentMailboxes;
+import org.ballerinalang.langserver.workspace.WorkspaceDocumentManagerImpl;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.TabularData;
+
+/**
+ * Test the server statistics.
+ */
+public class ServerStatsCollectorTest {
+
+    @Test
+    public void testLatencyHistogram() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 98; i++) {
+            histogram.record(3_000_000);
+        }
+        histogram.record(150_000_000);
+        histogram.record(20_000_000_000L);
+
+        RequestLatency latency = histogram.snapshot();
+        Assert.assertEquals(latency.getCount(), 100);
+        Assert.assertEquals(latency.getP50Millis(), 5.0);
+        Assert.assertEquals(latency.getP99Millis(), 200.0);
+        Assert.assertEquals(latency.getMaxMillis(), 20000.0);
+        Assert.assertEquals(latency.getHistogram().get("<5ms").longValue(), 98);
+        Assert.assertEquals(latency.getHistogram().get(">=10000ms").longValue(), 1);
+    }
+
+    @Test
+    public void testMBean() throws Exception {
+        LSGlobalContext globalContext = new LSGlobalContext();
+        LSCompiler lsCompiler = new LSCompiler(new WorkspaceDocumentManagerImpl(), globalContext,
+                RequestTracer.DISABLED);
+        ServerStatsCollector stats = new ServerStatsCollector(lsCompiler, new CompletionCache(),
+                new DocumentMailboxes(ForkJoinPool.commonPool()), globalContext);
+        stats.recordLatency("hover", CompletableFuture.completedFuture(null));
+
+        MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        int registered = mBeanServer.queryNames(new ObjectName("org.ballerinalang.langserver:*"), null).size();
+        stats.registerMBean();
+        try {
+            ObjectName name = mBeanServer.queryNames(new ObjectName("org.ballerinalang.langserver:*"), null)
+                    .iterator().next();
+            Assert.assertEquals(mBeanServer.getAttribute(name, "CachedCompilations"), 0);
+            Assert.assertTrue((Long) mBeanServer.getAttribute(name, "HeapUsedBytes") > 0);
+            Assert.assertEquals(((TabularData) mBeanServer.getAttribute(name, "RequestLatencies")).size(), 1);
+        } finally {
+            stats.unregisterMBean();
+        }
+        Assert.assertEquals(mBeanServer.queryNames(new ObjectName("org.ballerinalang.langserver:*"), null).size(),
+                registered);
+        Assert.assertEquals(ServerStats.of(stats).getRequestLatencies().get("hover").getCount(), 1);
+    }
+
+    @Test
+    public void testDisposeUnregistersMBean() throws Exception {
+        MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        ObjectName pattern = new ObjectName("org.ballerinalang.langserver:*");
+        int registered = mBeanServer.queryNames(pattern, null).size();
+        BallerinaLanguageServer server = new BallerinaLanguageServer(new LSGlobalContext());
+        Assert.assertEquals(mBeanServer.queryNames(pattern, null).size(), registered + 1);
+
+        // A client which drops the connection never sends shutdown, hence the launcher disposes the session
+        server.dispose();
+        Assert.assertEquals(mBeanServer.queryNames(pattern, null).size(), registered,
+                "Disposed session should not be kept alive by the MBean server.");
+    }
+}
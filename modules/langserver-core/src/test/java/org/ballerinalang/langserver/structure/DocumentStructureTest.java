@@ -0,0 +1,87 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.langserver.structure;
+
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test the lexer based folding and selection ranges.
+ */
+public class DocumentStructureTest {
+
+    private static final String SOURCE = "import ballerina.io;\n" +
+            "import ballerina.net.http;\n" +
+            "\n" +
+            "// Prints a greeting\n" +
+            "// to the standard output\n" +
+            "function main (string[] args) {\n" +
+            "    if (true) {\n" +
+            "        io:println(\"Hello\");\n" +
+            "    }\n" +
+            "}\n";
+
+    @Test
+    public void testFoldingRanges() {
+        List<String> foldingRanges = toStrings(DocumentStructure.scan(SOURCE).getFoldingRanges());
+        Assert.assertEquals(foldingRanges.size(), 4);
+        Assert.assertTrue(foldingRanges.contains("0-1 imports"));
+        Assert.assertTrue(foldingRanges.contains("3-4 comment"));
+        Assert.assertTrue(foldingRanges.contains("5-8 null"));
+        Assert.assertTrue(foldingRanges.contains("6-7 null"));
+    }
+
+    @Test
+    public void testIncrementalRescan() {
+        DocumentStructure structure = DocumentStructure.scan(SOURCE);
+        String edited = SOURCE.replace("    }\n}", "    }\n    // Done\n    while (false) {\n    }\n}");
+        Assert.assertTrue(structure.rescan(edited), "An edit within a body should only re-lex the body.");
+        Assert.assertEquals(toStrings(structure.getFoldingRanges()),
+                toStrings(DocumentStructure.scan(edited).getFoldingRanges()));
+
+        String appended = edited + "function f () {\n    int i = 0;\n}\n";
+        Assert.assertFalse(structure.rescan(appended), "An edit outside the bodies should need a full scan.");
+    }
+
+    @Test
+    public void testSelectionRanges() {
+        SelectionRange selectionRange = DocumentStructure.scan(SOURCE).getSelectionRange(new Position(7, 12));
+        Assert.assertEquals(selectionRange.getRange(), new Range(new Position(7, 11), new Position(7, 18)));
+        Assert.assertEquals(selectionRange.getParent().getRange(),
+                new Range(new Position(6, 15), new Position(8, 4)));
+
+        SelectionRange outermost = selectionRange;
+        while (outermost.getParent() != null) {
+            outermost = outermost.getParent();
+        }
+        Assert.assertEquals(outermost.getRange(), new Range(new Position(0, 0), new Position(10, 0)));
+    }
+
+    private static List<String> toStrings(List<FoldingRange> foldingRanges) {
+        List<String> strings = new ArrayList<>();
+        for (FoldingRange foldingRange : foldingRanges) {
+            strings.add(foldingRange.getStartLine() + "-" + foldingRange.getEndLine() + " " + foldingRange.getKind());
+        }
+        return strings;
+    }
+}
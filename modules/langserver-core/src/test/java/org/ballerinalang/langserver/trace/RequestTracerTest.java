@@ -0,0 +1,109 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.langserver.trace;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import org.ballerinalang.langserver.BallerinaLanguageServer;
+import org.ballerinalang.langserver.BallerinaWorkspaceService;
+import org.ballerinalang.langserver.LSGlobalContext;
+import org.eclipse.lsp4j.ExecuteCommandParams;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Test the request tracer.
+ */
+public class RequestTracerTest {
+
+    @Test
+    public void testRingBuffer() {
+        RequestTracer tracer = new RequestTracer(2);
+        for (int i = 0; i < 3; i++) {
+            try (TraceSpan span = tracer.startSpan("test", "span" + i)) {
+                Assert.assertNotNull(span);
+            }
+        }
+        List<TraceSpan> spans = tracer.getSpans();
+        Assert.assertEquals(spans.size(), 2, "Only the latest spans should be kept.");
+        Assert.assertEquals(spans.get(0).getName(), "span1");
+        Assert.assertEquals(spans.get(1).getName(), "span2");
+        Assert.assertTrue(RequestTracer.DISABLED.getSpans().isEmpty());
+    }
+
+    @Test
+    public void testExportChromeTrace() throws IOException {
+        RequestTracer tracer = new RequestTracer(16);
+        try (TraceSpan outer = tracer.startSpan("completion", "completion", "file:///main.bal")) {
+            try (TraceSpan inner = tracer.startSpan("completion", "treeVisitor")) {
+                Assert.assertNotNull(inner);
+            }
+        }
+        Path tracePath = Files.createTempFile("trace", ".json");
+        try {
+            tracer.exportChromeTrace(tracePath);
+            String content = new String(Files.readAllBytes(tracePath), StandardCharsets.UTF_8);
+            JsonArray events = new JsonParser().parse(content).getAsJsonObject().getAsJsonArray("traceEvents");
+            // Two complete events and the thread name metadata event
+            Assert.assertEquals(events.size(), 3);
+            JsonObject outerEvent = events.get(0).getAsJsonObject();
+            Assert.assertEquals(outerEvent.get("name").getAsString(), "completion");
+            Assert.assertEquals(outerEvent.get("ph").getAsString(), "X");
+            Assert.assertEquals(outerEvent.getAsJsonObject("args").get("detail").getAsString(), "file:///main.bal");
+            JsonObject innerEvent = events.get(1).getAsJsonObject();
+            Assert.assertEquals(innerEvent.get("name").getAsString(), "treeVisitor");
+            Assert.assertTrue(innerEvent.get("dur").getAsDouble() <= outerEvent.get("dur").getAsDouble());
+        } finally {
+            Files.delete(tracePath);
+        }
+    }
+
+    @Test
+    public void testExportTraceIgnoresPathArgument() throws Exception {
+        Path tempDir = Files.createTempDirectory("trace-test");
+        Path requestedPath = tempDir.resolve("requested.json");
+        BallerinaLanguageServer server = new BallerinaLanguageServer(new LSGlobalContext());
+        try {
+            ExecuteCommandParams params = new ExecuteCommandParams(BallerinaWorkspaceService.EXPORT_TRACE_COMMAND,
+                    Collections.singletonList(new JsonPrimitive(requestedPath.toString())));
+            Object result = server.getWorkspaceService().executeCommand(params).get();
+            Assert.assertNotNull(result);
+            Path tracePath = Paths.get(result.toString());
+            try {
+                // A client of the shared socket server must not choose where the server account writes
+                Assert.assertFalse(Files.exists(requestedPath));
+                Assert.assertTrue(Files.exists(tracePath));
+            } finally {
+                Files.delete(tracePath);
+            }
+        } finally {
+            server.dispose();
+            Files.delete(tempDir);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.langserver.workspace;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test the per document execution of the operations.
+ */
+public class DocumentMailboxesTest {
+
+    @Test
+    public void testOrderWithinDocument() {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        DocumentMailboxes mailboxes = new DocumentMailboxes(executor);
+        List<Integer> executed = Collections.synchronizedList(new ArrayList<>());
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            int index = i;
+            futures.add(mailboxes.execute("file:///main.bal", () -> executed.add(index)));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        for (int i = 0; i < 100; i++) {
+            Assert.assertEquals(executed.get(i).intValue(), i);
+        }
+        executor.shutdown();
+    }
+
+    @Test
+    public void testParallelismAcrossDocuments() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        DocumentMailboxes mailboxes = new DocumentMailboxes(executor);
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        Runnable operation = () -> {
+            bothStarted.countDown();
+            try {
+                bothStarted.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        // Each operation only completes once the other one has started, which needs them to run concurrently
+        mailboxes.execute("file:///a.bal", operation);
+        mailboxes.execute("file:///b.bal", operation);
+        Assert.assertTrue(bothStarted.await(5, TimeUnit.SECONDS));
+        executor.shutdown();
+    }
+}
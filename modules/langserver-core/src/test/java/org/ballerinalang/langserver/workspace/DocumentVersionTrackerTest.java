@@ -0,0 +1,56 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.langserver.workspace;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Test the stale result detection of the document version tracker.
+ */
+public class DocumentVersionTrackerTest {
+
+    @Test
+    public void testStaleVersions() {
+        Path file1 = Paths.get("src/test/resources/workspace/org/pkg1/file1.bal").toAbsolutePath();
+        Path file2 = Paths.get("src/test/resources/workspace/org/pkg1/file2.bal").toAbsolutePath();
+        DocumentVersionTracker tracker = new DocumentVersionTracker();
+        tracker.received(file1, 3);
+        tracker.received(file2, 1);
+
+        Map<Path, Integer> inputVersions = new HashMap<>();
+        inputVersions.put(file1, 3);
+        inputVersions.put(file2, 1);
+        Assert.assertFalse(tracker.isStale(inputVersions));
+
+        // A version received out of order does not hide the newer one
+        tracker.received(file2, 2);
+        tracker.received(file2, 1);
+        Assert.assertTrue(tracker.isStale(file2, 1));
+        Assert.assertTrue(tracker.isStale(inputVersions));
+        Assert.assertFalse(tracker.isStale(file1, 3));
+
+        tracker.closed(file2);
+        Assert.assertFalse(tracker.isStale(inputVersions));
+    }
+}
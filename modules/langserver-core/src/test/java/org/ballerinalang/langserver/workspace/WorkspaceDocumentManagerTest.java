@@ -58,4 +58,31 @@ public class WorkspaceDocumentManagerTest {
                 "File content should be updated upon file update.");
         documentManager.closeFile(FILE_PATH);
     }
+
+    @Test
+    public void testFileVersion() {
+        documentManager.openFile(FILE_PATH, FILE_CONTENT, 1);
+        Assert.assertEquals(documentManager.getFileVersion(FILE_PATH), 1, "File should be opened with its version.");
+        documentManager.updateFile(FILE_PATH, "function main2() {}", 5);
+        Assert.assertEquals(documentManager.getFileVersion(FILE_PATH), 5,
+                "File version should be updated upon file update.");
+        documentManager.closeFile(FILE_PATH);
+        Assert.assertEquals(documentManager.getFileVersion(FILE_PATH), -1, "Closed file should not have a version.");
+    }
+
+    @Test
+    public void testDocumentSnapshot() {
+        documentManager.openFile(FILE_PATH, FILE_CONTENT, 1);
+        WorkspaceDocument opened = documentManager.getDocument(FILE_PATH);
+        documentManager.updateFile(FILE_PATH, "function main2() {}", 2);
+        WorkspaceDocument updated = documentManager.getDocument(FILE_PATH);
+        Assert.assertEquals(opened.getContent(), FILE_CONTENT, "Snapshot should not see later updates.");
+        Assert.assertEquals(opened.getVersion(), 1, "Snapshot should not see later updates.");
+        Assert.assertEquals(updated.getContent(), "function main2() {}", "Snapshot should have the new content.");
+        Assert.assertEquals(updated.getVersion(), 2, "Snapshot should have the new version.");
+        documentManager.closeFile(FILE_PATH);
+        Assert.assertNull(documentManager.getDocument(FILE_PATH), "Closed file should not have a document.");
+        documentManager.updateFile(FILE_PATH, FILE_CONTENT, 3);
+        Assert.assertFalse(documentManager.isFileOpen(FILE_PATH), "Updating a closed file should not open it.");
+    }
 }
@@ -0,0 +1,19 @@
+struct Person {
+    string label;
+}
+
+function shout (string text) (string) {
+    return text + "!";
+}
+
+function main (string[] args) {
+    string first = args[0];
+    any value = (any) first;
+    string converted = <string> first;
+    string[] names = [first, converted];
+    map info = {key: first};
+    string chosen = value == null ? first : "";
+    string greeting = string `Hello {{first}}`;
+    function (string) (string) greet = function (string text) (string) { return shout(text); };
+    Person person = {label: first};
+}
@@ -0,0 +1,11 @@
+function helper () (int) {
+    return 1;
+}
+
+function outer (string name) {
+    int count = helper();
+    if (count > 0) {
+        string inner = name;
+    }
+    string after = name;
+}
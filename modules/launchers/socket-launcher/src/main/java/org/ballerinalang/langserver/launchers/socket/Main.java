@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://wso2.com) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ballerinalang.langserver.launchers.socket;
+
+import org.ballerinalang.langserver.BallerinaLanguageServer;
+import org.ballerinalang.langserver.LSGlobalContext;
+import org.ballerinalang.langserver.warmup.WarmUpService;
+import org.eclipse.lsp4j.jsonrpc.Launcher;
+import org.eclipse.lsp4j.launch.LSPLauncher;
+import org.eclipse.lsp4j.services.LanguageClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+/**
+ * Entry point of the socket launcher, which hosts a language server session per client connection in the same JVM.
+ * The sessions keep their own documents and workspace compilations, while the thread pools and the library caches
+ * are shared through a {@link LSGlobalContext}.
+ */
+public class Main {
+    private static final Logger LOGGER = LoggerFactory.getLogger(Main.class);
+
+    private static final String PORT_OPTION = "--port";
+    private static final String HOST_OPTION = "--host";
+    private static final String WARM_UP_OPTION = "--warmup";
+    private static final int DEFAULT_PORT = 9095;
+    private static final String DEFAULT_HOST = "127.0.0.1";
+    private static final int CONNECTION_BACKLOG = 50;
+
+    public static void main(String[] args) throws IOException {
+        List<String> options = Arrays.asList(args);
+        int port = Integer.parseInt(getOption(options, PORT_OPTION, String.valueOf(DEFAULT_PORT)));
+        String host = getOption(options, HOST_OPTION, DEFAULT_HOST);
+
+        int processors = Runtime.getRuntime().availableProcessors();
+        LSGlobalContext globalContext = new LSGlobalContext(new ForkJoinPool(processors),
+                new ForkJoinPool(processors));
+        if (options.contains(WARM_UP_OPTION)) {
+            // Warmed up once for all the sessions, hence the warm-up is not enabled per session
+            CompletableFuture.runAsync(() -> new WarmUpService(globalContext).warmUp(),
+                    globalContext.getRequestExecutor());
+        }
+
+        // Each session holds a thread reading its messages for as long as the client is connected
+        ExecutorService sessionExecutor = Executors.newCachedThreadPool();
+        try (ServerSocket serverSocket = new ServerSocket(port, CONNECTION_BACKLOG, InetAddress.getByName(host))) {
+            LOGGER.info("Listening for language server clients on " + host + ":" + port);
+            while (true) {
+                Socket socket = serverSocket.accept();
+                sessionExecutor.submit(() -> startSession(socket, globalContext, sessionExecutor));
+            }
+        }
+    }
+
+    private static void startSession(Socket socket, LSGlobalContext globalContext, ExecutorService sessionExecutor) {
+        String clientAddress = String.valueOf(socket.getRemoteSocketAddress());
+        LOGGER.info("Language server session started for " + clientAddress);
+        BallerinaLanguageServer server = null;
+        try (Socket sessionSocket = socket) {
+            server = new BallerinaLanguageServer(globalContext);
+            Launcher<LanguageClient> launcher = LSPLauncher.createServerLauncher(server,
+                    sessionSocket.getInputStream(), sessionSocket.getOutputStream(), sessionExecutor,
+                    Function.identity());
+            server.connect(launcher.getRemoteProxy());
+            launcher.startListening().get();
+        } catch (IOException | ExecutionException e) {
+            LOGGER.error("Language server session of " + clientAddress + " failed: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            // Clients which drop the connection never shut the session down
+            if (server != null) {
+                server.dispose();
+            }
+        }
+        LOGGER.info("Language server session ended for " + clientAddress);
+    }
+
+    private static String getOption(List<String> options, String option, String defaultValue) {
+        int index = options.indexOf(option);
+        return index >= 0 && index + 1 < options.size() ? options.get(index + 1) : defaultValue;
+    }
+}
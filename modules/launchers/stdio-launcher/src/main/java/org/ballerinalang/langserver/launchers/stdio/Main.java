@@ -16,13 +16,20 @@
 package org.ballerinalang.langserver.launchers.stdio;
 
 import org.ballerinalang.langserver.BallerinaLanguageServer;
+import org.ballerinalang.langserver.LSGlobalContext;
+import org.ballerinalang.langserver.launchers.stdio.session.SessionRecorder;
+import org.ballerinalang.langserver.warmup.WarmUpService;
 import org.eclipse.lsp4j.jsonrpc.Launcher;
 import org.eclipse.lsp4j.launch.LSPLauncher;
 import org.eclipse.lsp4j.services.LanguageClient;
 import org.eclipse.lsp4j.services.LanguageClientAware;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 
@@ -30,7 +37,28 @@ import java.util.concurrent.Future;
  * Entry point of the stdio launcher.
  */
 public class Main {
-    public static void main(String[] args) throws InterruptedException, ExecutionException {
+    private static final String WARM_UP_OPTION = "--warmup";
+    private static final String WARM_UP_ONLY_OPTION = "--warmup-only";
+    private static final String RECORD_OPTION = "--record";
+
+    public static void main(String[] args) throws InterruptedException, ExecutionException, IOException {
+        List<String> options = Arrays.asList(args);
+        if (options.contains(WARM_UP_ONLY_OPTION)) {
+            // Training run, which loads the classes used by the server for a class data sharing archive
+            new WarmUpService(new LSGlobalContext()).warmUp();
+            return;
+        }
+        if (options.contains(WARM_UP_OPTION)) {
+            System.setProperty(WarmUpService.WARM_UP_PROPERTY, Boolean.TRUE.toString());
+        }
+        int recordIndex = options.indexOf(RECORD_OPTION);
+        if (recordIndex >= 0 && recordIndex + 1 < args.length) {
+            // Records the session, to be replayed with SessionReplay
+            try (SessionRecorder recorder = new SessionRecorder(Paths.get(args[recordIndex + 1]))) {
+                startServer(recorder.record(System.in), recorder.record(System.out));
+            }
+            return;
+        }
         startServer(System.in, System.out);
     }
 
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://wso2.com) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ballerinalang.langserver.launchers.stdio.session;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * Splits a stream of JSON-RPC bytes framed with Content-Length headers into the contents of the messages.
+ */
+class MessageFramer {
+
+    private static final String CONTENT_LENGTH_HEADER = "content-length:";
+    private static final byte[] HEADER_SEPARATOR = {'\r', '\n', '\r', '\n'};
+
+    private final Consumer<String> messageConsumer;
+    private final ByteArrayOutputStream pending = new ByteArrayOutputStream();
+
+    MessageFramer(Consumer<String> messageConsumer) {
+        this.messageConsumer = messageConsumer;
+    }
+
+    /**
+     * Append bytes of the stream. The consumer is notified with each message completed by the bytes.
+     *
+     * @param bytes  bytes of the stream
+     * @param offset offset of the first byte
+     * @param length number of bytes
+     */
+    synchronized void append(byte[] bytes, int offset, int length) {
+        pending.write(bytes, offset, length);
+        byte[] data = pending.toByteArray();
+        int start = 0;
+        while (true) {
+            int headerEnd = indexOf(data, start, HEADER_SEPARATOR);
+            if (headerEnd < 0) {
+                break;
+            }
+            int contentStart = headerEnd + HEADER_SEPARATOR.length;
+            int contentLength = getContentLength(new String(data, start, headerEnd - start,
+                    StandardCharsets.US_ASCII));
+            if (data.length - contentStart < contentLength) {
+                break;
+            }
+            if (contentLength > 0) {
+                messageConsumer.accept(new String(data, contentStart, contentLength, StandardCharsets.UTF_8));
+            }
+            start = contentStart + contentLength;
+        }
+        pending.reset();
+        pending.write(data, start, data.length - start);
+    }
+
+    private static int getContentLength(String headers) {
+        for (String header : headers.split("\r\n")) {
+            if (header.toLowerCase().startsWith(CONTENT_LENGTH_HEADER)) {
+                try {
+                    return Integer.parseInt(header.substring(CONTENT_LENGTH_HEADER.length()).trim());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 0;
+    }
+
+    private static int indexOf(byte[] data, int start, byte[] target) {
+        for (int i = start; i <= data.length - target.length; i++) {
+            int j = 0;
+            while (j < target.length && data[i + j] == target[j]) {
+                j++;
+            }
+            if (j == target.length) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://wso2.com) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ballerinalang.langserver.launchers.stdio.session;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Latencies and allocations of the replayed requests of a method.
+ */
+class RequestStatistics {
+
+    private final String method;
+    private final List<Long> latencies = new ArrayList<>();
+    private long allocatedBytes;
+    private int timeouts;
+
+    RequestStatistics(String method) {
+        this.method = method;
+    }
+
+    void addRequest(long latencyNanos, long allocated) {
+        latencies.add(latencyNanos);
+        allocatedBytes += allocated;
+    }
+
+    void addTimeout() {
+        timeouts++;
+    }
+
+    String getMethod() {
+        return method;
+    }
+
+    int getCount() {
+        return latencies.size();
+    }
+
+    int getTimeouts() {
+        return timeouts;
+    }
+
+    /**
+     * Get a percentile of the latencies, using the nearest rank.
+     *
+     * @param percentile percentile between 0 and 100
+     * @return latency in nanoseconds, or 0 if no request completed
+     */
+    long getPercentile(double percentile) {
+        if (latencies.isEmpty()) {
+            return 0;
+        }
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        int rank = (int) Math.ceil(percentile / 100 * sorted.size());
+        return sorted.get(Math.max(rank, 1) - 1);
+    }
+
+    long getMeanAllocatedBytes() {
+        return latencies.isEmpty() ? 0 : allocatedBytes / latencies.size();
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://wso2.com) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ballerinalang.langserver.launchers.stdio.session;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the JSON-RPC messages exchanged with the client to a session file, which can be replayed with
+ * {@link SessionReplay}. Each line of the file is a JSON object with the time of the message in milliseconds since
+ * the start of the recording, its direction and the message itself.
+ */
+public class SessionRecorder implements Closeable {
+
+    static final String TIME = "time";
+    static final String DIRECTION = "direction";
+    static final String MESSAGE = "message";
+    static final String INCOMING = "in";
+    static final String OUTGOING = "out";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SessionRecorder.class);
+
+    private final Writer writer;
+    private final long startNanos = System.nanoTime();
+
+    public SessionRecorder(Path sessionPath) throws IOException {
+        this.writer = Files.newBufferedWriter(sessionPath, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Wrap the input stream of the client messages, so that the messages read from it are recorded.
+     *
+     * @param in input stream of the client messages
+     * @return recording input stream
+     */
+    public InputStream record(InputStream in) {
+        MessageFramer framer = new MessageFramer(message -> this.record(INCOMING, message));
+        return new FilterInputStream(in) {
+            @Override
+            public int read() throws IOException {
+                int read = super.read();
+                if (read >= 0) {
+                    framer.append(new byte[]{(byte) read}, 0, 1);
+                }
+                return read;
+            }
+
+            @Override
+            public int read(byte[] bytes, int offset, int length) throws IOException {
+                int read = super.read(bytes, offset, length);
+                if (read > 0) {
+                    framer.append(bytes, offset, read);
+                }
+                return read;
+            }
+        };
+    }
+
+    /**
+     * Wrap the output stream of the server messages, so that the messages written to it are recorded.
+     *
+     * @param out output stream of the server messages
+     * @return recording output stream
+     */
+    public OutputStream record(OutputStream out) {
+        MessageFramer framer = new MessageFramer(message -> this.record(OUTGOING, message));
+        return new FilterOutputStream(out) {
+            @Override
+            public void write(int b) throws IOException {
+                out.write(b);
+                framer.append(new byte[]{(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] bytes, int offset, int length) throws IOException {
+                out.write(bytes, offset, length);
+                framer.append(bytes, offset, length);
+            }
+        };
+    }
+
+    private synchronized void record(String direction, String message) {
+        JsonObject entry = new JsonObject();
+        entry.addProperty(TIME, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        entry.addProperty(DIRECTION, direction);
+        try {
+            entry.add(MESSAGE, new JsonParser().parse(message));
+        } catch (JsonParseException e) {
+            entry.addProperty(MESSAGE, message);
+        }
+        try {
+            // Flushed per message, so that the session is usable even if the editor kills the server
+            writer.write(entry.toString());
+            writer.write('\n');
+            writer.flush();
+        } catch (IOException e) {
+            // A failure to record must not break the session of the user
+            LOGGER.error("Unable to record the message: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        writer.close();
+    }
+}
@@ -0,0 +1,301 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://wso2.com) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ballerinalang.langserver.launchers.stdio.session;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.ballerinalang.langserver.launchers.stdio.Main;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Replays a session recorded by {@link SessionRecorder} against a language server running in the same process, and
+ * reports the latency percentiles and the allocations of the requests per method.
+ * <p>
+ * The client messages are sent in the recorded order. Each request is sent once the response of the previous one is
+ * received, hence the allocations of all the threads in between are attributed to the request, including the ones of
+ * the notifications sent before it. With --realtime the recorded delays between the messages are kept, otherwise the
+ * messages are sent as fast as the server responds. With --workspace the recorded workspace root is replaced with the
+ * given directory, which should contain a copy of the recorded workspace.
+ */
+public class SessionReplay {
+
+    private static final String REALTIME_OPTION = "--realtime";
+    private static final String WORKSPACE_OPTION = "--workspace";
+    private static final String INITIALIZE_METHOD = "initialize";
+    private static final long RESPONSE_TIMEOUT_SECONDS = 120;
+    private static final int PIPE_SIZE = 1024 * 1024;
+
+    private final Map<String, CompletableFuture<Long>> pendingResponses = new ConcurrentHashMap<>();
+    private final Map<String, RequestStatistics> statistics = new TreeMap<>();
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length == 0) {
+            System.err.println("Usage: SessionReplay <session file> [" + REALTIME_OPTION + "] ["
+                    + WORKSPACE_OPTION + " <directory>]");
+            return;
+        }
+        List<String> options = Arrays.asList(args);
+        List<JsonObject> entries = readClientMessages(Paths.get(args[0]));
+        int workspaceIndex = options.indexOf(WORKSPACE_OPTION);
+        if (workspaceIndex >= 0 && workspaceIndex + 1 < args.length) {
+            entries = relocateWorkspace(entries, Paths.get(args[workspaceIndex + 1]));
+        }
+
+        SessionReplay sessionReplay = new SessionReplay();
+        long startNanos = System.nanoTime();
+        sessionReplay.replay(entries, options.contains(REALTIME_OPTION));
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        sessionReplay.printReport(System.out);
+        System.out.println("Replayed " + entries.size() + " messages in " + elapsedMillis + " ms");
+        // The idle threads of the JSON-RPC launcher would otherwise keep the JVM alive for a while
+        System.exit(0);
+    }
+
+    /**
+     * Replay the given client messages against a new language server.
+     *
+     * @param entries  recorded client messages
+     * @param realtime whether the recorded delays between the messages are kept
+     * @throws IOException          if the messages cannot be sent
+     * @throws InterruptedException if interrupted while waiting for a response
+     */
+    public void replay(List<JsonObject> entries, boolean realtime) throws IOException, InterruptedException {
+        enableAllocationCounting();
+        PipedOutputStream clientOut = new PipedOutputStream();
+        PipedInputStream serverIn = new PipedInputStream(clientOut, PIPE_SIZE);
+        MessageFramer serverMessageFramer = new MessageFramer(this::onServerMessage);
+        OutputStream serverOut = new OutputStream() {
+            @Override
+            public void write(int b) {
+                serverMessageFramer.append(new byte[]{(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] bytes, int offset, int length) {
+                serverMessageFramer.append(bytes, offset, length);
+            }
+        };
+        Thread serverThread = new Thread(() -> {
+            try {
+                Main.startServer(serverIn, serverOut);
+            } catch (InterruptedException | ExecutionException e) {
+                System.err.println("Language server stopped: " + e.getMessage());
+            }
+        }, "replayed-language-server");
+        serverThread.setDaemon(true);
+        serverThread.start();
+
+        long startNanos = System.nanoTime();
+        try {
+            for (JsonObject entry : entries) {
+                if (realtime) {
+                    long delayMillis = entry.get(SessionRecorder.TIME).getAsLong()
+                            - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+                    if (delayMillis > 0) {
+                        Thread.sleep(delayMillis);
+                    }
+                }
+                JsonObject message = entry.getAsJsonObject(SessionRecorder.MESSAGE);
+                if (message.has("id") && message.has("method")) {
+                    this.sendRequest(clientOut, message);
+                } else {
+                    send(clientOut, message);
+                }
+            }
+        } finally {
+            // Ends the input of the server, which stops listening
+            clientOut.close();
+        }
+    }
+
+    private void sendRequest(OutputStream clientOut, JsonObject request) throws IOException, InterruptedException {
+        String id = request.get("id").getAsString();
+        RequestStatistics requestStatistics = statistics.computeIfAbsent(request.get("method").getAsString(),
+                RequestStatistics::new);
+        CompletableFuture<Long> response = new CompletableFuture<>();
+        pendingResponses.put(id, response);
+
+        long allocatedBefore = getAllocatedBytes();
+        long sentNanos = System.nanoTime();
+        send(clientOut, request);
+        try {
+            long receivedNanos = response.get(RESPONSE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            // Threads which terminated in between take their allocations with them
+            long allocated = Math.max(getAllocatedBytes() - allocatedBefore, 0);
+            requestStatistics.addRequest(receivedNanos - sentNanos, allocated);
+        } catch (ExecutionException | TimeoutException e) {
+            pendingResponses.remove(id);
+            requestStatistics.addTimeout();
+        }
+    }
+
+    private void onServerMessage(String content) {
+        JsonElement element = new JsonParser().parse(content);
+        if (!element.isJsonObject()) {
+            return;
+        }
+        JsonObject message = element.getAsJsonObject();
+        // Responses have an id without a method, and the other messages from the server are ignored
+        if (message.has("id") && !message.has("method")) {
+            CompletableFuture<Long> response = pendingResponses.remove(message.get("id").getAsString());
+            if (response != null) {
+                response.complete(System.nanoTime());
+            }
+        }
+    }
+
+    /**
+     * Print the latency percentiles and the mean allocation of the requests per method.
+     *
+     * @param out stream to print to
+     */
+    public void printReport(PrintStream out) {
+        out.println(String.format("%-40s %8s %8s %10s %10s %10s %10s %14s", "method", "count", "timeouts",
+                "p50 (ms)", "p90 (ms)", "p99 (ms)", "max (ms)", "alloc (KB)"));
+        for (RequestStatistics requestStatistics : statistics.values()) {
+            out.println(String.format("%-40s %8d %8d %10.2f %10.2f %10.2f %10.2f %14d",
+                    requestStatistics.getMethod(), requestStatistics.getCount(), requestStatistics.getTimeouts(),
+                    toMillis(requestStatistics.getPercentile(50)), toMillis(requestStatistics.getPercentile(90)),
+                    toMillis(requestStatistics.getPercentile(99)), toMillis(requestStatistics.getPercentile(100)),
+                    requestStatistics.getMeanAllocatedBytes() / 1024));
+        }
+    }
+
+    private static List<JsonObject> readClientMessages(Path sessionPath) throws IOException {
+        List<JsonObject> entries = new ArrayList<>();
+        JsonParser parser = new JsonParser();
+        try (BufferedReader reader = Files.newBufferedReader(sessionPath, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.trim().isEmpty()) {
+                    continue;
+                }
+                JsonObject entry = parser.parse(line).getAsJsonObject();
+                if (SessionRecorder.INCOMING.equals(entry.get(SessionRecorder.DIRECTION).getAsString())
+                        && entry.get(SessionRecorder.MESSAGE).isJsonObject()) {
+                    entries.add(entry);
+                }
+            }
+        }
+        return entries;
+    }
+
+    private static List<JsonObject> relocateWorkspace(List<JsonObject> entries, Path workspace) {
+        String recordedRootUri = null;
+        String recordedRootPath = null;
+        for (JsonObject entry : entries) {
+            JsonObject message = entry.getAsJsonObject(SessionRecorder.MESSAGE);
+            if (message.has("method") && INITIALIZE_METHOD.equals(message.get("method").getAsString())
+                    && message.has("params")) {
+                JsonObject params = message.getAsJsonObject("params");
+                recordedRootUri = getString(params, "rootUri");
+                recordedRootPath = getString(params, "rootPath");
+                break;
+            }
+        }
+
+        String rootUri = trimTrailingSlash(workspace.toAbsolutePath().toUri().toString());
+        String rootPath = trimTrailingSlash(workspace.toAbsolutePath().toString());
+        List<JsonObject> relocatedEntries = new ArrayList<>();
+        JsonParser parser = new JsonParser();
+        for (JsonObject entry : entries) {
+            String text = entry.toString();
+            if (recordedRootUri != null) {
+                text = text.replace(trimTrailingSlash(recordedRootUri), rootUri);
+            }
+            if (recordedRootPath != null) {
+                text = text.replace(trimTrailingSlash(recordedRootPath), rootPath);
+            }
+            relocatedEntries.add(parser.parse(text).getAsJsonObject());
+        }
+        return relocatedEntries;
+    }
+
+    private static String getString(JsonObject object, String property) {
+        JsonElement element = object.get(property);
+        return element == null || element.isJsonNull() ? null : element.getAsString();
+    }
+
+    private static String trimTrailingSlash(String path) {
+        return path.endsWith("/") ? path.substring(0, path.length() - 1) : path;
+    }
+
+    private static void send(OutputStream out, JsonObject message) throws IOException {
+        byte[] content = message.toString().getBytes(StandardCharsets.UTF_8);
+        String header = "Content-Length: " + content.length + "\r\n\r\n";
+        out.write(header.getBytes(StandardCharsets.US_ASCII));
+        out.write(content);
+        out.flush();
+    }
+
+    private static void enableAllocationCounting() {
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        if (threadBean instanceof com.sun.management.ThreadMXBean
+                && ((com.sun.management.ThreadMXBean) threadBean).isThreadAllocatedMemorySupported()) {
+            ((com.sun.management.ThreadMXBean) threadBean).setThreadAllocatedMemoryEnabled(true);
+        }
+    }
+
+    /**
+     * Get the bytes allocated by all the live threads so far.
+     *
+     * @return allocated bytes, or 0 if allocation counting is not supported by the JVM
+     */
+    private static long getAllocatedBytes() {
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        if (!(threadBean instanceof com.sun.management.ThreadMXBean)) {
+            return 0;
+        }
+        com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) threadBean;
+        if (!allocationBean.isThreadAllocatedMemoryEnabled()) {
+            return 0;
+        }
+        long allocated = 0;
+        for (long threadAllocated : allocationBean.getThreadAllocatedBytes(threadBean.getAllThreadIds())) {
+            if (threadAllocated > 0) {
+                allocated += threadAllocated;
+            }
+        }
+        return allocated;
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}